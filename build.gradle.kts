@@ -56,6 +56,8 @@ dependencies {
         testFramework(TestFrameworkType.Platform)
         //Required for 'LightJavaCodeInsightFixtureTestCase5'
         testFramework(TestFrameworkType.Plugin.Java)
+        //Required for the performance test API used by the performance tests
+        testFramework(TestFrameworkType.Metrics)
     }
 }
 
@@ -111,11 +113,42 @@ intellijPlatformTesting {
             useJUnitPlatform {
                 isScanForTestClasses = false
                 include("**/*Test.class")
+                excludeTags("performance", "scalability")
                 //Excluded due to https://github.com/picimako/mockitools/issues/69
                 exclude("**/MockFieldInitializationInspectionTest.class, **/StubOnlyMockInVerificationInspectionTest.class")
             }
         }
     }
+
+    //Runs the performance tests tagged as 'performance', e.g.: ./gradlew runPerformanceTests -Pmockitools.performance.budget.factor=1.5
+    val runPerformanceTests by intellijPlatformTesting.testIde.registering {
+        type = IntelliJPlatformType.IntellijIdeaCommunity
+        version = "2024.2"
+        task {
+            useJUnitPlatform {
+                isScanForTestClasses = false
+                include("**/performance/*Test.class")
+                includeTags("performance")
+            }
+            maxHeapSize = "4g"
+            systemProperty("mockitools.performance.budget.factor", providers.gradleProperty("mockitools.performance.budget.factor").getOrElse("1.0"))
+        }
+    }
+
+    //Runs the scalability sweep tagged as 'scalability', and writes its CSV reports into build/reports/scalability
+    val runScalabilitySweep by intellijPlatformTesting.testIde.registering {
+        type = IntelliJPlatformType.IntellijIdeaCommunity
+        version = "2024.2"
+        task {
+            useJUnitPlatform {
+                isScanForTestClasses = false
+                include("**/performance/*Test.class")
+                includeTags("scalability")
+            }
+            maxHeapSize = "4g"
+            systemProperty("mockitools.scalability.report.dir", layout.buildDirectory.dir("reports/scalability").get().asFile.absolutePath)
+        }
+    }
 }
 
 // Configure Gradle Changelog Plugin - read more: https://github.com/JetBrains/gradle-changelog-plugin
@@ -2,13 +2,13 @@
 
 package com.picimako.mockitools;
 
-import com.intellij.codeInsight.daemon.HighlightDisplayKey;
-import com.intellij.profile.codeInspection.InspectionProfileManager;
 import com.intellij.psi.PsiElement;
 import com.picimako.mockitools.inspection.stubbing.EnforceConventionInspection;
 
 /**
  * Helpers for checking which {@link Convention} is enforced.
+ *
+ * @see EnforcedConventionCache
  */
 public final class EnforceConventionUtil {
 
@@ -35,12 +35,7 @@ public final class EnforceConventionUtil {
     }
 
     private static boolean isEnforced(PsiElement methodCall, Convention convention) {
-        var profile = InspectionProfileManager.getInstance(methodCall.getProject()).getCurrentProfile();
-        if (profile.isToolEnabled(HighlightDisplayKey.find(ENFORCE_CONVENTION_INSPECTION_SHORT_NAME))) {
-            var enforceConvention = (EnforceConventionInspection) profile.getUnwrappedTool(ENFORCE_CONVENTION_INSPECTION_SHORT_NAME, methodCall);
-            return enforceConvention != null && enforceConvention.conventionToEnforce == convention;
-        }
-        return false;
+        return EnforcedConventionCache.getInstance(methodCall.getProject()).getEnforcedConvention(methodCall) == convention;
     }
 
     private EnforceConventionUtil() {
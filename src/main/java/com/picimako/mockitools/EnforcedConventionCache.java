@@ -0,0 +1,145 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools;
+
+import com.intellij.codeInsight.daemon.HighlightDisplayKey;
+import com.intellij.codeInspection.ex.InspectionProfileImpl;
+import com.intellij.codeInspection.ex.Tools;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.profile.ProfileChangeAdapter;
+import com.intellij.profile.codeInspection.InspectionProfileManager;
+import com.intellij.psi.PsiElement;
+import com.picimako.mockitools.inspection.stubbing.EnforceConventionInspection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Caches the {@link EnforceConventionInspection} configured in the inspection profile currently active in a project, per file,
+ * so that the profile doesn't have to be queried each time the availability of an intention is checked.
+ * <p>
+ * Since the inspection may be configured differently for different scopes, the inspection is cached for each file separately,
+ * and the enforced convention is read from the cached inspection instance.
+ * <p>
+ * The cached values are invalidated when inspection profiles are changed or activated, when the current profile is replaced,
+ * or when the tool entry of the inspection is replaced or enabled/disabled in the current profile.
+ *
+ * @see EnforceConventionUtil
+ * @since 1.5.0
+ */
+@Service(Service.Level.PROJECT)
+public final class EnforcedConventionCache implements ModificationTracker, Disposable {
+    private static final Key<CachedInspection> CACHED_INSPECTION = Key.create("mockitools.enforced.convention.inspection");
+    private final Project project;
+    private final SimpleModificationTracker profileModificationTracker = new SimpleModificationTracker();
+    private volatile ProfileState lastProfileState;
+
+    public EnforcedConventionCache(Project project) {
+        this.project = project;
+        project.getMessageBus().connect(this).subscribe(ProfileChangeAdapter.TOPIC, new ProfileChangeAdapter() {
+            @Override
+            public void profileChanged(@NotNull InspectionProfileImpl profile) {
+                invalidate();
+            }
+
+            @Override
+            public void profileActivated(@Nullable InspectionProfileImpl oldProfile, @Nullable InspectionProfileImpl profile) {
+                invalidate();
+            }
+
+            @Override
+            public void profilesInitialized() {
+                invalidate();
+            }
+        });
+    }
+
+    public static EnforcedConventionCache getInstance(@NotNull Project project) {
+        return project.getService(EnforcedConventionCache.class);
+    }
+
+    /**
+     * Returns the convention enforced in the current inspection profile for the file of the argument element,
+     * or null if {@link EnforceConventionInspection} is disabled.
+     *
+     * @param context the element for which the convention is requested
+     */
+    @Nullable
+    public Convention getEnforcedConvention(@NotNull PsiElement context) {
+        long modificationCount = getModificationCount();
+        var profile = InspectionProfileManager.getInstance(project).getCurrentProfile();
+        var file = context.getContainingFile();
+        if (file == null) {
+            var inspection = calculateEnforceConventionInspection(profile, context);
+            return inspection != null ? inspection.conventionToEnforce : null;
+        }
+
+        var cachedInspection = file.getUserData(CACHED_INSPECTION);
+        if (cachedInspection == null || cachedInspection.modificationCount != modificationCount) {
+            //If the cache is invalidated meanwhile, the modification count won't match the next time, and the inspection is looked up again
+            cachedInspection = new CachedInspection(modificationCount, calculateEnforceConventionInspection(profile, context));
+            file.putUserData(CACHED_INSPECTION, cachedInspection);
+        }
+        return cachedInspection.inspection != null ? cachedInspection.inspection.conventionToEnforce : null;
+    }
+
+    @Nullable
+    private static EnforceConventionInspection calculateEnforceConventionInspection(InspectionProfileImpl profile, PsiElement context) {
+        if (profile.isToolEnabled(HighlightDisplayKey.find(EnforceConventionUtil.ENFORCE_CONVENTION_INSPECTION_SHORT_NAME))) {
+            return (EnforceConventionInspection) profile.getUnwrappedTool(EnforceConventionUtil.ENFORCE_CONVENTION_INSPECTION_SHORT_NAME, context);
+        }
+        return null;
+    }
+
+    private void invalidate() {
+        profileModificationTracker.incModificationCount();
+    }
+
+    /**
+     * Returns a count that changes each time the cached inspections are invalidated.
+     * <p>
+     * Besides profile change events, it also takes into account if the current profile is replaced, or the tool entry of
+     * {@link EnforceConventionInspection} is replaced, enabled or disabled in it, even if no profile change event is fired for that.
+     */
+    @Override
+    public long getModificationCount() {
+        var currentState = ProfileState.of(InspectionProfileManager.getInstance(project).getCurrentProfile(), project);
+        if (!currentState.equals(lastProfileState)) {
+            lastProfileState = currentState;
+            invalidate();
+        }
+        return profileModificationTracker.getModificationCount();
+    }
+
+    @Override
+    public void dispose() {
+        lastProfileState = null;
+    }
+
+    /**
+     * The current inspection profile, and the identity and enabled state of the {@link EnforceConventionInspection} tool entry in it.
+     */
+    private record ProfileState(InspectionProfileImpl profile, @Nullable Tools tools, boolean isEnabled) {
+        static ProfileState of(InspectionProfileImpl profile, Project project) {
+            var tools = profile.getToolsOrNull(EnforceConventionUtil.ENFORCE_CONVENTION_INSPECTION_SHORT_NAME, project);
+            return new ProfileState(profile, tools, tools != null && tools.isEnabled());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ProfileState other && profile == other.profile && tools == other.tools && isEnabled == other.isEnabled;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(profile);
+        }
+    }
+
+    private record CachedInspection(long modificationCount, @Nullable EnforceConventionInspection inspection) {
+    }
+}
@@ -8,14 +8,16 @@ import static com.intellij.psi.util.InheritanceUtil.getSuperClasses;
 import static com.intellij.psi.util.TypeConversionUtil.isPrimitive;
 import static com.intellij.psi.util.TypeConversionUtil.isPrimitiveWrapper;
 
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.psi.CommonClassNames;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiClassType;
 import com.intellij.psi.PsiType;
+import com.picimako.mockitools.inspection.ReducedAnalysis;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.Set;
 
@@ -37,22 +39,23 @@ public final class MockableTypesUtil {
      * Finds the first @DoNotMock annotated type in the class hierarchy, and returns it with the optional reason provided.
      *
      * @param type the type to check the type hierarchy of for the @DoNotMock annotation
-     * @return the optional reason of the @DoNotMock annotation, or empty optional if no @DoNotMock annotation is found
+     * @return the optional reason of the @DoNotMock annotation, or empty optional if no @DoNotMock annotation is found,
+     * or if {@link ReducedAnalysis} is active on the current thread
      */
     public static Optional<DoNotMockType> getDoNotMockTypeInHierarchy(@Nullable PsiType type) {
-        if (type instanceof PsiClassType classType) {
+        if (type instanceof PsiClassType classType && !ReducedAnalysis.isActive()) {
             PsiClass referencedClass = compute(classType::resolve);
             if (referencedClass != null) {
                 //Checks if the use class type is annotated
-                var doNotMock = getDoNotMockAnnotationOn(referencedClass);
-                if (doNotMock.isPresent()) {
-                    return Optional.of(new DoNotMockType(compute(() -> getStringAttributeValue(doNotMock.get(), "reason"))));
+                var doNotMock = findDoNotMockAnnotationOn(referencedClass);
+                if (doNotMock != null) {
+                    return Optional.of(new DoNotMockType(compute(() -> getStringAttributeValue(doNotMock, "reason"))));
                 }
                 //If the direct class type is not annotated, proceeds to check all its super classes
                 for (PsiClass cls : getSuperClasses(referencedClass)) {
-                    var doNotMockInHierarchy = getDoNotMockAnnotationOn(cls);
-                    if (doNotMockInHierarchy.isPresent()) {
-                        return Optional.of(new DoNotMockType(compute(() -> getStringAttributeValue(doNotMockInHierarchy.get(), "reason"))));
+                    var doNotMockInHierarchy = findDoNotMockAnnotationOn(cls);
+                    if (doNotMockInHierarchy != null) {
+                        return Optional.of(new DoNotMockType(compute(() -> getStringAttributeValue(doNotMockInHierarchy, "reason"))));
                     }
                 }
             }
@@ -60,12 +63,21 @@ public final class MockableTypesUtil {
         return Optional.empty();
     }
 
-    private static Optional<PsiAnnotation> getDoNotMockAnnotationOn(PsiClass clazz) {
-        return compute(() -> !CommonClassNames.JAVA_LANG_OBJECT.equals(clazz.getQualifiedName())
-                             ? Arrays.stream(clazz.getAnnotations())
-                                 .filter(annotation -> annotation.getQualifiedName().endsWith(MockitoQualifiedNames.ORG_MOCKITO_DO_NOT_MOCK))
-                                 .findFirst()
-                             : Optional.empty());
+    @Nullable
+    private static PsiAnnotation findDoNotMockAnnotationOn(PsiClass clazz) {
+        return ApplicationManager.getApplication().isReadAccessAllowed()
+            ? findDoNotMockAnnotationInReadAction(clazz)
+            : compute(() -> findDoNotMockAnnotationInReadAction(clazz));
+    }
+
+    @Nullable
+    private static PsiAnnotation findDoNotMockAnnotationInReadAction(PsiClass clazz) {
+        if (CommonClassNames.JAVA_LANG_OBJECT.equals(clazz.getQualifiedName())) return null;
+        for (var annotation : clazz.getAnnotations()) {
+            String annotationName = annotation.getQualifiedName();
+            if (annotationName != null && annotationName.endsWith(MockitoQualifiedNames.ORG_MOCKITO_DO_NOT_MOCK)) return annotation;
+        }
+        return null;
     }
 
     /**
@@ -85,33 +97,39 @@ public final class MockableTypesUtil {
      * @see #NON_MOCKABLE_TYPES
      */
     public static boolean isMockableType(@Nullable PsiType type) {
-        if (type != null) {
-            return compute(() -> {
-                if (compute(() -> !isPrimitiveWrapper(type))) {
-                    String canonicalText = compute(type::getCanonicalText);
-                    return compute(() -> !isPrimitive(canonicalText))
-                           && !NON_MOCKABLE_TYPES.contains(compute(type::getCanonicalText));
-                }
-                return false;
-            });
-        }
+        if (type == null) return false;
+        return ApplicationManager.getApplication().isReadAccessAllowed()
+            ? isMockableTypeInReadAction(type)
+            : compute(() -> isMockableTypeInReadAction(type));
+    }
 
-        return false;
+    /**
+     * Same as {@link #isMockableType(PsiType)}, but it assumes that the caller holds read access, and calculates
+     * the canonical text of the type only once.
+     *
+     * @since 1.5.0
+     */
+    public static boolean isMockableTypeInReadAction(@NotNull PsiType type) {
+        if (isPrimitiveWrapper(type)) return false;
+        String canonicalText = type.getCanonicalText();
+        return !isPrimitive(canonicalText) && !NON_MOCKABLE_TYPES.contains(canonicalText);
     }
 
     /**
      * This is a simplified version {@link #getDoNotMockTypeInHierarchy(PsiType)} that returns a boolean whether any of
-     * the types in the type hierarchy is annotated with @DoNotMock.
+     * the types in the type hierarchy is annotated with @DoNotMock. It returns false if {@link ReducedAnalysis} is active on the current thread.
      *
      * @param type the type to check the type hierarchy of for the @DoNotMock annotation
      * @since 0.2.0
      */
     private static boolean isDoNotMockAnnotatedInHierarchy(@Nullable PsiType type) {
-        if (type instanceof PsiClassType classType) {
+        if (type instanceof PsiClassType classType && !ReducedAnalysis.isActive()) {
             PsiClass referencedClass = compute(classType::resolve);
             if (referencedClass != null) {
-                return getDoNotMockAnnotationOn(referencedClass).isPresent()
-                       || compute(() -> getSuperClasses(referencedClass).stream().anyMatch(cls -> getDoNotMockAnnotationOn(cls).isPresent()));
+                if (findDoNotMockAnnotationOn(referencedClass) != null) return true;
+                for (PsiClass cls : compute(() -> getSuperClasses(referencedClass))) {
+                    if (findDoNotMockAnnotationOn(cls) != null) return true;
+                }
             }
         }
         return false;
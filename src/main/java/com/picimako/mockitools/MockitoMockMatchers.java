@@ -46,6 +46,9 @@ public final class MockitoMockMatchers {
     //Other
 
     public static final CallMatcher MOCKITO_MOCK_OR_SPY = staticCall(ORG_MOCKITO_MOCKITO, MockitoQualifiedNames.MOCK, SPY);
+    //Calls creating MockedStatic and MockedConstruction objects
+    public static final CallMatcher MOCK_STATIC_OR_CONSTRUCTION = staticCall(ORG_MOCKITO_MOCKITO,
+        MockitoQualifiedNames.MOCK_STATIC, MockitoQualifiedNames.MOCK_CONSTRUCTION, MockitoQualifiedNames.MOCK_CONSTRUCTION_WITH_ANSWER);
 
     private MockitoMockMatchers() {
         //Utility class
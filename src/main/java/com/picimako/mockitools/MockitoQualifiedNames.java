@@ -29,6 +29,7 @@ public final class MockitoQualifiedNames {
     public static final String ORG_MOCKITO_MOCK_SERIALIZABLE_MODE = "org.mockito.mock.SerializableMode";
     public static final String ORG_MOCKITO_INORDER = "org.mockito.InOrder";
     public static final String ORG_MOCKITO_QUALITY_STRICTNESS = "org.mockito.quality.Strictness";
+    public static final String ORG_MOCKITO_MOCKITO_ANNOTATIONS = "org.mockito.MockitoAnnotations";
 
     //Plugin classes
     public static final String ORG_MOCKITO_CONFIGURATION_ANNOTATION_ENGINE = "org.mockito.configuration.AnnotationEngine";
@@ -42,6 +43,9 @@ public final class MockitoQualifiedNames {
     public static final String ORG_MOCKITO_RUNNERS_MOCKITO_JUNIT_RUNNER = "org.mockito.runners.MockitoJUnitRunner";
     public static final String ORG_MOCKITO_JUNIT_MOCKITO_JUNIT_RUNNER = "org.mockito.junit.MockitoJUnitRunner";
 
+    //JUnit 5 extensions
+    public static final String ORG_MOCKITO_JUNIT_JUPITER_MOCKITO_EXTENSION = "org.mockito.junit.jupiter.MockitoExtension";
+
     //Classnames
     public static final String ARGUMENT_MATCHERS = "ArgumentMatchers";
     public static final String MATCHERS = "Matchers";
@@ -78,6 +82,11 @@ public final class MockitoQualifiedNames {
     public static final String VERIFY_ZERO_INTERACTIONS = "verifyZeroInteractions";
     public static final String IGNORE_STUBS = "ignoreStubs";
     public static final String VERIFY = "verify";
+    public static final String MOCK_STATIC = "mockStatic";
+    public static final String MOCK_CONSTRUCTION = "mockConstruction";
+    public static final String MOCK_CONSTRUCTION_WITH_ANSWER = "mockConstructionWithAnswer";
+    public static final String OPEN_MOCKS = "openMocks";
+    public static final String INIT_MOCKS = "initMocks";
 
     public static final String THEN_THROW = "thenThrow";
     public static final String DO_THROW = "doThrow";
@@ -0,0 +1,89 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools;
+
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_ARGUMENT_MATCHERS;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_BDDMOCKITO;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_INORDER;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKED_STATIC;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO;
+import static java.util.Objects.requireNonNull;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.ProjectActivity;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import kotlin.Unit;
+import kotlin.coroutines.Continuation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Prepares the first highlighting of test files after opening a project.
+ * <p>
+ * Once indexing completes, it resolves the most frequently used Mockito classes in the scope of each module, and loads their methods,
+ * in a cancellable background read action, and initializes the call matchers used by the inspections. This way the first test
+ * file opened doesn't have to pay for these, and is highlighted as fast as the ones opened later.
+ *
+ * @since 1.5.0
+ */
+final class MockitoWarmupActivity implements ProjectActivity, DumbAware {
+    private static final String[] CLASSES_TO_RESOLVE = {
+        ORG_MOCKITO_MOCKITO, ORG_MOCKITO_BDDMOCKITO, ORG_MOCKITO_ARGUMENT_MATCHERS, ORG_MOCKITO_INORDER, ORG_MOCKITO_MOCKED_STATIC
+    };
+
+    @Override
+    public @Nullable Object execute(@NotNull Project project, @NotNull Continuation<? super Unit> continuation) {
+        ReadAction.nonBlocking(() -> warmUp(project))
+            .inSmartMode(project)
+            .expireWhen(project::isDisposed)
+            .submit(AppExecutorUtil.getAppExecutorService());
+        return Unit.INSTANCE;
+    }
+
+    /**
+     * Initializes the call matchers, and resolves the Mockito classes in the scope of each module of the project.
+     * <p>
+     * It must be called in a read action, in smart mode.
+     *
+     * @return the number of classes resolved
+     */
+    static int warmUp(@NotNull Project project) {
+        initializeCallMatchers();
+
+        var javaPsiFacade = JavaPsiFacade.getInstance(project);
+        int resolvedClassCount = 0;
+        for (var module : ModuleManager.getInstance(project).getModules()) {
+            var scope = module.getModuleWithDependenciesAndLibrariesScope(true);
+            for (String fqn : CLASSES_TO_RESOLVE) {
+                ProgressManager.checkCanceled();
+                var psiClass = javaPsiFacade.findClass(fqn, scope);
+                //If Mockito.class is not available, the module doesn't depend on Mockito, so there is nothing else to resolve
+                if (psiClass == null) {
+                    if (ORG_MOCKITO_MOCKITO.equals(fqn)) break;
+                    continue;
+                }
+                //Loads the members of the class, which is the most expensive part of the first call matching
+                psiClass.getMethods();
+                resolvedClassCount++;
+            }
+        }
+        return resolvedClassCount;
+    }
+
+    /**
+     * Triggers the initialization of the classes and enums holding the call matchers and the method names they dispatch on.
+     */
+    private static void initializeCallMatchers() {
+        //Reading a matcher initializes the class holding it, along with its other matchers
+        requireNonNull(MockitoolsPsiUtil.MOCKITO_MOCK);
+        requireNonNull(MockitoMockMatchers.MOCKITO_MOCK_OR_SPY);
+        StubbingApproach.values();
+        VerificationApproach.values();
+        StubType.values();
+    }
+}
@@ -8,6 +8,7 @@ import static com.picimako.mockitools.MockitoQualifiedNames.AFTER;
 import static com.picimako.mockitools.MockitoQualifiedNames.CALLS;
 import static com.picimako.mockitools.MockitoQualifiedNames.EXTRA_INTERFACES;
 import static com.picimako.mockitools.MockitoQualifiedNames.IGNORE_STUBS;
+import static com.picimako.mockitools.MockitoQualifiedNames.INIT_MOCKS;
 import static com.picimako.mockitools.MockitoQualifiedNames.MOCK;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_ADDITIONAL_MATCHERS;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_ARGUMENT_CAPTOR;
@@ -16,12 +17,15 @@ import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_INORDER;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MATCHERS;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKED_STATIC;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO_ANNOTATIONS;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCK_SETTINGS;
+import static com.picimako.mockitools.MockitoQualifiedNames.OPEN_MOCKS;
 import static com.picimako.mockitools.MockitoQualifiedNames.RESET;
 import static com.picimako.mockitools.MockitoQualifiedNames.SPY;
 import static com.picimako.mockitools.MockitoQualifiedNames.TIMEOUT;
 import static com.picimako.mockitools.MockitoQualifiedNames.TIMES;
 import static com.picimako.mockitools.MockitoQualifiedNames.VERIFY;
+import static com.picimako.mockitools.util.CallMatcherUtil.matches;
 import static com.picimako.mockitools.util.PsiMethodUtil.getQualifier;
 import static com.siyeh.ig.callMatcher.CallMatcher.instanceCall;
 import static com.siyeh.ig.callMatcher.CallMatcher.staticCall;
@@ -34,9 +38,9 @@ import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.psi.PsiReferenceExpression;
 import com.intellij.psi.PsiTypeElement;
 import com.intellij.psi.impl.source.PsiClassReferenceType;
+import com.picimako.mockitools.diagnostics.InspectionDiagnostics;
 import com.siyeh.ig.callMatcher.CallMatcher;
 
-import java.util.Optional;
 
 /**
  * Utilities for working with Mockito PSI.
@@ -59,6 +63,10 @@ public final class MockitoolsPsiUtil {
     public static final CallMatcher.Simple MOCKED_STATIC_VERIFY = instanceCall(ORG_MOCKITO_MOCKED_STATIC, VERIFY);
     private static final CallMatcher MOCK_SETTING_EXTRA_INTERFACES = instanceCall(ORG_MOCKITO_MOCK_SETTINGS, EXTRA_INTERFACES);
 
+    //Argument: Object
+    public static final CallMatcher MOCKITO_ANNOTATIONS_OPEN_OR_INIT_MOCKS = staticCall(ORG_MOCKITO_MOCKITO_ANNOTATIONS, OPEN_MOCKS, INIT_MOCKS).parameterCount(1);
+    public static final CallMatcher MOCKITO_ANNOTATIONS_OPEN_MOCKS = staticCall(ORG_MOCKITO_MOCKITO_ANNOTATIONS, OPEN_MOCKS).parameterCount(1);
+
     //Argument: T...
     public static final CallMatcher MOCK_OBJECT_PARAMETER_HOLDER = staticCall(ORG_MOCKITO_MOCKITO, RESET, "clearInvocations");
 
@@ -69,7 +77,7 @@ public final class MockitoolsPsiUtil {
      * @return true if the method is a Mockito.mock, false otherwise
      */
     public static boolean isMockitoMock(PsiMethodCallExpression expression) {
-        return compute(() -> MOCKITO_MOCK.matches(expression));
+        return matches(MOCKITO_MOCK, expression);
     }
 
     /**
@@ -79,7 +87,7 @@ public final class MockitoolsPsiUtil {
      * @return true if the method is a Mockito.spy, false otherwise
      */
     public static boolean isMockitoSpy(PsiMethodCallExpression expression) {
-        return compute(() -> MOCKITO_SPY.matches(expression));
+        return matches(MOCKITO_SPY, expression);
     }
 
     /**
@@ -89,7 +97,7 @@ public final class MockitoolsPsiUtil {
      * @return true if the method is a Mockito.verify, false otherwise
      */
     public static boolean isMockitoVerify(PsiMethodCallExpression expression) {
-        return compute(() -> MOCKITO_VERIFY.matches(expression));
+        return matches(MOCKITO_VERIFY, expression);
     }
 
     /**
@@ -111,13 +119,13 @@ public final class MockitoolsPsiUtil {
      */
     public static boolean isMatchers(PsiMethodCallExpression expression) {
         return matchesAnyMethodIn(ORG_MOCKITO_ARGUMENT_MATCHERS, expression)
-               && Optional.ofNullable((PsiReferenceExpression) getQualifier(expression))
-                   .map(qualifier -> (PsiClass) compute(qualifier::resolve))
-                   .filter(matchers -> ORG_MOCKITO_MATCHERS.equals(matchers.getQualifiedName()))
-                   .isPresent();
+               && getQualifier(expression) instanceof PsiReferenceExpression qualifier
+               && compute(qualifier::resolve) instanceof PsiClass matchers
+               && ORG_MOCKITO_MATCHERS.equals(matchers.getQualifiedName());
     }
 
     private static boolean matchesAnyMethodIn(String methodFqn, PsiMethodCallExpression expression) {
+        InspectionDiagnostics.recordMatcherCall();
         return compute(() -> staticCall(methodFqn, getMethodName(expression))
             .parameterCount(expression.getArgumentList().getExpressionCount()) //matchers can have various numbers of arguments, so lets match with the current call's parameter count
             .matches(expression));
@@ -130,7 +138,7 @@ public final class MockitoolsPsiUtil {
      * @return true if the method is a Mockito.times, false otherwise
      */
     public static boolean isTimes(PsiMethodCallExpression methodCall) {
-        return compute(() -> MOCKITO_TIMES.matches(methodCall));
+        return matches(MOCKITO_TIMES, methodCall);
     }
 
     /**
@@ -140,7 +148,7 @@ public final class MockitoolsPsiUtil {
      * @return true if the method is a Mockito.calls, false otherwise
      */
     public static boolean isCalls(PsiMethodCallExpression methodCall) {
-        return compute(() -> MOCKITO_CALLS.matches(methodCall));
+        return matches(MOCKITO_CALLS, methodCall);
     }
 
     /**
@@ -150,7 +158,7 @@ public final class MockitoolsPsiUtil {
      * @return true if the method is a Mockito.after, false otherwise
      */
     public static boolean isAfter(PsiMethodCallExpression methodCall) {
-        return compute(() -> MOCKITO_AFTER.matches(methodCall));
+        return matches(MOCKITO_AFTER, methodCall);
     }
 
     /**
@@ -160,7 +168,7 @@ public final class MockitoolsPsiUtil {
      * @return true if the method is a Mockito.timeout, false otherwise
      */
     public static boolean isTimeout(PsiMethodCallExpression methodCall) {
-        return compute(() -> MOCKITO_TIMEOUT.get().matches(methodCall));
+        return matches(MOCKITO_TIMEOUT.get(), methodCall);
     }
 
     /**
@@ -170,7 +178,7 @@ public final class MockitoolsPsiUtil {
      * @return true if the method is a MockitoSettings.extraInterfaces, false otherwise
      */
     public static boolean isExtraInterfaces(PsiMethodCallExpression methodCall) {
-        return compute(() -> MOCK_SETTING_EXTRA_INTERFACES.matches(methodCall));
+        return matches(MOCK_SETTING_EXTRA_INTERFACES, methodCall);
     }
 
     /**
@@ -180,7 +188,7 @@ public final class MockitoolsPsiUtil {
      * @return true if the method is a Mockito.reset, false otherwise
      */
     public static boolean isReset(PsiMethodCallExpression methodCall) {
-        return compute(() -> MOCKITO_RESET.get().matches(methodCall));
+        return matches(MOCKITO_RESET.get(), methodCall);
     }
 
     /**
@@ -190,7 +198,7 @@ public final class MockitoolsPsiUtil {
      * @return true if the method is a MockedStatic.reset, false otherwise
      */
     public static boolean isMockedStaticReset(PsiMethodCallExpression methodCall) {
-        return compute(() -> MOCKED_STATIC_RESET.get().matches(methodCall));
+        return matches(MOCKED_STATIC_RESET.get(), methodCall);
     }
 
     /**
@@ -200,7 +208,7 @@ public final class MockitoolsPsiUtil {
      * @return true if the method is a Mockito.ignoreStubs, false otherwise
      */
     public static boolean isIgnoreStubs(PsiMethodCallExpression methodCall) {
-        return compute(() -> MOCKITO_IGNORE_STUBS.get().matches(methodCall));
+        return matches(MOCKITO_IGNORE_STUBS.get(), methodCall);
     }
 
     /**
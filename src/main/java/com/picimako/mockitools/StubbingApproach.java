@@ -3,7 +3,6 @@
 package com.picimako.mockitools;
 
 import static com.google.common.collect.Iterables.getLast;
-import static com.intellij.openapi.application.ReadAction.compute;
 import static com.picimako.mockitools.CallChainEndsWith.ENDS_WITH_GIVEN;
 import static com.picimako.mockitools.CallChainEndsWith.ENDS_WITH_WHEN;
 import static com.picimako.mockitools.MockitoQualifiedNames.DO_THROW;
@@ -19,6 +18,7 @@ import static com.picimako.mockitools.MockitoQualifiedNames.THEN;
 import static com.picimako.mockitools.MockitoQualifiedNames.THEN_THROW;
 import static com.picimako.mockitools.MockitoQualifiedNames.WHEN;
 import static com.picimako.mockitools.MockitoQualifiedNames.WILL_THROW;
+import static com.picimako.mockitools.util.CallMatcherUtil.matches;
 import static com.picimako.mockitools.util.PsiMethodUtil.findCallDownwardsInChain;
 import static com.picimako.mockitools.util.PsiMethodUtil.findCallUpwardsInChain;
 import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
@@ -81,12 +81,12 @@ public enum StubbingApproach {
 
         @Override
         public boolean isStubbedBy(PsiMethodCallExpression expression) {
-            return compute(() -> MOCKITO_WHEN.matches(expression));
+            return matches(MOCKITO_WHEN, expression);
         }
 
         @Override
         public boolean isAnyOfStubs(PsiMethodCallExpression expression) {
-            return compute(() -> MOCKITO_WHEN_THEN_X.matches(expression));
+            return matches(MOCKITO_WHEN_THEN_X, expression);
         }
 
         @Override
@@ -138,12 +138,12 @@ public enum StubbingApproach {
 
         @Override
         public boolean isStubbedBy(PsiMethodCallExpression expression) {
-            return compute(() -> MOCKITO_DO_X_WHEN.matches(expression));
+            return matches(MOCKITO_DO_X_WHEN, expression);
         }
 
         @Override
         public boolean isAnyOfStubs(PsiMethodCallExpression expression) {
-            return compute(() -> MOCKITO_DO_X.matches(expression));
+            return matches(MOCKITO_DO_X, expression);
         }
 
         @Override
@@ -192,12 +192,12 @@ public enum StubbingApproach {
 
         @Override
         public boolean isStubbedBy(PsiMethodCallExpression expression) {
-            return compute(() -> BDDMOCKITO_GIVEN.matches(expression));
+            return matches(BDDMOCKITO_GIVEN, expression);
         }
 
         @Override
         public boolean isAnyOfStubs(PsiMethodCallExpression expression) {
-            return compute(() -> BDDMOCKITO_GIVEN_WILL_X.matches(expression));
+            return matches(BDDMOCKITO_GIVEN_WILL_X, expression);
         }
 
         @Override
@@ -247,12 +247,12 @@ public enum StubbingApproach {
 
         @Override
         public boolean isStubbedBy(PsiMethodCallExpression expression) {
-            return compute(() -> BDDMOCKITO_WILL_X_GIVEN.matches(expression));
+            return matches(BDDMOCKITO_WILL_X_GIVEN, expression);
         }
 
         @Override
         public boolean isAnyOfStubs(PsiMethodCallExpression expression) {
-            return compute(() -> BDDMOCKITO_WILL_X.matches(expression));
+            return matches(BDDMOCKITO_WILL_X, expression);
         }
 
         @Override
@@ -12,6 +12,7 @@ import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_VERIFICA
 import static com.picimako.mockitools.MockitoQualifiedNames.THEN;
 import static com.picimako.mockitools.MockitoQualifiedNames.VERIFY;
 import static com.picimako.mockitools.MockitoolsPsiUtil.isMockitoVerify;
+import static com.picimako.mockitools.util.CallMatcherUtil.matches;
 import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
 import static com.picimako.mockitools.util.PsiMethodUtil.getSubsequentMethodCall;
 import static com.picimako.mockitools.util.PsiMethodUtil.hasSubsequentMethodCall;
@@ -72,7 +73,7 @@ public enum VerificationApproach {
 
         @Override
         public boolean isVerifiedBy(PsiMethodCallExpression expression) {
-            return compute(() -> BDDMOCKITO_THEN.matches(expression));
+            return matches(BDDMOCKITO_THEN, expression);
         }
 
         @Override
@@ -94,7 +95,7 @@ public enum VerificationApproach {
     INORDER_VERIFY("InOrder.verify()") {
         @Override
         public boolean isVerifiedBy(PsiMethodCallExpression expression) {
-            return compute(() -> EnforceConventionInspection.IN_ORDER_VERIFY_NON_MOCKED_STATIC.matches(expression));
+            return matches(EnforceConventionInspection.IN_ORDER_VERIFY_NON_MOCKED_STATIC, expression);
         }
 
         @Override
@@ -119,7 +120,7 @@ public enum VerificationApproach {
 
         @Override
         public boolean isVerifiedBy(PsiMethodCallExpression expression) {
-            return compute(() -> IN_ORDER_VERIFY_MOCKED_STATIC.matches(expression));
+            return matches(IN_ORDER_VERIFY_MOCKED_STATIC, expression);
         }
 
         @Override
@@ -141,7 +142,7 @@ public enum VerificationApproach {
 
         @Override
         public boolean isVerifiedBy(PsiMethodCallExpression expression) {
-            return compute(() -> MOCKED_STATIC_VERIFY.matches(expression));
+            return matches(MOCKED_STATIC_VERIFY, expression);
         }
 
         @Override
@@ -15,6 +15,7 @@ import com.intellij.codeInsight.completion.CompletionResultSet;
 import com.intellij.codeInsight.completion.CompletionType;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.icons.AllIcons;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.patterns.PatternCondition;
 import com.intellij.patterns.PsiElementPattern;
 import com.intellij.psi.JavaTokenType;
@@ -82,26 +83,28 @@ final class MockCompletionContributor extends CompletionContributor {
         @Override
         protected void addCompletions(@NotNull CompletionParameters parameters, @NotNull ProcessingContext context, @NotNull CompletionResultSet result) {
             //Look up and add fields annotated with either @Mock, @Spy or @InjectMocks in the current class
-            result.addAllElements(findChildrenOfType(parameters.getOriginalFile(), PsiField.class).stream()
-                .filter(MockObject::isAnyKindOfMock)
-                .map(field ->
-                    LookupElementBuilder.create(field)
+            for (var field : findChildrenOfType(parameters.getOriginalFile(), PsiField.class)) {
+                ProgressManager.checkCanceled();
+                if (MockObject.isAnyKindOfMock(field)) {
+                    result.addElement(LookupElementBuilder.create(field)
                         .withIcon(AllIcons.Nodes.Field)
                         .withTypeText(MockObject.getMockAnnotationName(field))
-                        .withCaseSensitivity(false))
-                .toList());
+                        .withCaseSensitivity(false));
+                }
+            }
 
             //Look up and add local variables in the current method initialized with 'Mockito.mock()' or 'Mockito.spy()'.
             //Fields/variables initialized with mock() or spy() somewhere else are not looked up at the moment.
             var parentMethod = getParentOfType(parameters.getOriginalPosition(), PsiMethod.class);
-            result.addAllElements(findChildrenOfType(parentMethod, PsiLocalVariable.class).stream()
-                .filter(MockObject::isAnyKindOfMock)
-                .map(localVar ->
-                    LookupElementBuilder.create(localVar)
+            for (var localVar : findChildrenOfType(parentMethod, PsiLocalVariable.class)) {
+                ProgressManager.checkCanceled();
+                if (MockObject.isAnyKindOfMock(localVar)) {
+                    result.addElement(LookupElementBuilder.create(localVar)
                         .withIcon(AllIcons.Nodes.Variable)
                         .withTypeText(MockObject.getMockInitializerAsString(localVar))
-                        .withCaseSensitivity(false))
-                .toList());
+                        .withCaseSensitivity(false));
+                }
+            }
 
             result.stopHere();
         }
@@ -0,0 +1,176 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.diagnostics;
+
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.util.registry.Registry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-inspection diagnostics of Mockitools inspections: the wall time and the number of problems of each file pass,
+ * and the number of visited calls, call matcher invocations and reference resolutions.
+ * <p>
+ * Recording happens only when the {@code mockitools.diagnostics.enabled} registry key is enabled. Otherwise, the recording methods
+ * return right away.
+ * <p>
+ * Call matcher invocations and resolutions happen deep in utility code that doesn't know about the inspection it is called from,
+ * thus the statistics of the inspection currently visiting an element are bound to the current thread via {@link #enter(InspectionStats)},
+ * and the {@code record*()} methods record into them.
+ *
+ * @see com.picimako.mockitools.inspection.MockitoolsBaseInspection
+ * @since 1.5.0
+ */
+@Service(Service.Level.APP)
+public final class InspectionDiagnostics {
+    public static final String ENABLED_REGISTRY_KEY = "mockitools.diagnostics.enabled";
+    private static final ThreadLocal<InspectionStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, InspectionStats> statsByInspection = new ConcurrentHashMap<>();
+
+    public static InspectionDiagnostics getInstance() {
+        return ApplicationManager.getApplication().getService(InspectionDiagnostics.class);
+    }
+
+    public static boolean isEnabled() {
+        return Registry.is(ENABLED_REGISTRY_KEY, false);
+    }
+
+    /**
+     * Returns the statistics of the argument inspection, or null if diagnostics is disabled.
+     */
+    @Nullable
+    public static InspectionStats statsOf(LocalInspectionTool inspection) {
+        return isEnabled() ? getInstance().statsByInspection.computeIfAbsent(inspection.getShortName(), InspectionStats::new) : null;
+    }
+
+    //Thread binding
+
+    /**
+     * Binds the argument statistics to the current thread, and returns the previously bound ones,
+     * which must be restored via {@link #exit(InspectionStats, InspectionStats)}.
+     */
+    @Nullable
+    public static InspectionStats enter(@Nullable InspectionStats stats) {
+        if (stats == null) return null;
+        var previous = CURRENT.get();
+        CURRENT.set(stats);
+        return previous;
+    }
+
+    /**
+     * Same as {@link #enter(InspectionStats)}, but also records a visited method call.
+     */
+    @Nullable
+    public static InspectionStats enterCall(@Nullable InspectionStats stats) {
+        if (stats == null) return null;
+        stats.recordVisitedCall();
+        return enter(stats);
+    }
+
+    /**
+     * Restores the statistics that were bound to the current thread before {@link #enter(InspectionStats)}.
+     *
+     * @param stats    the statistics passed to the corresponding enter call, null if diagnostics was disabled
+     * @param previous the statistics returned by the corresponding enter call
+     */
+    public static void exit(@Nullable InspectionStats stats, @Nullable InspectionStats previous) {
+        if (stats == null) return;
+        if (previous == null) CURRENT.remove();
+        else CURRENT.set(previous);
+    }
+
+    //Recording
+
+    /**
+     * Records a finished file pass of the argument inspection.
+     *
+     * @param startNanos   the {@link System#nanoTime()} when the pass started
+     * @param problemCount the number of problems registered during the pass
+     */
+    public static void recordPass(LocalInspectionTool inspection, long startNanos, int problemCount) {
+        var stats = statsOf(inspection);
+        if (stats != null) stats.recordPass(System.nanoTime() - startNanos, problemCount);
+    }
+
+    /**
+     * Records a call matcher invocation for the inspection bound to the current thread, if any.
+     */
+    public static void recordMatcherCall() {
+        var stats = CURRENT.get();
+        if (stats != null) stats.recordMatcherCall();
+    }
+
+    /**
+     * Records a reference or method resolution for the inspection bound to the current thread, if any.
+     */
+    public static void recordResolve() {
+        var stats = CURRENT.get();
+        if (stats != null) stats.recordResolve();
+    }
+
+    //Querying
+
+    /**
+     * Returns the snapshots of the statistics of all inspections that have been recorded, in descending order of their total wall time.
+     */
+    @NotNull
+    public List<InspectionStats.Snapshot> getSnapshots() {
+        return statsByInspection.values().stream()
+            .map(InspectionStats::snapshot)
+            .sorted(Comparator.comparingLong(InspectionStats.Snapshot::wallTimeMillis).reversed())
+            .toList();
+    }
+
+    public void reset() {
+        statsByInspection.values().forEach(InspectionStats::reset);
+    }
+
+    /**
+     * Returns the snapshots of all statistics as a JSON array.
+     */
+    @NotNull
+    public String toJson() {
+        var json = new StringBuilder("[");
+        var snapshots = getSnapshots();
+        for (int i = 0; i < snapshots.size(); i++) {
+            var snapshot = snapshots.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                .append("  {\"inspection\": \"").append(escape(snapshot.inspection())).append('"')
+                .append(", \"passes\": ").append(snapshot.passes())
+                .append(", \"wallTimeMillis\": ").append(snapshot.wallTimeMillis())
+                .append(", \"maxWallTimeMillis\": ").append(snapshot.maxWallTimeMillis())
+                .append(", \"visitedCalls\": ").append(snapshot.visitedCalls())
+                .append(", \"matcherCalls\": ").append(snapshot.matcherCalls())
+                .append(", \"resolves\": ").append(snapshot.resolves())
+                .append(", \"problems\": ").append(snapshot.problems())
+                .append(", \"latencyHistogram\": {");
+            var histogram = snapshot.latencyHistogram();
+            for (int bucket = 0; bucket < histogram.length; bucket++) {
+                if (bucket > 0) json.append(", ");
+                json.append('"').append(bucketName(bucket)).append("\": ").append(histogram[bucket]);
+            }
+            json.append("}}");
+        }
+        return json.append(snapshots.isEmpty() ? "]" : "\n]").toString();
+    }
+
+    /**
+     * Returns the name of the argument latency histogram bucket, e.g. {@code <5ms} or {@code >=1000ms}.
+     */
+    public static String bucketName(int bucket) {
+        var bounds = InspectionStats.LATENCY_BUCKET_BOUNDS_MS;
+        return bucket < bounds.length ? "<" + bounds[bucket] + "ms" : ">=" + bounds[bounds.length - 1] + "ms";
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
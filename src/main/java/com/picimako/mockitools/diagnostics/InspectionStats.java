@@ -0,0 +1,112 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.diagnostics;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative statistics of a single inspection, across all of its file passes.
+ * <p>
+ * Counters are {@link LongAdder}s, so that inspections running concurrently on different files record them without contention.
+ *
+ * @since 1.5.0
+ */
+public final class InspectionStats {
+    /**
+     * The upper bounds (exclusive) of the pass latency histogram buckets in milliseconds. The last bucket has no upper bound.
+     */
+    static final long[] LATENCY_BUCKET_BOUNDS_MS = {1, 5, 10, 50, 100, 500, 1000};
+
+    @Getter
+    private final String inspection;
+    private final LongAdder passes = new LongAdder();
+    private final LongAdder wallTimeNanos = new LongAdder();
+    private final LongAccumulator maxWallTimeNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder visitedCalls = new LongAdder();
+    private final LongAdder matcherCalls = new LongAdder();
+    private final LongAdder resolves = new LongAdder();
+    private final LongAdder problems = new LongAdder();
+    private final LongAdder[] latencyHistogram = new LongAdder[LATENCY_BUCKET_BOUNDS_MS.length + 1];
+
+    InspectionStats(String inspection) {
+        this.inspection = inspection;
+        for (int i = 0; i < latencyHistogram.length; i++) {
+            latencyHistogram[i] = new LongAdder();
+        }
+    }
+
+    //Recording
+
+    void recordPass(long wallTimeNanos, int problemCount) {
+        passes.increment();
+        this.wallTimeNanos.add(wallTimeNanos);
+        maxWallTimeNanos.accumulate(wallTimeNanos);
+        problems.add(problemCount);
+        latencyHistogram[bucketOf(TimeUnit.NANOSECONDS.toMillis(wallTimeNanos))].increment();
+    }
+
+    void recordVisitedCall() {
+        visitedCalls.increment();
+    }
+
+    void recordMatcherCall() {
+        matcherCalls.increment();
+    }
+
+    void recordResolve() {
+        resolves.increment();
+    }
+
+    private static int bucketOf(long millis) {
+        for (int i = 0; i < LATENCY_BUCKET_BOUNDS_MS.length; i++) {
+            if (millis < LATENCY_BUCKET_BOUNDS_MS[i]) return i;
+        }
+        return LATENCY_BUCKET_BOUNDS_MS.length;
+    }
+
+    void reset() {
+        passes.reset();
+        wallTimeNanos.reset();
+        maxWallTimeNanos.reset();
+        visitedCalls.reset();
+        matcherCalls.reset();
+        resolves.reset();
+        problems.reset();
+        for (var bucket : latencyHistogram) {
+            bucket.reset();
+        }
+    }
+
+    //Snapshot
+
+    /**
+     * Returns a point-in-time copy of the statistics.
+     */
+    @NotNull
+    public Snapshot snapshot() {
+        var histogram = new long[latencyHistogram.length];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = latencyHistogram[i].sum();
+        }
+        return new Snapshot(inspection, passes.sum(), TimeUnit.NANOSECONDS.toMillis(wallTimeNanos.sum()),
+            TimeUnit.NANOSECONDS.toMillis(maxWallTimeNanos.get()), visitedCalls.sum(), matcherCalls.sum(), resolves.sum(), problems.sum(), histogram);
+    }
+
+    /**
+     * A point-in-time copy of {@link InspectionStats}.
+     *
+     * @param latencyHistogram the number of passes in each latency bucket, see {@link #LATENCY_BUCKET_BOUNDS_MS}
+     */
+    public record Snapshot(String inspection, long passes, long wallTimeMillis, long maxWallTimeMillis,
+                           long visitedCalls, long matcherCalls, long resolves, long problems, long[] latencyHistogram) {
+
+        public long averageWallTimeMillis() {
+            return passes == 0 ? 0 : wallTimeMillis / passes;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.diagnostics;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.content.ContentFactory;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.ListTableModel;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Creates the Mockitools Diagnostics tool window, that displays the statistics collected by {@link InspectionDiagnostics},
+ * and allows exporting them as JSON.
+ * <p>
+ * The tool window is available only when diagnostics is enabled via the {@code mockitools.diagnostics.enabled} registry key.
+ *
+ * @since 1.5.0
+ */
+public final class MockitoolsDiagnosticsToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+    @Override
+    public boolean shouldBeAvailable(@NotNull Project project) {
+        return InspectionDiagnostics.isEnabled();
+    }
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        var model = new ListTableModel<InspectionStats.Snapshot>(
+            new TextColumn("diagnostics.column.inspection", InspectionStats.Snapshot::inspection),
+            new NumberColumn("diagnostics.column.passes", InspectionStats.Snapshot::passes),
+            new NumberColumn("diagnostics.column.total.time", InspectionStats.Snapshot::wallTimeMillis),
+            new NumberColumn("diagnostics.column.average.time", InspectionStats.Snapshot::averageWallTimeMillis),
+            new NumberColumn("diagnostics.column.max.time", InspectionStats.Snapshot::maxWallTimeMillis),
+            new NumberColumn("diagnostics.column.visited.calls", InspectionStats.Snapshot::visitedCalls),
+            new NumberColumn("diagnostics.column.matcher.calls", InspectionStats.Snapshot::matcherCalls),
+            new NumberColumn("diagnostics.column.resolves", InspectionStats.Snapshot::resolves),
+            new NumberColumn("diagnostics.column.problems", InspectionStats.Snapshot::problems),
+            new TextColumn("diagnostics.column.latency.histogram", MockitoolsDiagnosticsToolWindowFactory::histogramText));
+        Runnable refresh = () -> model.setItems(new ArrayList<>(InspectionDiagnostics.getInstance().getSnapshots()));
+        refresh.run();
+
+        var actions = new DefaultActionGroup(
+            DumbAwareAction.create(MockitoolsBundle.message("diagnostics.action.refresh"), AllIcons.Actions.Refresh, e -> refresh.run()),
+            DumbAwareAction.create(MockitoolsBundle.message("diagnostics.action.reset"), AllIcons.Actions.GC, e -> {
+                InspectionDiagnostics.getInstance().reset();
+                refresh.run();
+            }),
+            DumbAwareAction.create(MockitoolsBundle.message("diagnostics.action.export"), AllIcons.ToolbarDecorator.Export, e -> exportAsJson(project)));
+
+        var panel = new SimpleToolWindowPanel(true, true);
+        var toolbar = ActionManager.getInstance().createActionToolbar("MockitoolsDiagnostics", actions, true);
+        var table = new TableView<>(model);
+        toolbar.setTargetComponent(table);
+        panel.setToolbar(toolbar.getComponent());
+        panel.setContent(ScrollPaneFactory.createScrollPane(table));
+
+        toolWindow.getContentManager().addContent(ContentFactory.getInstance().createContent(panel, "", false));
+    }
+
+    private static void exportAsJson(Project project) {
+        var descriptor = new FileSaverDescriptor(MockitoolsBundle.message("diagnostics.export.title"), MockitoolsBundle.message("diagnostics.export.description"), "json");
+        var target = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project).save("mockitools-diagnostics.json");
+        if (target == null) return;
+
+        try {
+            Files.writeString(target.getFile().toPath(), InspectionDiagnostics.getInstance().toJson());
+        } catch (IOException e) {
+            Messages.showErrorDialog(project, MockitoolsBundle.message("diagnostics.export.failed", e.getMessage()), MockitoolsBundle.message("diagnostics.export.title"));
+        }
+    }
+
+    /**
+     * Returns the non-empty buckets of the latency histogram, e.g. {@code <5ms: 10, <10ms: 2}.
+     */
+    private static String histogramText(InspectionStats.Snapshot snapshot) {
+        var text = new StringJoiner(", ");
+        var histogram = snapshot.latencyHistogram();
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            if (histogram[bucket] > 0) text.add(InspectionDiagnostics.bucketName(bucket) + ": " + histogram[bucket]);
+        }
+        return text.toString();
+    }
+
+    //Columns
+
+    private static final class TextColumn extends ColumnInfo<InspectionStats.Snapshot, String> {
+        private final Function<InspectionStats.Snapshot, String> value;
+
+        TextColumn(String nameKey, Function<InspectionStats.Snapshot, String> value) {
+            super(MockitoolsBundle.message(nameKey));
+            this.value = value;
+        }
+
+        @Override
+        public @Nullable String valueOf(InspectionStats.Snapshot snapshot) {
+            return value.apply(snapshot);
+        }
+    }
+
+    private static final class NumberColumn extends ColumnInfo<InspectionStats.Snapshot, Long> {
+        private final ToLongFunction<InspectionStats.Snapshot> value;
+
+        NumberColumn(String nameKey, ToLongFunction<InspectionStats.Snapshot> value) {
+            super(MockitoolsBundle.message(nameKey));
+            this.value = value;
+        }
+
+        @Override
+        public @Nullable Long valueOf(InspectionStats.Snapshot snapshot) {
+            return value.applyAsLong(snapshot);
+        }
+
+        @Override
+        public Class<?> getColumnClass() {
+            return Long.class;
+        }
+
+        @Override
+        public @Nullable Comparator<InspectionStats.Snapshot> getComparator() {
+            return Comparator.comparingLong(value);
+        }
+    }
+}
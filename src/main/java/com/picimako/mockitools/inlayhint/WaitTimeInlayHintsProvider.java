@@ -0,0 +1,73 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inlayhint;
+
+import static com.picimako.mockitools.inlayhint.WaitTimes.waitTimeOf;
+import static com.picimako.mockitools.inlayhint.WaitTimes.waitTimeOfTestsIn;
+import static com.picimako.mockitools.util.UnitTestPsiUtil.isInTestSourceContent;
+import static com.picimako.mockitools.util.UnitTestPsiUtil.isTestMethod;
+
+import com.intellij.codeInsight.hints.declarative.EndOfLinePosition;
+import com.intellij.codeInsight.hints.declarative.InlayHintsCollector;
+import com.intellij.codeInsight.hints.declarative.InlayHintsProvider;
+import com.intellij.codeInsight.hints.declarative.InlayTreeSink;
+import com.intellij.codeInsight.hints.declarative.SharedBypassCollector;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiTypeParameter;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import kotlin.Unit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Displays the worst-case time test methods, and all tests of a test class, including its {@code @Nested} classes, in total,
+ * block in waits, at the end of the line of the method and class names.
+ * <p>
+ * Slow tests are often caused by these waits, and seeing them inline helps in spotting them. For the waits taken into account,
+ * see {@link WaitTimes}.
+ *
+ * @since 1.5.0
+ */
+public final class WaitTimeInlayHintsProvider implements InlayHintsProvider {
+
+    @Override
+    public @Nullable InlayHintsCollector createCollector(@NotNull PsiFile file, @NotNull Editor editor) {
+        return file instanceof PsiJavaFile && isInTestSourceContent(file) ? new WaitTimeCollector(editor.getDocument()) : null;
+    }
+
+    private static final class WaitTimeCollector implements SharedBypassCollector {
+        private final Document document;
+
+        private WaitTimeCollector(Document document) {
+            this.document = document;
+        }
+
+        @Override
+        public void collectFromElement(@NotNull PsiElement element, @NotNull InlayTreeSink sink) {
+            if (element instanceof PsiMethod method && method.getNameIdentifier() != null && isTestMethod(method)) {
+                long waitTime = waitTimeOf(method);
+                if (waitTime > 0)
+                    addHint(method.getNameIdentifier(), MockitoolsBundle.message("inlay.hints.wait.time.method", StringUtil.formatDuration(waitTime)), sink);
+            } else if (element instanceof PsiClass aClass && !(aClass instanceof PsiTypeParameter) && aClass.getNameIdentifier() != null) {
+                long waitTime = waitTimeOfTestsIn(aClass);
+                if (waitTime > 0)
+                    addHint(aClass.getNameIdentifier(), MockitoolsBundle.message("inlay.hints.wait.time.class", StringUtil.formatDuration(waitTime)), sink);
+            }
+        }
+
+        private void addHint(PsiElement nameIdentifier, String text, InlayTreeSink sink) {
+            int line = document.getLineNumber(nameIdentifier.getTextRange().getEndOffset());
+            sink.addPresentation(new EndOfLinePosition(line), null, null, true, builder -> {
+                builder.text(text, null);
+                return Unit.INSTANCE;
+            });
+        }
+    }
+}
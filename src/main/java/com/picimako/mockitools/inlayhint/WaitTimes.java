@@ -0,0 +1,143 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inlayhint;
+
+import static com.picimako.mockitools.MockitoolsPsiUtil.isAfter;
+import static com.picimako.mockitools.MockitoolsPsiUtil.isTimeout;
+import static com.picimako.mockitools.util.EvaluationHelper.evaluateLongValue;
+import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
+import static com.picimako.mockitools.util.UnitTestPsiUtil.isTestMethod;
+import static com.siyeh.ig.callMatcher.CallMatcher.instanceCall;
+import static com.siyeh.ig.callMatcher.CallMatcher.staticCall;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiEnumConstant;
+import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.siyeh.ig.callMatcher.CallMatcher;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculates the worst-case time test methods block in waits.
+ * <p>
+ * The following waits are taken into account, given that their durations are literals or compile-time constant expressions,
+ * e.g. references to {@code static final} fields:
+ * <ul>
+ *     <li>{@code Mockito.timeout()} and {@code Mockito.after()} verification modes,</li>
+ *     <li>{@code Thread.sleep()} and {@code TimeUnit.sleep()} calls,</li>
+ *     <li>Awaitility's {@code atMost()} and {@code timeout()} calls, with either a {@code TimeUnit} or a {@code java.time.Duration} argument.</li>
+ * </ul>
+ * Each wait is counted once, regardless of whether it is located in a loop, and waits in called helper methods are not taken into account.
+ *
+ * @since 1.5.0
+ */
+final class WaitTimes {
+    private static final String JAVA_UTIL_CONCURRENT_TIME_UNIT = "java.util.concurrent.TimeUnit";
+    private static final String JAVA_TIME_DURATION = "java.time.Duration";
+    private static final String ORG_JUNIT_JUPITER_API_NESTED = "org.junit.jupiter.api.Nested";
+    private static final CallMatcher THREAD_SLEEP = CallMatcher.anyOf(
+        staticCall("java.lang.Thread", "sleep").parameterTypes("long"),
+        staticCall("java.lang.Thread", "sleep").parameterTypes("long", "int"),
+        staticCall("java.lang.Thread", "sleep").parameterTypes(JAVA_TIME_DURATION));
+    private static final CallMatcher TIME_UNIT_SLEEP = instanceCall(JAVA_UTIL_CONCURRENT_TIME_UNIT, "sleep").parameterTypes("long");
+    private static final CallMatcher AWAITILITY_TIMEOUT = CallMatcher.anyOf(
+        instanceCall("org.awaitility.core.ConditionFactory", "atMost", "timeout").parameterTypes("long", JAVA_UTIL_CONCURRENT_TIME_UNIT),
+        instanceCall("org.awaitility.core.ConditionFactory", "atMost", "timeout").parameterTypes(JAVA_TIME_DURATION));
+    private static final Map<String, TimeUnit> DURATION_FACTORIES = Map.of(
+        "ofMillis", TimeUnit.MILLISECONDS,
+        "ofSeconds", TimeUnit.SECONDS,
+        "ofMinutes", TimeUnit.MINUTES,
+        "ofHours", TimeUnit.HOURS);
+    private static final CallMatcher DURATION_OF = staticCall(JAVA_TIME_DURATION, DURATION_FACTORIES.keySet().toArray(String[]::new)).parameterTypes("long");
+
+    /**
+     * Returns the sum of the wait times, in milliseconds, of the test methods declared in the argument class,
+     * and in its JUnit 5 {@code @Nested} classes, recursively.
+     */
+    static long waitTimeOfTestsIn(@NotNull PsiClass testClass) {
+        long waitTime = 0;
+        for (var method : testClass.getMethods()) {
+            if (isTestMethod(method)) waitTime += waitTimeOf(method);
+        }
+        for (var innerClass : testClass.getInnerClasses()) {
+            if (innerClass.hasAnnotation(ORG_JUNIT_JUPITER_API_NESTED)) waitTime += waitTimeOfTestsIn(innerClass);
+        }
+        return waitTime;
+    }
+
+    /**
+     * Returns the sum of the durations, in milliseconds, of all waits in the body of the argument method.
+     */
+    static long waitTimeOf(@NotNull PsiMethod method) {
+        long waitTime = 0;
+        for (var call : PsiTreeUtil.findChildrenOfType(method.getBody(), PsiMethodCallExpression.class)) {
+            waitTime += waitTimeOf(call);
+        }
+        return waitTime;
+    }
+
+    /**
+     * Returns the duration, in milliseconds, the argument call waits for, or 0 if it is not a wait, or its duration cannot be determined.
+     */
+    static long waitTimeOf(@NotNull PsiMethodCallExpression call) {
+        Long waitTime = null;
+        if (isTimeout(call) || isAfter(call) || THREAD_SLEEP.matches(call)) {
+            waitTime = millisOf(getFirstArgument(call));
+        } else if (TIME_UNIT_SLEEP.matches(call)) {
+            var timeUnit = timeUnitOf(call.getMethodExpression().getQualifierExpression());
+            Long duration = evaluateLongValue(getFirstArgument(call));
+            waitTime = timeUnit != null && duration != null ? timeUnit.toMillis(duration) : null;
+        } else if (AWAITILITY_TIMEOUT.matches(call)) {
+            var arguments = call.getArgumentList().getExpressions();
+            if (arguments.length == 1) {
+                waitTime = millisOf(arguments[0]);
+            } else {
+                var timeUnit = timeUnitOf(arguments[1]);
+                Long duration = evaluateLongValue(arguments[0]);
+                waitTime = timeUnit != null && duration != null ? timeUnit.toMillis(duration) : null;
+            }
+        }
+        return waitTime != null && waitTime > 0 ? waitTime : 0;
+    }
+
+    /**
+     * Returns the milliseconds specified by the argument expression, which is either a number of milliseconds,
+     * or a {@code Duration.ofMillis()}, {@code ofSeconds()}, {@code ofMinutes()} or {@code ofHours()} call.
+     */
+    @Nullable
+    private static Long millisOf(PsiExpression millisOrDuration) {
+        var expression = PsiUtil.skipParenthesizedExprDown(millisOrDuration);
+        if (expression instanceof PsiMethodCallExpression durationOf) {
+            if (!DURATION_OF.matches(durationOf)) return null;
+            Long duration = evaluateLongValue(getFirstArgument(durationOf));
+            return duration != null ? DURATION_FACTORIES.get(durationOf.getMethodExpression().getReferenceName()).toMillis(duration) : null;
+        }
+        return expression != null ? evaluateLongValue(expression) : null;
+    }
+
+    /**
+     * Returns the {@link TimeUnit} the argument expression references, e.g. {@code TimeUnit.SECONDS}, or null if it references none.
+     */
+    @Nullable
+    private static TimeUnit timeUnitOf(@Nullable PsiExpression expression) {
+        if (PsiUtil.skipParenthesizedExprDown(expression) instanceof PsiReferenceExpression reference
+            && reference.resolve() instanceof PsiEnumConstant timeUnit
+            && timeUnit.getContainingClass() != null
+            && JAVA_UTIL_CONCURRENT_TIME_UNIT.equals(timeUnit.getContainingClass().getQualifiedName())) {
+            return TimeUnit.valueOf(timeUnit.getName());
+        }
+        return null;
+    }
+
+    private WaitTimes() {
+        //Utility class
+    }
+}
@@ -2,28 +2,38 @@
 
 package com.picimako.mockitools.inspection;
 
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO;
+import static com.picimako.mockitools.MockitoQualifiedNames.RESET;
 import static com.picimako.mockitools.MockitoolsPsiUtil.isMockedStaticReset;
 import static com.picimako.mockitools.MockitoolsPsiUtil.isReset;
 import static com.picimako.mockitools.util.PsiMethodUtil.getReferenceNameElement;
 
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.psi.PsiMethodCallExpression;
+import com.picimako.mockitools.util.DumbModeUtil;
 import org.jetbrains.annotations.NotNull;
 
 import com.picimako.mockitools.resources.MockitoolsBundle;
 
 /**
  * Reports calls on {@code Mockito.reset()} and {@code MockedStatic.reset()}.
+ * <p>
+ * While indexing is in progress, only {@code Mockito.reset()} calls are reported, matched by their names and the imports of the file,
+ * since the type of {@code MockedStatic} variables cannot be determined without resolution.
  *
  * @see <a href="https://javadoc.io/doc/org.mockito/mockito-core/latest/org/mockito/Mockito.html#resetting_mocks">Resetting mocks</a>
  * @since 0.1.0
  */
-final class CallOnMockitoResetInspection extends MockitoolsBaseInspection {
+final class CallOnMockitoResetInspection extends MockitoolsBaseInspection implements DumbAware {
 
     @Override
     protected void checkMethodCallExpression(PsiMethodCallExpression expression, @NotNull ProblemsHolder holder) {
         if (getReferenceNameElement(expression) != null) {
-            if (isReset(expression)) {
+            if (DumbModeUtil.isDumb(expression)) {
+                if (DumbModeUtil.isStaticCall(expression, ORG_MOCKITO_MOCKITO, RESET))
+                    holder.registerProblem(getReferenceNameElement(expression), MockitoolsBundle.message("inspection.call.to.reset", "Mockito"));
+            } else if (isReset(expression)) {
                 holder.registerProblem(getReferenceNameElement(expression), MockitoolsBundle.message("inspection.call.to.reset", "Mockito"));
             } else if (isMockedStaticReset(expression)) {
                 holder.registerProblem(getReferenceNameElement(expression), MockitoolsBundle.message("inspection.call.to.reset", "MockedStatic"));
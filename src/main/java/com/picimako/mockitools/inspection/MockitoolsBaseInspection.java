@@ -7,6 +7,8 @@ import static com.picimako.mockitools.util.UnitTestPsiUtil.isInTestSourceContent
 import com.intellij.codeInspection.LocalInspectionTool;
 import com.intellij.codeInspection.LocalInspectionToolSession;
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.JavaElementVisitor;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiCallExpression;
@@ -14,24 +16,48 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.psi.PsiNewExpression;
+import com.picimako.mockitools.diagnostics.InspectionDiagnostics;
+import com.picimako.mockitools.diagnostics.InspectionStats;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Base class for inspections that has to distinguish validation between files in test sources and actual unit test classes.
+ * <p>
+ * It also records the diagnostics of the inspection passes, and of the elements visited by the visitors provided by this class,
+ * when {@link InspectionDiagnostics} is enabled, and binds {@link ReducedAnalysis} to the visited elements of files that
+ * are analysed in reduced mode.
+ * <p>
+ * The visitors check for cancellation before each visited element, so that an analysis of an outdated document
+ * is stopped between two elements at the latest. Inspections that build their own visitors are expected to check
+ * the visited elements via {@link #instrumentationFor(LocalInspectionToolSession)} as well.
  */
 public abstract class MockitoolsBaseInspection extends LocalInspectionTool {
+    private final Key<Long> passStartKey = Key.create(getClass().getName() + ".diagnostics.passStart");
 
     @Override
     public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        return isInTestSourceContent(session.getFile()) ? methodCallVisitor(holder) : PsiElementVisitor.EMPTY_VISITOR;
+        return isInTestSourceContent(session.getFile()) ? methodCallVisitor(holder, session) : PsiElementVisitor.EMPTY_VISITOR;
+    }
+
+    @Override
+    public void inspectionStarted(@NotNull LocalInspectionToolSession session, boolean isOnTheFly) {
+        if (InspectionDiagnostics.isEnabled()) session.putUserData(passStartKey, System.nanoTime());
+    }
+
+    @Override
+    public void inspectionFinished(@NotNull LocalInspectionToolSession session, @NotNull ProblemsHolder problemsHolder) {
+        var passStart = session.getUserData(passStartKey);
+        if (passStart != null) InspectionDiagnostics.recordPass(this, passStart, problemsHolder.getResultCount());
     }
 
     @NotNull
-    protected JavaElementVisitor methodCallVisitor(@NotNull ProblemsHolder holder) {
+    protected JavaElementVisitor methodCallVisitor(@NotNull ProblemsHolder holder, @NotNull LocalInspectionToolSession session) {
+        var instrumentation = instrumentationFor(session);
         return new JavaElementVisitor() {
             @Override
             public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
-                checkMethodCallExpression(expression, holder);
+                instrumentation.checkCall(() -> checkMethodCallExpression(expression, holder));
             }
 
             @Override
@@ -47,26 +73,28 @@ public abstract class MockitoolsBaseInspection extends LocalInspectionTool {
     }
 
     @NotNull
-    protected JavaElementVisitor fieldVisitor(@NotNull ProblemsHolder holder) {
+    protected JavaElementVisitor fieldVisitor(@NotNull ProblemsHolder holder, @NotNull LocalInspectionToolSession session) {
+        var instrumentation = instrumentationFor(session);
         return new JavaElementVisitor() {
             @Override
             public void visitField(@NotNull PsiField field) {
-                checkField(field, holder);
+                instrumentation.check(() -> checkField(field, holder));
             }
         };
     }
 
     @NotNull
-    protected JavaElementVisitor fieldAndMethodCallVisitor(@NotNull ProblemsHolder holder) {
+    protected JavaElementVisitor fieldAndMethodCallVisitor(@NotNull ProblemsHolder holder, @NotNull LocalInspectionToolSession session) {
+        var instrumentation = instrumentationFor(session);
         return new JavaElementVisitor() {
             @Override
             public void visitField(@NotNull PsiField field) {
-                checkField(field, holder);
+                instrumentation.check(() -> checkField(field, holder));
             }
 
             @Override
             public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
-                checkMethodCallExpression(expression, holder);
+                instrumentation.checkCall(() -> checkMethodCallExpression(expression, holder));
             }
 
             @Override
@@ -82,16 +110,17 @@ public abstract class MockitoolsBaseInspection extends LocalInspectionTool {
     }
 
     @NotNull
-    protected JavaElementVisitor annotationAndMethodCallVisitor(@NotNull ProblemsHolder holder) {
+    protected JavaElementVisitor annotationAndMethodCallVisitor(@NotNull ProblemsHolder holder, @NotNull LocalInspectionToolSession session) {
+        var instrumentation = instrumentationFor(session);
         return new JavaElementVisitor() {
             @Override
             public void visitAnnotation(@NotNull PsiAnnotation annotation) {
-                checkAnnotation(annotation, holder);
+                instrumentation.check(() -> checkAnnotation(annotation, holder));
             }
 
             @Override
             public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
-                checkMethodCallExpression(expression, holder);
+                instrumentation.checkCall(() -> checkMethodCallExpression(expression, holder));
             }
 
             @Override
@@ -106,6 +135,54 @@ public abstract class MockitoolsBaseInspection extends LocalInspectionTool {
         };
     }
 
+    /**
+     * Returns the instrumentation to check the elements visited by this inspection in the argument session with.
+     */
+    @NotNull
+    protected Instrumentation instrumentationFor(@NotNull LocalInspectionToolSession session) {
+        return new Instrumentation(InspectionDiagnostics.statsOf(this), ReducedAnalysis.scopeFor(session));
+    }
+
+    /**
+     * Checks visited elements with cancellation checks, diagnostics recording and reduced analysis bound to them.
+     */
+    protected static final class Instrumentation {
+        @Nullable
+        private final InspectionStats stats;
+        private final ReducedAnalysis.Scope reducedAnalysis;
+
+        private Instrumentation(@Nullable InspectionStats stats, ReducedAnalysis.Scope reducedAnalysis) {
+            this.stats = stats;
+            this.reducedAnalysis = reducedAnalysis;
+        }
+
+        /**
+         * Checks a visited element that is not a method call.
+         */
+        public void check(Runnable check) {
+            run(check, false);
+        }
+
+        /**
+         * Checks a visited method call, charging the call budget of the file.
+         */
+        public void checkCall(Runnable check) {
+            run(check, true);
+        }
+
+        private void run(Runnable check, boolean isCall) {
+            ProgressManager.checkCanceled();
+            var previous = isCall ? InspectionDiagnostics.enterCall(stats) : InspectionDiagnostics.enter(stats);
+            boolean wasReduced = isCall ? reducedAnalysis.enterCall() : reducedAnalysis.enter();
+            try {
+                check.run();
+            } finally {
+                ReducedAnalysis.exit(wasReduced);
+                InspectionDiagnostics.exit(stats, previous);
+            }
+        }
+    }
+
     /**
      * No-op by default since not all implementations of this class needs it.
      */
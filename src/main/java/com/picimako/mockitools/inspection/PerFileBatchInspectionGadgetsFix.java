@@ -0,0 +1,32 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection;
+
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiFile;
+import com.siyeh.ig.InspectionGadgetsFix;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * An {@link InspectionGadgetsFix} that, when applied on multiple problems at once, fixes them as a {@link PerFileBatchQuickFix},
+ * calling {@link #doFix(Project, ProblemDescriptor)} of the fix registered for each problem.
+ * <p>
+ * It is meant for fixes that modify only the reported element, or its immediate surroundings, so that fixing multiple problems
+ * in the same write command doesn't modify the same code twice.
+ *
+ * @since 1.5.0
+ */
+public abstract class PerFileBatchInspectionGadgetsFix extends InspectionGadgetsFix implements PerFileBatchQuickFix {
+
+    @Override
+    public void applyFixes(@NotNull Project project, @NotNull PsiFile file, @NotNull List<ProblemDescriptor> descriptors) {
+        for (var descriptor : descriptors) {
+            var fix = PerFileBatchQuickFix.getFixFor(descriptor, this);
+            var element = descriptor.getPsiElement();
+            if (fix != null && element != null && element.isValid()) fix.doFix(project, descriptor);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection;
+
+import com.intellij.codeInspection.BatchQuickFix;
+import com.intellij.codeInspection.CommonProblemDescriptor;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.RangeMarker;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A {@link BatchQuickFix} that fixes the selected problems file by file, using a single write command action per file,
+ * instead of a separate command for each problem.
+ * <p>
+ * Within a file, problems are fixed in descending order of their offsets, so that modifications don't shift the text ranges
+ * of the problems yet to be fixed. Postponed PSI operations are performed, the modified text ranges are reformatted,
+ * and the document is committed, once per file, after all problems in that file have been fixed.
+ * <p>
+ * Problems are grouped by the file that their fixes modify, which is by default the file the problems are reported in.
+ *
+ * @since 1.5.0
+ */
+public interface PerFileBatchQuickFix extends BatchQuickFix {
+
+    /**
+     * Fixes the argument problems in {@code file}. It is called within a write command action.
+     *
+     * @param project     the current project
+     * @param file        the file that is modified by the fixes, see {@link #getFileToModify(ProblemDescriptor)}
+     * @param descriptors the problems to fix, ordered by their offsets in descending order
+     */
+    void applyFixes(@NotNull Project project, @NotNull PsiFile file, @NotNull List<ProblemDescriptor> descriptors);
+
+    @NotNull
+    String getFamilyName();
+
+    /**
+     * Returns the file that is modified when the argument problem is fixed, or null if the problem cannot be fixed.
+     * <p>
+     * By default, it is the file the problem is reported in.
+     */
+    @Nullable
+    default PsiFile getFileToModify(@NotNull ProblemDescriptor descriptor) {
+        var element = descriptor.getPsiElement();
+        return element != null && element.isValid() ? element.getContainingFile() : null;
+    }
+
+    @Override
+    default void applyFix(@NotNull Project project, CommonProblemDescriptor @NotNull [] descriptors,
+                          @NotNull List<PsiElement> psiElementsToIgnore, @Nullable Runnable refreshViews) {
+        var descriptorsByFile = new LinkedHashMap<PsiFile, List<ProblemDescriptor>>();
+        for (var descriptor : descriptors) {
+            if (descriptor instanceof ProblemDescriptor problemDescriptor) {
+                var file = getFileToModify(problemDescriptor);
+                if (file != null) descriptorsByFile.computeIfAbsent(file, key -> new ArrayList<>()).add(problemDescriptor);
+            }
+        }
+
+        var documentManager = PsiDocumentManager.getInstance(project);
+        descriptorsByFile.forEach((file, fileDescriptors) -> {
+            fileDescriptors.sort(Comparator.comparingInt((ProblemDescriptor descriptor) -> descriptor.getPsiElement().getTextOffset()).reversed());
+            WriteCommandAction.writeCommandAction(project, file).withName(getFamilyName()).run(() -> {
+                var document = documentManager.getDocument(file);
+                if (document == null) {
+                    applyFixes(project, file, fileDescriptors);
+                    return;
+                }
+
+                var modifiedRanges = new ArrayList<RangeMarker>();
+                var disposable = Disposer.newDisposable();
+                document.addDocumentListener(new DocumentListener() {
+                    @Override
+                    public void documentChanged(@NotNull DocumentEvent event) {
+                        modifiedRanges.add(document.createRangeMarker(event.getOffset(), event.getOffset() + event.getNewLength()));
+                    }
+                }, disposable);
+                try {
+                    applyFixes(project, file, fileDescriptors);
+                    documentManager.doPostponedOperationsAndUnblockDocument(document);
+                } finally {
+                    Disposer.dispose(disposable);
+                }
+
+                documentManager.commitDocument(document);
+                reformat(project, file, modifiedRanges);
+                documentManager.doPostponedOperationsAndUnblockDocument(document);
+                documentManager.commitDocument(document);
+            });
+        });
+
+        if (refreshViews != null) refreshViews.run();
+    }
+
+    /**
+     * Reformats the argument modified text ranges of {@code file}.
+     */
+    private static void reformat(Project project, PsiFile file, List<RangeMarker> modifiedRanges) {
+        var rangesToReformat = new ArrayList<TextRange>(modifiedRanges.size());
+        for (var rangeMarker : modifiedRanges) {
+            if (rangeMarker.isValid()) rangesToReformat.add(rangeMarker.getTextRange());
+            rangeMarker.dispose();
+        }
+        if (!rangesToReformat.isEmpty()) CodeStyleManager.getInstance(project).reformatText(file, rangesToReformat);
+    }
+
+    /**
+     * Returns whether the argument fix, registered for another problem, is the same variant of fix as this one.
+     * <p>
+     * By default, fixes of the same class are considered the same variant. Fixes that are registered in multiple variants
+     * on the same problem must override it, so that each problem is fixed with the variant that was selected.
+     */
+    default boolean isSameVariantAs(@NotNull PerFileBatchQuickFix fix) {
+        return getClass() == fix.getClass();
+    }
+
+    /**
+     * Returns the quick fix registered for the argument problem that is the same variant as {@code selectedFix},
+     * or null if there is no such fix.
+     * <p>
+     * During batch fixing, the selected fix is invoked with all selected problems, but each problem has its own quick fix instance
+     * that may hold problem specific state, thus that instance must be used to fix the problem. If {@code selectedFix} itself
+     * is registered for the problem, it is returned.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <T extends PerFileBatchQuickFix> T getFixFor(ProblemDescriptor descriptor, @NotNull T selectedFix) {
+        var fixes = descriptor.getFixes();
+        if (fixes == null) return null;
+
+        for (var fix : fixes) {
+            if (fix == selectedFix) return selectedFix;
+        }
+        for (var fix : fixes) {
+            if (fix instanceof PerFileBatchQuickFix batchFix && selectedFix.isSameVariantAs(batchFix)) return (T) batchFix;
+        }
+        return null;
+    }
+}
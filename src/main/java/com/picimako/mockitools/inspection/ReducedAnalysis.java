@@ -0,0 +1,148 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection;
+
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.psi.PsiFile;
+import com.intellij.ui.EditorNotifications;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides whether Mockitools inspections analyse a file in reduced mode, which is a cheaper, but less precise mode of analysis
+ * meant for very large, e.g. generated, test files.
+ * <p>
+ * Reduced analysis is active for a file when either
+ * <ul>
+ *     <li>the number of lines in the file exceeds the {@code mockitools.reduced.analysis.line.threshold} registry value, or</li>
+ *     <li>the number of method calls analysed by all inspections in a single inspection pass over the file exceeds the
+ *     {@code mockitools.reduced.analysis.call.budget} registry value. Each analysed call costs at least one method resolution,
+ *     so this works as a resolve budget. The calls are counted per pass, and the file is reported to be in reduced mode
+ *     only until it is modified.</li>
+ * </ul>
+ * A non-positive registry value disables the corresponding trigger.
+ * <p>
+ * In reduced mode:
+ * <ul>
+ *     <li>call matchers match method calls by method name only (see {@link com.picimako.mockitools.util.CallMatcherUtil}),</li>
+ *     <li>the class hierarchy is not searched for {@code @DoNotMock} annotated types,</li>
+ *     <li>inspections that would need to search for references, e.g. of {@code InOrder} variables, are skipped.</li>
+ * </ul>
+ * Utility code doesn't know about the file being analysed, thus the reduced mode is bound to the current thread via
+ * {@link Scope#enter()} and {@link Scope#enterCall()}, for the time an element is being checked. Scopes may be nested,
+ * {@link #exit(boolean)} restores the state of the enclosing scope.
+ *
+ * @see ReducedAnalysisNotificationProvider
+ * @since 1.5.0
+ */
+public final class ReducedAnalysis {
+    public static final String LINE_THRESHOLD_REGISTRY_KEY = "mockitools.reduced.analysis.line.threshold";
+    public static final String CALL_BUDGET_REGISTRY_KEY = "mockitools.reduced.analysis.call.budget";
+    private static final Key<AtomicInteger> CALL_COUNTER = Key.create("mockitools.reduced.analysis.call.counter");
+    private static final Key<Long> CALL_BUDGET_EXCEEDED_AT = Key.create("mockitools.reduced.analysis.call.budget.exceededAt");
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    /**
+     * Returns whether reduced analysis is active for the argument file.
+     */
+    public static boolean isActiveFor(@NotNull PsiFile file) {
+        return exceedsLineThreshold(file) || isCallBudgetExceededOnCurrentVersionOf(file);
+    }
+
+    /**
+     * Returns whether reduced analysis is bound to the current thread, i.e. whether the element currently being checked
+     * should be analysed in reduced mode.
+     */
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    /**
+     * Returns a scope for analysing the file of the argument inspection session. The call budget is shared by all inspections
+     * running in the same session, i.e. in the same inspection pass over the file.
+     */
+    public static Scope scopeFor(@NotNull LocalInspectionToolSession session) {
+        var file = session.getFile();
+        var counter = session.putUserDataIfAbsent(CALL_COUNTER, new AtomicInteger());
+        return new Scope(file, exceedsLineThreshold(file), counter, Registry.intValue(CALL_BUDGET_REGISTRY_KEY, 250_000));
+    }
+
+    /**
+     * Restores the reduced analysis state of the current thread to the one before the corresponding enter call.
+     *
+     * @param wasActive the value returned by {@link Scope#enter()} or {@link Scope#enterCall()}
+     */
+    public static void exit(boolean wasActive) {
+        if (wasActive) ACTIVE.set(Boolean.TRUE);
+        else ACTIVE.remove();
+    }
+
+    private static boolean exceedsLineThreshold(PsiFile file) {
+        int threshold = Registry.intValue(LINE_THRESHOLD_REGISTRY_KEY, 10_000);
+        if (threshold <= 0) return false;
+        var document = file.getViewProvider().getDocument();
+        return document != null && document.getLineCount() > threshold;
+    }
+
+    private static boolean isCallBudgetExceededOnCurrentVersionOf(PsiFile file) {
+        var exceededAt = file.getUserData(CALL_BUDGET_EXCEEDED_AT);
+        return exceededAt != null && exceededAt == file.getModificationStamp();
+    }
+
+    /**
+     * The analysis of a single file in an inspection pass.
+     */
+    public static final class Scope {
+        private final PsiFile file;
+        private final boolean isLargeFile;
+        private final AtomicInteger calls;
+        private final int callBudget;
+
+        private Scope(PsiFile file, boolean isLargeFile, AtomicInteger calls, int callBudget) {
+            this.file = file;
+            this.isLargeFile = isLargeFile;
+            this.calls = calls;
+            this.callBudget = callBudget;
+        }
+
+        /**
+         * Binds reduced analysis to the current thread, if it is active for the file.
+         *
+         * @return whether reduced analysis was bound before this call, to be passed to {@link ReducedAnalysis#exit(boolean)}
+         */
+        public boolean enter() {
+            return bindIf(isLargeFile || isCallBudgetExceeded());
+        }
+
+        /**
+         * Same as {@link #enter()}, but also charges the call budget of the pass with an analysed method call.
+         */
+        public boolean enterCall() {
+            if (!isLargeFile && callBudget > 0 && calls.incrementAndGet() == callBudget + 1) notifyCallBudgetExceeded();
+            return enter();
+        }
+
+        private boolean isCallBudgetExceeded() {
+            return callBudget > 0 && calls.get() > callBudget;
+        }
+
+        private void notifyCallBudgetExceeded() {
+            file.putUserData(CALL_BUDGET_EXCEEDED_AT, file.getModificationStamp());
+            var virtualFile = file.getVirtualFile();
+            if (virtualFile != null) EditorNotifications.getInstance(file.getProject()).updateNotifications(virtualFile);
+        }
+
+        private static boolean bindIf(boolean isActive) {
+            boolean wasActive = ACTIVE.get() != null;
+            if (isActive) ACTIVE.set(Boolean.TRUE);
+            return wasActive;
+        }
+    }
+
+    private ReducedAnalysis() {
+        //Utility class
+    }
+}
@@ -0,0 +1,39 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection;
+
+import static com.picimako.mockitools.util.UnitTestPsiUtil.isInTestSourceContent;
+
+import com.intellij.openapi.fileEditor.FileEditor;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.ui.EditorNotificationPanel;
+import com.intellij.ui.EditorNotificationProvider;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.function.Function;
+
+/**
+ * Displays a notice at the top of Java test files that Mockitools inspections analyse in reduced mode,
+ * so that it is visible why some problems may not be reported in them.
+ *
+ * @see ReducedAnalysis
+ * @since 1.5.0
+ */
+public final class ReducedAnalysisNotificationProvider implements EditorNotificationProvider, DumbAware {
+
+    @Override
+    public @Nullable Function<? super @NotNull FileEditor, ? extends @Nullable JComponent> collectNotificationData(@NotNull Project project, @NotNull VirtualFile file) {
+        var psiFile = PsiManager.getInstance(project).findFile(file);
+        if (!(psiFile instanceof PsiJavaFile) || !isInTestSourceContent(psiFile) || !ReducedAnalysis.isActiveFor(psiFile)) return null;
+
+        return fileEditor -> new EditorNotificationPanel(fileEditor, EditorNotificationPanel.Status.Info)
+            .text(MockitoolsBundle.message("reduced.analysis.notification.text"));
+    }
+}
@@ -2,6 +2,7 @@
 
 package com.picimako.mockitools.inspection.captor;
 
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_ARGUMENT_CAPTOR;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_CAPTOR;
 import static com.picimako.mockitools.MockitoolsPsiUtil.isOfTypeArgumentCaptor;
 import static com.picimako.mockitools.util.UnitTestPsiUtil.isInTestSourceContent;
@@ -11,11 +12,13 @@ import com.intellij.codeInspection.ProblemDescriptor;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.codeInspection.util.IntentionFamilyName;
 import com.intellij.codeInspection.util.IntentionName;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiField;
 import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
-import com.siyeh.ig.InspectionGadgetsFix;
+import com.picimako.mockitools.inspection.PerFileBatchInspectionGadgetsFix;
+import com.picimako.mockitools.util.DumbModeUtil;
 import org.jetbrains.annotations.NotNull;
 
 import com.picimako.mockitools.resources.MockitoolsBundle;
@@ -28,28 +31,36 @@ import com.picimako.mockitools.resources.MockitoolsBundle;
  * Otherwise {@link CaptorFieldOfTypeArgumentCaptorInspection} will take effect.
  * <p>
  * It also provides a quick fix to remove the field initializer.
+ * <p>
+ * While indexing is in progress, the annotation and the type of the field are matched by their names and the imports of the file.
  *
  * @see CaptorFieldOfTypeArgumentCaptorInspection
  * @see <a href="https://javadoc.io/doc/org.mockito/mockito-core/latest/org/mockito/Captor.html">@Captor javadoc</a>
  * @see <a href="https://www.baeldung.com/mockito-annotations">Baeldung - Mockito Annotations</a>
  * @since 0.1.0
  */
-final class CaptorFieldInitializationInspection extends MockitoolsBaseInspection {
+final class CaptorFieldInitializationInspection extends MockitoolsBaseInspection implements DumbAware {
 
     @Override
     public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        return isInTestSourceContent(session.getFile()) ? fieldVisitor(holder) : PsiElementVisitor.EMPTY_VISITOR;
+        return isInTestSourceContent(session.getFile()) ? fieldVisitor(holder, session) : PsiElementVisitor.EMPTY_VISITOR;
     }
 
     @Override
     protected void checkField(PsiField field, @NotNull ProblemsHolder holder) {
-        if (field.hasAnnotation(ORG_MOCKITO_CAPTOR) && isOfTypeArgumentCaptor(field) && field.hasInitializer()) {
+        if (field.hasInitializer() && isArgumentCaptorTypedCaptorField(field)) {
             holder.registerProblem(field.getInitializer(), MockitoolsBundle.message("inspection.captor.field.init.not.required"),
                 new RemoveArgumentCaptorInitQuickFix());
         }
     }
 
-    private static final class RemoveArgumentCaptorInitQuickFix extends InspectionGadgetsFix {
+    private static boolean isArgumentCaptorTypedCaptorField(PsiField field) {
+        return DumbModeUtil.isDumb(field)
+            ? DumbModeUtil.hasAnnotation(field, ORG_MOCKITO_CAPTOR) && DumbModeUtil.isOfType(field.getTypeElement(), ORG_MOCKITO_ARGUMENT_CAPTOR)
+            : field.hasAnnotation(ORG_MOCKITO_CAPTOR) && isOfTypeArgumentCaptor(field);
+    }
+
+    private static final class RemoveArgumentCaptorInitQuickFix extends PerFileBatchInspectionGadgetsFix {
 
         @Override
         public @IntentionName @NotNull String getName() {
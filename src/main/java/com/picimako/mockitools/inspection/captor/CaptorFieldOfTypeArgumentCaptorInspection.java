@@ -21,8 +21,8 @@ import com.intellij.psi.PsiPrimitiveType;
 import com.intellij.psi.PsiType;
 import com.intellij.psi.codeStyle.JavaCodeStyleManager;
 import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.PerFileBatchInspectionGadgetsFix;
 import com.picimako.mockitools.resources.MockitoolsBundle;
-import com.siyeh.ig.InspectionGadgetsFix;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -39,7 +39,7 @@ final class CaptorFieldOfTypeArgumentCaptorInspection extends MockitoolsBaseInsp
 
     @Override
     public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        return isInTestSourceContent(session.getFile()) ? fieldVisitor(holder) : PsiElementVisitor.EMPTY_VISITOR;
+        return isInTestSourceContent(session.getFile()) ? fieldVisitor(holder, session) : PsiElementVisitor.EMPTY_VISITOR;
     }
 
     @Override
@@ -55,7 +55,7 @@ final class CaptorFieldOfTypeArgumentCaptorInspection extends MockitoolsBaseInsp
      * <p>
      * With that said, it imports {@code org.mockito.ArgumentCaptor} upon applying the quick fix.
      */
-    private static final class ConvertFieldTypeToArgumentCaptorQuickFix extends InspectionGadgetsFix {
+    private static final class ConvertFieldTypeToArgumentCaptorQuickFix extends PerFileBatchInspectionGadgetsFix {
 
         @Override
         public @IntentionName @NotNull String getName() {
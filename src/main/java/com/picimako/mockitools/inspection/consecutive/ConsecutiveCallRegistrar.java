@@ -3,18 +3,18 @@
 package com.picimako.mockitools.inspection.consecutive;
 
 import static com.google.common.collect.Iterables.getLast;
-import static com.picimako.mockitools.util.PointersUtil.toPointers;
 
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiMethodCallExpression;
-import com.intellij.psi.SmartPsiElementPointer;
 import com.picimako.mockitools.inspection.stubbing.ExceptionStubber;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 
 /**
- * Data class to be used during quick fix registration.
+ * Data class to be used during problem registration.
+ * <p>
+ * It references the PSI of the analysed call chain, thus it must not be passed to quick fixes, so that they don't retain
+ * the syntax tree after registration.
  */
 class ConsecutiveCallRegistrar {
     /**
@@ -33,12 +33,6 @@ class ConsecutiveCallRegistrar {
      * @see ConsecutiveCallAnalyzer#exceptionStubber
      */
     private final ExceptionStubber exceptionStubber;
-    /**
-     * The list of {@code callsInWholeChain} as {@link SmartPsiElementPointer}s used within the respective quick fix.
-     * <p>
-     * This is lazy-initialized, and instantiated only when {@code MergeConsecutiveStubbingCallsQuickFix} is actually called.
-     */
-    private List<SmartPsiElementPointer<PsiMethodCallExpression>> wholeChainPointers = null;
 
     ConsecutiveCallRegistrar(@NotNull ConsecutiveCallAnalyzer analyzer,
                              @NotNull List<PsiMethodCallExpression> callsInWholeChain,
@@ -63,25 +57,4 @@ class ConsecutiveCallRegistrar {
     boolean isCallToThrowables(PsiMethodCallExpression call) {
         return exceptionStubber != null && exceptionStubber.throwablesMatcher.matches(call);
     }
-
-    //For quick fixes
-
-    PsiMethodCallExpression getElement(int index) {
-        initializePointersIfNotAlready();
-        return wholeChainPointers.get(index).getElement();
-    }
-
-    PsiMethodCallExpression getFirstConsecutiveCall() {
-        initializePointersIfNotAlready();
-        return wholeChainPointers.get(consecutiveCallIndeces.getFirst()).getElement();
-    }
-
-    VirtualFile getContainingFile() {
-        initializePointersIfNotAlready();
-        return wholeChainPointers.getFirst().getVirtualFile();
-    }
-
-    private void initializePointersIfNotAlready() {
-        if (wholeChainPointers == null) wholeChainPointers = toPointers(callsInWholeChain);
-    }
 }
@@ -2,34 +2,50 @@
 
 package com.picimako.mockitools.inspection.consecutive;
 
+import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
 import static com.picimako.mockitools.resources.MockitoolsBundle.message;
+import static com.picimako.mockitools.util.PsiMethodUtil.collectCallsInChainFromLast;
 import static com.picimako.mockitools.util.Ranges.endOffsetOf;
 
 import com.intellij.codeInspection.ProblemDescriptor;
 import com.intellij.codeInspection.util.IntentionFamilyName;
 import com.intellij.codeInspection.util.IntentionName;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.picimako.mockitools.inspection.PerFileBatchQuickFix;
 import com.siyeh.ig.InspectionGadgetsFix;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Quick fix that merges consecutive {@code *Throw()} or {@code *Return()} calls, respectively.
  * Only a single section of consecutive calls is merged if there are multiple.
+ * <p>
+ * The fix doesn't reference the analysed call chain. The problem is registered on the last call of the consecutive section,
+ * so the section is located from the problem descriptor, and the number of consecutive calls, when the fix is applied.
+ * <p>
+ * When applied on multiple problems at once, the sections are merged file by file, with one command per file.
  */
 @RequiredArgsConstructor
-public class MergeConsecutiveStubbingCallsQuickFix extends InspectionGadgetsFix {
-    private final ConsecutiveCallRegistrar registrar;
+public class MergeConsecutiveStubbingCallsQuickFix extends InspectionGadgetsFix implements PerFileBatchQuickFix {
+    private final String consecutiveMethodName;
+    private final int consecutiveCallCount;
     private final TypeConversionMethod argumentTypeConverter;
 
     @Override
     public @IntentionName @NotNull String getName() {
         return switch (argumentTypeConverter) {
             case NO_CONVERSION, TO_THROWABLES_SIMPLE ->
-                message("quick.fix.merge.with.previous.consecutive.calls", registrar.consecutiveMethodName);
+                message("quick.fix.merge.with.previous.consecutive.calls", consecutiveMethodName);
             default ->
                 message("quick.fix.merge.with.previous.consecutive.calls.and.convert.params", argumentTypeConverter.message);
         };
@@ -42,21 +58,73 @@ public class MergeConsecutiveStubbingCallsQuickFix extends InspectionGadgetsFix
 
     @Override
     protected void doFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
-        var firstConsecutiveCall = registrar.getFirstConsecutiveCall();
-        var viewProvider = firstConsecutiveCall.getManager().findViewProvider(registrar.getContainingFile());
-        if (viewProvider == null) return;
-        var document = viewProvider.getDocument();
-        if (document == null) return;
+        var element = descriptor.getPsiElement();
+        if (element == null) return;
+
         var documentManager = PsiDocumentManager.getInstance(project);
+        var document = documentManager.getDocument(element.getContainingFile());
+        var consecutiveCalls = findConsecutiveCalls(descriptor);
+        if (document != null && consecutiveCalls != null) merge(consecutiveCalls, document, documentManager);
+    }
+
+    @Override
+    public void applyFixes(@NotNull Project project, @NotNull PsiFile file, @NotNull List<ProblemDescriptor> descriptors) {
+        var documentManager = PsiDocumentManager.getInstance(project);
+        var document = documentManager.getDocument(file);
+        if (document == null) return;
+
+        for (var descriptor : descriptors) {
+            var fix = PerFileBatchQuickFix.getFixFor(descriptor, this);
+            if (fix != null) {
+                var consecutiveCalls = fix.findConsecutiveCalls(descriptor);
+                if (consecutiveCalls != null) fix.merge(consecutiveCalls, document, documentManager);
+            }
+        }
+    }
+
+    /**
+     * Fixes with the same consecutive method name and argument type conversion are the same variant, e.g. when the arguments
+     * of mixed types may be converted either to {@code Class} objects or to {@code Throwable}s, each conversion is a separate variant.
+     */
+    @Override
+    public boolean isSameVariantAs(@NotNull PerFileBatchQuickFix fix) {
+        return fix instanceof MergeConsecutiveStubbingCallsQuickFix mergeFix
+            && consecutiveMethodName.equals(mergeFix.consecutiveMethodName)
+            && argumentTypeConverter == mergeFix.argumentTypeConverter;
+    }
+
+    /**
+     * Returns the section of consecutive calls, in the order they are called, ending with the call the argument problem
+     * is registered on, or null if the section is no longer available.
+     */
+    @Nullable
+    private List<PsiMethodCallExpression> findConsecutiveCalls(ProblemDescriptor descriptor) {
+        var lastConsecutiveCall = getParentOfType(descriptor.getPsiElement(), PsiMethodCallExpression.class);
+        if (lastConsecutiveCall == null) return null;
+
+        var callsFromLast = collectCallsInChainFromLast(lastConsecutiveCall);
+        if (callsFromLast.size() < consecutiveCallCount) return null;
+        var consecutiveCalls = new ArrayList<>(callsFromLast.subList(0, consecutiveCallCount));
+        Collections.reverse(consecutiveCalls);
+        return consecutiveCalls;
+    }
+
+    /**
+     * Merges the argument section of consecutive calls.
+     * <p>
+     * Since argument merging happens on PSI level, while removal of the merged calls happens on document level,
+     * the document is committed between the two kinds of modifications.
+     */
+    private void merge(List<PsiMethodCallExpression> consecutiveCalls, Document document, PsiDocumentManager documentManager) {
+        var firstConsecutiveCall = consecutiveCalls.getFirst();
 
         //Convert the first consecutive call's arguments to the target type
         for (var expression : firstConsecutiveCall.getArgumentList().getExpressions()) {
             expression.replace(argumentTypeConverter.convert(expression));
         }
         //Merge arguments by adding them to the first consecutive call
-        registrar.consecutiveCallIndeces.stream()
+        consecutiveCalls.stream()
             .skip(1)
-            .map(registrar::getElement)
             .flatMap(methodCall -> Arrays.stream(methodCall.getArgumentList().getExpressions()))
             .map(argumentTypeConverter::convert)
             .forEach(argument -> {
@@ -66,13 +134,8 @@ public class MergeConsecutiveStubbingCallsQuickFix extends InspectionGadgetsFix
 
         documentManager.doPostponedOperationsAndUnblockDocument(document);
 
-        //Remove the consecutive calls except the first one
-        for (int i = 1; i < registrar.consecutiveCallIndeces.size(); i++) {
-            Integer index = registrar.consecutiveCallIndeces.get(i);
-            document.deleteString(
-                endOffsetOf(registrar.getElement(index - 1)),
-                endOffsetOf(registrar.getElement(index)));
-            documentManager.commitDocument(document);
-        }
+        //Remove the consecutive calls except the first one. Since they are consecutive, they are removed as a single range.
+        document.deleteString(endOffsetOf(firstConsecutiveCall), endOffsetOf(consecutiveCalls.getLast()));
+        documentManager.commitDocument(document);
     }
 }
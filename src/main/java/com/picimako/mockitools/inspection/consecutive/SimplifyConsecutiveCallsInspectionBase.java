@@ -8,6 +8,7 @@ import static com.siyeh.ig.psiutils.MethodCallUtils.getMethodName;
 
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.util.SmartList;
 import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
@@ -54,6 +55,7 @@ abstract class SimplifyConsecutiveCallsInspectionBase extends MockitoolsBaseInsp
         var consecutiveCallIndeces = new SmartList<Integer>();
 
         for (int i = analyzer.skipAnalysisOfFirstCall ? 1 : 0; i < callsInWholeChain.size(); i++) {
+            ProgressManager.checkCanceled();
             var call = callsInWholeChain.get(i);
 
             if (analyzer.consecutiveMethodName.equals(getMethodName(call)) && extraCondition().test(call)) {
@@ -91,6 +93,6 @@ abstract class SimplifyConsecutiveCallsInspectionBase extends MockitoolsBaseInsp
     protected void doRegister(ConsecutiveCallRegistrar registrar, @NotNull ProblemsHolder holder, TypeConversionMethod... typeConversionMethods) {
         holder.registerProblem(getReferenceNameElement(registrar.getLastConsecutiveCall()),
             MockitoolsBundle.message("inspection.can.merge.with.previous.consecutive.calls", registrar.consecutiveMethodName),
-            Arrays.stream(typeConversionMethods).map(method -> new MergeConsecutiveStubbingCallsQuickFix(registrar, method)).toArray(LocalQuickFix[]::new));
+            Arrays.stream(typeConversionMethods).map(method -> new MergeConsecutiveStubbingCallsQuickFix(registrar.consecutiveMethodName, registrar.consecutiveCallIndeces.size(), method)).toArray(LocalQuickFix[]::new));
     }
 }
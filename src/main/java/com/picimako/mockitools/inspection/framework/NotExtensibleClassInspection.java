@@ -3,11 +3,11 @@
 package com.picimako.mockitools.inspection.framework;
 
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_NOT_EXTENSIBLE;
+import static com.picimako.mockitools.util.ResolveUtil.resolveClass;
 
 import java.util.Arrays;
 import java.util.Optional;
 
-import com.intellij.codeInspection.LocalInspectionTool;
 import com.intellij.codeInspection.LocalInspectionToolSession;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.JavaElementVisitor;
@@ -17,6 +17,7 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiTypeParameter;
 import org.jetbrains.annotations.NotNull;
 
+import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
 import com.picimako.mockitools.resources.MockitoolsBundle;
 
 /**
@@ -28,34 +29,37 @@ import com.picimako.mockitools.resources.MockitoolsBundle;
  * @see <a href="https://javadoc.io/doc/org.mockito/mockito-core/latest/org/mockito/NotExtensible.html">@NotExtensible javadoc</a>
  * @since 0.1.0
  */
-final class NotExtensibleClassInspection extends LocalInspectionTool {
+final class NotExtensibleClassInspection extends MockitoolsBaseInspection {
 
     @Override
     public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
+        var instrumentation = instrumentationFor(session);
         return new JavaElementVisitor() {
             @Override
             public void visitClass(@NotNull PsiClass aClass) {
-                if (aClass.isAnnotationType()
-                    || aClass.isEnum()
-                    || aClass.isRecord()
-                    || aClass instanceof PsiTypeParameter
-                    || aClass instanceof PsiAnonymousClass
-                    || aClass.getExtendsList() == null) {
-                    return;
-                }
-                if (aClass.isInterface()) {
-                    if (Arrays.stream(aClass.getExtendsListTypes())
-                        .anyMatch(superInterface -> Optional.ofNullable(superInterface.resolve()).map(i -> i.hasAnnotation(ORG_MOCKITO_NOT_EXTENSIBLE)).orElse(false))) {
-                        //at this point the name identifier should not be null
-                        holder.registerProblem(aClass.getNameIdentifier(), MockitoolsBundle.message("inspection.interface.extends.not.extensible"));
+                instrumentation.check(() -> {
+                    if (aClass.isAnnotationType()
+                        || aClass.isEnum()
+                        || aClass.isRecord()
+                        || aClass instanceof PsiTypeParameter
+                        || aClass instanceof PsiAnonymousClass
+                        || aClass.getExtendsList() == null) {
+                        return;
                     }
-                } else {
-                    var superClass = aClass.getSuperClass();
-                    if (superClass != null && superClass.hasAnnotation(ORG_MOCKITO_NOT_EXTENSIBLE)) {
-                        //at this point the name identifier should not be null
-                        holder.registerProblem(aClass.getNameIdentifier(), MockitoolsBundle.message("inspection.class.extends.not.extensible"));
+                    if (aClass.isInterface()) {
+                        if (Arrays.stream(aClass.getExtendsListTypes())
+                            .anyMatch(superInterface -> Optional.ofNullable(resolveClass(superInterface)).map(i -> i.hasAnnotation(ORG_MOCKITO_NOT_EXTENSIBLE)).orElse(false))) {
+                            //at this point the name identifier should not be null
+                            holder.registerProblem(aClass.getNameIdentifier(), MockitoolsBundle.message("inspection.interface.extends.not.extensible"));
+                        }
+                    } else {
+                        var superClass = aClass.getSuperClass();
+                        if (superClass != null && superClass.hasAnnotation(ORG_MOCKITO_NOT_EXTENSIBLE)) {
+                            //at this point the name identifier should not be null
+                            holder.registerProblem(aClass.getNameIdentifier(), MockitoolsBundle.message("inspection.class.extends.not.extensible"));
+                        }
                     }
-                }
+                });
             }
         };
     }
@@ -24,7 +24,7 @@ public interface MigrationAidBase {
     abstract class V3ToV4BaseInspection extends MockitoolsBaseInspection {
         @Override
         public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-            return isInTestSourceContent(session.getFile()) && isMockitoCore3xAvailableInModuleOf(session.getFile(), holder.getProject()) ? methodCallVisitor(holder) : PsiElementVisitor.EMPTY_VISITOR;
+            return isInTestSourceContent(session.getFile()) && isMockitoCore3xAvailableInModuleOf(session.getFile(), holder.getProject()) ? methodCallVisitor(holder, session) : PsiElementVisitor.EMPTY_VISITOR;
         }
     }
 
@@ -34,7 +34,7 @@ public interface MigrationAidBase {
     abstract class V23ToV4BaseInspection extends MockitoolsBaseInspection {
         @Override
         public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-            return isInTestSourceContent(session.getFile()) && isMockitoCore2xOr3xAvailableInModuleOf(session.getFile(), holder.getProject()) ? methodCallVisitor(holder) : PsiElementVisitor.EMPTY_VISITOR;
+            return isInTestSourceContent(session.getFile()) && isMockitoCore2xOr3xAvailableInModuleOf(session.getFile(), holder.getProject()) ? methodCallVisitor(holder, session) : PsiElementVisitor.EMPTY_VISITOR;
         }
     }
 }
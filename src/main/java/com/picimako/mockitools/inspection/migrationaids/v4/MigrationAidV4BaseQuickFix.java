@@ -9,15 +9,15 @@ import static com.siyeh.ig.psiutils.ImportUtils.isAlreadyStaticallyImported;
 import com.intellij.codeInspection.util.IntentionFamilyName;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiMethodCallExpression;
+import com.picimako.mockitools.inspection.PerFileBatchInspectionGadgetsFix;
 import com.picimako.mockitools.inspection.migrationaids.v4.ArgumentMatchersCalledViaMatchersInspection.ReplaceMatchersWithArgumentMatchersQuickFix;
 import com.picimako.mockitools.resources.MockitoolsBundle;
-import com.siyeh.ig.InspectionGadgetsFix;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Base class for Mockito v4 migration aid quick fixes.
  */
-public abstract class MigrationAidV4BaseQuickFix extends InspectionGadgetsFix {
+public abstract class MigrationAidV4BaseQuickFix extends PerFileBatchInspectionGadgetsFix {
 
     @Override
     public @IntentionFamilyName @NotNull String getFamilyName() {
@@ -5,7 +5,9 @@ package com.picimako.mockitools.inspection.migrationaids.v4;
 import static com.intellij.psi.JavaPsiFacade.getElementFactory;
 import static com.intellij.psi.search.GlobalSearchScope.moduleWithLibrariesScope;
 
-import java.util.Optional;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import com.intellij.codeInspection.ProblemDescriptor;
 import com.intellij.codeInspection.util.IntentionName;
@@ -13,8 +15,11 @@ import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiImportStatementBase;
 import com.intellij.psi.PsiJavaCodeReferenceElement;
 import com.intellij.psi.PsiJavaFile;
+import com.picimako.mockitools.inspection.PerFileBatchQuickFix;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
@@ -29,6 +34,9 @@ import org.jetbrains.annotations.PropertyKey;
  * <p>
  * If the reference is qualified, the reference is replaced with the predefined fully qualified name,
  * otherwise it is the import statement of the reference that is replaced.
+ * <p>
+ * When applied on multiple problems at once, each import statement is replaced only once per file,
+ * regardless of how many problems reference it.
  */
 @RequiredArgsConstructor
 public class NameCollisionAwareReferenceReplacerQuickFix extends MigrationAidV4BaseQuickFix {
@@ -44,17 +52,43 @@ public class NameCollisionAwareReferenceReplacerQuickFix extends MigrationAidV4B
 
     @Override
     protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
-        var element = (PsiJavaCodeReferenceElement) descriptor.getPsiElement();
-        Module module = ModuleUtilCore.findModuleForFile(element.getContainingFile().getVirtualFile(), project);
+        applyFixes(project, descriptor.getPsiElement().getContainingFile(), List.of(descriptor));
+    }
+
+    @Override
+    public void applyFixes(@NotNull Project project, @NotNull PsiFile file, @NotNull List<ProblemDescriptor> descriptors) {
+        Module module = ModuleUtilCore.findModuleForFile(file.getVirtualFile(), project);
         if (module == null) return;
 
-        if (element.isQualified()) {
-            element.replace(getElementFactory(project).createReferenceElementByFQClassName(replacementClassFqn, moduleWithLibrariesScope(module)));
-        } else {
-            var containingFile = (PsiJavaFile) element.getContainingFile();
-            Optional.ofNullable(containingFile.findImportReferenceTo((PsiClass) element.resolve()))
-                .ifPresent(importStmt -> importStmt.replace(getElementFactory(project).createFQClassNameReferenceElement(replacementClassFqn, moduleWithLibrariesScope(module))));
+        //The references in import statements mapped to the fully qualified names of their replacement classes
+        var importReplacements = new LinkedHashMap<PsiJavaCodeReferenceElement, String>();
+        for (var descriptor : descriptors) {
+            var fix = PerFileBatchQuickFix.getFixFor(descriptor, this);
+            if (fix != null && descriptor.getPsiElement() instanceof PsiJavaCodeReferenceElement element)
+                fix.replace(element, module, importReplacements);
         }
+        replaceImports(importReplacements, module, project);
     }
 
+    /**
+     * Replaces the argument element, if it is qualified, otherwise saves its import statement for later replacement.
+     * <p>
+     * If the element is itself the reference in an import statement, it is saved for later replacement too,
+     * so that it is not replaced again when the usages of the import are fixed.
+     */
+    private void replace(PsiJavaCodeReferenceElement element, Module module, Map<PsiJavaCodeReferenceElement, String> importReplacements) {
+        if (element.getParent() instanceof PsiImportStatementBase) {
+            importReplacements.putIfAbsent(element, replacementClassFqn);
+        } else if (element.isQualified()) {
+            element.replace(getElementFactory(element.getProject()).createReferenceElementByFQClassName(replacementClassFqn, moduleWithLibrariesScope(module)));
+        } else if (element.resolve() instanceof PsiClass referencedClass) {
+            var importReference = ((PsiJavaFile) element.getContainingFile()).findImportReferenceTo(referencedClass);
+            if (importReference != null) importReplacements.putIfAbsent(importReference, replacementClassFqn);
+        }
+    }
+
+    private static void replaceImports(Map<PsiJavaCodeReferenceElement, String> importReplacements, Module module, Project project) {
+        importReplacements.forEach((importReference, replacementFqn) ->
+            importReference.replace(getElementFactory(project).createFQClassNameReferenceElement(replacementFqn, moduleWithLibrariesScope(module))));
+    }
 }
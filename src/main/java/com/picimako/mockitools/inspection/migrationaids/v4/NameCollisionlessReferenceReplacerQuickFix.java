@@ -5,12 +5,16 @@ package com.picimako.mockitools.inspection.migrationaids.v4;
 import static com.intellij.psi.JavaPsiFacade.getElementFactory;
 import static com.intellij.psi.search.GlobalSearchScope.moduleWithLibrariesScope;
 
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.List;
 
 import com.intellij.codeInspection.ProblemDescriptor;
 import com.intellij.codeInspection.util.IntentionName;
 import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.picimako.mockitools.inspection.PerFileBatchQuickFix;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
@@ -22,6 +26,8 @@ import com.picimako.mockitools.resources.MockitoolsBundle;
  * This quick fix is for locations where it doesn't matter whether the qualifier of the reference should remain untouched or not.
  * <p>
  * In any case, the reference is replaced with the short name of the predefined fully qualified name.
+ * <p>
+ * When applied on multiple problems at once, the replacement reference is created only once per file and replacement class.
  */
 @RequiredArgsConstructor
 public class NameCollisionlessReferenceReplacerQuickFix extends MigrationAidV4BaseQuickFix {
@@ -36,8 +42,22 @@ public class NameCollisionlessReferenceReplacerQuickFix extends MigrationAidV4Ba
 
     @Override
     protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
-        Optional.ofNullable(ModuleUtilCore.findModuleForFile(descriptor.getPsiElement().getContainingFile().getVirtualFile(), project))
-            .map(module -> getElementFactory(project).createReferenceElementByFQClassName(replacementClassFqn, moduleWithLibrariesScope(module)))
-            .ifPresent(pluginsAnnotationEngine -> descriptor.getPsiElement().replace(pluginsAnnotationEngine));
+        applyFixes(project, descriptor.getPsiElement().getContainingFile(), List.of(descriptor));
+    }
+
+    @Override
+    public void applyFixes(@NotNull Project project, @NotNull PsiFile file, @NotNull List<ProblemDescriptor> descriptors) {
+        var module = ModuleUtilCore.findModuleForFile(file.getVirtualFile(), project);
+        if (module == null) return;
+
+        var replacementsByFqn = new HashMap<String, PsiJavaCodeReferenceElement>();
+        for (var descriptor : descriptors) {
+            var fix = PerFileBatchQuickFix.getFixFor(descriptor, this);
+            if (fix != null) {
+                var replacement = replacementsByFqn.computeIfAbsent(fix.replacementClassFqn,
+                    fqn -> getElementFactory(project).createReferenceElementByFQClassName(fqn, moduleWithLibrariesScope(module)));
+                descriptor.getPsiElement().replace(replacement);
+            }
+        }
     }
 }
@@ -35,24 +35,27 @@ final class UsageOfDeprecatedPluginClassesInspection extends MigrationAidBase.V2
             return PsiElementVisitor.EMPTY_VISITOR;
         }
 
+        var instrumentation = instrumentationFor(session);
         return new JavaElementVisitor() {
             @Override
             public void visitReferenceElement(@NotNull PsiJavaCodeReferenceElement reference) {
-                if (ORG_MOCKITO_CONFIGURATION_ANNOTATION_ENGINE.equals(reference.getQualifiedName())) {
-                    //noinspection DialogTitleCapitalization
-                    holder.registerProblem(reference,
-                        MockitoolsBundle.message("inspection.migration.aid.v4.plugin.configuration.annotation.engine"),
-                        new NameCollisionAwareReferenceReplacerQuickFix("quick.fix.migration.aid.v4.replace.with.org.mockito.plugins.AnnotationEngine",
-                            ORG_MOCKITO_PLUGINS_ANNOTATION_ENGINE));
-                    return;
-                }
-
-                if (ORG_MOCKITO_PLUGINS_INSTANTIATOR_PROVIDER.equals(reference.getQualifiedName())) {
-                    holder.registerProblem(reference,
-                        MockitoolsBundle.message("inspection.migration.aid.v4.plugin.instantiator.provider"),
-                        new NameCollisionlessReferenceReplacerQuickFix("quick.fix.migration.aid.v4.replace.with.instantiator.provider.2",
-                            ORG_MOCKITO_PLUGINS_INSTANTIATOR_PROVIDER_2));
-                }
+                instrumentation.check(() -> {
+                    if (ORG_MOCKITO_CONFIGURATION_ANNOTATION_ENGINE.equals(reference.getQualifiedName())) {
+                        //noinspection DialogTitleCapitalization
+                        holder.registerProblem(reference,
+                            MockitoolsBundle.message("inspection.migration.aid.v4.plugin.configuration.annotation.engine"),
+                            new NameCollisionAwareReferenceReplacerQuickFix("quick.fix.migration.aid.v4.replace.with.org.mockito.plugins.AnnotationEngine",
+                                ORG_MOCKITO_PLUGINS_ANNOTATION_ENGINE));
+                        return;
+                    }
+
+                    if (ORG_MOCKITO_PLUGINS_INSTANTIATOR_PROVIDER.equals(reference.getQualifiedName())) {
+                        holder.registerProblem(reference,
+                            MockitoolsBundle.message("inspection.migration.aid.v4.plugin.instantiator.provider"),
+                            new NameCollisionlessReferenceReplacerQuickFix("quick.fix.migration.aid.v4.replace.with.instantiator.provider.2",
+                                ORG_MOCKITO_PLUGINS_INSTANTIATOR_PROVIDER_2));
+                    }
+                });
             }
         };
     }
@@ -0,0 +1,373 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import static com.intellij.codeInspection.options.OptPane.number;
+import static com.intellij.codeInspection.options.OptPane.pane;
+import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
+import static com.picimako.mockitools.MockableTypesUtil.isMockableType;
+import static com.picimako.mockitools.MockitoMockMatchers.MOCK_WITH_ANSWER;
+import static com.picimako.mockitools.MockitoMockMatchers.MOCK_WITH_SETTINGS;
+import static com.picimako.mockitools.MockitoQualifiedNames.ANSWER;
+import static com.picimako.mockitools.MockitoQualifiedNames.DEFAULT_ANSWER;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_ANSWERS;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCK;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO;
+import static com.picimako.mockitools.intention.MethodRearranger.BEFORE_EACH_ANNOTATIONS;
+import static com.picimako.mockitools.util.ClassObjectAccessUtil.getOperandType;
+import static com.picimako.mockitools.util.PsiMethodUtil.collectCallsInChainFromLast;
+import static com.picimako.mockitools.util.PsiMethodUtil.get2ndArgument;
+import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
+import static com.picimako.mockitools.util.PsiMethodUtil.getSubsequentMethodCall;
+import static com.picimako.mockitools.util.PsiMethodUtil.hasTwoArguments;
+import static com.picimako.mockitools.util.ResolveUtil.resolve;
+import static com.picimako.mockitools.util.ResolveUtil.resolveClass;
+import static com.picimako.mockitools.util.UnitTestPsiUtil.isInTestSourceContent;
+import static com.siyeh.ig.psiutils.MethodCallUtils.getMethodName;
+
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.options.OptPane;
+import com.intellij.codeInspection.util.IntentionFamilyName;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.CommonClassNames;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiDeclarationStatement;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiLambdaExpression;
+import com.intellij.psi.PsiLocalVariable;
+import com.intellij.psi.PsiLoopStatement;
+import com.intellij.psi.PsiMember;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.search.LocalSearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.ReducedAnalysis;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import com.siyeh.ig.InspectionGadgetsFix;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reports the {@code RETURNS_DEEP_STUBS} and {@code RETURNS_MOCKS} answers specified in
+ * <ul>
+ *     <li>{@code Mockito.mock(Type.class, <answer>)} calls,</li>
+ *     <li>{@code Mockito.mock(Type.class, withSettings().defaultAnswer(<answer>))} calls,</li>
+ *     <li>{@code @Mock(answer = <answer>)} annotations,</li>
+ * </ul>
+ * when they are used in a context where they are expensive:
+ * <ul>
+ *     <li>the mock is created in a loop,</li>
+ *     <li>the mock is created before each test, i.e. in a before-each hook, or it is a {@code @Mock} field,</li>
+ *     <li>the mocked type has a deep graph of mockable return types. The depth above which mocks are reported is configurable.</li>
+ * </ul>
+ * These answers create a mock for each intermediate return type accessed on the mock, and also keep generic metadata of those types.
+ * <p>
+ * The return type graph of a type consists of the return types of its non-private, non-static methods, which Mockito would also mock,
+ * and their return types recursively. Types in the {@code java.*} packages, enums, records and type parameters are not taken into account,
+ * since Mockito returns empty values for most of them. This part of the analysis is skipped in files analysed in {@link ReducedAnalysis reduced mode}.
+ * <p>
+ * For {@code Mockito.mock()} calls initializing local variables, the quick fix removes the answer, and generates explicit stubs for the
+ * intermediate calls of the call chains that are called on the mock in its enclosing method, e.g. for {@code mock.getA().getB().getC()}:
+ * <pre>
+ * Mockito.when(mock.getA()).thenReturn(Mockito.mock(A.class));
+ * Mockito.when(mock.getA().getB()).thenReturn(Mockito.mock(B.class));
+ * </pre>
+ * The quick fix is not available when any intermediate call has arguments, or it returns a type not taken into account in the return type graph.
+ * <p>
+ * Calls on the mock that are not followed by further calls, e.g. {@code mock.getA()}, are not stubbed by the quick fix, thus,
+ * after removing the answer, they return the default empty value, e.g. null, instead of a mock.
+ *
+ * @since 1.5.0
+ */
+final class AllocationHeavyAnswerInspection extends MockitoolsBaseInspection {
+    private static final Set<String> ALLOCATION_HEAVY_ANSWERS = Set.of("RETURNS_DEEP_STUBS", "RETURNS_MOCKS");
+    private static final GenerateExplicitStubsQuickFix GENERATE_EXPLICIT_STUBS_FIX = new GenerateExplicitStubsQuickFix();
+
+    @SuppressWarnings("PublicField")
+    public int minReturnTypeGraphDepth = 3;
+
+    @Override
+    public @NotNull OptPane getOptionsPane() {
+        return pane(
+            number("minReturnTypeGraphDepth", MockitoolsBundle.message("inspection.option.allocation.heavy.answer.min.return.type.graph.depth"), 1, 10));
+    }
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
+        return isInTestSourceContent(session.getFile()) ? fieldAndMethodCallVisitor(holder, session) : PsiElementVisitor.EMPTY_VISITOR;
+    }
+
+    @Override
+    protected void checkMethodCallExpression(PsiMethodCallExpression expression, @NotNull ProblemsHolder holder) {
+        var answer = findAllocationHeavyAnswerIn(expression);
+        if (answer == null) return;
+
+        String message = null;
+        if (isInLoop(expression))
+            message = MockitoolsBundle.message("inspection.allocation.heavy.answer.in.loop", answer.getReferenceName());
+        else if (isInBeforeEachHook(expression))
+            message = MockitoolsBundle.message("inspection.allocation.heavy.answer.before.each.test", answer.getReferenceName());
+        else if (getOperandType(getFirstArgument(expression)) instanceof PsiClassType mockedType && hasDeepReturnTypeGraph(mockedType))
+            message = deepReturnTypeGraphMessage(answer, mockedType);
+
+        if (message != null) {
+            if (canGenerateExplicitStubsFor(expression))
+                holder.registerProblem(answer, message, GENERATE_EXPLICIT_STUBS_FIX);
+            else
+                holder.registerProblem(answer, message);
+        }
+    }
+
+    /**
+     * Returns whether the argument {@code Mockito.mock()} call initializes a local variable declared in a declaration statement,
+     * and all intermediate calls on the mock are supported by the quick fix.
+     * <p>
+     * Since it requires a search for references of the mock, it is not checked in files analysed in reduced mode.
+     */
+    private static boolean canGenerateExplicitStubsFor(PsiMethodCallExpression mockitoMock) {
+        return !ReducedAnalysis.isActive()
+            && getParentOfType(mockitoMock, PsiLocalVariable.class) instanceof PsiLocalVariable mock
+            && mock.getParent() instanceof PsiDeclarationStatement
+            && PsiUtil.skipParenthesizedExprDown(mock.getInitializer()) == mockitoMock
+            && collectStubsFor(mock) != null;
+    }
+
+    @Override
+    protected void checkField(PsiField field, @NotNull ProblemsHolder holder) {
+        var mockAnnotation = field.getAnnotation(ORG_MOCKITO_MOCK);
+        if (mockAnnotation != null
+            && mockAnnotation.findDeclaredAttributeValue(ANSWER) instanceof PsiExpression answerValue
+            && isAllocationHeavyAnswer(answerValue)) {
+            var answer = (PsiReferenceExpression) PsiUtil.skipParenthesizedExprDown(answerValue);
+            //@Mock fields are created before each test
+            holder.registerProblem(answer, MockitoolsBundle.message("inspection.allocation.heavy.answer.before.each.test", answer.getReferenceName()));
+        }
+    }
+
+    private String deepReturnTypeGraphMessage(PsiReferenceExpression answer, PsiClassType mockedType) {
+        return MockitoolsBundle.message("inspection.allocation.heavy.answer.deep.return.type.graph",
+            answer.getReferenceName(), mockedType.getPresentableText(), minReturnTypeGraphDepth);
+    }
+
+    /**
+     * Returns the {@code RETURNS_DEEP_STUBS} or {@code RETURNS_MOCKS} answer reference specified in the argument {@code Mockito.mock()} call,
+     * either as its second argument, or in the {@code defaultAnswer()} call of its {@code MockSettings} argument.
+     */
+    @Nullable
+    private static PsiReferenceExpression findAllocationHeavyAnswerIn(PsiMethodCallExpression mockitoMock) {
+        if (!hasTwoArguments(mockitoMock)) return null;
+
+        PsiExpression answer = null;
+        if (MOCK_WITH_ANSWER.matches(mockitoMock)) {
+            answer = get2ndArgument(mockitoMock);
+        } else if (MOCK_WITH_SETTINGS.matches(mockitoMock)) {
+            var defaultAnswer = findDefaultAnswerCallIn(get2ndArgument(mockitoMock));
+            if (defaultAnswer != null) answer = getFirstArgument(defaultAnswer);
+        }
+        return isAllocationHeavyAnswer(answer) ? (PsiReferenceExpression) PsiUtil.skipParenthesizedExprDown(answer) : null;
+    }
+
+    @Nullable
+    private static PsiMethodCallExpression findDefaultAnswerCallIn(PsiExpression mockSettings) {
+        if (!(PsiUtil.skipParenthesizedExprDown(mockSettings) instanceof PsiMethodCallExpression lastSettingsCall)) return null;
+
+        for (var call : collectCallsInChainFromLast(lastSettingsCall)) {
+            if (DEFAULT_ANSWER.equals(getMethodName(call))) return call;
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the argument expression references either {@code RETURNS_DEEP_STUBS} or {@code RETURNS_MOCKS},
+     * be it the constant in {@code Mockito} or in {@code Answers}.
+     */
+    private static boolean isAllocationHeavyAnswer(@Nullable PsiExpression answer) {
+        if (PsiUtil.skipParenthesizedExprDown(answer) instanceof PsiReferenceExpression answerRef
+            && ALLOCATION_HEAVY_ANSWERS.contains(answerRef.getReferenceName())
+            && resolve(answerRef) instanceof PsiField answerField
+            && answerField.getContainingClass() != null) {
+            String className = answerField.getContainingClass().getQualifiedName();
+            return ORG_MOCKITO_MOCKITO.equals(className) || ORG_MOCKITO_ANSWERS.equals(className);
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the argument element is located in the body of a loop, within the same method or lambda expression.
+     */
+    private static boolean isInLoop(PsiElement element) {
+        var loop = getParentOfType(element, PsiLoopStatement.class, true, PsiMember.class, PsiLambdaExpression.class);
+        return loop != null && loop.getBody() != null && PsiTreeUtil.isAncestor(loop.getBody(), element, false);
+    }
+
+    private static boolean isInBeforeEachHook(PsiElement element) {
+        var method = getParentOfType(element, PsiMethod.class, true, PsiLambdaExpression.class);
+        if (method != null) {
+            for (String annotation : BEFORE_EACH_ANNOTATIONS) {
+                if (method.hasAnnotation(annotation)) return true;
+            }
+        }
+        return false;
+    }
+
+    //Return type graph
+
+    /**
+     * Returns whether the argument mocked type has a graph of mockable return types at least {@link #minReturnTypeGraphDepth} levels deep.
+     * <p>
+     * The graph is traversed breadth-first, and each type is visited only once, so the traversal stops when no new type is found,
+     * or when the required depth is reached.
+     */
+    private boolean hasDeepReturnTypeGraph(PsiClassType mockedType) {
+        if (ReducedAnalysis.isActive() || !(resolveClass(mockedType) instanceof PsiClass mockedClass)) return false;
+
+        var visitedClasses = new HashSet<PsiClass>();
+        visitedClasses.add(mockedClass);
+        Set<PsiClass> currentLevel = Set.of(mockedClass);
+        for (int depth = 0; depth < minReturnTypeGraphDepth; depth++) {
+            var nextLevel = new HashSet<PsiClass>();
+            for (var aClass : currentLevel) {
+                for (var method : aClass.getAllMethods()) {
+                    ProgressManager.checkCanceled();
+                    if (isStubbedByAnswer(method)
+                        && method.getReturnType() instanceof PsiClassType returnType
+                        && isTakenIntoAccountInReturnTypeGraph(returnType)
+                        && resolveClass(returnType) instanceof PsiClass returnedClass
+                        && visitedClasses.add(returnedClass)) {
+                        nextLevel.add(returnedClass);
+                    }
+                }
+            }
+            if (nextLevel.isEmpty()) return false;
+            currentLevel = nextLevel;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the argument method may be called on a mock, thus its return value is provided by the default answer.
+     */
+    private static boolean isStubbedByAnswer(PsiMethod method) {
+        var containingClass = method.getContainingClass();
+        return !method.isConstructor()
+            && !method.hasModifierProperty(PsiModifier.PRIVATE)
+            && !method.hasModifierProperty(PsiModifier.STATIC)
+            && containingClass != null
+            && !CommonClassNames.JAVA_LANG_OBJECT.equals(containingClass.getQualifiedName());
+    }
+
+    /**
+     * Returns whether the argument type is one that the deep-stubbing answers return a mock for,
+     * and that is not part of the JDK, an enum, a record or a type parameter.
+     */
+    private static boolean isTakenIntoAccountInReturnTypeGraph(@Nullable PsiType type) {
+        if (!(type instanceof PsiClassType classType)
+            || !(resolveClass(classType) instanceof PsiClass aClass)
+            || aClass instanceof PsiTypeParameter
+            || aClass.isEnum() || aClass.isRecord() || aClass.isAnnotationType()) return false;
+
+        String qualifiedName = aClass.getQualifiedName();
+        return qualifiedName != null && !qualifiedName.startsWith("java.") && isMockableType(type);
+    }
+
+    //Quick fix
+
+    /**
+     * Collects the explicit stubs that replace the default answer of the argument mock variable, mapping the intermediate call chains
+     * called on the mock to the types of mocks they should return, in the order they must be stubbed.
+     *
+     * @return the stubs, or null if any of the intermediate calls is not supported
+     */
+    @Nullable
+    private static Map<String, String> collectStubsFor(PsiLocalVariable mock) {
+        var scope = getParentOfType(mock, PsiMethod.class, PsiLambdaExpression.class);
+        if (scope == null) return null;
+
+        var stubs = new LinkedHashMap<String, String>();
+        boolean isEachSupported = ReferencesSearch.search(mock, new LocalSearchScope(scope)).forEach(ref -> {
+            ProgressManager.checkCanceled();
+            String chain = mock.getName();
+            PsiElement current = ref.getElement();
+            while (current.getParent() instanceof PsiReferenceExpression methodRef
+                && methodRef.getQualifierExpression() == current
+                && methodRef.getParent() instanceof PsiMethodCallExpression call
+                && getSubsequentMethodCall(call) != null) {
+                if (!call.getArgumentList().isEmpty() || !isTakenIntoAccountInReturnTypeGraph(call.getType())) return false;
+
+                chain += "." + methodRef.getReferenceName() + "()";
+                stubs.putIfAbsent(chain, TypeConversionUtil.erasure(call.getType()).getCanonicalText());
+                current = call;
+            }
+            return true;
+        });
+        return isEachSupported ? stubs : null;
+    }
+
+    /**
+     * Removes the {@code RETURNS_DEEP_STUBS} or {@code RETURNS_MOCKS} answer from a mock local variable, and generates explicit stubs
+     * for the intermediate calls of the call chains called on the mock. The stubs are added right after the declaration of the mock.
+     * <p>
+     * Call chains called only by the code under test cannot be found, so they have to be stubbed manually.
+     * <p>
+     * Calls not followed by further calls in a chain, e.g. {@code mock.getA()} in {@code A a = mock.getA();}, are not stubbed,
+     * thus, with the answer removed, they return the default empty value, e.g. null, instead of a mock.
+     */
+    private static final class GenerateExplicitStubsQuickFix extends InspectionGadgetsFix {
+
+        @Override
+        public @IntentionFamilyName @NotNull String getFamilyName() {
+            return MockitoolsBundle.message("quick.fix.generate.explicit.stubs");
+        }
+
+        @Override
+        protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
+            var mock = getParentOfType(descriptor.getPsiElement(), PsiLocalVariable.class);
+            if (mock == null
+                || !(mock.getParent() instanceof PsiDeclarationStatement declaration)
+                || !(PsiUtil.skipParenthesizedExprDown(mock.getInitializer()) instanceof PsiMethodCallExpression mockitoMock)) return;
+
+            var stubs = collectStubsFor(mock);
+            if (stubs == null) return;
+
+            var factory = JavaPsiFacade.getElementFactory(project);
+            var codeStyleManager = JavaCodeStyleManager.getInstance(project);
+            PsiElement anchor = declaration;
+            for (var stub : stubs.entrySet()) {
+                var stubbing = factory.createStatementFromText(
+                    "org.mockito.Mockito.when(" + stub.getKey() + ").thenReturn(org.mockito.Mockito.mock(" + stub.getValue() + ".class));", declaration);
+                anchor = declaration.getParent().addAfter(stubbing, anchor);
+                codeStyleManager.shortenClassReferences(anchor);
+            }
+
+            if (MOCK_WITH_ANSWER.matches(mockitoMock)) {
+                get2ndArgument(mockitoMock).delete();
+            } else {
+                var defaultAnswer = findDefaultAnswerCallIn(get2ndArgument(mockitoMock));
+                if (defaultAnswer != null && defaultAnswer.getMethodExpression().getQualifierExpression() != null)
+                    defaultAnswer.replace(defaultAnswer.getMethodExpression().getQualifierExpression());
+            }
+        }
+    }
+}
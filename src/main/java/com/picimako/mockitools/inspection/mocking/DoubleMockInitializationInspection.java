@@ -0,0 +1,232 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import static com.intellij.psi.CommonClassNames.JAVA_LANG_OBJECT;
+import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_JUNIT_JUPITER_MOCKITO_EXTENSION;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_JUNIT_MOCKITO_JUNIT_RUNNER;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_RUNNERS_CONSOLE_SPAMMING_MOCKITO_JUNIT_RUNNER;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_RUNNERS_MOCKITO_JUNIT_RUNNER;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_RUNNERS_VERBOSE_MOCKITO_JUNIT_RUNNER;
+import static com.picimako.mockitools.MockitoolsPsiUtil.MOCKITO_ANNOTATIONS_OPEN_OR_INIT_MOCKS;
+import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
+import static com.picimako.mockitools.util.ResolveUtil.resolve;
+
+import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.codeInsight.MetaAnnotationUtil;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.util.IntentionFamilyName;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAssignmentExpression;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassObjectAccessExpression;
+import com.intellij.psi.PsiDeclarationStatement;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiExpressionStatement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiLocalVariable;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.PsiThisExpression;
+import com.intellij.psi.PsiVariable;
+import com.intellij.psi.search.LocalSearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.util.SmartList;
+import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import com.siyeh.ig.InspectionGadgetsFix;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reports {@code MockitoAnnotations.openMocks(this)} and {@code MockitoAnnotations.initMocks(this)} calls in test classes
+ * whose mocks are already initialized by {@code MockitoExtension} or {@code MockitoJUnitRunner}.
+ * <p>
+ * The extension and the runner are recognized when they are applied via {@code @ExtendWith} or {@code @RunWith}, either directly
+ * on the class, or via meta-annotations, superclasses, or in case of {@code @Nested} classes, via enclosing classes.
+ * <p>
+ * In these cases, every annotated mock is created twice for each test, which is redundant. The quick fix removes the call,
+ * along with the variable storing its result, and the {@code close()} calls on that variable.
+ *
+ * @since 1.5.0
+ */
+final class DoubleMockInitializationInspection extends MockitoolsBaseInspection {
+    private static final String ORG_JUNIT_JUPITER_API_EXTENSION_EXTEND_WITH = "org.junit.jupiter.api.extension.ExtendWith";
+    private static final String ORG_JUNIT_JUPITER_API_NESTED = "org.junit.jupiter.api.Nested";
+    private static final String ORG_JUNIT_RUNNER_RUN_WITH = "org.junit.runner.RunWith";
+    private static final Set<String> EXTENSION_AND_RUNNER_ANNOTATIONS = Set.of(ORG_JUNIT_JUPITER_API_EXTENSION_EXTEND_WITH, ORG_JUNIT_RUNNER_RUN_WITH);
+    private static final List<String> MOCK_INITIALIZERS = List.of(
+        ORG_MOCKITO_JUNIT_JUPITER_MOCKITO_EXTENSION,
+        ORG_MOCKITO_JUNIT_MOCKITO_JUNIT_RUNNER,
+        //To support Mockito 2.x and 3.x
+        ORG_MOCKITO_RUNNERS_MOCKITO_JUNIT_RUNNER,
+        ORG_MOCKITO_RUNNERS_VERBOSE_MOCKITO_JUNIT_RUNNER,
+        ORG_MOCKITO_RUNNERS_CONSOLE_SPAMMING_MOCKITO_JUNIT_RUNNER);
+    private static final RemoveRedundantMockInitializationQuickFix REMOVE_REDUNDANT_MOCK_INITIALIZATION_FIX = new RemoveRedundantMockInitializationQuickFix();
+
+    @Override
+    protected void checkMethodCallExpression(PsiMethodCallExpression expression, @NotNull ProblemsHolder holder) {
+        String mockInitializer = findMockInitializerFor(expression);
+        if (mockInitializer == null) return;
+
+        String message = MockitoolsBundle.message("inspection.double.mock.initialization", mockInitializer);
+        if (collectElementsToRemove(expression) != null)
+            holder.registerProblem(expression, message, REMOVE_REDUNDANT_MOCK_INITIALIZATION_FIX);
+        else
+            holder.registerProblem(expression, message);
+    }
+
+    /**
+     * Returns whether the argument call is an {@code openMocks(this)}/{@code initMocks(this)} call in a test class whose mocks
+     * are already initialized by {@code MockitoExtension} or {@code MockitoJUnitRunner}, thus it is reported by this inspection.
+     */
+    static boolean isDoubleInitialization(PsiMethodCallExpression openOrInitMocks) {
+        return findMockInitializerFor(openOrInitMocks) != null;
+    }
+
+    /**
+     * Returns the name of the Mockito extension or runner that initializes the mocks of the test class containing the argument
+     * {@code openMocks(this)}/{@code initMocks(this)} call, or null if the call is not such a call, or there is no such extension or runner.
+     */
+    @Nullable
+    private static String findMockInitializerFor(PsiMethodCallExpression openOrInitMocks) {
+        if (!MOCKITO_ANNOTATIONS_OPEN_OR_INIT_MOCKS.matches(openOrInitMocks) || !(getFirstArgument(openOrInitMocks) instanceof PsiThisExpression)) return null;
+
+        var testClass = getParentOfType(openOrInitMocks, PsiClass.class);
+        return testClass != null ? findMockInitializerOf(testClass) : null;
+    }
+
+    /**
+     * Returns the name of the Mockito extension or runner that initializes the mocks of the argument test class,
+     * or null if there is no such extension or runner.
+     * <p>
+     * Since {@code @ExtendWith} and {@code @RunWith} are inherited annotations, superclasses are checked too. JUnit 5 applies
+     * the extensions of enclosing classes to {@code @Nested} classes, so the enclosing classes of those are also checked.
+     */
+    @Nullable
+    private static String findMockInitializerOf(@NotNull PsiClass testClass) {
+        var visitedClasses = new HashSet<PsiClass>();
+        var classesToCheck = new ArrayDeque<PsiClass>();
+        classesToCheck.add(testClass);
+        while (!classesToCheck.isEmpty()) {
+            ProgressManager.checkCanceled();
+            var currentClass = classesToCheck.poll();
+            if (!visitedClasses.add(currentClass) || JAVA_LANG_OBJECT.equals(currentClass.getQualifiedName())) continue;
+
+            var annotations = MetaAnnotationUtil.findMetaAnnotations(currentClass, EXTENSION_AND_RUNNER_ANNOTATIONS).toList();
+            for (var annotation : annotations) {
+                var mockInitializer = findMockInitializerIn(annotation);
+                if (mockInitializer != null) return mockInitializer.getName();
+            }
+
+            var superClass = currentClass.getSuperClass();
+            if (superClass != null) classesToCheck.add(superClass);
+            if (currentClass.hasAnnotation(ORG_JUNIT_JUPITER_API_NESTED) && currentClass.getContainingClass() != null)
+                classesToCheck.add(currentClass.getContainingClass());
+        }
+        return null;
+    }
+
+    @Nullable
+    private static PsiClass findMockInitializerIn(PsiAnnotation extendWithOrRunWith) {
+        for (var value : AnnotationUtil.arrayAttributeValues(extendWithOrRunWith.findAttributeValue(PsiAnnotation.DEFAULT_REFERENCED_METHOD_NAME))) {
+            if (value instanceof PsiClassObjectAccessExpression classObject
+                && PsiUtil.resolveClassInType(classObject.getOperand().getType()) instanceof PsiClass extensionOrRunner) {
+                for (String mockInitializer : MOCK_INITIALIZERS) {
+                    if (InheritanceUtil.isInheritor(extensionOrRunner, true, mockInitializer)) return extensionOrRunner;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the elements to remove along with the argument {@code openMocks()}/{@code initMocks()} call,
+     * or null if the call cannot be removed safely.
+     * <p>
+     * If the result of the call is stored in a private field or in a local variable, the variable and the {@code close()} calls
+     * on it are removed too, given that the variable is not used otherwise.
+     */
+    @Nullable
+    private static List<PsiElement> collectElementsToRemove(PsiMethodCallExpression openOrInitMocks) {
+        var parent = PsiUtil.skipParenthesizedExprUp(openOrInitMocks.getParent());
+        //e.g. 'MockitoAnnotations.openMocks(this);'
+        if (parent instanceof PsiExpressionStatement statement) return new SmartList<>(statement);
+
+        //e.g. 'AutoCloseable mocks = MockitoAnnotations.openMocks(this);'
+        if (parent instanceof PsiLocalVariable variable && variable.getParent() instanceof PsiDeclarationStatement declaration)
+            return collectVariableWithCloseCalls(variable, declaration, null);
+
+        //e.g. 'mocks = MockitoAnnotations.openMocks(this);'
+        if (parent instanceof PsiAssignmentExpression assignment
+            && assignment.getParent() instanceof PsiExpressionStatement statement
+            && assignment.getLExpression() instanceof PsiReferenceExpression assignedRef
+            && resolve(assignedRef) instanceof PsiVariable variable
+            && (variable instanceof PsiLocalVariable || variable instanceof PsiField field && field.hasModifierProperty(PsiModifier.PRIVATE))) {
+            var elementsToRemove = collectVariableWithCloseCalls(variable, statement, assignedRef);
+            if (elementsToRemove != null) elementsToRemove.add(variable);
+            return elementsToRemove;
+        }
+        return null;
+    }
+
+    /**
+     * Collects the statement storing the result of the {@code openMocks()} call, and the {@code close()} calls on the argument variable,
+     * or returns null if the variable is referenced in any other way.
+     *
+     * @param ignoredRef the reference to ignore, e.g. the one the result is assigned to
+     */
+    @Nullable
+    private static List<PsiElement> collectVariableWithCloseCalls(PsiVariable variable, PsiElement statement, @Nullable PsiReferenceExpression ignoredRef) {
+        var searchScope = PsiUtil.getTopLevelClass(variable);
+        if (searchScope == null) return null;
+
+        var elementsToRemove = new SmartList<PsiElement>(statement);
+        boolean isUsedOnlyForClosing = ReferencesSearch.search(variable, new LocalSearchScope(searchScope)).forEach(ref -> {
+            ProgressManager.checkCanceled();
+            if (ref.getElement() == ignoredRef) return true;
+            //e.g. 'mocks.close();'
+            if (ref.getElement().getParent() instanceof PsiReferenceExpression closeRef
+                && "close".equals(closeRef.getReferenceName())
+                && closeRef.getParent() instanceof PsiMethodCallExpression close
+                && close.getParent() instanceof PsiExpressionStatement closeStatement) {
+                elementsToRemove.add(closeStatement);
+                return true;
+            }
+            return false;
+        });
+        return isUsedOnlyForClosing ? elementsToRemove : null;
+    }
+
+    /**
+     * Removes the redundant {@code openMocks()}/{@code initMocks()} call, and the variable storing its result along with
+     * the {@code close()} calls on it.
+     */
+    private static final class RemoveRedundantMockInitializationQuickFix extends InspectionGadgetsFix {
+
+        @Override
+        public @IntentionFamilyName @NotNull String getFamilyName() {
+            return MockitoolsBundle.message("quick.fix.remove.redundant.mock.initialization");
+        }
+
+        @Override
+        protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
+            if (descriptor.getPsiElement() instanceof PsiMethodCallExpression openOrInitMocks) {
+                var elementsToRemove = collectElementsToRemove(openOrInitMocks);
+                if (elementsToRemove != null) elementsToRemove.forEach(PsiElement::delete);
+            }
+        }
+    }
+}
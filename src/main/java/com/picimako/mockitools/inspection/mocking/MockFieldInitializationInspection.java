@@ -15,8 +15,8 @@ import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiField;
 import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.PerFileBatchInspectionGadgetsFix;
 import com.picimako.mockitools.resources.MockitoolsBundle;
-import com.siyeh.ig.InspectionGadgetsFix;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -36,7 +36,7 @@ final class MockFieldInitializationInspection extends MockitoolsBaseInspection {
 
     @Override
     public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        return isInTestSourceContent(session.getFile()) ? fieldVisitor(holder) : PsiElementVisitor.EMPTY_VISITOR;
+        return isInTestSourceContent(session.getFile()) ? fieldVisitor(holder, session) : PsiElementVisitor.EMPTY_VISITOR;
     }
 
     @Override
@@ -47,7 +47,7 @@ final class MockFieldInitializationInspection extends MockitoolsBaseInspection {
         }
     }
 
-    private static final class RemoveFieldInitQuickFix extends InspectionGadgetsFix {
+    private static final class RemoveFieldInitQuickFix extends PerFileBatchInspectionGadgetsFix {
 
         @Override
         public @IntentionName @NotNull String getName() {
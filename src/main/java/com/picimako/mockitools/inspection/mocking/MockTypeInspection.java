@@ -47,7 +47,7 @@ final class MockTypeInspection extends MockitoolsBaseInspection {
 
     @Override
     public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        return isInTestSourceContent(session.getFile()) ? fieldAndMethodCallVisitor(holder) : PsiElementVisitor.EMPTY_VISITOR;
+        return isInTestSourceContent(session.getFile()) ? fieldAndMethodCallVisitor(holder, session) : PsiElementVisitor.EMPTY_VISITOR;
     }
 
     @Override
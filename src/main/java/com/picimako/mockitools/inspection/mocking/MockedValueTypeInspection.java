@@ -0,0 +1,442 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
+import static com.picimako.mockitools.MockitoMockMatchers.MOCK;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCK;
+import static com.picimako.mockitools.MockitoQualifiedNames.THEN_RETURN;
+import static com.picimako.mockitools.MockitoolsPsiUtil.isMockitoMock;
+import static com.picimako.mockitools.util.ClassObjectAccessUtil.getOperandType;
+import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
+import static com.picimako.mockitools.util.PsiMethodUtil.getSubsequentMethodCall;
+import static com.picimako.mockitools.util.PsiMethodUtil.hasArgument;
+import static com.picimako.mockitools.util.ResolveUtil.resolveClass;
+import static com.picimako.mockitools.util.ResolveUtil.resolveMethod;
+import static com.picimako.mockitools.util.UnitTestPsiUtil.isInTestSourceContent;
+
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.util.IntentionFamilyName;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.CommonClassNames;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiDeclarationStatement;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiExpressionList;
+import com.intellij.psi.PsiExpressionStatement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiLambdaExpression;
+import com.intellij.psi.PsiLocalVariable;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiRecordComponent;
+import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.PsiStatement;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.search.LocalSearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.JavaPsiRecordUtil;
+import com.intellij.psi.util.PropertyUtilBase;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiTypesUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.util.SmartList;
+import com.picimako.mockitools.StubbingApproach;
+import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.ReducedAnalysis;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import com.siyeh.ig.InspectionGadgetsFix;
+import com.siyeh.ig.psiutils.MethodUtils;
+import com.siyeh.ig.psiutils.VariableAccessUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reports mocks of types that are cheap to instantiate, but expensive to mock. Each avoided mock saves the generation of its
+ * bytecode, and the interception of each invocation on it.
+ * <p>
+ * The following types are reported in {@code Mockito.mock()} calls and for {@code @Mock} fields:
+ * <ul>
+ *     <li>records,</li>
+ *     <li>enums,</li>
+ *     <li>final classes in the {@code java.time} package, e.g. {@code LocalDate},</li>
+ *     <li>collections and maps,</li>
+ *     <li>{@code Optional} and its primitive variants.</li>
+ * </ul>
+ * Additionally, concrete classes mocked via {@code Mockito.mock()} into local variables are reported as data carriers, when their public methods,
+ * apart from the ones of {@code Object}, are all getters and setters, only getters are stubbed on them, and they are not verified,
+ * or passed to other Mockito methods. This requires a search for the references of the mock,
+ * thus it is not performed in files analysed in {@link ReducedAnalysis reduced mode}.
+ * <p>
+ * For records and data carriers, the quick fix replaces the mock and its getter stubbings with a constructor or builder call, using the stubbed values.
+ * It is available when
+ * <ul>
+ *     <li>the mock is created via {@code Mockito.mock(Type.class)} in a local variable declaration,</li>
+ *     <li>at least one getter is stubbed, so that the real instance is not created only from default values,</li>
+ *     <li>all stubbings are in the form of {@code Mockito.when(mock.getter()).thenReturn(value)}, and they directly follow the declaration,</li>
+ *     <li>each getter is stubbed only once,</li>
+ *     <li>there is either a constructor whose parameter names match the names of the stubbed properties, or there is a static {@code builder()}
+ *     method with a builder having methods with those names. Record components are matched by the canonical constructor.</li>
+ * </ul>
+ * Constructor parameters not stubbed get the default values of their types.
+ *
+ * @since 1.5.0
+ */
+final class MockedValueTypeInspection extends MockitoolsBaseInspection {
+    private static final Set<String> OPTIONAL_TYPES = Set.of(CommonClassNames.JAVA_UTIL_OPTIONAL,
+        "java.util.OptionalInt", "java.util.OptionalLong", "java.util.OptionalDouble");
+    private static final ReplaceMockWithRealInstanceQuickFix REPLACE_MOCK_WITH_REAL_INSTANCE_FIX = new ReplaceMockWithRealInstanceQuickFix();
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
+        return isInTestSourceContent(session.getFile()) ? fieldAndMethodCallVisitor(holder, session) : PsiElementVisitor.EMPTY_VISITOR;
+    }
+
+    @Override
+    protected void checkMethodCallExpression(PsiMethodCallExpression expression, @NotNull ProblemsHolder holder) {
+        if (!isMockitoMock(expression) || !hasArgument(expression)) return;
+
+        var typeToMock = getFirstArgument(expression);
+        if (!(getOperandType(typeToMock) instanceof PsiClassType mockedType) || !(resolveClass(mockedType) instanceof PsiClass mockedClass)) return;
+
+        var kind = ValueTypeKind.of(mockedClass);
+        var mock = mockLocalVariableInitializedBy(expression);
+        if (kind == null && mock != null && isDataCarrierClass(mockedClass) && !ReducedAnalysis.isActive()) {
+            var stubbings = findGetterStubbingsOf(mock);
+            if (stubbings != null && !stubbings.isEmpty()) kind = ValueTypeKind.DATA_CARRIER;
+        }
+        if (kind == null) return;
+
+        String message = MockitoolsBundle.message("inspection.mocked.value.type", MockitoolsBundle.message(kind.messageKey));
+        if ((kind == ValueTypeKind.RECORD || kind == ValueTypeKind.DATA_CARRIER)
+            && mock != null && MOCK.matches(expression) && !ReducedAnalysis.isActive() && realInstanceOf(mock, mockedClass) != null)
+            holder.registerProblem(typeToMock, message, REPLACE_MOCK_WITH_REAL_INSTANCE_FIX);
+        else
+            holder.registerProblem(typeToMock, message);
+    }
+
+    @Override
+    protected void checkField(PsiField field, @NotNull ProblemsHolder holder) {
+        if (field.hasAnnotation(ORG_MOCKITO_MOCK)
+            && field.getTypeElement() != null
+            && field.getType() instanceof PsiClassType mockedType
+            && resolveClass(mockedType) instanceof PsiClass mockedClass) {
+            var kind = ValueTypeKind.of(mockedClass);
+            if (kind != null)
+                holder.registerProblem(field.getTypeElement(), MockitoolsBundle.message("inspection.mocked.value.type", MockitoolsBundle.message(kind.messageKey)));
+        }
+    }
+
+    /**
+     * Returns the local variable the argument {@code Mockito.mock()} call initializes in a declaration statement, or null if there is no such variable.
+     */
+    @Nullable
+    private static PsiLocalVariable mockLocalVariableInitializedBy(PsiMethodCallExpression mockitoMock) {
+        return PsiUtil.skipParenthesizedExprUp(mockitoMock.getParent()) instanceof PsiLocalVariable mock
+            && mock.getParent() instanceof PsiDeclarationStatement
+            ? mock
+            : null;
+    }
+
+    /**
+     * Returns whether the argument class is a concrete class whose public instance methods, apart from the ones of {@code Object},
+     * are all simple getters and setters.
+     */
+    private static boolean isDataCarrierClass(PsiClass mockedClass) {
+        if (mockedClass.isInterface() || mockedClass.isEnum() || mockedClass.isRecord() || mockedClass.hasModifierProperty(PsiModifier.ABSTRACT))
+            return false;
+
+        for (var method : mockedClass.getAllMethods()) {
+            if (method.isConstructor() || !method.hasModifierProperty(PsiModifier.PUBLIC) || method.hasModifierProperty(PsiModifier.STATIC)
+                || isObjectMethod(method)) continue;
+            if (!PropertyUtilBase.isSimplePropertyAccessor(method)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isObjectMethod(PsiMethod method) {
+        var containingClass = method.getContainingClass();
+        return containingClass == null || CommonClassNames.JAVA_LANG_OBJECT.equals(containingClass.getQualifiedName())
+            || MethodUtils.isEquals(method) || MethodUtils.isHashCode(method) || MethodUtils.isToString(method);
+    }
+
+    //Stubbings
+
+    /**
+     * @param getter      the stubbed getter or record accessor
+     * @param stubbedCall the call to the getter in the stubbing, e.g. {@code mock.getName()} in {@code Mockito.when(mock.getName())}
+     */
+    private record GetterStubbing(PsiMethod getter, PsiMethodCallExpression stubbedCall) {
+
+        String propertyName() {
+            return JavaPsiRecordUtil.getRecordComponentForAccessor(getter) != null
+                ? getter.getName()
+                : PropertyUtilBase.getPropertyNameByGetter(getter);
+        }
+    }
+
+    /**
+     * Collects the getter stubbings of the argument mock in its enclosing method or lambda expression.
+     *
+     * @return the getter stubbings, or null if any non-getter method is stubbed on the mock, or the mock is passed to any other Mockito method,
+     * e.g. because it is verified
+     */
+    @Nullable
+    private static List<GetterStubbing> findGetterStubbingsOf(PsiLocalVariable mock) {
+        var scope = getParentOfType(mock, PsiMethod.class, PsiLambdaExpression.class);
+        if (scope == null) return null;
+
+        var stubbings = new SmartList<GetterStubbing>();
+        boolean isUsedOnlyAsValue = ReferencesSearch.search(mock, new LocalSearchScope(scope)).forEach(ref -> {
+            ProgressManager.checkCanceled();
+            var element = ref.getElement();
+            //Mockito.when(mock.getter()), BDDMockito.given(mock.getter())
+            if (element.getParent() instanceof PsiReferenceExpression methodRef
+                && methodRef.getParent() instanceof PsiMethodCallExpression calledOnMock
+                && calledOnMock.getParent() instanceof PsiExpressionList argumentList
+                && argumentList.getParent() instanceof PsiMethodCallExpression stubbingCall
+                && isStubbing(stubbingCall)) {
+                return addGetterStubbing(calledOnMock, stubbings);
+            }
+            //Mockito.doReturn().when(mock).getter(), Mockito.verify(mock), etc.
+            if (element.getParent() instanceof PsiExpressionList argumentList
+                && argumentList.getParent() instanceof PsiMethodCallExpression call
+                && isMockitoMethod(call)) {
+                for (var approach : StubbingApproach.values()) {
+                    if (approach.isStubbedBy(call)) {
+                        var stubbedCall = approach.getStubbedMethodCall(call);
+                        return stubbedCall.isPresent() && addGetterStubbing(stubbedCall.get(), stubbings);
+                    }
+                }
+                return false;
+            }
+            return true;
+        });
+        return isUsedOnlyAsValue ? stubbings : null;
+    }
+
+    private static boolean isStubbing(PsiMethodCallExpression call) {
+        return StubbingApproach.MOCKITO_WHEN.isStubbedBy(call) || StubbingApproach.BDDMOCKITO_GIVEN.isStubbedBy(call);
+    }
+
+    private static boolean isMockitoMethod(PsiMethodCallExpression call) {
+        var method = resolveMethod(call);
+        if (method == null || method.getContainingClass() == null) return false;
+
+        String className = method.getContainingClass().getQualifiedName();
+        return className != null && className.startsWith("org.mockito.");
+    }
+
+    /**
+     * Adds the argument stubbed call to {@code stubbings}, if it is a call to a getter or a record accessor.
+     *
+     * @return whether the argument call is a call to a getter or a record accessor
+     */
+    private static boolean addGetterStubbing(PsiMethodCallExpression stubbedCall, List<GetterStubbing> stubbings) {
+        var method = resolveMethod(stubbedCall);
+        if (method == null
+            || (JavaPsiRecordUtil.getRecordComponentForAccessor(method) == null && !PropertyUtilBase.isSimplePropertyGetter(method))) return false;
+
+        stubbings.add(new GetterStubbing(method, stubbedCall));
+        return true;
+    }
+
+    //Real instance
+
+    /**
+     * @param text               the text of the constructor or builder call creating the real instance
+     * @param stubbingStatements the stubbing statements replaced by the real instance
+     */
+    private record RealInstance(String text, List<PsiStatement> stubbingStatements) {
+    }
+
+    /**
+     * Returns the constructor or builder call that can replace the argument mock and its getter stubbings, or null if there is no such call,
+     * no getter is stubbed, or the stubbings are not in the supported format.
+     */
+    @Nullable
+    private static RealInstance realInstanceOf(PsiLocalVariable mock, PsiClass mockedClass) {
+        var stubbings = findGetterStubbingsOf(mock);
+        if (stubbings == null || stubbings.isEmpty() || mockedClass.getQualifiedName() == null) return null;
+
+        //Collects the stubbed values in the order of stubbing, e.g. 'name' -> '"John"' from 'Mockito.when(mock.getName()).thenReturn("John")'
+        var values = new LinkedHashMap<String, String>();
+        var statements = new HashSet<PsiStatement>();
+        for (var stubbing : stubbings) {
+            if (!(stubbing.stubbedCall.getParent() instanceof PsiExpressionList argumentList)
+                || !(argumentList.getParent() instanceof PsiMethodCallExpression when)
+                || !StubbingApproach.MOCKITO_WHEN.isStubbedBy(when)
+                || !(getSubsequentMethodCall(when) instanceof PsiMethodCallExpression thenReturn)
+                || !THEN_RETURN.equals(thenReturn.getMethodExpression().getReferenceName())
+                || thenReturn.getArgumentList().getExpressionCount() != 1
+                || !(thenReturn.getParent() instanceof PsiExpressionStatement statement)) return null;
+
+            var value = getFirstArgument(thenReturn);
+            if (VariableAccessUtils.variableIsUsed(mock, value) || values.put(stubbing.propertyName(), value.getText()) != null) return null;
+            statements.add(statement);
+        }
+
+        //The stubbings must directly follow the declaration of the mock, so that the stubbed values are available at the declaration
+        var stubbingStatements = new SmartList<PsiStatement>();
+        PsiStatement statement = (PsiStatement) mock.getParent();
+        for (int i = 0; i < statements.size(); i++) {
+            statement = PsiTreeUtil.getNextSiblingOfType(statement, PsiStatement.class);
+            if (!statements.contains(statement)) return null;
+            stubbingStatements.add(statement);
+        }
+
+        String text = mockedClass.isRecord() ? canonicalConstructorCallOf(mockedClass, values) : constructorOrBuilderCallOf(mockedClass, values);
+        return text != null ? new RealInstance(text, stubbingStatements) : null;
+    }
+
+    @Nullable
+    private static String canonicalConstructorCallOf(PsiClass record, Map<String, String> values) {
+        var componentNames = Stream.of(record.getRecordComponents()).map(PsiRecordComponent::getName).collect(Collectors.toSet());
+        if (!componentNames.containsAll(values.keySet())) return null;
+
+        String arguments = Stream.of(record.getRecordComponents())
+            .map(component -> values.getOrDefault(component.getName(), PsiTypesUtil.getDefaultValueOfType(component.getType())))
+            .collect(Collectors.joining(", "));
+        return "new " + record.getQualifiedName() + (record.hasTypeParameters() ? "<>" : "") + "(" + arguments + ")";
+    }
+
+    @Nullable
+    private static String constructorOrBuilderCallOf(PsiClass aClass, Map<String, String> values) {
+        String constructorCall = constructorCallOf(aClass, values);
+        return constructorCall != null ? constructorCall : builderCallOf(aClass, values);
+    }
+
+    /**
+     * Returns the call to the constructor with the least number of parameters, whose parameter names include the names of all stubbed properties.
+     */
+    @Nullable
+    private static String constructorCallOf(PsiClass aClass, Map<String, String> values) {
+        PsiMethod matchingConstructor = null;
+        for (var constructor : aClass.getConstructors()) {
+            if (constructor.hasModifierProperty(PsiModifier.PRIVATE)) continue;
+
+            var parameterNames = Stream.of(constructor.getParameterList().getParameters()).map(PsiParameter::getName).collect(Collectors.toSet());
+            if (parameterNames.containsAll(values.keySet())
+                && (matchingConstructor == null || constructor.getParameterList().getParametersCount() < matchingConstructor.getParameterList().getParametersCount())) {
+                matchingConstructor = constructor;
+            }
+        }
+        if (matchingConstructor == null) return null;
+
+        String arguments = Stream.of(matchingConstructor.getParameterList().getParameters())
+            .map(parameter -> values.getOrDefault(parameter.getName(), PsiTypesUtil.getDefaultValueOfType(parameter.getType())))
+            .collect(Collectors.joining(", "));
+        return "new " + aClass.getQualifiedName() + (aClass.hasTypeParameters() ? "<>" : "") + "(" + arguments + ")";
+    }
+
+    /**
+     * Returns the call to the static {@code builder()} method of the argument class, setting the stubbed values, e.g. {@code Person.builder().name("John").build()},
+     * given that the builder has a method for each stubbed property, and a {@code build()} method.
+     */
+    @Nullable
+    private static String builderCallOf(PsiClass aClass, Map<String, String> values) {
+        for (var builderMethod : aClass.findMethodsByName("builder", false)) {
+            if (!builderMethod.hasModifierProperty(PsiModifier.STATIC)
+                || !builderMethod.getParameterList().isEmpty()
+                || !(builderMethod.getReturnType() instanceof PsiClassType builderType)
+                || !(resolveClass(builderType) instanceof PsiClass builderClass)
+                || !hasMethodWithParameterCount(builderClass, "build", 0)) continue;
+
+            var builderCall = new StringBuilder(aClass.getQualifiedName()).append(".builder()");
+            for (var value : values.entrySet()) {
+                if (!hasMethodWithParameterCount(builderClass, value.getKey(), 1)) return null;
+                builderCall.append('.').append(value.getKey()).append('(').append(value.getValue()).append(')');
+            }
+            return builderCall.append(".build()").toString();
+        }
+        return null;
+    }
+
+    private static boolean hasMethodWithParameterCount(PsiClass aClass, String methodName, int parameterCount) {
+        for (var method : aClass.findMethodsByName(methodName, true)) {
+            if (method.getParameterList().getParametersCount() == parameterCount) return true;
+        }
+        return false;
+    }
+
+    /**
+     * The kinds of types that are cheaper to instantiate than to mock.
+     */
+    private enum ValueTypeKind {
+        RECORD("inspection.mocked.value.type.kind.record"),
+        ENUM("inspection.mocked.value.type.kind.enum"),
+        DATE_TIME("inspection.mocked.value.type.kind.date.time"),
+        COLLECTION("inspection.mocked.value.type.kind.collection"),
+        OPTIONAL("inspection.mocked.value.type.kind.optional"),
+        DATA_CARRIER("inspection.mocked.value.type.kind.data.carrier");
+
+        private final String messageKey;
+
+        ValueTypeKind(String messageKey) {
+            this.messageKey = messageKey;
+        }
+
+        /**
+         * Returns the kind of the argument class, or null if it is not any of the kinds that can be determined based on the class alone.
+         */
+        @Nullable
+        static ValueTypeKind of(PsiClass aClass) {
+            if (aClass.isRecord()) return RECORD;
+            if (aClass.isEnum()) return ENUM;
+
+            String qualifiedName = aClass.getQualifiedName();
+            if (qualifiedName == null) return null;
+            if (qualifiedName.startsWith("java.time.") && aClass.hasModifierProperty(PsiModifier.FINAL)) return DATE_TIME;
+            if (OPTIONAL_TYPES.contains(qualifiedName)) return OPTIONAL;
+            if (InheritanceUtil.isInheritor(aClass, CommonClassNames.JAVA_UTIL_COLLECTION)
+                || InheritanceUtil.isInheritor(aClass, CommonClassNames.JAVA_UTIL_MAP)) return COLLECTION;
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the mock with a real instance created via a constructor or builder call, and removes its getter stubbings.
+     * <p>
+     * At least for now, the type of the mock variable is kept as is.
+     */
+    private static final class ReplaceMockWithRealInstanceQuickFix extends InspectionGadgetsFix {
+
+        @Override
+        public @IntentionFamilyName @NotNull String getFamilyName() {
+            return MockitoolsBundle.message("quick.fix.replace.mock.with.real.instance");
+        }
+
+        @Override
+        protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
+            var mockitoMock = getParentOfType(descriptor.getPsiElement(), PsiMethodCallExpression.class);
+            if (mockitoMock == null
+                || !(mockLocalVariableInitializedBy(mockitoMock) instanceof PsiLocalVariable mock)
+                || !(getOperandType(getFirstArgument(mockitoMock)) instanceof PsiClassType mockedType)
+                || !(resolveClass(mockedType) instanceof PsiClass mockedClass)) return;
+
+            var realInstance = realInstanceOf(mock, mockedClass);
+            if (realInstance == null) return;
+
+            var replaced = mockitoMock.replace(JavaPsiFacade.getElementFactory(project).createExpressionFromText(realInstance.text, mockitoMock));
+            realInstance.stubbingStatements.forEach(PsiElement::delete);
+            JavaCodeStyleManager.getInstance(project).shortenClassReferences(replaced);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import static com.intellij.codeInspection.options.OptPane.number;
+import static com.intellij.codeInspection.options.OptPane.pane;
+import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_INJECT_MOCKS;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCK;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_SPY;
+import static com.picimako.mockitools.intention.ConvertMockSpyFieldToCallAction.introduceMockitoMockingCall;
+import static com.picimako.mockitools.intention.MethodRearranger.BEFORE_ANNOTATIONS;
+import static com.picimako.mockitools.util.UnitTestPsiUtil.isInTestSourceContent;
+import static com.picimako.mockitools.util.UnitTestPsiUtil.isTestMethod;
+
+import com.intellij.codeInsight.intention.preview.IntentionPreviewInfo;
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.options.OptPane;
+import com.intellij.codeInspection.util.IntentionFamilyName;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaElementVisitor;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMember;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.search.LocalSearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.util.SmartList;
+import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.ReducedAnalysis;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import com.siyeh.ig.InspectionGadgetsFix;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reports {@code @Mock} and {@code @Spy} fields that are used by none, or only by a small share of the test methods of their class.
+ * <p>
+ * {@code MockitoExtension}, {@code MockitoJUnitRunner} and {@code MockitoAnnotations.openMocks()} create every annotated field
+ * before each test method, regardless of whether the test uses it. Creating a mock with the inline mock maker may take a considerable
+ * amount of time, especially for large types, so mocks used only by a few tests are better created in those tests.
+ * <p>
+ * A field is considered used by a test method when it is referenced in that method, or in a helper method of the same class that
+ * is called, directly or transitively, by that method. The share of the test methods, below which fields are reported, is configurable.
+ * <p>
+ * Fields are not reported when
+ * <ul>
+ *     <li>they are protected or public, since they may be used in subclasses,</li>
+ *     <li>they are referenced in before or after hooks, in field initializers, in nested classes, or in helper methods that are not called
+ *     in the class, since in these cases they may be needed for every test,</li>
+ *     <li>the class has {@code @InjectMocks} fields, since the mocks may be injected into those.</li>
+ * </ul>
+ * If a field is used by a single test method, and only directly in that method, the quick fix converts it to a local variable
+ * in that method, the same way as the <b>Convert @Mock/@Spy field to Mockito.mock()/spy() call</b> intention does.
+ *
+ * @since 1.5.0
+ */
+final class RarelyUsedMockFieldInspection extends MockitoolsBaseInspection {
+    private static final Set<String> AFTER_ANNOTATIONS = Set.of(
+        //JUnit 4
+        "org.junit.After", "org.junit.AfterClass",
+        //JUnit 5
+        "org.junit.jupiter.api.AfterAll", "org.junit.jupiter.api.AfterEach",
+        //TestNG
+        "org.testng.annotations.AfterSuite", "org.testng.annotations.AfterTest",
+        "org.testng.annotations.AfterGroups", "org.testng.annotations.AfterClass",
+        "org.testng.annotations.AfterMethod");
+    private static final ConvertMockFieldToLocalVariableQuickFix CONVERT_MOCK_FIELD_TO_LOCAL_VARIABLE_FIX = new ConvertMockFieldToLocalVariableQuickFix();
+
+    @SuppressWarnings("PublicField")
+    public int minUsagePercentage = 20;
+
+    @Override
+    public @NotNull OptPane getOptionsPane() {
+        return pane(
+            number("minUsagePercentage", MockitoolsBundle.message("inspection.option.rarely.used.mock.field.min.usage.percentage"), 0, 100));
+    }
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
+        //Searching for references of the fields and the helper methods is too expensive in files analysed in reduced mode
+        if (!isInTestSourceContent(session.getFile()) || ReducedAnalysis.isActiveFor(session.getFile())) return PsiElementVisitor.EMPTY_VISITOR;
+
+        var instrumentation = instrumentationFor(session);
+        return new JavaElementVisitor() {
+            @Override
+            public void visitClass(@NotNull PsiClass aClass) {
+                instrumentation.check(() -> {
+                    if (aClass.hasModifierProperty(PsiModifier.ABSTRACT) || hasInjectMocksField(aClass)) return;
+
+                    var testMethods = collectTestMethodsIn(aClass);
+                    if (testMethods.isEmpty()) return;
+
+                    for (var field : aClass.getFields()) {
+                        if (!isMockOrSpyNotVisibleToSubclasses(field)) continue;
+
+                        var usage = findUsageOf(field, aClass, testMethods);
+                        if (usage != null && isRarelyUsed(usage, testMethods.size())) registerProblem(field, usage, testMethods.size(), holder);
+                    }
+                });
+            }
+        };
+    }
+
+    private boolean isRarelyUsed(MockFieldUsage usage, int testMethodCount) {
+        return usage.testMethods.isEmpty() || usage.testMethods.size() * 100 < minUsagePercentage * testMethodCount;
+    }
+
+    private static void registerProblem(PsiField field, MockFieldUsage usage, int testMethodCount, @NotNull ProblemsHolder holder) {
+        String message = usage.testMethods.isEmpty()
+            ? MockitoolsBundle.message("inspection.unused.mock.field")
+            : MockitoolsBundle.message("inspection.rarely.used.mock.field", usage.testMethods.size(), testMethodCount);
+        if (usage.canBeConvertedToLocalVariable())
+            holder.registerProblem(field.getNameIdentifier(), message, CONVERT_MOCK_FIELD_TO_LOCAL_VARIABLE_FIX);
+        else
+            holder.registerProblem(field.getNameIdentifier(), message);
+    }
+
+    private static boolean hasInjectMocksField(PsiClass aClass) {
+        for (var field : aClass.getAllFields()) {
+            if (field.hasAnnotation(ORG_MOCKITO_INJECT_MOCKS)) return true;
+        }
+        return false;
+    }
+
+    private static Set<PsiMethod> collectTestMethodsIn(PsiClass aClass) {
+        var testMethods = new HashSet<PsiMethod>();
+        for (var method : aClass.getMethods()) {
+            if (isTestMethod(method)) testMethods.add(method);
+        }
+        return testMethods;
+    }
+
+    /**
+     * Returns whether the argument instance field is annotated with either {@code @Mock} or {@code @Spy}, and it is neither protected nor public.
+     */
+    private static boolean isMockOrSpyNotVisibleToSubclasses(PsiField field) {
+        if (field.hasModifierProperty(PsiModifier.PROTECTED) || field.hasModifierProperty(PsiModifier.PUBLIC)
+            || field.hasModifierProperty(PsiModifier.STATIC)) return false;
+        return field.hasAnnotation(ORG_MOCKITO_MOCK) != field.hasAnnotation(ORG_MOCKITO_SPY);
+    }
+
+    /**
+     * Returns the test methods that use the argument field, directly or via helper methods, or null if the field may be needed
+     * for every test method, or it is used in a way this inspection doesn't handle.
+     */
+    @Nullable
+    private static MockFieldUsage findUsageOf(PsiField field, PsiClass testClass, Set<PsiMethod> allTestMethods) {
+        var usingMethods = new ArrayDeque<PsiMethod>();
+        if (!collectMethodsReferencing(field, testClass, usingMethods)) return null;
+
+        var directlyUsingMethods = List.copyOf(usingMethods);
+        var usingTestMethods = new HashSet<PsiMethod>();
+        var visitedMethods = new HashSet<PsiMethod>();
+        while (!usingMethods.isEmpty()) {
+            ProgressManager.checkCanceled();
+            var method = usingMethods.poll();
+            if (!visitedMethods.add(method)) continue;
+
+            if (allTestMethods.contains(method)) {
+                usingTestMethods.add(method);
+                continue;
+            }
+            //Hooks run for every test, and helper methods without callers in the class may be called reflectively, e.g. as argument sources
+            if (hasAnyAnnotationOf(method, BEFORE_ANNOTATIONS) || hasAnyAnnotationOf(method, AFTER_ANNOTATIONS)) return null;
+            var callers = new SmartList<PsiMethod>();
+            if (!collectMethodsReferencing(method, testClass, callers) || callers.isEmpty()) return null;
+            usingMethods.addAll(callers);
+        }
+        return new MockFieldUsage(usingTestMethods, usingTestMethods.containsAll(directlyUsingMethods));
+    }
+
+    /**
+     * Collects the methods of {@code testClass} in which the argument member is referenced.
+     *
+     * @return false if the member is referenced outside the methods of {@code testClass}, e.g. in a field initializer or in a nested class
+     */
+    private static boolean collectMethodsReferencing(PsiMember member, PsiClass testClass, Collection<PsiMethod> methods) {
+        return ReferencesSearch.search(member, new LocalSearchScope(testClass)).forEach(ref -> {
+            ProgressManager.checkCanceled();
+            var method = getParentOfType(ref.getElement(), PsiMethod.class);
+            if (method == null || method.getContainingClass() != testClass) return false;
+            methods.add(method);
+            return true;
+        });
+    }
+
+    private static boolean hasAnyAnnotationOf(PsiMethod method, Set<String> annotations) {
+        for (String annotation : annotations) {
+            if (method.hasAnnotation(annotation)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param testMethods        the test methods that use the mock field, directly or via helper methods
+     * @param isUsedOnlyDirectly whether the field is referenced only in test methods, and not in helper methods
+     */
+    private record MockFieldUsage(Set<PsiMethod> testMethods, boolean isUsedOnlyDirectly) {
+
+        boolean canBeConvertedToLocalVariable() {
+            return testMethods.size() == 1 && isUsedOnlyDirectly;
+        }
+    }
+
+    /**
+     * Converts the mock field to a local variable in the only test method that uses it.
+     * <p>
+     * The conversion itself is performed by {@link com.picimako.mockitools.intention.ConvertMockSpyFieldToCallAction}, which handles
+     * its own read and write actions, thus this quick fix doesn't start in a write action.
+     */
+    private static final class ConvertMockFieldToLocalVariableQuickFix extends InspectionGadgetsFix {
+
+        @Override
+        public @IntentionFamilyName @NotNull String getFamilyName() {
+            return MockitoolsBundle.message("quick.fix.convert.mock.field.to.local.variable");
+        }
+
+        @Override
+        protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
+            if (!(descriptor.getPsiElement().getParent() instanceof PsiField field) || field.getContainingClass() == null) return;
+
+            var testClass = field.getContainingClass();
+            var usage = findUsageOf(field, testClass, collectTestMethodsIn(testClass));
+            if (usage != null && usage.canBeConvertedToLocalVariable())
+                introduceMockitoMockingCall(field, usage.testMethods.iterator().next(), field.getContainingFile());
+        }
+
+        @Override
+        public boolean startInWriteAction() {
+            return false;
+        }
+
+        @Override
+        public @NotNull IntentionPreviewInfo generatePreview(@NotNull Project project, @NotNull ProblemDescriptor previewDescriptor) {
+            return IntentionPreviewInfo.EMPTY;
+        }
+    }
+}
@@ -22,8 +22,8 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.psi.codeStyle.JavaCodeStyleManager;
 import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.PerFileBatchInspectionGadgetsFix;
 import com.picimako.mockitools.resources.MockitoolsBundle;
-import com.siyeh.ig.InspectionGadgetsFix;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -68,7 +68,7 @@ final class SimplifyMockCreationInspection extends MockitoolsBaseInspection {
             new ReplaceWithSimplerMockCreationQuickFix());
     }
 
-    private static final class ReplaceWithSimplerMockCreationQuickFix extends InspectionGadgetsFix {
+    private static final class ReplaceWithSimplerMockCreationQuickFix extends PerFileBatchInspectionGadgetsFix {
 
         @Override
         public @IntentionFamilyName @NotNull String getFamilyName() {
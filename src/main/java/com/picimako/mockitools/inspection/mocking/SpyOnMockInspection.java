@@ -7,6 +7,7 @@ import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO;
 import static com.picimako.mockitools.MockitoQualifiedNames.SPY;
 import static com.picimako.mockitools.MockitoolsPsiUtil.isMockitoMock;
 import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
+import static com.picimako.mockitools.util.ResolveUtil.resolve;
 import static com.siyeh.ig.callMatcher.CallMatcher.staticCall;
 
 import com.intellij.codeInspection.ProblemsHolder;
@@ -43,7 +44,7 @@ final class SpyOnMockInspection extends MockitoolsBaseInspection {
             }
             //Mockito.spy(Mockito.mock(<name of field annotated with @Mock>))
             else if (firstArgument instanceof PsiReferenceExpression variableRef) {
-                var resolved = variableRef.resolve();
+                        var resolved = resolve(variableRef);
                 if (resolved instanceof PsiField field) {
                     if (field.hasAnnotation(ORG_MOCKITO_MOCK)) {
                         holder.registerProblem(firstArgument, MockitoolsBundle.message("inspection.spying.on.mock.is.not.allowed"));
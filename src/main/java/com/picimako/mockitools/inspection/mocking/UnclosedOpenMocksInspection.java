@@ -0,0 +1,161 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import static com.intellij.psi.CommonClassNames.JAVA_LANG_EXCEPTION;
+import static com.intellij.psi.CommonClassNames.JAVA_LANG_THROWABLE;
+import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
+import static com.picimako.mockitools.MockitoolsPsiUtil.MOCKITO_ANNOTATIONS_OPEN_MOCKS;
+import static com.picimako.mockitools.inspection.mocking.UnclosedResults.findUnclosedResultOf;
+import static com.picimako.mockitools.util.ResolveUtil.resolve;
+import static com.picimako.mockitools.util.UnitTestPsiUtil.isInTestSourceContent;
+
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.util.IntentionFamilyName;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiAssignmentExpression;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiExpressionStatement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.util.PsiUtil;
+import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.ReducedAnalysis;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import com.siyeh.ig.InspectionGadgetsFix;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reports {@code MockitoAnnotations.openMocks()} calls whose {@code AutoCloseable} results are never closed.
+ * <p>
+ * Until the result is closed, the inline mock maker keeps references to the created mocks, and with them to the test instance,
+ * and everything it references, which piles up in long-running test JVMs.
+ * <p>
+ * For what is considered closed, see {@link UnclosedResults}.
+ * <p>
+ * Calls reported by {@link DoubleMockInitializationInspection} are not reported, since they are redundant, and should be removed instead.
+ * <p>
+ * When the result is discarded, or it is assigned to a field, the quick fix stores it in a field, and closes that field
+ * in an {@code @AfterEach} (JUnit 5) or {@code @After} (JUnit 4) method.
+ *
+ * @since 1.5.0
+ */
+final class UnclosedOpenMocksInspection extends MockitoolsBaseInspection {
+    private static final String ORG_JUNIT_BEFORE = "org.junit.Before";
+    private static final String ORG_JUNIT_AFTER = "org.junit.After";
+    private static final String ORG_JUNIT_JUPITER_API_AFTER_EACH = "org.junit.jupiter.api.AfterEach";
+    private static final CloseMocksAfterEachTestQuickFix CLOSE_MOCKS_AFTER_EACH_TEST_FIX = new CloseMocksAfterEachTestQuickFix();
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
+        //Searching for references of the results is too expensive in files analysed in reduced mode
+        return isInTestSourceContent(session.getFile()) && !ReducedAnalysis.isActiveFor(session.getFile())
+            ? methodCallVisitor(holder, session)
+            : PsiElementVisitor.EMPTY_VISITOR;
+    }
+
+    @Override
+    protected void checkMethodCallExpression(PsiMethodCallExpression expression, @NotNull ProblemsHolder holder) {
+        if (!MOCKITO_ANNOTATIONS_OPEN_MOCKS.matches(expression) || DoubleMockInitializationInspection.isDoubleInitialization(expression)) return;
+
+        var unclosedResult = findUnclosedResultOf(expression);
+        if (unclosedResult == null) return;
+
+        String message = MockitoolsBundle.message("inspection.unclosed.open.mocks");
+        if ((unclosedResult == UnclosedResults.Storage.DISCARDED || unclosedResult == UnclosedResults.Storage.FIELD_ASSIGNMENT)
+            && getParentOfType(expression, PsiMethod.class, true, PsiClass.class) != null)
+            holder.registerProblem(expression, message, CLOSE_MOCKS_AFTER_EACH_TEST_FIX);
+        else
+            holder.registerProblem(expression, message);
+    }
+
+    /**
+     * Stores the result of {@code openMocks()} in a new field, if it is not yet stored in one, and closes that field after each test.
+     * <p>
+     * If there is already an {@code @AfterEach} or {@code @After} method in the test class, the {@code close()} call is added to its end,
+     * otherwise a new {@code closeMocks()} method is created right after the method calling {@code openMocks()}.
+     */
+    private static final class CloseMocksAfterEachTestQuickFix extends InspectionGadgetsFix {
+
+        @Override
+        public @IntentionFamilyName @NotNull String getFamilyName() {
+            return MockitoolsBundle.message("quick.fix.close.mocks.after.each.test");
+        }
+
+        @Override
+        protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
+            if (!(descriptor.getPsiElement() instanceof PsiMethodCallExpression openMocks)) return;
+
+            var setUpMethod = getParentOfType(openMocks, PsiMethod.class, true, PsiClass.class);
+            var testClass = setUpMethod != null ? setUpMethod.getContainingClass() : null;
+            if (testClass == null) return;
+
+            var factory = JavaPsiFacade.getElementFactory(project);
+            String fieldName;
+            var parent = PsiUtil.skipParenthesizedExprUp(openMocks.getParent());
+            //e.g. 'MockitoAnnotations.openMocks(this);'
+            if (parent instanceof PsiExpressionStatement statement) {
+                fieldName = uniqueFieldNameIn(testClass);
+                var fields = testClass.getFields();
+                testClass.addAfter(factory.createFieldFromText("private AutoCloseable " + fieldName + ";", testClass),
+                    fields.length > 0 ? fields[fields.length - 1] : testClass.getLBrace());
+                statement.replace(factory.createStatementFromText(fieldName + " = " + openMocks.getText() + ";", statement));
+            }
+            //e.g. 'mocks = MockitoAnnotations.openMocks(this);'
+            else if (parent instanceof PsiAssignmentExpression assignment
+                && PsiUtil.skipParenthesizedExprDown(assignment.getLExpression()) instanceof PsiReferenceExpression assignedRef
+                && resolve(assignedRef) instanceof PsiField field) {
+                fieldName = field.getName();
+            } else return;
+
+            addCloseCall(fieldName, setUpMethod, testClass, factory, project);
+        }
+
+        private static String uniqueFieldNameIn(PsiClass testClass) {
+            String fieldName = "mocks";
+            for (int i = 1; testClass.findFieldByName(fieldName, true) != null; i++) {
+                fieldName = "mocks" + i;
+            }
+            return fieldName;
+        }
+
+        private static void addCloseCall(String fieldName, PsiMethod setUpMethod, PsiClass testClass, PsiElementFactory factory, Project project) {
+            boolean isJUnit4 = setUpMethod.hasAnnotation(ORG_JUNIT_BEFORE);
+            var afterEachMethod = findAfterEachMethodIn(testClass, isJUnit4 ? ORG_JUNIT_AFTER : ORG_JUNIT_JUPITER_API_AFTER_EACH);
+            if (afterEachMethod != null && afterEachMethod.getBody() != null) {
+                afterEachMethod.getBody().add(factory.createStatementFromText(fieldName + ".close();", afterEachMethod));
+                if (!throwsException(afterEachMethod))
+                    afterEachMethod.getThrowsList().add(factory.createReferenceElementByFQClassName(JAVA_LANG_EXCEPTION, afterEachMethod.getResolveScope()));
+            } else {
+                String closeMocks = "@" + (isJUnit4 ? ORG_JUNIT_AFTER + "\npublic " : ORG_JUNIT_JUPITER_API_AFTER_EACH + "\n")
+                    + "void closeMocks() throws Exception {\n" + fieldName + ".close();\n}";
+                var addedMethod = testClass.addAfter(factory.createMethodFromText(closeMocks, testClass), setUpMethod);
+                JavaCodeStyleManager.getInstance(project).shortenClassReferences(addedMethod);
+            }
+        }
+
+        @Nullable
+        private static PsiMethod findAfterEachMethodIn(PsiClass testClass, String afterEachAnnotation) {
+            for (var method : testClass.getMethods()) {
+                if (method.hasAnnotation(afterEachAnnotation)) return method;
+            }
+            return null;
+        }
+
+        private static boolean throwsException(PsiMethod method) {
+            for (var thrownType : method.getThrowsList().getReferencedTypes()) {
+                if (thrownType.equalsToText(JAVA_LANG_EXCEPTION) || thrownType.equalsToText(JAVA_LANG_THROWABLE)) return true;
+            }
+            return false;
+        }
+    }
+}
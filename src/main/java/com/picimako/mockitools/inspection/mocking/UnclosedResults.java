@@ -0,0 +1,149 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
+import static com.picimako.mockitools.util.ResolveUtil.resolve;
+import static com.picimako.mockitools.util.ResolveUtil.resolveMethod;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.PsiAssignmentExpression;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiExpressionList;
+import com.intellij.psi.PsiExpressionStatement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiLambdaExpression;
+import com.intellij.psi.PsiLocalVariable;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.PsiResourceExpression;
+import com.intellij.psi.PsiResourceVariable;
+import com.intellij.psi.PsiReturnStatement;
+import com.intellij.psi.PsiVariable;
+import com.intellij.psi.search.LocalSearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.PsiUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Finds the {@code AutoCloseable} results of Mockito calls, e.g. of {@code Mockito.mockStatic()} or {@code MockitoAnnotations.openMocks()},
+ * that are never closed.
+ * <p>
+ * A result is considered closed when
+ * <ul>
+ *     <li>it is created as a try-with-resources resource,</li>
+ *     <li>it is stored in a local variable that is used as a try-with-resources resource, or on which {@code close()} or
+ *     {@code closeOnDemand()} is called in the same method,</li>
+ *     <li>it is stored in a field on which {@code close()} or {@code closeOnDemand()} is called in any method of the class,
+ *     e.g. in an {@code @AfterEach} method.</li>
+ * </ul>
+ * Results that are returned, assigned to other variables, or passed to non-Mockito methods are not considered unclosed,
+ * since they may be closed elsewhere.
+ *
+ * @since 1.5.0
+ */
+final class UnclosedResults {
+
+    /**
+     * The ways an unclosed result may be stored.
+     */
+    enum Storage {
+        /**
+         * E.g. {@code Mockito.mockStatic(Type.class);}
+         */
+        DISCARDED,
+        /**
+         * E.g. {@code MockedStatic<Type> mock = Mockito.mockStatic(Type.class);}
+         */
+        LOCAL_VARIABLE_DECLARATION,
+        /**
+         * E.g. {@code mock = Mockito.mockStatic(Type.class);} where {@code mock} is a local variable.
+         */
+        LOCAL_VARIABLE_ASSIGNMENT,
+        /**
+         * E.g. {@code mock = Mockito.mockStatic(Type.class);} where {@code mock} is a field.
+         */
+        FIELD_ASSIGNMENT
+    }
+
+    /**
+     * Returns how the result of the argument call is stored, if it is never closed, or null if it is closed, may be closed elsewhere,
+     * or it is used in a way not supported by this class.
+     */
+    @Nullable
+    static Storage findUnclosedResultOf(@NotNull PsiMethodCallExpression call) {
+        var parent = PsiUtil.skipParenthesizedExprUp(call.getParent());
+        if (parent instanceof PsiExpressionStatement) return Storage.DISCARDED;
+
+        if (parent instanceof PsiLocalVariable variable) {
+            return !(variable instanceof PsiResourceVariable) && !isClosedOrEscapes(variable, searchScopeOf(variable))
+                ? Storage.LOCAL_VARIABLE_DECLARATION
+                : null;
+        }
+
+        if (parent instanceof PsiAssignmentExpression assignment
+            && PsiUtil.skipParenthesizedExprDown(assignment.getLExpression()) instanceof PsiReferenceExpression assignedRef) {
+            var assignedVariable = resolve(assignedRef);
+            if (assignedVariable instanceof PsiLocalVariable variable)
+                return !isClosedOrEscapes(variable, searchScopeOf(variable)) ? Storage.LOCAL_VARIABLE_ASSIGNMENT : null;
+
+            if (assignedVariable instanceof PsiField field) {
+                var topLevelClass = PsiUtil.getTopLevelClass(field);
+                return topLevelClass != null && !isClosedOrEscapes(field, new LocalSearchScope(topLevelClass)) ? Storage.FIELD_ASSIGNMENT : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the body of the method or lambda expression containing the argument variable as search scope,
+     * so that references are searched only where the variable may actually be referenced.
+     */
+    private static LocalSearchScope searchScopeOf(PsiLocalVariable variable) {
+        var methodOrLambda = getParentOfType(variable, PsiMethod.class, PsiLambdaExpression.class);
+        PsiElement body = methodOrLambda instanceof PsiMethod method ? method.getBody()
+            : methodOrLambda instanceof PsiLambdaExpression lambda ? lambda.getBody()
+            : null;
+        return new LocalSearchScope(body != null ? body : variable.getParent());
+    }
+
+    /**
+     * Returns whether any of the references of the argument variable in {@code scope} closes it,
+     * or passes it somewhere where it may be closed.
+     * <p>
+     * The search stops at the first such reference.
+     */
+    private static boolean isClosedOrEscapes(PsiVariable variable, LocalSearchScope scope) {
+        return !ReferencesSearch.search(variable, scope).forEach(ref -> {
+            ProgressManager.checkCanceled();
+            return !isClosingOrEscaping(ref.getElement());
+        });
+    }
+
+    private static boolean isClosingOrEscaping(PsiElement variableRef) {
+        var parent = PsiUtil.skipParenthesizedExprUp(variableRef.getParent());
+        //e.g. 'try (mock) {...}'
+        if (parent instanceof PsiResourceExpression) return true;
+        //e.g. 'mock.close()'
+        if (parent instanceof PsiReferenceExpression methodRef && methodRef.getParent() instanceof PsiMethodCallExpression)
+            return "close".equals(methodRef.getReferenceName()) || "closeOnDemand".equals(methodRef.getReferenceName());
+        //e.g. 'return mock;' or 'otherVariable = mock;'
+        if (parent instanceof PsiReturnStatement || parent instanceof PsiLocalVariable
+            || parent instanceof PsiAssignmentExpression assignment && assignment.getRExpression() == variableRef)
+            return true;
+        //e.g. 'closeAll(mock)', but not 'inOrder.verify(mock, Type::method)'
+        if (parent instanceof PsiExpressionList && parent.getParent() instanceof PsiMethodCallExpression call) {
+            var method = resolveMethod(call);
+            var containingClass = method != null ? method.getContainingClass() : null;
+            String qualifiedName = containingClass != null ? containingClass.getQualifiedName() : null;
+            return qualifiedName == null || !qualifiedName.startsWith("org.mockito.");
+        }
+        return false;
+    }
+
+    private UnclosedResults() {
+        //Utility class
+    }
+}
@@ -0,0 +1,132 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import static com.picimako.mockitools.MockitoMockMatchers.MOCK_STATIC_OR_CONSTRUCTION;
+import static com.picimako.mockitools.inspection.mocking.UnclosedResults.findUnclosedResultOf;
+import static com.picimako.mockitools.util.UnitTestPsiUtil.isInTestSourceContent;
+import static com.siyeh.ig.psiutils.MethodCallUtils.getMethodName;
+
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.util.IntentionFamilyName;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiDeclarationStatement;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiExpressionStatement;
+import com.intellij.psi.PsiLocalVariable;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiStatement;
+import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.util.PsiUtil;
+import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.ReducedAnalysis;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import com.siyeh.ig.InspectionGadgetsFix;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reports {@code Mockito.mockStatic()}, {@code Mockito.mockConstruction()} and {@code Mockito.mockConstructionWithAnswer()} calls
+ * whose results are never closed.
+ * <p>
+ * Until they are closed, these scoped mocks keep the mocking of the static methods or the constructors active in the current thread.
+ * Leaking them affects subsequent tests, slows down later calls to the mocked class, and keeps the mocks in memory until the thread terminates.
+ * <p>
+ * For what is considered closed, see {@link UnclosedResults}.
+ * <p>
+ * Discarded results and local variables declared with the scoped mock can be wrapped in try-with-resources via a quick fix.
+ *
+ * @since 1.5.0
+ */
+final class UnclosedScopedMockInspection extends MockitoolsBaseInspection {
+    private static final WrapInTryWithResourcesQuickFix WRAP_IN_TRY_WITH_RESOURCES_FIX = new WrapInTryWithResourcesQuickFix();
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
+        //Searching for references of the scoped mocks is too expensive in files analysed in reduced mode
+        return isInTestSourceContent(session.getFile()) && !ReducedAnalysis.isActiveFor(session.getFile())
+            ? methodCallVisitor(holder, session)
+            : PsiElementVisitor.EMPTY_VISITOR;
+    }
+
+    @Override
+    protected void checkMethodCallExpression(PsiMethodCallExpression expression, @NotNull ProblemsHolder holder) {
+        if (!MOCK_STATIC_OR_CONSTRUCTION.matches(expression)) return;
+
+        var unclosedResult = findUnclosedResultOf(expression);
+        if (unclosedResult == null) return;
+
+        String message = MockitoolsBundle.message("inspection.unclosed.scoped.mock", getMethodName(expression));
+        if (canBeWrappedInTryWithResources(expression, unclosedResult))
+            holder.registerProblem(expression, message, WRAP_IN_TRY_WITH_RESOURCES_FIX);
+        else
+            holder.registerProblem(expression, message);
+    }
+
+    /**
+     * Discarded results and local variables declared with the scoped mock can be wrapped, when they are located directly in a code block.
+     */
+    private static boolean canBeWrappedInTryWithResources(PsiMethodCallExpression expression, UnclosedResults.Storage unclosedResult) {
+        var parent = PsiUtil.skipParenthesizedExprUp(expression.getParent());
+        return switch (unclosedResult) {
+            case DISCARDED -> parent.getParent() instanceof PsiCodeBlock;
+            case LOCAL_VARIABLE_DECLARATION -> parent.getParent() instanceof PsiDeclarationStatement declaration && declaration.getParent() instanceof PsiCodeBlock;
+            default -> false;
+        };
+    }
+
+    /**
+     * Wraps the statement creating the scoped mock, and all subsequent statements of the same code block, in a try-with-resources
+     * statement, with the scoped mock as its resource.
+     * <p>
+     * If the scoped mock is not stored in a variable, a new one is introduced.
+     */
+    private static final class WrapInTryWithResourcesQuickFix extends InspectionGadgetsFix {
+
+        @Override
+        public @IntentionFamilyName @NotNull String getFamilyName() {
+            return MockitoolsBundle.message("quick.fix.wrap.in.try.with.resources");
+        }
+
+        @Override
+        protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
+            if (!(descriptor.getPsiElement() instanceof PsiMethodCallExpression scopedMockCreation)) return;
+
+            PsiStatement statement;
+            String resource;
+            var parent = PsiUtil.skipParenthesizedExprUp(scopedMockCreation.getParent());
+            if (parent instanceof PsiLocalVariable variable && variable.getParent() instanceof PsiDeclarationStatement declaration) {
+                statement = declaration;
+                resource = variable.getTypeElement().getText() + " " + variable.getName() + " = " + scopedMockCreation.getText();
+            } else if (parent instanceof PsiExpressionStatement expressionStatement && scopedMockCreation.getType() != null) {
+                statement = expressionStatement;
+                String variableName = JavaCodeStyleManager.getInstance(project).suggestUniqueVariableName("mocked", scopedMockCreation, true);
+                resource = scopedMockCreation.getType().getCanonicalText() + " " + variableName + " = " + scopedMockCreation.getText();
+            } else return;
+
+            if (!(statement.getParent() instanceof PsiCodeBlock codeBlock)) return;
+            var lastStatement = lastNonWhitespaceBodyElementOf(codeBlock);
+            var tryBody = new StringBuilder();
+            for (var element = statement.getNextSibling(); element != null && element != lastStatement.getNextSibling(); element = element.getNextSibling()) {
+                tryBody.append(element.getText());
+            }
+
+            var tryStatement = JavaPsiFacade.getElementFactory(project).createStatementFromText("try (" + resource + ") {" + tryBody + "\n}", statement);
+            var addedTryStatement = codeBlock.addBefore(tryStatement, statement);
+            codeBlock.deleteChildRange(statement, lastStatement);
+            addedTryStatement = JavaCodeStyleManager.getInstance(project).shortenClassReferences(addedTryStatement);
+            CodeStyleManager.getInstance(project).reformat(addedTryStatement);
+        }
+
+        private static PsiElement lastNonWhitespaceBodyElementOf(PsiCodeBlock codeBlock) {
+            var lastBodyElement = codeBlock.getLastBodyElement();
+            return lastBodyElement instanceof PsiWhiteSpace ? lastBodyElement.getPrevSibling() : lastBodyElement;
+        }
+    }
+}
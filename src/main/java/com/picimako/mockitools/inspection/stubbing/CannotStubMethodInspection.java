@@ -5,6 +5,7 @@ package com.picimako.mockitools.inspection.stubbing;
 import static com.picimako.mockitools.resources.MockitoolsBundle.message;
 import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
 import static com.picimako.mockitools.util.PsiMethodUtil.getSubsequentMethodCall;
+import static com.picimako.mockitools.util.ResolveUtil.resolveMethod;
 
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
@@ -49,7 +50,7 @@ final class CannotStubMethodInspection extends MockitoolsBaseInspection {
 
     @SuppressWarnings("DialogTitleCapitalization")
     private static void checkCallToStubbedMethod(@NotNull ProblemsHolder holder, PsiMethodCallExpression callToStubbedMethod, Supplier<PsiElement> elementToRegister) {
-        var stubbedMethod = callToStubbedMethod.resolveMethod();
+        var stubbedMethod = resolveMethod(callToStubbedMethod);
         if (stubbedMethod != null) {
             //'hashCode()' is checked before native/private, so that, because hashCode() is native,
             // the inspection message will say hashCode() instead of native method.
@@ -45,7 +45,7 @@ final class ExtraInterfacesInspection extends MockitoolsBaseInspection {
 
     @Override
     public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        return isInTestSourceContent(session.getFile()) ? annotationAndMethodCallVisitor(holder) : PsiElementVisitor.EMPTY_VISITOR;
+        return isInTestSourceContent(session.getFile()) ? annotationAndMethodCallVisitor(holder, session) : PsiElementVisitor.EMPTY_VISITOR;
     }
 
     @Override
@@ -7,7 +7,6 @@ import static com.intellij.psi.CommonClassNames.JAVA_LANG_THROWABLE;
 import static com.picimako.mockitools.util.EvaluationHelper.evaluateClassObjectOrNewExpressionType;
 import static com.picimako.mockitools.util.EvaluationHelper.evaluateType;
 import static com.picimako.mockitools.util.ExceptionUtil.isCheckedException;
-import static com.picimako.mockitools.util.PointersUtil.toPointer;
 import static com.picimako.mockitools.util.PsiMethodUtil.getArguments;
 import static com.picimako.mockitools.util.PsiMethodUtil.getSubsequentMethodCall;
 
@@ -18,22 +17,26 @@ import com.intellij.openapi.project.Project;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiCall;
 import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiCompiledElement;
 import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiMethodCallExpression;
-import com.intellij.psi.SmartPsiElementPointer;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.picimako.mockitools.StubType;
 import com.picimako.mockitools.StubbingApproach;
 import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.PerFileBatchQuickFix;
 import com.picimako.mockitools.resources.MockitoolsBundle;
+import com.picimako.mockitools.util.ResolveUtil;
 import com.siyeh.ig.InspectionGadgetsFix;
-import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Reports exception references in {@code *Throw()} stubbing methods based on Mockito's rule on checked exceptions:
@@ -54,6 +57,7 @@ import java.util.Optional;
  * @since 0.3.0
  */
 final class ThrowsCheckedExceptionStubbingInspection extends MockitoolsBaseInspection {
+    private static final AddExceptionToThrowsClauseQuickFix ADD_EXCEPTION_TO_THROWS_CLAUSE_FIX = new AddExceptionToThrowsClauseQuickFix();
 
     @Override
     protected void checkMethodCallExpression(PsiMethodCallExpression expression, @NotNull ProblemsHolder holder) {
@@ -77,22 +81,45 @@ final class ThrowsCheckedExceptionStubbingInspection extends MockitoolsBaseInspe
         var stubbedExceptions = getArguments(expression);
         if (stubbedExceptions.length == 0) return;
 
-        //e.g. 'mockObject.doSomething()' from either of 'when(mockObject.doSomething())' or 'given(mockObject).doSomething()'
-        approach.getStubbedMethodCallAnywhere(expression)
-            .map(stub -> resolveStubbedMethod(stub, approach.stubType)) //doSomething()
-            .ifPresent(stubbedMethod -> {
-                var exceptionTypesInThrowsClause = stubbedMethod.getThrowsList().getReferencedTypes();
-                for (var stubbedException : stubbedExceptions) {
-                    //If the stubbed exception is a checked one, and it is not present in the method's throws clause
-                    if (isCheckedException(stubbedException)
-                        && doesntHaveMatchingCheckedExceptionInThrowsClause(exceptionTypesInThrowsClause, stubbedException)
-                        && doesntHaveExceptionOrThrowableInThrowsClause(exceptionTypesInThrowsClause)) {
-                        holder.registerProblem(stubbedException,
-                            MockitoolsBundle.message("inspection.invalid.checked.exception.in.stubbing"),
-                            new AddExceptionToThrowsClauseQuickFix(toPointer(stubbedMethod)));
-                    }
-                }
-            });
+        var stubbedMethod = findStubbedMethod(approach, expression, ResolveUtil::resolveMethod);
+        if (stubbedMethod == null) return;
+
+        var exceptionTypesInThrowsClause = stubbedMethod.getThrowsList().getReferencedTypes();
+        for (var stubbedException : stubbedExceptions) {
+            //If the stubbed exception is a checked one, and it is not present in the method's throws clause
+            if (isCheckedException(stubbedException)
+                && doesntHaveMatchingCheckedExceptionInThrowsClause(exceptionTypesInThrowsClause, stubbedException)
+                && doesntHaveExceptionOrThrowableInThrowsClause(exceptionTypesInThrowsClause)) {
+                holder.registerProblem(stubbedException,
+                    MockitoolsBundle.message("inspection.invalid.checked.exception.in.stubbing"),
+                    ADD_EXCEPTION_TO_THROWS_CLAUSE_FIX);
+            }
+        }
+    }
+
+    /**
+     * Returns the method stubbed by the argument {@code *Throw()} call, e.g. {@code doSomething()} from either of
+     * {@code when(mockObject.doSomething())} or {@code given(mockObject).doSomething()}.
+     */
+    @Nullable
+    private static PsiMethod findStubbedMethod(StubbingApproach approach, PsiMethodCallExpression throwCall, Function<PsiCall, PsiMethod> resolver) {
+        return approach.getStubbedMethodCallAnywhere(throwCall)
+            .map(stub -> resolveStubbedMethod(stub, approach.stubType, resolver))
+            .orElse(null);
+    }
+
+    /**
+     * Returns the method stubbed by the argument {@code *Throw()} call, regardless of the stubbing approach.
+     * <p>
+     * It is used outside of inspection passes, thus the resolution is not recorded in the diagnostics.
+     */
+    @Nullable
+    private static PsiMethod findStubbedMethod(@Nullable PsiMethodCallExpression throwCall) {
+        if (throwCall == null) return null;
+        for (var approach : StubbingApproach.values()) {
+            if (approach.getExceptionStubber().isApplicableTo(throwCall)) return findStubbedMethod(approach, throwCall, PsiCall::resolveMethod);
+        }
+        return null;
     }
 
     private static boolean doesntHaveMatchingCheckedExceptionInThrowsClause(PsiClassType[] exceptionTypesInThrowsClause, PsiExpression stubbedException) {
@@ -118,11 +145,11 @@ final class ThrowsCheckedExceptionStubbingInspection extends MockitoolsBaseInspe
      * to the one that the mock object is specified in: subsequent to {@code given()} in this case, resulting in {@code doSomething()}.
      */
     @Nullable
-    private PsiMethod resolveStubbedMethod(PsiExpression stub, StubType stubType) {
+    private static PsiMethod resolveStubbedMethod(PsiExpression stub, StubType stubType, Function<PsiCall, PsiMethod> resolver) {
         return stubType == StubType.STUBBING
-            ? ((PsiMethodCallExpression) stub).resolveMethod()
+            ? resolver.apply((PsiMethodCallExpression) stub)
             : Optional.ofNullable(getSubsequentMethodCall(PsiTreeUtil.getParentOfType(stub, PsiMethodCallExpression.class)))
-            .map(PsiCall::resolveMethod)
+            .map(resolver)
             .orElse(null);
     }
 
@@ -149,23 +176,46 @@ final class ThrowsCheckedExceptionStubbingInspection extends MockitoolsBaseInspe
      *     }
      * }
      * }</pre>
+     * <p>
+     * The stubbed method is resolved when the fix is applied, so that the fix doesn't have to reference it.
+     * When applied on multiple problems at once, the problems are grouped by the files of the stubbed methods,
+     * since those are the files that are modified, which are usually production files, not the test files the problems are reported in.
      *
      * @since 0.5.0
      */
-    @RequiredArgsConstructor
-    private static final class AddExceptionToThrowsClauseQuickFix extends InspectionGadgetsFix {
-        private final SmartPsiElementPointer<PsiMethod> stubbedMethod;
+    private static final class AddExceptionToThrowsClauseQuickFix extends InspectionGadgetsFix implements PerFileBatchQuickFix {
 
         @Override
         protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
-            var exception = descriptor.getPsiElement();
-            if (!(exception instanceof PsiExpression)) return;
-
-            var stubbedExceptionType = evaluateClassObjectOrNewExpressionType(exception);
-            if (stubbedExceptionType instanceof PsiClassType stubbedExceptionClassType) {
-                var stubbedExceptionRef =
-                    JavaPsiFacade.getElementFactory(project).createReferenceElementByType(stubbedExceptionClassType);
-                stubbedMethod.getElement().getThrowsList().add(stubbedExceptionRef);
+            var file = getFileToModify(descriptor);
+            if (file != null) applyFixes(project, file, List.of(descriptor));
+        }
+
+        @Override
+        public @Nullable PsiFile getFileToModify(@NotNull ProblemDescriptor descriptor) {
+            var method = descriptor.getPsiElement() instanceof PsiExpression exception && exception.isValid()
+                ? findStubbedMethod(PsiTreeUtil.getParentOfType(exception, PsiMethodCallExpression.class))
+                : null;
+            return method != null && !(method instanceof PsiCompiledElement) ? method.getContainingFile() : null;
+        }
+
+        /**
+         * Adds the stubbed exceptions to the throws clauses of the stubbed methods.
+         * <p>
+         * When the same exception is stubbed for the same method multiple times, it is added to the throws clause only once.
+         */
+        @Override
+        public void applyFixes(@NotNull Project project, @NotNull PsiFile file, @NotNull List<ProblemDescriptor> descriptors) {
+            var factory = JavaPsiFacade.getElementFactory(project);
+            for (var descriptor : descriptors) {
+                if (!(descriptor.getPsiElement() instanceof PsiExpression exception)) continue;
+                var method = findStubbedMethod(PsiTreeUtil.getParentOfType(exception, PsiMethodCallExpression.class));
+                if (method == null) continue;
+
+                if (evaluateClassObjectOrNewExpressionType(exception) instanceof PsiClassType stubbedExceptionClassType
+                    && doesntHaveMatchingCheckedExceptionInThrowsClause(method.getThrowsList().getReferencedTypes(), exception)) {
+                    method.getThrowsList().add(factory.createReferenceElementByType(stubbedExceptionClassType));
+                }
             }
         }
 
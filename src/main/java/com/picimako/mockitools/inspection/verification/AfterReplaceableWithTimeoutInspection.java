@@ -0,0 +1,126 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.verification;
+
+import static com.picimako.mockitools.MockitoQualifiedNames.AT_LEAST;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_BDDMOCKITO_THEN;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO;
+import static com.picimako.mockitools.MockitoQualifiedNames.TIMEOUT;
+import static com.picimako.mockitools.MockitoQualifiedNames.TIMES;
+import static com.picimako.mockitools.MockitoolsPsiUtil.INORDER_VERIFY;
+import static com.picimako.mockitools.MockitoolsPsiUtil.MOCKED_STATIC_VERIFY;
+import static com.picimako.mockitools.MockitoolsPsiUtil.MOCKITO_VERIFY;
+import static com.picimako.mockitools.MockitoolsPsiUtil.isAfter;
+import static com.siyeh.ig.callMatcher.CallMatcher.instanceCall;
+
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.util.IntentionFamilyName;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiExpressionList;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.util.SmartList;
+import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.PerFileBatchQuickFix;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import com.siyeh.ig.InspectionGadgetsFix;
+import com.siyeh.ig.callMatcher.CallMatcher;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reports {@code Mockito.after()} verification modes that can be replaced with {@code Mockito.timeout()}.
+ * <p>
+ * {@code after(n)} always waits for the full duration before verifying, while {@code timeout(n)} returns as soon as
+ * the verification passes, thus replacing it saves the time the tests spend waiting.
+ * <p>
+ * {@code after()} is reported when it is used on its own, or when it is followed by {@code times()}, {@code atLeast()}
+ * or {@code atLeastOnce()}. With these modes, {@code timeout()} fails in the same cases, except that it doesn't wait for
+ * unexpected invocations arriving after the expected ones. {@code never()}, {@code atMost()} and {@code only()} are not reported,
+ * since they can be verified only after the full duration.
+ * <p>
+ * Only verification modes passed directly to {@code Mockito.verify()}, {@code InOrder.verify()}, {@code MockedStatic.verify()}
+ * or {@code BDDMockito.then().should()} are reported, e.g. {@code after()} calls passed to helper methods are not.
+ * <p>
+ * At least for now, static import of {@code Mockito.timeout()} is not applied by the quick fix.
+ *
+ * @see <a href="https://javadoc.io/doc/org.mockito/mockito-core/latest/org/mockito/Mockito.html#verification_timeout">Verification with timeout</a>
+ * @since 1.5.0
+ */
+final class AfterReplaceableWithTimeoutInspection extends MockitoolsBaseInspection {
+    private static final CallMatcher VERIFICATIONS_TAKING_MODE =
+        CallMatcher.anyOf(MOCKITO_VERIFY, INORDER_VERIFY, MOCKED_STATIC_VERIFY, instanceCall(ORG_MOCKITO_BDDMOCKITO_THEN, "should"));
+    private static final Set<String> MODES_EQUIVALENT_WITH_TIMEOUT = Set.of(TIMES, AT_LEAST, "atLeastOnce");
+    private static final ReplaceAfterWithTimeoutQuickFix REPLACE_AFTER_WITH_TIMEOUT_FIX = new ReplaceAfterWithTimeoutQuickFix();
+
+    @Override
+    protected void checkMethodCallExpression(PsiMethodCallExpression expression, @NotNull ProblemsHolder holder) {
+        if (isAfter(expression) && isReplaceableWithTimeout(expression))
+            holder.registerProblem(expression, MockitoolsBundle.message("inspection.after.replaceable.with.timeout"), REPLACE_AFTER_WITH_TIMEOUT_FIX);
+    }
+
+    /**
+     * Returns whether the argument {@code after()} call is used on its own as a verification mode, e.g. {@code verify(mock, after(100))},
+     * or it is followed by a verification mode that {@code timeout()} supports with the same guarantee, e.g. {@code after(100).times(2)}.
+     */
+    private static boolean isReplaceableWithTimeout(PsiMethodCallExpression after) {
+        var parent = PsiUtil.skipParenthesizedExprUp(after.getParent());
+        if (parent instanceof PsiExpressionList) return isPassedToVerification(after);
+
+        return parent instanceof PsiReferenceExpression modeRef
+            && modeRef.getParent() instanceof PsiMethodCallExpression modeCall
+            && MODES_EQUIVALENT_WITH_TIMEOUT.contains(modeRef.getReferenceName())
+            && isPassedToVerification(modeCall);
+    }
+
+    /**
+     * Returns whether the argument verification mode is passed directly to a verification call, e.g. {@code Mockito.verify()}.
+     */
+    private static boolean isPassedToVerification(PsiExpression verificationMode) {
+        return PsiUtil.skipParenthesizedExprUp(verificationMode.getParent()) instanceof PsiExpressionList arguments
+            && arguments.getParent() instanceof PsiMethodCallExpression verification
+            && VERIFICATIONS_TAKING_MODE.matches(verification);
+    }
+
+    /**
+     * Replaces {@code Mockito.after()} calls with {@code Mockito.timeout()}, keeping their arguments and the calls on them.
+     * <p>
+     * When applied on multiple problems at once, class references are shortened only after all problems in a file are fixed.
+     */
+    private static final class ReplaceAfterWithTimeoutQuickFix extends InspectionGadgetsFix implements PerFileBatchQuickFix {
+
+        @Override
+        public @IntentionFamilyName @NotNull String getFamilyName() {
+            return MockitoolsBundle.message("quick.fix.replace.after.with.timeout");
+        }
+
+        @Override
+        protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
+            applyFixes(project, descriptor.getPsiElement().getContainingFile(), List.of(descriptor));
+        }
+
+        @Override
+        public void applyFixes(@NotNull Project project, @NotNull PsiFile file, @NotNull List<ProblemDescriptor> descriptors) {
+            var factory = JavaPsiFacade.getElementFactory(project);
+            var replacedElements = new SmartList<PsiElement>();
+            for (var descriptor : descriptors) {
+                if (descriptor.getPsiElement() instanceof PsiMethodCallExpression after) {
+                    var timeout = factory.createExpressionFromText(
+                        ORG_MOCKITO_MOCKITO + "." + TIMEOUT + after.getArgumentList().getText(), after);
+                    replacedElements.add(after.replace(timeout));
+                }
+            }
+            var codeStyleManager = JavaCodeStyleManager.getInstance(project);
+            replacedElements.forEach(codeStyleManager::shortenClassReferences);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.verification;
+
+import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
+import static com.picimako.mockitools.MockitoMockMatchers.MOCK;
+import static com.picimako.mockitools.MockitoMockMatchers.MOCK_WITH_ANSWER;
+import static com.picimako.mockitools.MockitoMockMatchers.MOCK_WITH_NAME;
+import static com.picimako.mockitools.MockitoMockMatchers.MOCK_WITH_SETTINGS;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCK;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO;
+import static com.picimako.mockitools.MockitoQualifiedNames.STUB_ONLY;
+import static com.picimako.mockitools.MockitoQualifiedNames.VERIFY_NO_INTERACTIONS;
+import static com.picimako.mockitools.MockitoQualifiedNames.VERIFY_NO_MORE_INTERACTIONS;
+import static com.picimako.mockitools.MockitoQualifiedNames.VERIFY_ZERO_INTERACTIONS;
+import static com.picimako.mockitools.dsl.MockAnnotation.isAttributeEnabledOnMockAnnotation;
+import static com.picimako.mockitools.dsl.MockSettings.hasCallTo;
+import static com.picimako.mockitools.util.PsiMethodUtil.get2ndArgument;
+import static com.picimako.mockitools.util.PsiMethodUtil.hasTwoArguments;
+import static com.picimako.mockitools.util.ResolveUtil.resolveMethod;
+import static com.picimako.mockitools.util.UnitTestPsiUtil.isInTestSourceContent;
+
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.util.IntentionFamilyName;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaElementVisitor;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiExpressionList;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiLambdaExpression;
+import com.intellij.psi.PsiLocalVariable;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.PsiVariable;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.LocalSearchScope;
+import com.intellij.psi.search.searches.ClassInheritorsSearch;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.picimako.mockitools.VerificationApproach;
+import com.picimako.mockitools.dsl.MockSettings;
+import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.PerFileBatchInspectionGadgetsFix;
+import com.picimako.mockitools.inspection.ReducedAnalysis;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import com.siyeh.ig.callMatcher.CallMatcher;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reports {@code @Mock} fields and {@code Mockito.mock()}-created local variables that are not configured as stub-only,
+ * and are not used in any verification in their class.
+ * <p>
+ * Mockito records each invocation on a mock, so that it can be verified later. For mocks that are never verified, these records
+ * only consume memory, which may add up to a considerable amount when the mocks are called many times, e.g. in loops.
+ * Stub-only mocks don't record invocations.
+ * <p>
+ * A mock is considered verified when it is passed to {@code Mockito.verify()}, {@code BDDMockito.then()}, {@code InOrder.verify()},
+ * {@code Mockito.verifyNoMoreInteractions()}, {@code Mockito.verifyNoInteractions()} or {@code Mockito.verifyZeroInteractions()}.
+ * Mocks passed to methods declared in the same class are not reported either, since they may be verified in those methods.
+ * <p>
+ * Protected and public fields are ignored, because they may be verified in subclasses, and package-private fields are reported only
+ * when their class has no subclasses, because subclasses in the same package may verify them in other files.
+ * Local variables are reported only when they are created via the non-generic-inferred {@code Mockito.mock()} methods.
+ *
+ * @since 1.5.0
+ */
+final class NeverVerifiedMockInspection extends MockitoolsBaseInspection {
+    private static final CallMatcher VERIFY_INTERACTIONS =
+        CallMatcher.staticCall(ORG_MOCKITO_MOCKITO, VERIFY_NO_INTERACTIONS, VERIFY_NO_MORE_INTERACTIONS, VERIFY_ZERO_INTERACTIONS);
+    private static final CallMatcher MOCKITO_MOCK = CallMatcher.anyOf(MOCK, MOCK_WITH_NAME, MOCK_WITH_ANSWER, MOCK_WITH_SETTINGS);
+    private static final ConfigureMockAsStubOnlyQuickFix CONFIGURE_MOCK_AS_STUB_ONLY_FIX = new ConfigureMockAsStubOnlyQuickFix();
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
+        //Searching for references of mocks is too expensive in files analysed in reduced mode
+        if (!isInTestSourceContent(session.getFile()) || ReducedAnalysis.isActiveFor(session.getFile())) return PsiElementVisitor.EMPTY_VISITOR;
+
+        var instrumentation = instrumentationFor(session);
+        return new JavaElementVisitor() {
+            @Override
+            public void visitField(@NotNull PsiField field) {
+                instrumentation.check(() -> {
+                    var topLevelClass = PsiUtil.getTopLevelClass(field);
+                    if (topLevelClass != null && isNonStubOnlyMock(field) && !isVerifiedIn(field, new LocalSearchScope(topLevelClass), topLevelClass)
+                        && !mayBeVerifiedInSubclass(field))
+                        registerProblem(field, holder);
+                });
+            }
+
+            @Override
+            public void visitLocalVariable(@NotNull PsiLocalVariable variable) {
+                instrumentation.check(() -> {
+                    var topLevelClass = PsiUtil.getTopLevelClass(variable);
+                    if (topLevelClass != null && isNonStubOnlyMock(variable) && !isVerifiedIn(variable, searchScopeOf(variable), topLevelClass))
+                        registerProblem(variable, holder);
+                });
+            }
+        };
+    }
+
+    private static void registerProblem(PsiVariable mock, @NotNull ProblemsHolder holder) {
+        var nameIdentifier = mock.getNameIdentifier();
+        if (nameIdentifier != null)
+            holder.registerProblem(nameIdentifier, MockitoolsBundle.message("inspection.never.verified.mock"), CONFIGURE_MOCK_AS_STUB_ONLY_FIX);
+    }
+
+    /**
+     * Returns whether the argument field is annotated with {@code @Mock}, it is not configured as stub-only,
+     * and it is not protected or public.
+     */
+    private static boolean isNonStubOnlyMock(PsiField field) {
+        if (field.hasModifierProperty(PsiModifier.PROTECTED) || field.hasModifierProperty(PsiModifier.PUBLIC)) return false;
+        var mockAnnotation = field.getAnnotation(ORG_MOCKITO_MOCK);
+        return mockAnnotation != null && !isAttributeEnabledOnMockAnnotation(mockAnnotation, STUB_ONLY);
+    }
+
+    /**
+     * Returns whether the argument package-private field may be verified in a subclass of its class, located in another file.
+     * <p>
+     * Whether the class has subclasses is searched in the project sources only, and it is cached on the class,
+     * so that the search is performed only once for all mock fields in the class, until PSI is modified.
+     */
+    private static boolean mayBeVerifiedInSubclass(PsiField field) {
+        if (field.hasModifierProperty(PsiModifier.PRIVATE)) return false;
+        var containingClass = field.getContainingClass();
+        return containingClass != null && hasInheritors(containingClass);
+    }
+
+    private static boolean hasInheritors(PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, () -> CachedValueProvider.Result.create(
+            ClassInheritorsSearch.search(psiClass, GlobalSearchScope.projectScope(psiClass.getProject()), false).findFirst() != null,
+            PsiModificationTracker.MODIFICATION_COUNT));
+    }
+
+    /**
+     * Returns whether the argument local variable is initialized via a {@code Mockito.mock()} call, and it is not configured as stub-only.
+     */
+    private static boolean isNonStubOnlyMock(PsiLocalVariable variable) {
+        return variable.getInitializer() instanceof PsiMethodCallExpression mockitoMock
+            && MOCKITO_MOCK.matches(mockitoMock)
+            && !MockSettings.fromMockVariable(variable).map(mockSettings -> hasCallTo(mockSettings, STUB_ONLY)).orElse(false);
+    }
+
+    /**
+     * Returns the body of the method or lambda expression containing the argument mock variable as search scope,
+     * so that references are searched only where the variable may actually be referenced.
+     */
+    private static LocalSearchScope searchScopeOf(PsiLocalVariable variable) {
+        var methodOrLambda = getParentOfType(variable, PsiMethod.class, PsiLambdaExpression.class);
+        PsiElement body = methodOrLambda instanceof PsiMethod method ? method.getBody()
+            : methodOrLambda instanceof PsiLambdaExpression lambda ? lambda.getBody()
+            : null;
+        return new LocalSearchScope(body != null ? body : variable.getParent());
+    }
+
+    /**
+     * Returns whether any of the references of {@code mock} in {@code scope} is used in a verification,
+     * or passed to a method declared in {@code topLevelClass}.
+     * <p>
+     * The search stops at the first such reference.
+     */
+    private static boolean isVerifiedIn(PsiVariable mock, LocalSearchScope scope, PsiClass topLevelClass) {
+        return !ReferencesSearch.search(mock, scope).forEach(ref -> {
+            ProgressManager.checkCanceled();
+            return !isPassedToVerificationOrHelperMethod(ref, topLevelClass);
+        });
+    }
+
+    private static boolean isPassedToVerificationOrHelperMethod(PsiReference ref, PsiClass topLevelClass) {
+        if (!(ref instanceof PsiReferenceExpression mockRef)
+            || !(mockRef.getParent() instanceof PsiExpressionList argumentList)
+            || !(argumentList.getParent() instanceof PsiMethodCallExpression call)) return false;
+
+        if (VERIFY_INTERACTIONS.matches(call)) return true;
+        for (var approach : VerificationApproach.NON_MOCKED_STATIC_APPROACHES) {
+            if (approach.isVerifiedBy(call)) return true;
+        }
+
+        //The mock may be verified in a helper method
+        var method = resolveMethod(call);
+        return method != null && PsiTreeUtil.isAncestor(topLevelClass, method, true);
+    }
+
+    /**
+     * Configures the mock as stub-only, either by adding {@code stubOnly = true} to its {@code @Mock} annotation,
+     * or by adding {@code withSettings().stubOnly()} to its {@code Mockito.mock()} call.
+     * <p>
+     * If the {@code Mockito.mock()} call has a name or a default answer specified, they are moved into the {@code MockSettings}.
+     */
+    private static final class ConfigureMockAsStubOnlyQuickFix extends PerFileBatchInspectionGadgetsFix {
+
+        @Override
+        public @IntentionFamilyName @NotNull String getFamilyName() {
+            return MockitoolsBundle.message("quick.fix.configure.mock.as.stub.only");
+        }
+
+        @Override
+        protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
+            var mock = getParentOfType(descriptor.getPsiElement(), PsiVariable.class);
+            if (mock instanceof PsiField field) {
+                var mockAnnotation = field.getAnnotation(ORG_MOCKITO_MOCK);
+                if (mockAnnotation != null)
+                    mockAnnotation.setDeclaredAttributeValue(STUB_ONLY, JavaPsiFacade.getElementFactory(project).createExpressionFromText("true", mockAnnotation));
+            } else if (mock instanceof PsiLocalVariable variable && variable.getInitializer() instanceof PsiMethodCallExpression mockitoMock) {
+                String mockSettings = stubOnlyMockSettingsFor(mockitoMock);
+                if (mockSettings == null) return;
+
+                var mockSettingsExpression = JavaPsiFacade.getElementFactory(project).createExpressionFromText(mockSettings, mockitoMock);
+                var addedMockSettings = hasTwoArguments(mockitoMock)
+                    ? get2ndArgument(mockitoMock).replace(mockSettingsExpression)
+                    : mockitoMock.getArgumentList().add(mockSettingsExpression);
+                JavaCodeStyleManager.getInstance(project).shortenClassReferences(addedMockSettings);
+            }
+        }
+
+        /**
+         * Returns the text of the stub-only {@code MockSettings} to use as the second argument of the argument {@code Mockito.mock()} call.
+         */
+        @Nullable
+        private static String stubOnlyMockSettingsFor(PsiMethodCallExpression mockitoMock) {
+            if (MOCK.matches(mockitoMock))
+                return "org.mockito.Mockito.withSettings().stubOnly()";
+            if (MOCK_WITH_SETTINGS.matches(mockitoMock))
+                return get2ndArgument(mockitoMock).getText() + ".stubOnly()";
+            if (MOCK_WITH_NAME.matches(mockitoMock))
+                return "org.mockito.Mockito.withSettings().name(" + get2ndArgument(mockitoMock).getText() + ").stubOnly()";
+            if (MOCK_WITH_ANSWER.matches(mockitoMock))
+                return "org.mockito.Mockito.withSettings().defaultAnswer(" + get2ndArgument(mockitoMock).getText() + ").stubOnly()";
+            return null;
+        }
+    }
+}
@@ -7,7 +7,6 @@ import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_INORDER;
 import static com.picimako.mockitools.util.UnitTestPsiUtil.isInTestSourceContent;
 import static com.siyeh.ig.psiutils.TypeUtils.typeEquals;
 
-import com.intellij.codeInspection.LocalInspectionTool;
 import com.intellij.codeInspection.LocalInspectionToolSession;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.JavaElementVisitor;
@@ -17,6 +16,8 @@ import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.psi.PsiReferenceExpression;
 import com.intellij.psi.search.searches.ReferencesSearch;
 import com.picimako.mockitools.VerificationApproach;
+import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.ReducedAnalysis;
 import com.picimako.mockitools.resources.MockitoolsBundle;
 import org.jetbrains.annotations.NotNull;
 
@@ -26,28 +27,31 @@ import org.jetbrains.annotations.NotNull;
  *
  * @since 0.5.0
  */
-final class SingleInOrderVerificationInspection extends LocalInspectionTool {
+final class SingleInOrderVerificationInspection extends MockitoolsBaseInspection {
     @Override
     public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        if (!isInTestSourceContent(session.getFile())) return PsiElementVisitor.EMPTY_VISITOR;
+        //Searching for references of InOrder variables is too expensive in files analysed in reduced mode
+        if (!isInTestSourceContent(session.getFile()) || ReducedAnalysis.isActiveFor(session.getFile())) return PsiElementVisitor.EMPTY_VISITOR;
 
+        var instrumentation = instrumentationFor(session);
         return new JavaElementVisitor() {
             @Override
             public void visitLocalVariable(@NotNull PsiLocalVariable variable) {
-                if (!typeEquals(ORG_MOCKITO_INORDER, variable.getType())) return;
+                instrumentation.check(() -> {
+                    if (!typeEquals(ORG_MOCKITO_INORDER, variable.getType())) return;
 
-                var inOrderRefs = ReferencesSearch.search(variable).findAll();
-                //If there is only one reference to/usage of the InOrder variable
-                if (inOrderRefs.size() == 1) {
-                    var ref = inOrderRefs.iterator().next();
-                    if (ref instanceof PsiReferenceExpression inOrderRef) {
-                        var verifyOrShould = getParentOfType(inOrderRef, PsiMethodCallExpression.class);
-                        //If the only usage is a method call to InOrder.verify() or BDDMockito.should(InOrder)
-                        if (VerificationApproach.INORDER_VERIFY.isVerifiedBy(verifyOrShould) || VerificationApproach.BDDMOCKITO_THEN_SHOULD.isInOrderSpecific(verifyOrShould))
-                            holder.registerProblem(variable.getNameIdentifier(), MockitoolsBundle.message("inspection.in.order.is.used.only.once"));
+                    var inOrderRefs = ReferencesSearch.search(variable).findAll();
+                    //If there is only one reference to/usage of the InOrder variable
+                    if (inOrderRefs.size() == 1) {
+                        var ref = inOrderRefs.iterator().next();
+                        if (ref instanceof PsiReferenceExpression inOrderRef) {
+                            var verifyOrShould = getParentOfType(inOrderRef, PsiMethodCallExpression.class);
+                            //If the only usage is a method call to InOrder.verify() or BDDMockito.should(InOrder)
+                            if (VerificationApproach.INORDER_VERIFY.isVerifiedBy(verifyOrShould) || VerificationApproach.BDDMOCKITO_THEN_SHOULD.isInOrderSpecific(verifyOrShould))
+                                holder.registerProblem(variable.getNameIdentifier(), MockitoolsBundle.message("inspection.in.order.is.used.only.once"));
+                        }
                     }
-                }
-
+                });
                 super.visitLocalVariable(variable);
             }
         };
@@ -0,0 +1,197 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.verification;
+
+import static com.picimako.mockitools.MockitoQualifiedNames.AT_LEAST;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_BDDMOCKITO_THEN;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKED_STATIC;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_VERIFICATION_VERIFICATION_MODE;
+import static com.picimako.mockitools.MockitoQualifiedNames.TIMEOUT;
+import static com.picimako.mockitools.MockitoQualifiedNames.TIMES;
+import static com.picimako.mockitools.MockitoQualifiedNames.VERIFY_NO_INTERACTIONS;
+import static com.picimako.mockitools.MockitoQualifiedNames.VERIFY_NO_MORE_INTERACTIONS;
+import static com.picimako.mockitools.MockitoQualifiedNames.VERIFY_ZERO_INTERACTIONS;
+import static com.picimako.mockitools.util.PsiMethodUtil.collectCallsInChainFromLast;
+import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
+import static com.picimako.mockitools.util.PsiMethodUtil.getSubsequentMethodCall;
+import static com.siyeh.ig.callMatcher.CallMatcher.instanceCall;
+import static com.siyeh.ig.callMatcher.CallMatcher.staticCall;
+
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.util.IntentionFamilyName;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiExpressionStatement;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiStatement;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.util.SmartList;
+import com.picimako.mockitools.VerificationApproach;
+import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.PerFileBatchInspectionGadgetsFix;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import com.siyeh.ig.callMatcher.CallMatcher;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Reports {@code Thread.sleep()} calls that are directly followed by Mockito verifications, e.g.
+ * <pre>
+ * Thread.sleep(500);
+ * Mockito.verify(mock).doSomething();
+ * </pre>
+ * Such sleeps always wait for the full duration, while verifying with the {@code timeout()} verification mode returns as soon as
+ * the verification passes.
+ * <p>
+ * All verification approaches are supported. The sleep is reported only when each verification directly following it can be
+ * verified with {@code timeout()}, i.e. they use no verification mode, or they use {@code times()}, {@code atLeast()},
+ * {@code atLeastOnce()} or {@code only()}. Other verification modes, e.g. {@code never()}, can be verified only after the full duration.
+ * <p>
+ * It is not reported either, when the verifications are directly followed by a verification of no (more) interactions,
+ * e.g. {@code Mockito.verifyNoMoreInteractions()} or {@code BDDMockito.then().shouldHaveNoMoreInteractions()}, since that also relies on
+ * waiting for the full duration, so that unexpected interactions have the chance to happen.
+ * <p>
+ * The quick fix removes the sleep, and folds its duration into the verification modes of the following verifications,
+ * e.g. {@code times(2)} becomes {@code timeout(500).times(2)}.
+ *
+ * @since 1.5.0
+ */
+final class SleepBeforeVerificationInspection extends MockitoolsBaseInspection {
+    private static final CallMatcher THREAD_SLEEP = staticCall("java.lang.Thread", "sleep").parameterTypes("long");
+    private static final CallMatcher MODES_SUPPORTED_BY_TIMEOUT = staticCall(ORG_MOCKITO_MOCKITO, TIMES, AT_LEAST, "atLeastOnce", "only");
+    private static final CallMatcher NO_INTERACTIONS_VERIFICATIONS = CallMatcher.anyOf(
+        staticCall(ORG_MOCKITO_MOCKITO, VERIFY_NO_MORE_INTERACTIONS, VERIFY_NO_INTERACTIONS, VERIFY_ZERO_INTERACTIONS),
+        instanceCall(ORG_MOCKITO_MOCKED_STATIC, VERIFY_NO_MORE_INTERACTIONS, VERIFY_NO_INTERACTIONS),
+        instanceCall(ORG_MOCKITO_BDDMOCKITO_THEN, "shouldHaveNoMoreInteractions", "shouldHaveNoInteractions", "shouldHaveZeroInteractions"));
+    private static final ReplaceSleepWithTimeoutVerificationQuickFix REPLACE_SLEEP_WITH_TIMEOUT_VERIFICATION_FIX = new ReplaceSleepWithTimeoutVerificationQuickFix();
+
+    @Override
+    protected void checkMethodCallExpression(PsiMethodCallExpression expression, @NotNull ProblemsHolder holder) {
+        if (THREAD_SLEEP.matches(expression) && !collectFoldableVerificationsAfter(expression).isEmpty())
+            holder.registerProblem(expression, MockitoolsBundle.message("inspection.sleep.before.verification"), REPLACE_SLEEP_WITH_TIMEOUT_VERIFICATION_FIX);
+    }
+
+    /**
+     * Collects the verifications directly following the argument sleep, or returns an empty list if any of them cannot be
+     * verified with {@code timeout()}, or if they are directly followed by a verification of no (more) interactions.
+     */
+    private static List<FoldableVerification> collectFoldableVerificationsAfter(PsiMethodCallExpression sleep) {
+        if (!(PsiUtil.skipParenthesizedExprUp(sleep.getParent()) instanceof PsiExpressionStatement sleepStatement)) return List.of();
+
+        var verifications = new SmartList<FoldableVerification>();
+        for (var statement = nextStatementOf(sleepStatement); statement != null; statement = nextStatementOf(statement)) {
+            var modeTakingCall = findModeTakingCallIn(statement);
+            if (modeTakingCall == null) {
+                if (isNoInteractionsVerification(statement)) return List.of();
+                break;
+            }
+
+            var existingMode = findVerificationModeArgumentOf(modeTakingCall);
+            if (existingMode != null && !isSupportedByTimeout(existingMode)) return List.of();
+            verifications.add(new FoldableVerification(modeTakingCall, existingMode));
+        }
+        return verifications;
+    }
+
+    private static boolean isNoInteractionsVerification(PsiStatement statement) {
+        return statement instanceof PsiExpressionStatement expressionStatement
+            && expressionStatement.getExpression() instanceof PsiMethodCallExpression call
+            && NO_INTERACTIONS_VERIFICATIONS.matches(call);
+    }
+
+    @Nullable
+    private static PsiStatement nextStatementOf(PsiStatement statement) {
+        return PsiTreeUtil.getNextSiblingOfType(statement, PsiStatement.class);
+    }
+
+    /**
+     * Returns the call in the verification in the argument statement that accepts the verification mode, e.g. {@code Mockito.verify()}
+     * or {@code InOrder.verify()}, and {@code should()} in case of {@code BDDMockito.then()}.
+     * <p>
+     * Returns null if the statement is not a verification, or not one that accepts a verification mode.
+     */
+    @Nullable
+    private static PsiMethodCallExpression findModeTakingCallIn(PsiStatement statement) {
+        if (!(statement instanceof PsiExpressionStatement expressionStatement)
+            || !(expressionStatement.getExpression() instanceof PsiMethodCallExpression lastCall)) return null;
+
+        var calls = collectCallsInChainFromLast(lastCall);
+        var firstCall = calls.getLast();
+        for (var approach : VerificationApproach.values()) {
+            if (approach.isVerifiedBy(firstCall)) {
+                //e.g. BDDMockito.then(mock).shouldHaveNoMoreInteractions() doesn't accept a verification mode
+                if (!approach.isValid(firstCall)) return null;
+                return approach == VerificationApproach.BDDMOCKITO_THEN_SHOULD ? getSubsequentMethodCall(firstCall) : firstCall;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static PsiExpression findVerificationModeArgumentOf(PsiMethodCallExpression modeTakingCall) {
+        for (var argument : modeTakingCall.getArgumentList().getExpressions()) {
+            if (InheritanceUtil.isInheritor(argument.getType(), ORG_MOCKITO_VERIFICATION_VERIFICATION_MODE)) return argument;
+        }
+        return null;
+    }
+
+    private static boolean isSupportedByTimeout(PsiExpression verificationMode) {
+        return PsiUtil.skipParenthesizedExprDown(verificationMode) instanceof PsiMethodCallExpression modeCall && MODES_SUPPORTED_BY_TIMEOUT.matches(modeCall);
+    }
+
+    /**
+     * @param modeTakingCall the call accepting the verification mode
+     * @param existingMode   the verification mode currently passed to {@code modeTakingCall}, or null if there is none
+     */
+    private record FoldableVerification(PsiMethodCallExpression modeTakingCall, @Nullable PsiExpression existingMode) {
+    }
+
+    /**
+     * Removes the sleep, and adds a {@code timeout()} verification mode with the duration of the sleep to the verifications following it.
+     * <p>
+     * Existing verification modes are combined with {@code timeout()}, e.g. {@code times(2)} becomes {@code timeout(500).times(2)}.
+     * At least for now, static import of {@code Mockito.timeout()} is not applied.
+     */
+    private static final class ReplaceSleepWithTimeoutVerificationQuickFix extends PerFileBatchInspectionGadgetsFix {
+
+        @Override
+        public @IntentionFamilyName @NotNull String getFamilyName() {
+            return MockitoolsBundle.message("quick.fix.replace.sleep.with.timeout.verification");
+        }
+
+        @Override
+        protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
+            if (!(descriptor.getPsiElement() instanceof PsiMethodCallExpression sleep)
+                || !(PsiUtil.skipParenthesizedExprUp(sleep.getParent()) instanceof PsiExpressionStatement sleepStatement)) return;
+
+            var verifications = collectFoldableVerificationsAfter(sleep);
+            if (verifications.isEmpty()) return;
+
+            var factory = JavaPsiFacade.getElementFactory(project);
+            String timeout = ORG_MOCKITO_MOCKITO + "." + TIMEOUT + "(" + getFirstArgument(sleep).getText() + ")";
+            var modifiedModes = new SmartList<PsiElement>();
+            for (var verification : verifications) {
+                if (verification.existingMode == null) {
+                    modifiedModes.add(verification.modeTakingCall.getArgumentList().add(factory.createExpressionFromText(timeout, sleep)));
+                } else {
+                    var existingMode = (PsiMethodCallExpression) PsiUtil.skipParenthesizedExprDown(verification.existingMode);
+                    String combinedMode = timeout + "." + existingMode.getMethodExpression().getReferenceName() + existingMode.getArgumentList().getText();
+                    modifiedModes.add(verification.existingMode.replace(factory.createExpressionFromText(combinedMode, existingMode)));
+                }
+            }
+            sleepStatement.delete();
+
+            var codeStyleManager = JavaCodeStyleManager.getInstance(project);
+            modifiedModes.forEach(codeStyleManager::shortenClassReferences);
+        }
+    }
+}
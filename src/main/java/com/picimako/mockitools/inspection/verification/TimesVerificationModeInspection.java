@@ -3,11 +3,16 @@
 package com.picimako.mockitools.inspection.verification;
 
 import static com.intellij.codeInspection.options.OptPane.*;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_BDDMOCKITO;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_BDDMOCKITO_THEN;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_INORDER;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKED_STATIC_VERIFICATION;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO_NEVER;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_VERIFICATION_VERIFICATION_MODE;
+import static com.picimako.mockitools.MockitoQualifiedNames.THEN;
+import static com.picimako.mockitools.MockitoQualifiedNames.TIMES;
+import static com.picimako.mockitools.MockitoQualifiedNames.VERIFY;
 import static com.picimako.mockitools.MockitoolsPsiUtil.isTimes;
 import static com.picimako.mockitools.util.PsiMethodUtil.collectCallsInChainFromLast;
 import static com.picimako.mockitools.util.PsiMethodUtil.get2ndArgument;
@@ -22,19 +27,26 @@ import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.codeInspection.options.OptPane;
 import com.intellij.codeInspection.util.IntentionFamilyName;
 import com.intellij.codeInspection.util.IntentionName;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.psi.codeStyle.JavaCodeStyleManager;
 import com.intellij.psi.util.PsiLiteralUtil;
+import com.intellij.util.SmartList;
 import com.picimako.mockitools.MockitoolsPsiUtil;
 import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.PerFileBatchQuickFix;
 import com.picimako.mockitools.resources.MockitoolsBundle;
+import com.picimako.mockitools.util.DumbModeUtil;
 import com.siyeh.ig.InspectionGadgetsFix;
 import com.siyeh.ig.callMatcher.CallMatcher;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
@@ -51,11 +63,14 @@ import java.util.Objects;
  * <p>
  * {@code Mockito.times(1)} calls are reported only when they have no subsequent calls on them, e.g.
  * {@code Mockito.times(1).description("message")}.
+ * <p>
+ * While indexing is in progress, calls are matched by their names and the imports of the file. In that case {@code times(1)}
+ * is reported only in {@code Mockito.verify()} and {@code BDDMockito.then().should()} calls.
  *
  * @see <a href="https://javadoc.io/doc/org.mockito/mockito-core/latest/org/mockito/Mockito.html#exact_verification">Mockito exact verification documentation</a>
  * @since 0.1.0
  */
-final class TimesVerificationModeInspection extends MockitoolsBaseInspection {
+final class TimesVerificationModeInspection extends MockitoolsBaseInspection implements DumbAware {
 
     private static final CallMatcher VERIFICATION = CallMatcher.anyOf(
         MockitoolsPsiUtil.MOCKITO_VERIFY.parameterTypes("T", ORG_MOCKITO_VERIFICATION_VERIFICATION_MODE),
@@ -80,13 +95,14 @@ final class TimesVerificationModeInspection extends MockitoolsBaseInspection {
 
     @Override
     public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        return isInTestSourceContent(session.getFile()) && (reportTimesZeroToNever || reportTimesOneCanBeOmitted) ? methodCallVisitor(holder) : PsiElementVisitor.EMPTY_VISITOR;
+        return isInTestSourceContent(session.getFile()) && (reportTimesZeroToNever || reportTimesOneCanBeOmitted) ? methodCallVisitor(holder, session) : PsiElementVisitor.EMPTY_VISITOR;
     }
 
     @Override
     protected void checkMethodCallExpression(PsiMethodCallExpression expression, @NotNull ProblemsHolder holder) {
+        boolean isDumb = DumbModeUtil.isDumb(expression);
         //times(0) can be replaced with never() wherever it is used
-        if (reportTimesZeroToNever && isTimesWithValueEqualTo(expression, 0)) {
+        if (reportTimesZeroToNever && isTimesWithValueEqualTo(expression, 0, isDumb)) {
             holder.registerProblem(expression, MockitoolsBundle.message("inspection.times.zero.can.be.replaced.with.never"), new ReplaceTimesZeroWithNeverQuickFix());
             return;
         }
@@ -94,29 +110,48 @@ final class TimesVerificationModeInspection extends MockitoolsBaseInspection {
         //times(1) without a sequent method call
         if (reportTimesOneCanBeOmitted) {
             //times(1) is allowed to be removed only when it is used in the Mockito-provided verification methods
-            var verificationModeCalls = getCallsInVerificationModeArgument(expression);
+            var verificationModeCalls = getCallsInVerificationModeArgument(expression, isDumb);
             if (verificationModeCalls.size() == 1) {
                 var timesMode = verificationModeCalls.getFirst();
-                if (isTimesWithValueEqualTo(timesMode, 1))
+                if (isTimesWithValueEqualTo(timesMode, 1, isDumb))
                     holder.registerProblem(timesMode, MockitoolsBundle.message("inspection.times.one.can.be.omitted"), ProblemHighlightType.LIKE_UNUSED_SYMBOL, new DeleteTimesOneQuickFix());
             }
         }
     }
 
-    private boolean isTimesWithValueEqualTo(PsiMethodCallExpression timesMode, Integer value) {
-        if (!isTimes(timesMode)) return false;
+    private boolean isTimesWithValueEqualTo(PsiMethodCallExpression timesMode, Integer value, boolean isDumb) {
+        if (isDumb ? !isStaticCallWithArguments(timesMode, ORG_MOCKITO_MOCKITO, TIMES, 1) : !isTimes(timesMode)) return false;
         Integer timesValue = PsiLiteralUtil.parseInteger(getFirstArgument(timesMode).getText());
         return Objects.equals(timesValue, value);
     }
 
-    private List<PsiMethodCallExpression> getCallsInVerificationModeArgument(PsiMethodCallExpression verification) {
+    private List<PsiMethodCallExpression> getCallsInVerificationModeArgument(PsiMethodCallExpression verification, boolean isDumb) {
         PsiExpression verificationMode = null;
-        if (VERIFICATION.matches(verification)) verificationMode = get2ndArgument(verification);
+        if (isDumb) {
+            if (isStaticCallWithArguments(verification, ORG_MOCKITO_MOCKITO, VERIFY, 2)) verificationMode = get2ndArgument(verification);
+            else if (isBDDMockitoShouldWithVerificationMode(verification)) verificationMode = getFirstArgument(verification);
+        } else if (VERIFICATION.matches(verification)) verificationMode = get2ndArgument(verification);
         else if (BDDMOCKITO_SHOULD.matches(verification)) verificationMode = getFirstArgument(verification);
 
         return verificationMode instanceof PsiMethodCallExpression ? collectCallsInChainFromLast(verificationMode) : Collections.emptyList();
     }
 
+    //Dumb mode
+
+    private static boolean isStaticCallWithArguments(PsiMethodCallExpression call, String classFqn, String methodName, int argumentCount) {
+        return DumbModeUtil.isStaticCall(call, classFqn, methodName) && call.getArgumentList().getExpressionCount() == argumentCount;
+    }
+
+    /**
+     * Returns whether the argument call is a {@code BDDMockito.then(mock).should(<verification mode>)} call, based on names and imports only.
+     */
+    private static boolean isBDDMockitoShouldWithVerificationMode(PsiMethodCallExpression call) {
+        return "should".equals(call.getMethodExpression().getReferenceName())
+            && call.getArgumentList().getExpressionCount() == 1
+            && call.getMethodExpression().getQualifierExpression() instanceof PsiMethodCallExpression then
+            && DumbModeUtil.isStaticCall(then, ORG_MOCKITO_BDDMOCKITO, THEN);
+    }
+
     /**
      * Replaces {@code Mockito.times(0)} calls with {@code Mockito.never()}. Additional methods called on times()
      * are not affected, they are left as they are.
@@ -125,11 +160,9 @@ final class TimesVerificationModeInspection extends MockitoolsBaseInspection {
      */
     private static final class ReplaceTimesZeroWithNeverQuickFix extends TimesQuickFix {
         @Override
-        protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
-            var methodCall = (PsiMethodCallExpression) descriptor.getPsiElement();
-            var replaced = methodCall.replace(
-                JavaPsiFacade.getElementFactory(project).createExpressionFromText(ORG_MOCKITO_MOCKITO_NEVER + "()", methodCall));
-            JavaCodeStyleManager.getInstance(project).shortenClassReferences(replaced);
+        protected PsiElement fix(@NotNull Project project, PsiElement timesZero) {
+            return timesZero.replace(
+                JavaPsiFacade.getElementFactory(project).createExpressionFromText(ORG_MOCKITO_MOCKITO_NEVER + "()", timesZero));
         }
 
         @Override
@@ -145,8 +178,9 @@ final class TimesVerificationModeInspection extends MockitoolsBaseInspection {
      */
     private static final class DeleteTimesOneQuickFix extends TimesQuickFix {
         @Override
-        protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
-            descriptor.getPsiElement().delete();
+        protected PsiElement fix(@NotNull Project project, PsiElement timesOne) {
+            timesOne.delete();
+            return null;
         }
 
         @Override
@@ -155,7 +189,40 @@ final class TimesVerificationModeInspection extends MockitoolsBaseInspection {
         }
     }
 
-    private abstract static class TimesQuickFix extends InspectionGadgetsFix {
+    /**
+     * Base class for the {@code times()} quick fixes.
+     * <p>
+     * When applied on multiple problems at once, the fixes are applied file by file, and class references in the replaced elements
+     * are shortened only after all problems in a file are fixed, so that the necessary imports are added only once.
+     */
+    private abstract static class TimesQuickFix extends InspectionGadgetsFix implements PerFileBatchQuickFix {
+        @Override
+        protected void doFix(@NotNull Project project, ProblemDescriptor descriptor) {
+            applyFixes(project, descriptor.getPsiElement().getContainingFile(), List.of(descriptor));
+        }
+
+        @Override
+        public void applyFixes(@NotNull Project project, @NotNull PsiFile file, @NotNull List<ProblemDescriptor> descriptors) {
+            var replacedElements = new SmartList<PsiElement>();
+            for (var descriptor : descriptors) {
+                var fix = PerFileBatchQuickFix.getFixFor(descriptor, this);
+                if (fix != null) {
+                    var replaced = fix.fix(project, descriptor.getPsiElement());
+                    if (replaced != null) replacedElements.add(replaced);
+                }
+            }
+            var codeStyleManager = JavaCodeStyleManager.getInstance(project);
+            replacedElements.forEach(codeStyleManager::shortenClassReferences);
+        }
+
+        /**
+         * Fixes the argument {@code times()} call.
+         *
+         * @return the element replacing the {@code times()} call, or null if there is no such element
+         */
+        @Nullable
+        protected abstract PsiElement fix(@NotNull Project project, PsiElement times);
+
         @Override
         public @IntentionFamilyName @NotNull String getFamilyName() {
             return MockitoolsBundle.message("quick.fix.times.family.name");
@@ -7,29 +7,37 @@ import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_INORDER;
 import static com.picimako.mockitools.util.PsiMethodUtil.getArguments;
 import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
+import static com.picimako.mockitools.util.ResolveUtil.resolve;
 import static com.picimako.mockitools.util.UnitTestPsiUtil.isInTestSourceContent;
 import static com.siyeh.ig.psiutils.TypeUtils.typeEquals;
 
-import com.intellij.codeInspection.LocalInspectionTool;
 import com.intellij.codeInspection.LocalInspectionToolSession;
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.JavaElementVisitor;
 import com.intellij.psi.PsiClassObjectAccessExpression;
-import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiLambdaExpression;
 import com.intellij.psi.PsiLocalVariable;
+import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.PsiVariable;
+import com.intellij.psi.search.LocalSearchScope;
+import com.intellij.psi.search.SearchScope;
 import com.intellij.psi.search.searches.ReferencesSearch;
 import com.intellij.util.SmartList;
 import com.picimako.mockitools.VerificationApproach;
+import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.inspection.ReducedAnalysis;
 import com.picimako.mockitools.resources.MockitoolsBundle;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -42,50 +50,82 @@ import java.util.List;
  *
  * @since 0.5.0
  */
-final class UnusedOrUnconfiguredMockInInOrderVerificationInspection extends LocalInspectionTool {
+final class UnusedOrUnconfiguredMockInInOrderVerificationInspection extends MockitoolsBaseInspection {
     @Override
     public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        if (!isInTestSourceContent(session.getFile())) return PsiElementVisitor.EMPTY_VISITOR;
+        //Searching for references of InOrder variables is too expensive in files analysed in reduced mode
+        if (!isInTestSourceContent(session.getFile()) || ReducedAnalysis.isActiveFor(session.getFile())) return PsiElementVisitor.EMPTY_VISITOR;
 
+        var instrumentation = instrumentationFor(session);
         return new JavaElementVisitor() {
             @Override
             public void visitLocalVariable(@NotNull PsiLocalVariable variable) {
-                if (!typeEquals(ORG_MOCKITO_INORDER, variable.getType()) || !(variable.getInitializer() instanceof PsiMethodCallExpression))
-                    return;
+                instrumentation.check(() -> {
+                    if (!typeEquals(ORG_MOCKITO_INORDER, variable.getType()) || !(variable.getInitializer() instanceof PsiMethodCallExpression))
+                        return;
 
-                var inOrderRefs = ReferencesSearch.search(variable).toArray(PsiReference.EMPTY_ARRAY);
-                if (inOrderRefs.length > 0 && areAllVerifications(inOrderRefs)) {
-                    var mockitoInOrder = (PsiMethodCallExpression) variable.getInitializer();
-                    //The mock arguments in 'Mockito.inOrder()'
-                    var mocksInMockitoInOrder = getArguments(mockitoInOrder);
+                    var inOrderRefs = ReferencesSearch.search(variable, searchScopeOf(variable)).toArray(PsiReference.EMPTY_ARRAY);
+                    if (inOrderRefs.length > 0 && areAllVerifications(inOrderRefs)) {
+                        var mockitoInOrder = (PsiMethodCallExpression) variable.getInitializer();
+                        //The mock arguments in 'Mockito.inOrder()'
+                        var mocksInMockitoInOrder = getArguments(mockitoInOrder);
 
-                    var mocksInVerifications = collectMocksInVerifications(inOrderRefs);
-                    //The mock arguments from each 'InOrder.verify()' and 'BDDMockito.then().should(InOrder)' call
-                    var mocksInVerificationsAsString = mocksInVerifications.stream().map(PsiElement::getText).toList();
-                    //Report all mocks in 'Mockito.inOrder()' that are not used in a verification
-                    for (var mockInInOrder : mocksInMockitoInOrder) {
-                        //Exclude Type.class-type arguments that are (most probably) used in MockedStatic verifications
-                        if (mockInInOrder instanceof PsiClassObjectAccessExpression) continue;
-                        if (!mocksInVerificationsAsString.contains(mockInInOrder.getText()))
-                            holder.registerProblem(mockInInOrder, MockitoolsBundle.message("inspection.no.in.order.verification.for.mock"));
-                    }
+                        var mocksInVerifications = collectMocksInVerifications(inOrderRefs);
+                        //The mocks from each 'InOrder.verify()' and 'BDDMockito.then().should(InOrder)' call
+                        var verifiedMocks = new HashSet<>(mocksInVerifications.size());
+                        for (var mockInVerification : mocksInVerifications) {
+                            verifiedMocks.add(mockIdentityOf(mockInVerification));
+                        }
+                        //Report all mocks in 'Mockito.inOrder()' that are not used in a verification
+                        for (var mockInInOrder : mocksInMockitoInOrder) {
+                            //Exclude Type.class-type arguments that are (most probably) used in MockedStatic verifications
+                            if (mockInInOrder instanceof PsiClassObjectAccessExpression) continue;
+                            if (!verifiedMocks.contains(mockIdentityOf(mockInInOrder)))
+                                holder.registerProblem(mockInInOrder, MockitoolsBundle.message("inspection.no.in.order.verification.for.mock"));
+                        }
 
-                    //The mock arguments as Strings from 'Mockito.inOrder()'
-                    var mocksInMockitoInOrderAsString = Arrays.stream(mocksInMockitoInOrder).map(PsiElement::getText).toList();
-                    //Report all mocks in verifications that are not configured in 'Mockito.inOrder()'
-                    //This corresponds to the 'inOrderRequiresFamiliarMock()' method in
-                    // https://github.com/mockito/mockito/blob/main/src/main/java/org/mockito/internal/exceptions/Reporter.java
-                    for (var mockInVerification : mocksInVerifications) {
-                        if (!mocksInMockitoInOrderAsString.contains(mockInVerification.getText()))
-                            holder.registerProblem(mockInVerification, MockitoolsBundle.message("inspection.mock.is.not.configured.in.in.order"));
+                        //The mocks from 'Mockito.inOrder()'
+                        var configuredMocks = new HashSet<>(mocksInMockitoInOrder.length);
+                        for (var mockInInOrder : mocksInMockitoInOrder) {
+                            configuredMocks.add(mockIdentityOf(mockInInOrder));
+                        }
+                        //Report all mocks in verifications that are not configured in 'Mockito.inOrder()'
+                        //This corresponds to the 'inOrderRequiresFamiliarMock()' method in
+                        // https://github.com/mockito/mockito/blob/main/src/main/java/org/mockito/internal/exceptions/Reporter.java
+                        for (var mockInVerification : mocksInVerifications) {
+                            if (!configuredMocks.contains(mockIdentityOf(mockInVerification)))
+                                holder.registerProblem(mockInVerification, MockitoolsBundle.message("inspection.mock.is.not.configured.in.in.order"));
+                        }
                     }
-                }
-
+                });
                 super.visitLocalVariable(variable);
             }
         };
     }
 
+    /**
+     * Returns the body of the method or lambda expression containing the argument {@code InOrder} variable as search scope,
+     * so that references are searched only where the variable may actually be referenced.
+     */
+    private static SearchScope searchScopeOf(PsiLocalVariable variable) {
+        var methodOrLambda = getParentOfType(variable, PsiMethod.class, PsiLambdaExpression.class);
+        var body = methodOrLambda instanceof PsiMethod method ? method.getBody()
+            : methodOrLambda instanceof PsiLambdaExpression lambda ? lambda.getBody()
+            : null;
+        return body != null ? new LocalSearchScope(body) : variable.getUseScope();
+    }
+
+    /**
+     * Returns the object by which mocks are identified: the variable the argument mock expression references, so that e.g.
+     * {@code this.mock} and {@code mock} are treated as the same mock. If the expression is not a reference to a variable,
+     * its text is returned.
+     */
+    private static Object mockIdentityOf(PsiExpression mock) {
+        return mock instanceof PsiReferenceExpression reference && resolve(reference) instanceof PsiVariable variable
+            ? variable
+            : mock.getText();
+    }
+
     /**
      * Returns whether all InOrder references in the argument areInOrder verifications, and not references
      * passed into method arguments, or something else.
@@ -95,6 +135,7 @@ final class UnusedOrUnconfiguredMockInInOrderVerificationInspection extends Loca
      */
     private boolean areAllVerifications(PsiReference[] inOrderRefs) {
         return Arrays.stream(inOrderRefs).allMatch(ref -> {
+            ProgressManager.checkCanceled();
             if (ref instanceof PsiReferenceExpression inOrderRef) {
                 var verifyOrShould = getParentOfType(inOrderRef, PsiMethodCallExpression.class);
                 return VerificationApproach.INORDER_VERIFY.isVerifiedBy(verifyOrShould) || VerificationApproach.BDDMOCKITO_THEN_SHOULD.isInOrderSpecific(verifyOrShould);
@@ -109,6 +150,7 @@ final class UnusedOrUnconfiguredMockInInOrderVerificationInspection extends Loca
         List<PsiExpression> mocksUsed = null;
 
         for (var ref : inOrderRefs) {
+            ProgressManager.checkCanceled();
             if (ref instanceof PsiReferenceExpression inOrderRef) {
                 var verifyOrShould = getParentOfType(inOrderRef, PsiMethodCallExpression.class);
                 if (VerificationApproach.INORDER_VERIFY.isVerifiedBy(verifyOrShould)) {
@@ -128,6 +170,6 @@ final class UnusedOrUnconfiguredMockInInOrderVerificationInspection extends Loca
      */
     private void saveMockFrom(PsiMethodCallExpression verifyOrThen, @NotNull List<PsiExpression> mocksUsed) {
         var mock = getFirstArgument(verifyOrThen);
-        if (!mocksUsed.contains(mock)) mocksUsed.add(mock);
+        if (mock != null) mocksUsed.add(mock);
     }
 }
@@ -3,22 +3,28 @@
 package com.picimako.mockitools.inspection.verification;
 
 import static com.intellij.codeInspection.options.OptPane.*;
+import static com.picimako.mockitools.MockitoQualifiedNames.AFTER;
 import static com.picimako.mockitools.MockitoQualifiedNames.AT_LEAST;
 import static com.picimako.mockitools.MockitoQualifiedNames.AT_MOST;
+import static com.picimako.mockitools.MockitoQualifiedNames.CALLS;
 import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO;
+import static com.picimako.mockitools.MockitoQualifiedNames.TIMEOUT;
 import static com.picimako.mockitools.MockitoQualifiedNames.TIMES;
 import static com.picimako.mockitools.MockitoolsPsiUtil.isAfter;
 import static com.picimako.mockitools.MockitoolsPsiUtil.isCalls;
 import static com.picimako.mockitools.MockitoolsPsiUtil.isTimeout;
+import static com.picimako.mockitools.util.EvaluationHelper.evaluateIntegerValue;
+import static com.picimako.mockitools.util.EvaluationHelper.evaluateLongValue;
 import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
 import static com.siyeh.ig.callMatcher.CallMatcher.staticCall;
 import static com.siyeh.ig.psiutils.MethodCallUtils.getMethodName;
 
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.codeInspection.options.OptPane;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.psi.PsiMethodCallExpression;
-import com.intellij.psi.util.PsiLiteralUtil;
 import com.picimako.mockitools.inspection.MockitoolsBaseInspection;
+import com.picimako.mockitools.util.DumbModeUtil;
 import com.siyeh.ig.callMatcher.CallMatcher;
 import org.jetbrains.annotations.NotNull;
 
@@ -40,12 +46,15 @@ import com.picimako.mockitools.resources.MockitoolsBundle;
  * None of these calls are allowed negative values as argument. Additionally, {@code Mockito.calls()} doesn't allow 0 as argument either,
  * and {@code Mockito.timeout()} doesn't allow values above a user-defined threshold (with 5000 as its default value.)
  * <p>
+ * Besides literals, arguments referencing {@code static final} constants, and other compile-time constant expressions, are also evaluated.
+ * <p>
  * Only unit test classes (class name ending with Test) are considered, since (in ordinary projects) Mockito is supposed to be used only in test classes.
  * <p>
+ * While indexing is in progress, the verification mode calls are matched by their names and the imports of the file.
  *
  * @since 0.1.0
  */
-final class VerificationModeValuesBetweenLimitsInspection extends MockitoolsBaseInspection {
+final class VerificationModeValuesBetweenLimitsInspection extends MockitoolsBaseInspection implements DumbAware {
 
     private static final CallMatcher MOCKITO_OCCURRENCE_BASED_VERIFICATION_MODES = staticCall(ORG_MOCKITO_MOCKITO, TIMES, AT_LEAST, AT_MOST).parameterCount(1);
 
@@ -60,6 +69,11 @@ final class VerificationModeValuesBetweenLimitsInspection extends MockitoolsBase
 
     @Override
     protected void checkMethodCallExpression(PsiMethodCallExpression expression, @NotNull ProblemsHolder holder) {
+        if (DumbModeUtil.isDumb(expression)) {
+            checkMethodCallExpressionInDumbMode(expression, holder);
+            return;
+        }
+
         if (MOCKITO_OCCURRENCE_BASED_VERIFICATION_MODES.matches(expression))
             checkIntegerArgumentValue(0, expression, holder);
         else if (isCalls(expression))
@@ -70,9 +84,26 @@ final class VerificationModeValuesBetweenLimitsInspection extends MockitoolsBase
             checkLongArgumentValue(expression, true, holder);
     }
 
+    /**
+     * Same as {@link #checkMethodCallExpression(PsiMethodCallExpression, ProblemsHolder)}, but the calls are matched by their names
+     * and the imports of the file, instead of resolving them.
+     */
+    private void checkMethodCallExpressionInDumbMode(PsiMethodCallExpression expression, @NotNull ProblemsHolder holder) {
+        if (expression.getArgumentList().getExpressionCount() != 1) return;
+
+        if (DumbModeUtil.isStaticCall(expression, ORG_MOCKITO_MOCKITO, TIMES, AT_LEAST, AT_MOST))
+            checkIntegerArgumentValue(0, expression, holder);
+        else if (DumbModeUtil.isStaticCall(expression, ORG_MOCKITO_MOCKITO, CALLS))
+            checkIntegerArgumentValue(1, expression, holder);
+        else if (DumbModeUtil.isStaticCall(expression, ORG_MOCKITO_MOCKITO, AFTER))
+            checkLongArgumentValue(expression, false, holder);
+        else if (DumbModeUtil.isStaticCall(expression, ORG_MOCKITO_MOCKITO, TIMEOUT))
+            checkLongArgumentValue(expression, true, holder);
+    }
+
     private void checkIntegerArgumentValue(int upperLimit, PsiMethodCallExpression methodCall, @NotNull ProblemsHolder holder) {
         var verificationModeArgument = getFirstArgument(methodCall);
-        Integer argValue = PsiLiteralUtil.parseInteger(verificationModeArgument.getText());
+        Integer argValue = evaluateIntegerValue(verificationModeArgument);
 
         if (argValue != null && argValue < upperLimit) {
             holder.registerProblem(verificationModeArgument,
@@ -82,7 +113,7 @@ final class VerificationModeValuesBetweenLimitsInspection extends MockitoolsBase
 
     private void checkLongArgumentValue(PsiMethodCallExpression methodCall, boolean isTimeout, @NotNull ProblemsHolder holder) {
         var verificationModeArgument = getFirstArgument(methodCall);
-        Long argValue = PsiLiteralUtil.parseLong(verificationModeArgument.getText());
+        Long argValue = evaluateLongValue(verificationModeArgument);
 
         if (argValue != null) {
             if (argValue < 0L /*upper limit*/) {
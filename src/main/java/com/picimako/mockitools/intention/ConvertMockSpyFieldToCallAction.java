@@ -20,7 +20,7 @@ import static com.picimako.mockitools.MockitoolsPsiUtil.MOCKITO_WITH_SETTINGS;
 import static com.picimako.mockitools.dsl.MockAnnotation.isAttributeEnabledOnMockAnnotation;
 import static com.picimako.mockitools.intention.ConvertMockCallToFieldIntention.isDefaultAnswer;
 import static com.picimako.mockitools.intention.MethodRearranger.BEFORE_ANNOTATIONS;
-import static com.picimako.mockitools.intention.MethodRearranger.TEST_ANNOTATIONS;
+import static com.picimako.mockitools.util.UnitTestPsiUtil.TEST_ANNOTATIONS;
 import static java.util.stream.Collectors.joining;
 
 import com.intellij.icons.AllIcons;
@@ -64,10 +64,10 @@ import java.util.function.Predicate;
 /**
  * Converts {@code @Mock} and {@code @Spy} annotated fields to {@code Mockito.mock()} and {@code Mockito.spy()} local variable declarations, respectively.
  * <p>
- * This action contains and performs the core conversion logic for {@link ConvertMockSpyFieldToCallIntention}.
- * For details, see that class' javadoc.
+ * This action contains and performs the core conversion logic for {@link ConvertMockSpyFieldToCallIntention},
+ * and for the quick fix of {@code RarelyUsedMockFieldInspection}. For details, see the intention's javadoc.
  */
-final class ConvertMockSpyFieldToCallAction extends AnAction {
+public final class ConvertMockSpyFieldToCallAction extends AnAction {
 
     /**
      * Defines the annotation attributes and the conditions when they are allowed to be added to the Mockito.mock() call.
@@ -3,10 +3,13 @@
 package com.picimako.mockitools.intention;
 
 import static com.intellij.openapi.application.ReadAction.compute;
+import static com.picimako.mockitools.util.UnitTestPsiUtil.TEST_ANNOTATIONS;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 import com.intellij.psi.PsiMethod;
 import com.intellij.util.SmartList;
+import com.picimako.mockitools.util.UnitTestPsiUtil;
 
 import java.util.List;
 import java.util.Set;
@@ -19,22 +22,31 @@ import java.util.Set;
  */
 public final class MethodRearranger {
 
-    public static final Set<String> BEFORE_ANNOTATIONS = Set.of(
+    /**
+     * Annotations of before hooks executed before each test method.
+     */
+    public static final Set<String> BEFORE_EACH_ANNOTATIONS = Set.of(
         //JUnit 4
-        "org.junit.Before", "org.junit.BeforeClass",
+        "org.junit.Before",
         //JUnit 5
-        "org.junit.jupiter.api.BeforeAll", "org.junit.jupiter.api.BeforeEach",
+        "org.junit.jupiter.api.BeforeEach",
         //TestNG
-        "org.testng.annotations.BeforeSuite", "org.testng.annotations.BeforeTest",
-        "org.testng.annotations.BeforeGroups", "org.testng.annotations.BeforeClass",
         "org.testng.annotations.BeforeMethod"
     );
-    public static final Set<String> TEST_ANNOTATIONS = Set.of("org.junit.Test", "org.junit.jupiter.api.Test", "org.testng.annotations.Test");
+    public static final Set<String> BEFORE_ANNOTATIONS = Sets.union(BEFORE_EACH_ANNOTATIONS, Set.of(
+        //JUnit 4
+        "org.junit.BeforeClass",
+        //JUnit 5
+        "org.junit.jupiter.api.BeforeAll",
+        //TestNG
+        "org.testng.annotations.BeforeSuite", "org.testng.annotations.BeforeTest",
+        "org.testng.annotations.BeforeGroups", "org.testng.annotations.BeforeClass"
+    )).immutableCopy();
 
     /**
      * Returns a reordered variant of the argument methods array.
      * <p>
-     * Before hooks come first (see {@link #BEFORE_ANNOTATIONS}), then test methods (see {@link #TEST_ANNOTATIONS}),
+     * Before hooks come first (see {@link #BEFORE_ANNOTATIONS}), then test methods (see {@link UnitTestPsiUtil#TEST_ANNOTATIONS}),
      * then the rest of the methods.
      * <p>
      * After hooks are not distinguished because it not likely that mock creation will happen in an after hook.
@@ -18,7 +18,9 @@ import static com.picimako.mockitools.util.TokenTypes.isTokenType;
 import com.intellij.codeInsight.intention.IntentionAction;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.NotNullLazyKey;
 import com.intellij.psi.JavaTokenType;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiExpression;
@@ -28,7 +30,9 @@ import com.intellij.psi.PsiIdentifier;
 import com.intellij.psi.PsiManager;
 import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.util.IncorrectOperationException;
+import com.picimako.mockitools.EnforcedConventionCache;
 import com.picimako.mockitools.util.ListPopupHelper;
 import com.picimako.mockitools.intention.convert.verification.NoActionAvailableAction;
 import lombok.AccessLevel;
@@ -37,6 +41,8 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Base class for stubbing and verification conversion intention actions.
@@ -47,13 +53,51 @@ import java.util.List;
 @RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class ConversionIntentionBase implements IntentionAction {
     protected static final List<AnAction> NO_ACTION_AVAILABLE = Collections.singletonList(NoActionAvailableAction.INSTANCE);
+    /**
+     * The cached availabilities of conversion intentions in an editor, mapped by the intention classes.
+     */
+    private static final NotNullLazyKey<Map<Class<?>, Availability>, Editor> AVAILABILITIES =
+        NotNullLazyKey.createLazyKey("mockitools.conversion.intention.availabilities", editor -> new ConcurrentHashMap<>());
     protected final String sourceApproachName;
     private final int minSelectionLength;
 
+    /**
+     * The availability of this intention in an editor, at a given caret position or selection, and state of PSI and inspection profile.
+     */
+    private record Availability(long modificationCount, int caretOffset, int selectionStart, int selectionEnd, boolean isAvailable) {
+    }
+
+    /**
+     * Returns whether this intention is available at the caret or for the selection in the argument editor.
+     * <p>
+     * Since this is called on every caret move, and the availability check of a larger selection is costly, the result is cached
+     * in the editor until the caret or the selection changes, or the PSI or the enforced convention is modified.
+     */
     @Override
     public boolean isAvailable(@NotNull Project project, Editor editor, PsiFile file) {
+        long modificationCount = PsiModificationTracker.getInstance(project).getModificationCount()
+            + EnforcedConventionCache.getInstance(project).getModificationCount();
+        int caretOffset = compute(() -> editor.getCaretModel().getOffset());
+        var selectionModel = editor.getSelectionModel();
+        int selectionStart = compute(selectionModel::getSelectionStart);
+        int selectionEnd = compute(selectionModel::getSelectionEnd);
+
+        var availabilities = AVAILABILITIES.getValue(editor);
+        var availability = availabilities.get(getClass());
+        if (availability == null
+            || availability.modificationCount != modificationCount
+            || availability.caretOffset != caretOffset
+            || availability.selectionStart != selectionStart
+            || availability.selectionEnd != selectionEnd) {
+            availability = new Availability(modificationCount, caretOffset, selectionStart, selectionEnd, calculateAvailability(editor, file, caretOffset));
+            availabilities.put(getClass(), availability);
+        }
+        return availability.isAvailable;
+    }
+
+    private boolean calculateAvailability(Editor editor, PsiFile file, int caretOffset) {
         if (compute(() -> !editor.getSelectionModel().hasSelection())) {
-            final var element = file.findElementAt(compute(() -> editor.getCaretModel().getOffset()));
+            final var element = file.findElementAt(caretOffset);
             return isIdentifierOfMethodCall(element) && isAvailableFor(getMethodCallForIdentifier(element));
         } else return isAvailableForBulkConversion(editor, file);
     }
@@ -79,6 +123,7 @@ public abstract class ConversionIntentionBase implements IntentionAction {
         if (statementsInSelection.isEmpty()) return false;
 
         for (var statement : statementsInSelection) {
+            ProgressManager.checkCanceled();
             var identifier = compute(() -> findChildOfType(statement, PsiIdentifier.class));
             if (identifier == null) return false;
             var verificationCall = compute(() -> getParentOfType(identifier, PsiMethodCallExpression.class));
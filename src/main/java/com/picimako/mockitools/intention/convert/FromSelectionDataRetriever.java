@@ -12,6 +12,7 @@ import static java.util.stream.Collectors.joining;
 
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.SelectionModel;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.PsiExpressionStatement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiIdentifier;
@@ -41,6 +42,7 @@ public final class FromSelectionDataRetriever {
             var statements = new SmartList<PsiExpressionStatement>();
             var statement = findFirstSelectedStatement(editor, file);
             while (isWithinSelection(statement, editor)) {
+                ProgressManager.checkCanceled();
                 statements.add(statement);
                 statement = getNextSiblingOfType(statement, PsiExpressionStatement.class);
             }
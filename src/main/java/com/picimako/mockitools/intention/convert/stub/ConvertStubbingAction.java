@@ -2,23 +2,28 @@
 
 package com.picimako.mockitools.intention.convert.stub;
 
-import static com.intellij.openapi.command.WriteCommandAction.runWriteCommandAction;
 import static com.intellij.psi.util.PsiTreeUtil.findChildOfType;
 import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
 import static com.picimako.mockitools.intention.convert.FromSelectionDataRetriever.collectStatementsInSelection;
 import static com.picimako.mockitools.util.PsiMethodUtil.getMethodCallAtCaret;
 
+import com.intellij.codeInsight.hint.HintManager;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.project.Project;
-import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiExpressionStatement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiIdentifier;
 import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.util.SmartList;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.picimako.mockitools.StubbingApproach;
+import com.picimako.mockitools.resources.MockitoolsBundle;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -36,6 +41,10 @@ import java.util.List;
  * @since 0.6.0
  */
 public class ConvertStubbingAction extends AnAction {
+    /**
+     * The number of times the conversion is planned, if the document is modified while calculating the plan.
+     */
+    private static final int MAX_PLANNING_ATTEMPTS = 3;
     private final StubbingApproach from;
     @Getter
     @TestOnly
@@ -55,6 +64,11 @@ public class ConvertStubbingAction extends AnAction {
 
     //Perform action
 
+    /**
+     * Calculates the conversion plan in a non-blocking, cancellable read action in the background, then applies it on the EDT.
+     * <p>
+     * In unit test mode, the conversion is performed synchronously.
+     */
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
         var editor = e.getData(CommonDataKeys.EDITOR);
@@ -64,32 +78,52 @@ public class ConvertStubbingAction extends AnAction {
         Project project = e.getProject();
 
         converter = new StubbingConverter(project, editor.getDocument(), file);
+        convert(project, editor, file, 1);
+    }
 
-        runWriteCommandAction(project, () -> {
-            if (isBulkMode) performActionInBulk(collectStatementsInSelection(editor, file), project, editor);
-            else performAction(getMethodCallAtCaret(file, editor));
-        });
+    private void convert(Project project, Editor editor, PsiFile file, int attempt) {
+        if (ApplicationManager.getApplication().isUnitTestMode()) {
+            applyConversion(project, editor, file, ReadAction.compute(() -> planConversion(editor, file)), attempt);
+        } else {
+            ReadAction.nonBlocking(() -> planConversion(editor, file))
+                .withDocumentsCommitted(project)
+                .expireWhen(() -> editor.isDisposed() || !file.isValid())
+                .finishOnUiThread(ModalityState.defaultModalityState(), plan -> applyConversion(project, editor, file, plan, attempt))
+                .submit(AppExecutorUtil.getAppExecutorService());
+        }
     }
 
     /**
-     * Performs this action for a single call chain, when the action is invoked under a single caret.
+     * Applies the argument plan, or, if the document has been modified since the plan was calculated, plans the conversion again.
+     * <p>
+     * If the plan cannot be applied, the user is informed about it via a hint, instead of silently doing nothing.
      */
-    private void performAction(PsiMethodCallExpression firstCallInChain) {
-        converter.convert(firstCallInChain, from, to);
+    private void applyConversion(Project project, Editor editor, PsiFile file, StubbingConversionPlan plan, int attempt) {
+        if (plan.hasOverlappingReplacements()) {
+            HintManager.getInstance().showErrorHint(editor, MockitoolsBundle.message("intention.convert.stubbing.overlapping.edits"));
+        } else if (!converter.apply(plan)) {
+            if (attempt < MAX_PLANNING_ATTEMPTS) convert(project, editor, file, attempt + 1);
+            else HintManager.getInstance().showErrorHint(editor, MockitoolsBundle.message("intention.convert.stubbing.document.modified"));
+        }
     }
 
     /**
-     * Performs this action for one or more call chains under selection.
+     * Calculates the conversion plan for a single call chain, when the action is invoked under a single caret,
+     * or for one or more call chains under selection.
      */
-    private void performActionInBulk(List<PsiExpressionStatement> statementsInSelection, Project project, Editor editor) {
-        var documentManager = PsiDocumentManager.getInstance(project);
-        for (var statement : statementsInSelection) {
-            var firstCall = getFirstCallInChain(statement);
-            if (firstCall != null) {
-                performAction(firstCall);
-                documentManager.commitDocument(editor.getDocument());
+    private StubbingConversionPlan planConversion(Editor editor, PsiFile file) {
+        List<PsiMethodCallExpression> firstCallsInChains;
+        if (isBulkMode) {
+            firstCallsInChains = new SmartList<>();
+            for (var statement : collectStatementsInSelection(editor, file)) {
+                var firstCall = getFirstCallInChain(statement);
+                if (firstCall != null) firstCallsInChains.add(firstCall);
             }
+        } else {
+            var firstCall = getMethodCallAtCaret(file, editor);
+            firstCallsInChains = firstCall != null ? List.of(firstCall) : List.of();
         }
+        return converter.plan(firstCallsInChains, from, to);
     }
 
     @Nullable
@@ -0,0 +1,65 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.intention.convert.stub;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPsiElementPointer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The edits of a stubbing conversion, calculated in a read action by {@link StubbingConverter#plan(List, com.picimako.mockitools.StubbingApproach, com.picimako.mockitools.StubbingApproach)},
+ * and applied in a write action by {@link StubbingConverter#apply(StubbingConversionPlan)}.
+ * <p>
+ * The replacements are sorted in descending order of their offsets, so that applying one doesn't shift the offsets of the ones
+ * applied after it.
+ * <p>
+ * The class to import is stored as a smart pointer, so that it is restored, instead of being used as an invalid element,
+ * in case it is invalidated between the read action and the write action.
+ *
+ * @param documentModificationStamp  the modification stamp of the document the plan was calculated for
+ * @param replacements               the disjoint text replacements, with offsets in the document at the time of planning
+ * @param hasOverlappingReplacements whether the calculated replacements overlapped, in which case {@code replacements} is empty
+ * @param classToImport              the class to import after the replacements, or null if nothing is to be imported
+ * @since 1.5.0
+ */
+record StubbingConversionPlan(long documentModificationStamp, List<Replacement> replacements, boolean hasOverlappingReplacements,
+                              @Nullable SmartPsiElementPointer<PsiClass> classToImport) {
+
+    StubbingConversionPlan {
+        replacements = replacements.stream().sorted(Comparator.comparingInt(Replacement::startOffset).reversed()).toList();
+    }
+
+    /**
+     * Returns whether any two of the argument replacements overlap, in which case they cannot be applied one after the other.
+     */
+    static boolean hasOverlappingReplacements(List<Replacement> replacements) {
+        var sorted = replacements.stream().sorted(Comparator.comparingInt(Replacement::startOffset)).toList();
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).startOffset < sorted.get(i - 1).endOffset) return true;
+        }
+        return false;
+    }
+
+    boolean isEmpty() {
+        return replacements.isEmpty();
+    }
+
+    /**
+     * Returns the class to import, restored if it was invalidated since planning, or null if there is nothing to import,
+     * or the class cannot be restored.
+     */
+    @Nullable
+    PsiClass getClassToImport() {
+        return classToImport != null ? classToImport.getElement() : null;
+    }
+
+    /**
+     * Replaces the text between {@code startOffset} and {@code endOffset} with {@code text}.
+     * An insertion has the same start and end offsets, while a deletion has an empty text.
+     */
+    record Replacement(int startOffset, int endOffset, String text) {
+    }
+}
@@ -11,22 +11,31 @@ import static com.picimako.mockitools.util.PsiMethodUtil.getReferenceNameElement
 import static com.picimako.mockitools.util.Ranges.endOffsetOf;
 import static com.siyeh.ig.psiutils.MethodCallUtils.getMethodName;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.TextRange;
-import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.SmartPointerManager;
 import com.picimako.mockitools.StubType;
 import com.picimako.mockitools.StubbingApproach;
+import com.picimako.mockitools.intention.convert.stub.StubbingConversionPlan.Replacement;
 import com.picimako.mockitools.util.PsiClassUtil;
 import lombok.RequiredArgsConstructor;
 
 /**
  * Converts stubbing call chains between the different approaches.
  * <p>
+ * The conversion happens in two phases:
+ * <ul>
+ *     <li>{@link #plan(List, StubbingApproach, StubbingApproach)} analyses the call chains, and calculates the text replacements
+ *     and the class to import, in a read action, without modifying anything,</li>
+ *     <li>{@link #apply(StubbingConversionPlan)} applies the calculated edits in a write command, doing no analysis.</li>
+ * </ul>
  * {@code Mockito.lenient()} is not supported at the moment.
  */
 @RequiredArgsConstructor
@@ -37,24 +46,62 @@ public final class StubbingConverter {
     private final PsiFile file;
 
     /**
-     * Converts the call chain started by the argument {@code firstCallInChain} to the target stubbing approach.
+     * Calculates the edits to convert the call chains started by the argument {@code firstCallsInChains} to the target stubbing approach.
+     * <p>
+     * It must be called in a read action, and it may be cancelled.
+     * <p>
+     * If any of the calculated replacements overlap, the returned plan is empty, and marked as having overlapping replacements,
+     * so that no conversion is performed, and the caller can inform the user about it.
      *
-     * @param firstCallInChain the first call in the call chain on which the conversion is invoked
-     * @param from             the stubbing approach to convert from
-     * @param to               the target stubbing approach to convert to
+     * @param firstCallsInChains the first calls in the call chains on which the conversion is invoked
+     * @param from               the stubbing approach to convert from
+     * @param to                 the target stubbing approach to convert to
      */
-    public void convert(PsiMethodCallExpression firstCallInChain, StubbingApproach from, StubbingApproach to) {
+    public StubbingConversionPlan plan(List<PsiMethodCallExpression> firstCallsInChains, StubbingApproach from, StubbingApproach to) {
+        var replacements = new ArrayList<Replacement>();
         //To make sure that converting a chain to itself doesn't happen
-        if (from.hasSameStubTypeAs(to) && from.methodCallStubber.equals(to.methodCallStubber))
-            return;
+        if (!from.hasSameStubTypeAs(to) || !from.methodCallStubber.equals(to.methodCallStubber)) {
+            for (var firstCallInChain : firstCallsInChains) {
+                ProgressManager.checkCanceled();
+                var calls = collectCallsInChainFromFirst(firstCallInChain, true);
+
+                if (from.hasSameStubTypeAs(to)) convertSameType(calls, from, to, replacements);
+                else if (to.getStubType() == StubType.STUBBER) convertToStubber(calls, from, to, replacements);
+                else if (to.getStubType() == StubType.STUBBING) convertToStubbing(calls, from, to, replacements);
+            }
+        }
+        //Overlapping replacements cannot be applied one after the other, so nothing is converted
+        boolean hasOverlappingReplacements = StubbingConversionPlan.hasOverlappingReplacements(replacements);
+        if (hasOverlappingReplacements) replacements.clear();
+
+        var classToImport = replacements.isEmpty() ? null : PsiClassUtil.findLibraryClass(to.getStubStarterClassFqn(), project);
+        return new StubbingConversionPlan(
+            document.getModificationStamp(),
+            replacements,
+            hasOverlappingReplacements,
+            classToImport != null ? SmartPointerManager.createPointer(classToImport) : null);
+    }
 
-        runWriteCommandAction(project, () -> {
-            var calls = collectCallsInChainFromFirst(firstCallInChain, true);
+    /**
+     * Applies the argument conversion plan in a write command.
+     * <p>
+     * If the document has been modified since the plan was calculated, the plan is discarded, since its offsets may no longer be valid.
+     *
+     * @return false if the plan was discarded because the document has been modified, so the plan has to be recalculated,
+     * true otherwise
+     */
+    public boolean apply(StubbingConversionPlan plan) {
+        if (plan.documentModificationStamp() != document.getModificationStamp()) return false;
+        if (plan.isEmpty()) return true;
 
-            if (from.hasSameStubTypeAs(to)) convertSameType(calls, from, to);
-            else if (to.getStubType() == StubType.STUBBER) convertToStubber(calls, from, to);
-            else if (to.getStubType() == StubType.STUBBING) convertToStubbing(calls, from, to);
+        runWriteCommandAction(project, () -> {
+            //The replacements are in descending order of their offsets, so they don't affect each other's offsets
+            for (var replacement : plan.replacements()) {
+                document.replaceString(replacement.startOffset(), replacement.endOffset(), replacement.text());
+            }
+            PsiClassUtil.importClassAndCommit(plan.getClassToImport(), file, document);
         });
+        return true;
     }
 
     //Stub type specific conversions
@@ -70,8 +117,8 @@ public final class StubbingConverter {
      * Mockito.when(mock.doSomething()).then*();
      * </pre>
      */
-    private void convertSameType(List<PsiMethodCallExpression> calls, StubbingApproach from, StubbingApproach to) {
-        doBaseConversion(from, to, calls, endOffsetOf(getQualifier(calls.getFirst())), to.getBeginningOfStubbing(from));
+    private void convertSameType(List<PsiMethodCallExpression> calls, StubbingApproach from, StubbingApproach to, List<Replacement> replacements) {
+        doBaseConversion(from, to, calls, endOffsetOf(getQualifier(calls.getFirst())), to.getBeginningOfStubbing(from), replacements);
     }
 
     /**
@@ -84,19 +131,18 @@ public final class StubbingConverter {
      * Mockito.do*().when(mock).doSomething();
      * </pre>
      */
-    private void convertToStubber(List<PsiMethodCallExpression> calls, StubbingApproach from, StubbingApproach to) {
-        //These have to be saved before the base conversion, so their values are kept properly
+    private void convertToStubber(List<PsiMethodCallExpression> calls, StubbingApproach from, StubbingApproach to, List<Replacement> replacements) {
         var stubbedCall = ((PsiMethodCallExpression) getFirstArgument(calls.getFirst())); //mock.doSomething()
         var stubbedCallQualifier = getQualifier(stubbedCall).getText(); //"mock"
         var stubbedCallText = stubbedCall.getText(); //"mock.doSomething()"
 
-        //At this point the example chain becomes 'Mockito.do*();'
-        doBaseConversion(from, to, calls, endOffsetOf(calls.getFirst()), to.getBeginningOfStubbing(from));
+        //This turns the example chain into 'Mockito.do*();'
+        doBaseConversion(from, to, calls, endOffsetOf(calls.getFirst()), to.getBeginningOfStubbing(from), replacements);
 
         //Adds the '.when(mock).doSomething()' part at the end of the call chain, so the example becomes: 'Mockito.do*().when(mock).doSomething();'
-        document.insertString(
-            endOffsetOf(getLast(calls)),
-            "." + to.methodCallStubber + "(" + stubbedCallQualifier + ")" + stubbedCallText.replace(stubbedCallQualifier, ""));
+        int endOfChain = endOffsetOf(getLast(calls));
+        replacements.add(new Replacement(endOfChain, endOfChain,
+            "." + to.methodCallStubber + "(" + stubbedCallQualifier + ")" + stubbedCallText.replace(stubbedCallQualifier, "")));
     }
 
     /**
@@ -109,26 +155,26 @@ public final class StubbingConverter {
      * BDDMockito.given(mock.doSomething()).will*();
      * </pre>
      */
-    private void convertToStubbing(List<PsiMethodCallExpression> calls, StubbingApproach from, StubbingApproach to) {
+    private void convertToStubbing(List<PsiMethodCallExpression> calls, StubbingApproach from, StubbingApproach to, List<Replacement> replacements) {
         var stubbingMethod = calls.get(calls.size() - 2); //when(mock)
         int endOffset = endOffsetOf(getQualifier(calls.getFirst())); //end offset of Mockito
 
         //BDDMockito.given + ( + mock + .doSomething() + )
         String replacement = to.getBeginningOfStubbing(from) + "(" + getFirstArgument(stubbingMethod).getText() + getLast(calls).getText().replace(stubbingMethod.getText(), "") + ")";
 
-        //At this point the example chain becomes 'BDDMockito.given(mock.doSomething()).will*().when(mock).doSomething();'
-        doBaseConversion(from, to, calls, endOffset, replacement);
+        //This turns the example chain into 'BDDMockito.given(mock.doSomething()).will*().when(mock).doSomething();'
+        doBaseConversion(from, to, calls, endOffset, replacement, replacements);
 
         //Removes the '.when(mock).doSomething()' part at the end, and the example becomes: 'BDDMockito.given(mock.doSomething()).will*();'
-        document.deleteString(endOffsetOf(calls.get(calls.size() - 3)), endOffsetOf(getLast(calls)));
+        replacements.add(new Replacement(endOffsetOf(calls.get(calls.size() - 3)), endOffsetOf(getLast(calls)), ""));
     }
 
     //Low-level conversion logic
 
-    private void doBaseConversion(StubbingApproach from, StubbingApproach to, List<PsiMethodCallExpression> calls, int endOffset, String replacement) {
-        replaceBeginningOfChain(calls, endOffset, replacement);
-        PsiClassUtil.importClassAndCommit(to.getStubStarterClassFqn(), project, file, document);
-        convertMethodNames(calls, from, to);
+    private void doBaseConversion(StubbingApproach from, StubbingApproach to, List<PsiMethodCallExpression> calls, int endOffset, String replacement,
+                                  List<Replacement> replacements) {
+        replaceBeginningOfChain(calls, endOffset, replacement, replacements);
+        convertMethodNames(calls, from, to, replacements);
     }
 
     /**
@@ -146,8 +192,8 @@ public final class StubbingConverter {
      * @param endOffset   the end offset to replace the text from the start offset of the chain
      * @param replacement the replacement text
      */
-    private void replaceBeginningOfChain(List<PsiMethodCallExpression> calls, int endOffset, String replacement) {
-        replaceString(calls.getFirst().getTextOffset(), endOffset, replacement);
+    private void replaceBeginningOfChain(List<PsiMethodCallExpression> calls, int endOffset, String replacement, List<Replacement> replacements) {
+        replacements.add(new Replacement(calls.getFirst().getTextOffset(), endOffset, replacement));
     }
 
     /**
@@ -165,10 +211,12 @@ public final class StubbingConverter {
      * @param from  the stubbing approach to convert from
      * @param to    the target stubbing approach to convert to
      */
-    private void convertMethodNames(List<PsiMethodCallExpression> calls, StubbingApproach from, StubbingApproach to) {
+    private void convertMethodNames(List<PsiMethodCallExpression> calls, StubbingApproach from, StubbingApproach to, List<Replacement> replacements) {
         int startIndex = to.hasSameStubTypeAs(from) || from.getStubType() == StubType.STUBBER ? 0 : 1;
         //Don't rename methods of calls after 'given(mock)' and 'when(mock)' because they are not part of the Mockito framework
         int endIndex = from.getStubType() == StubType.STUBBING ? calls.size() : calls.size() - 1;
+        //When converting to a stubbing, the 'when(mock)' call of the stubber is removed, so it is not renamed either
+        if (!to.hasSameStubTypeAs(from) && to.getStubType() == StubType.STUBBING) endIndex--;
         for (int i = startIndex; i < endIndex; i++) {
             String currentMethodName = getMethodName(calls.get(i));
             //If a method is a stubbing target (given() or when()) then simply replace the method name,
@@ -179,12 +227,7 @@ public final class StubbingConverter {
 
             TextRange textRange = getReferenceNameElement(calls.get(i)).getTextRange();
 
-            replaceString(textRange.getStartOffset(), textRange.getEndOffset(), newMethodName);
+            replacements.add(new Replacement(textRange.getStartOffset(), textRange.getEndOffset(), newMethodName));
         }
     }
-
-    private void replaceString(int startOffset, int endOffset, String replacement) {
-        document.replaceString(startOffset, endOffset, replacement);
-        PsiDocumentManager.getInstance(project).commitDocument(document);
-    }
 }
@@ -5,16 +5,20 @@ package com.picimako.mockitools.intention.convert.verification;
 import static com.intellij.openapi.command.WriteCommandAction.runWriteCommandAction;
 import static com.intellij.psi.util.PsiTreeUtil.findChildOfType;
 import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_BDDMOCKITO;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_INORDER;
+import static com.picimako.mockitools.MockitoQualifiedNames.ORG_MOCKITO_MOCKITO;
 import static com.picimako.mockitools.intention.convert.FromSelectionDataRetriever.collectStatementsInSelection;
-import static com.picimako.mockitools.util.PsiClassUtil.importClassAndCommit;
 import static com.picimako.mockitools.util.PsiMethodUtil.collectCallsInChainFromFirst;
 import static com.picimako.mockitools.util.PsiMethodUtil.getMethodCallAtCaret;
+import static com.picimako.mockitools.util.PointersUtil.dereference;
 import static com.picimako.mockitools.util.PsiMethodUtil.getReferenceNameElement;
 import static com.picimako.mockitools.util.Ranges.endOffsetOf;
 
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiDocumentManager;
@@ -23,7 +27,10 @@ import com.intellij.psi.PsiExpressionStatement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiIdentifier;
 import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiNamedElement;
+import com.intellij.psi.SmartPsiElementPointer;
 import com.picimako.mockitools.MemberInplaceRenameHelper;
+import com.picimako.mockitools.util.PreResolvedClasses;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -33,13 +40,23 @@ import java.util.List;
  * Base action class for verification approach conversion.
  */
 public abstract class ConvertVerificationActionBase extends AnAction {
+    /**
+     * The editor in which the conversion is invoked. It is null when the conversion is performed on a whole file,
+     * via {@link #performInFile(PsiFile, List, PreResolvedClasses)}.
+     */
+    @Nullable
     protected Editor editor;
+    protected Document document;
     protected PsiDocumentManager documentManager;
     /**
      * Whether the conversion is caret- (single call chain) or selection-based (one or more call chains).
      */
     private final boolean isBulkMode;
     private InOrderVariableCreator inOrderCreator;
+    /**
+     * The Mockito classes that conversions may import, resolved before the write action of the conversion starts.
+     */
+    private PreResolvedClasses importableClasses;
 
     protected ConvertVerificationActionBase(String actionText, boolean isBulkMode) {
         super(actionText);
@@ -56,17 +73,52 @@ public abstract class ConvertVerificationActionBase extends AnAction {
         if (file == null) return;
         Project project = e.getProject();
 
+        //Analysis that doesn't depend on the changes made by the conversion is done before acquiring the write lock
+        importableClasses = resolveImportableClasses(project);
+        var statementsInSelection = isBulkMode ? collectStatementsInSelection(editor, file) : List.<PsiExpressionStatement>of();
+
         runWriteCommandAction(project, () -> {
             documentManager = PsiDocumentManager.getInstance(project);
-            inOrderCreator = new InOrderVariableCreator(editor.getDocument());
+            document = editor.getDocument();
+            inOrderCreator = new InOrderVariableCreator(document, importableClasses);
             if (isBulkMode) {
-                var statementsInSelection = collectStatementsInSelection(editor, file);
                 var firstVerification = getVerificationCall(statementsInSelection.getFirst());
                 performActionInBulk(statementsInSelection, firstVerification, collectCallsInChainFromFirst(firstVerification, true));
             } else performAction(project, file);
         });
     }
 
+    /**
+     * Performs this action on the argument groups of verification statements in {@code file}, without an editor.
+     * <p>
+     * Each group is converted as if it was selected in the editor in bulk mode, thus verifications in the same group
+     * share a single InOrder variable, whenever the conversion creates one. The groups are resolved one by one, right before
+     * their conversion, so that they reflect the changes made by the conversion of previous groups.
+     * <p>
+     * It must be called within a write command action.
+     *
+     * @param file              the file in which the conversion takes place
+     * @param statementGroups   the groups of verification statements, each one being within the same code block
+     * @param importableClasses the classes returned by {@link #resolveImportableClasses(Project)}, resolved before the write command action
+     */
+    public void performInFile(PsiFile file, List<List<SmartPsiElementPointer<PsiExpressionStatement>>> statementGroups, PreResolvedClasses importableClasses) {
+        editor = null;
+        documentManager = PsiDocumentManager.getInstance(file.getProject());
+        document = documentManager.getDocument(file);
+        if (document == null) return;
+        this.importableClasses = importableClasses;
+        inOrderCreator = new InOrderVariableCreator(document, importableClasses);
+
+        for (var group : statementGroups) {
+            var statements = dereference(group);
+            if (statements.isEmpty()) continue;
+            var firstVerification = getVerificationCall(statements.getFirst());
+            if (firstVerification == null) continue;
+            performActionInBulk(statements, firstVerification, collectCallsInChainFromFirst(firstVerification, true));
+            documentManager.commitDocument(document);
+        }
+    }
+
     /**
      * Performs this action for a single call chain, when the action is invoked under a single caret.
      */
@@ -83,7 +135,7 @@ public abstract class ConvertVerificationActionBase extends AnAction {
         statementsInSelection.stream()
             .map(statement -> findChildOfType(statement, PsiIdentifier.class))
             .map(identifier -> getParentOfType(identifier, PsiMethodCallExpression.class))
-            .forEach(verificationCall -> performAndCommitDocument(() -> perform(verificationCall, editor.getProject())));
+            .forEach(verificationCall -> performAndCommitDocument(() -> perform(verificationCall, verificationCall.getProject())));
     }
 
     /**
@@ -93,11 +145,25 @@ public abstract class ConvertVerificationActionBase extends AnAction {
 
     protected final void performAndCommitDocument(Runnable runnable) {
         runnable.run();
-        documentManager.commitDocument(editor.getDocument());
+        documentManager.commitDocument(document);
     }
 
     //Helpers
 
+    /**
+     * Resolves the Mockito classes that conversions may import. It must be called in a read action.
+     */
+    static PreResolvedClasses resolveImportableClasses(Project project) {
+        return PreResolvedClasses.resolve(project, ORG_MOCKITO_MOCKITO, ORG_MOCKITO_BDDMOCKITO, ORG_MOCKITO_INORDER);
+    }
+
+    /**
+     * Imports the argument Mockito class into the file of {@code context}, and commits the document.
+     */
+    protected void importClassAndCommit(String fqn, PsiElement context) {
+        importableClasses.importClassAndCommit(fqn, context.getContainingFile(), document);
+    }
+
     /**
      * Replaces the beginning of the text of the call chain with the provided replacement text.
      * <p>
@@ -117,9 +183,9 @@ public abstract class ConvertVerificationActionBase extends AnAction {
         //end offset of Mockito.verify/BDDMockito.then
         var verifyOrThen = calls.getFirst();
         int endOffset = endOffsetOf(getReferenceNameElement(verifyOrThen));
-        performAndCommitDocument(() -> editor.getDocument().replaceString(verifyOrThen.getTextOffset(), endOffset, replacement));
+        performAndCommitDocument(() -> document.replaceString(verifyOrThen.getTextOffset(), endOffset, replacement));
         if (mockitoClass.length == 1)
-            importClassAndCommit(mockitoClass[0], verifyOrThen.getProject(), verifyOrThen.getContainingFile(), editor.getDocument());
+            importClassAndCommit(mockitoClass[0], verifyOrThen);
     }
 
     /**
@@ -142,9 +208,21 @@ public abstract class ConvertVerificationActionBase extends AnAction {
         return inOrderCreator.createAndAddInOrderVariable(verificationCall, calls, mockObjectsArgs);
     }
 
+    /**
+     * Returns the name of the argument InOrder variable declaration statement, created by {@link InOrderVariableCreator}.
+     */
+    protected static String nameOf(PsiElement inOrderVariable) {
+        return ((PsiNamedElement) inOrderVariable.getFirstChild()).getName();
+    }
+
     //Variable renaming
 
+    /**
+     * Starts an inplace rename on the argument variable declaration statement. It is a no-op when there is no editor
+     * to perform the rename in, e.g. when converting a whole file. In that case the variable keeps the unique name
+     * it was created with.
+     */
     protected void rename(@NotNull PsiElement variable) {
-        MemberInplaceRenameHelper.rename(variable.getFirstChild(), editor);
+        if (editor != null) MemberInplaceRenameHelper.rename(variable.getFirstChild(), editor);
     }
 }
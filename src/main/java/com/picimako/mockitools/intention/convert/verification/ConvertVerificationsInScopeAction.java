@@ -0,0 +1,125 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.intention.convert.verification;
+
+import static com.picimako.mockitools.VerificationApproach.BDDMOCKITO_THEN_SHOULD;
+import static com.picimako.mockitools.VerificationApproach.INORDER_VERIFY;
+import static com.picimako.mockitools.VerificationApproach.MOCKED_STATIC_VERIFY;
+import static com.picimako.mockitools.VerificationApproach.MOCKITO_VERIFY;
+import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
+import static com.picimako.mockitools.util.PsiMethodUtil.getSubsequentMethodCall;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.picimako.mockitools.VerificationApproach;
+import com.picimako.mockitools.intention.convert.verification.bddmockitothen.AddInOrderToBDDMockitoAction;
+import com.picimako.mockitools.intention.convert.verification.bddmockitothen.ConvertBDDMockitoThenToInOrderVerifyAction;
+import com.picimako.mockitools.intention.convert.verification.bddmockitothen.ConvertBDDMockitoThenToMockitoVerifyAction;
+import com.picimako.mockitools.intention.convert.verification.inorderverify.ConvertInOrderVerifyToBDDMockitoThenWithInOrderAction;
+import com.picimako.mockitools.intention.convert.verification.inorderverify.ConvertInOrderVerifyToBDDMockitoThenWithoutInOrderAction;
+import com.picimako.mockitools.intention.convert.verification.inorderverify.ConvertInOrderVerifyToMockitoVerifyAction;
+import com.picimako.mockitools.intention.convert.verification.mockedstaticverify.ConvertMockedStaticVerifyToInOrderVerifyAction;
+import com.picimako.mockitools.intention.convert.verification.mockitoverify.ConvertMockitoVerifyToBDDMockitoThenWithInOrderAction;
+import com.picimako.mockitools.intention.convert.verification.mockitoverify.ConvertMockitoVerifyToBDDMockitoThenWithoutInOrderAction;
+import com.picimako.mockitools.intention.convert.verification.mockitoverify.ConvertMockitoVerifyToInOrderVerifyAction;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Converts all verifications of a selected approach to another approach, in the selected files and directories,
+ * or in the file open in the editor.
+ * <p>
+ * The available conversions are the same as the ones provided by the verification conversion intentions in bulk mode.
+ *
+ * @see ScopedVerificationConverter
+ * @since 1.5.0
+ */
+public final class ConvertVerificationsInScopeAction extends AnAction {
+
+    /**
+     * A conversion option between two verification approaches.
+     *
+     * @param source             the approach to convert from
+     * @param target             the presentable name of the approach to convert to
+     * @param conversion         creates the action that performs the conversion
+     * @param verificationFilter narrows the verifications to convert
+     * @param subGroupKey        further groups the verifications within a code block
+     */
+    private record Conversion(VerificationApproach source, String target, Supplier<ConvertVerificationActionBase> conversion,
+                              Predicate<PsiMethodCallExpression> verificationFilter, Function<PsiMethodCallExpression, String> subGroupKey) {
+
+        Conversion(VerificationApproach source, String target, Supplier<ConvertVerificationActionBase> conversion) {
+            this(source, target, conversion, verification -> true, verification -> "");
+        }
+
+        String presentableText() {
+            return MockitoolsBundle.message("action.convert.verifications.in.scope.x.to.y", source.presentableText, target);
+        }
+
+        ScopedVerificationConverter converter(Project project) {
+            return new ScopedVerificationConverter(project, source, conversion, verificationFilter, subGroupKey);
+        }
+    }
+
+    private static final List<Conversion> CONVERSIONS = List.of(
+        new Conversion(MOCKITO_VERIFY, INORDER_VERIFY.presentableText, () -> new ConvertMockitoVerifyToInOrderVerifyAction(true)),
+        new Conversion(MOCKITO_VERIFY, MockitoolsBundle.message("intention.convert.verification.bddmockito.without.inorder"),
+            () -> new ConvertMockitoVerifyToBDDMockitoThenWithoutInOrderAction(true)),
+        new Conversion(MOCKITO_VERIFY, MockitoolsBundle.message("intention.convert.verification.bddmockito.with.inorder"),
+            () -> new ConvertMockitoVerifyToBDDMockitoThenWithInOrderAction(true)),
+        new Conversion(BDDMOCKITO_THEN_SHOULD, MOCKITO_VERIFY.presentableText, () -> new ConvertBDDMockitoThenToMockitoVerifyAction(true)),
+        //Verifications using different InOrder variables, or none, must not be converted as part of the same group
+        new Conversion(BDDMOCKITO_THEN_SHOULD, INORDER_VERIFY.presentableText, () -> new ConvertBDDMockitoThenToInOrderVerifyAction(true),
+            verification -> true,
+            bddMockitoThen -> {
+                var should = getSubsequentMethodCall(bddMockitoThen);
+                return BDDMOCKITO_THEN_SHOULD.isInOrderSpecific(should) ? getFirstArgument(should).getText() : "";
+            }),
+        new Conversion(BDDMOCKITO_THEN_SHOULD, MockitoolsBundle.message("intention.convert.verification.bddmockito.with.inorder"),
+            () -> new AddInOrderToBDDMockitoAction(true),
+            bddMockitoThen -> !BDDMOCKITO_THEN_SHOULD.isInOrderSpecific(getSubsequentMethodCall(bddMockitoThen)),
+            verification -> ""),
+        new Conversion(INORDER_VERIFY, MOCKITO_VERIFY.presentableText, () -> new ConvertInOrderVerifyToMockitoVerifyAction(true)),
+        new Conversion(INORDER_VERIFY, MockitoolsBundle.message("intention.convert.verification.bddmockito.without.inorder"),
+            () -> new ConvertInOrderVerifyToBDDMockitoThenWithoutInOrderAction(true)),
+        new Conversion(INORDER_VERIFY, MockitoolsBundle.message("intention.convert.verification.bddmockito.with.inorder"),
+            () -> new ConvertInOrderVerifyToBDDMockitoThenWithInOrderAction(true)),
+        new Conversion(MOCKED_STATIC_VERIFY, INORDER_VERIFY.presentableText, () -> new ConvertMockedStaticVerifyToInOrderVerifyAction(true))
+    );
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        var files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null && files != null && files.length > 0);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        var project = e.getProject();
+        var selectedFiles = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (project == null || selectedFiles == null) return;
+
+        JBPopupFactory.getInstance().createPopupChooserBuilder(CONVERSIONS)
+            .setTitle(MockitoolsBundle.message("intention.convert.verification.select.target"))
+            .setRenderer(SimpleListCellRenderer.create("", Conversion::presentableText))
+            .setItemChosenCallback(conversion -> conversion.converter(project).convert(selectedFiles))
+            .createPopup()
+            .showInBestPositionFor(e.getDataContext());
+    }
+}
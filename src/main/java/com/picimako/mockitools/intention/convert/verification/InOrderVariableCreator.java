@@ -4,7 +4,6 @@ package com.picimako.mockitools.intention.convert.verification;
 
 import static com.google.common.collect.Iterables.getLast;
 import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
-import static com.picimako.mockitools.util.PsiClassUtil.importClassAndCommit;
 import static com.picimako.mockitools.util.PsiMethodUtil.getFirstArgument;
 
 import com.intellij.openapi.editor.Document;
@@ -13,7 +12,9 @@ import com.intellij.psi.PsiCodeBlock;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
 import com.picimako.mockitools.MockitoQualifiedNames;
+import com.picimako.mockitools.util.PreResolvedClasses;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
@@ -25,6 +26,7 @@ import java.util.List;
 public class InOrderVariableCreator {
 
     private final Document document;
+    private final PreResolvedClasses importableClasses;
 
     /**
      * Creates an {@code org.mockito.InOrder} type local variable and inserts it right before the verification call
@@ -43,6 +45,9 @@ public class InOrderVariableCreator {
     /**
      * Creates an {@code org.mockito.InOrder} type local variable and inserts it right before the verification call
      * that is being converted.
+     * <p>
+     * The variable is named {@code inOrder}, or if that would collide with another variable in its scope, e.g. with one
+     * that was created for another code block in the same method, a unique variant of it, like {@code inOrder1}.
      *
      * @param verificationCall the verification call being converted
      * @param calls            the calls in the verification call chain
@@ -53,17 +58,18 @@ public class InOrderVariableCreator {
         //Create an InOrder object from the verified mock: 'InOrder inOrder = Mockito.InOrder(mock);'
         var project = verificationCall.getProject();
 
-        importClassAndCommit(MockitoQualifiedNames.ORG_MOCKITO_INORDER, project, verificationCall.getContainingFile(), document);
+        importableClasses.importClassAndCommit(MockitoQualifiedNames.ORG_MOCKITO_INORDER, verificationCall.getContainingFile(), document);
 
-        String inOrderVariableText = "InOrder inOrder = Mockito.inOrder(" + mockObjectsArgs + ");";
+        //'Iterables.getLast(calls)' returns the call expression for the whole call chain.
+        // The addition has to happen to before the whole call chain, so it has the proper formatting and underlying PSI.
+        var anchor = getLast(calls).getParent();
+        String variableName = JavaCodeStyleManager.getInstance(project).suggestUniqueVariableName("inOrder", anchor, true);
+        String inOrderVariableText = "InOrder " + variableName + " = Mockito.inOrder(" + mockObjectsArgs + ");";
         var inOrderVariable = JavaPsiFacade.getElementFactory(project).createStatementFromText(inOrderVariableText, verificationCall);
 
         //Add the new variable to the parent block, before the Mockito.verify()/BDDMockito.then() call chain
         var parentBlock = getParentOfType(verificationCall, PsiCodeBlock.class);
-
-        //'Iterables.getLast(calls)' returns the call expression for the whole call chain.
-        // The addition has to happen to before the whole call chain, so it has the proper formatting and underlying PSI.
-        var addedVariable = parentBlock.addBefore(inOrderVariable, getLast(calls).getParent());
+        var addedVariable = parentBlock.addBefore(inOrderVariable, anchor);
         PsiDocumentManager.getInstance(project).doPostponedOperationsAndUnblockDocument(document);
         return addedVariable;
     }
@@ -0,0 +1,203 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.intention.convert.verification;
+
+import static com.intellij.psi.util.PsiTreeUtil.findChildOfType;
+import static com.intellij.psi.util.PsiTreeUtil.getParentOfType;
+import static com.picimako.mockitools.util.PointersUtil.toPointer;
+import static com.picimako.mockitools.util.PsiMethodUtil.getQualifier;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.fileTypes.FileTypeRegistry;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiExpressionStatement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiIdentifier;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.psi.SyntaxTraverser;
+import com.picimako.mockitools.VerificationApproach;
+import com.picimako.mockitools.resources.MockitoolsBundle;
+import com.picimako.mockitools.util.PreResolvedClasses;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Converts all verifications of a given approach, in a set of files, to another verification approach.
+ * <p>
+ * The conversion happens in two phases:
+ * <ul>
+ *     <li><b>planning</b>: the Java files are collected from the selected files and directories, then the verification statements
+ *     to convert are collected from the files concurrently, each file in its own non-blocking read action. Statements are grouped by the code block they are located in, so that each test method receives at most
+ *     one InOrder variable, referencing all mock objects verified in that code block. The Mockito classes the conversion may import
+ *     are also resolved in this phase.</li>
+ *     <li><b>applying</b>: the groups of each file are converted in a single write command action per file, using the same
+ *     {@link ConvertVerificationActionBase} logic as the selection based (bulk) conversion in the editor.</li>
+ * </ul>
+ * <p>
+ * Statements are referenced via smart pointers between the two phases, so that changes made in the meantime don't invalidate the plan.
+ *
+ * @since 1.5.0
+ */
+@RequiredArgsConstructor
+public final class ScopedVerificationConverter {
+    private final Project project;
+    private final VerificationApproach sourceApproach;
+    /**
+     * Creates the action that performs the conversion. A new instance is created for each file, since actions hold file specific state.
+     */
+    private final Supplier<ConvertVerificationActionBase> conversion;
+    /**
+     * Further narrows the verifications to convert, for conversions that support only certain forms of the source approach.
+     */
+    private final Predicate<PsiMethodCallExpression> verificationFilter;
+    /**
+     * Splits the verifications of a code block into further groups, for conversions that require the verifications in a group to be homogenous,
+     * e.g. all of them referencing the same InOrder variable.
+     */
+    private final Function<PsiMethodCallExpression, String> subGroupKey;
+
+    public ScopedVerificationConverter(Project project, VerificationApproach sourceApproach, Supplier<ConvertVerificationActionBase> conversion) {
+        this(project, sourceApproach, conversion, verification -> true, verification -> "");
+    }
+
+    /**
+     * The result of the planning phase.
+     *
+     * @param groupsByFile      the groups of statements mapped to their files. Files without any verification to convert are omitted.
+     * @param importableClasses the Mockito classes the conversion may import
+     */
+    public record Plan(Map<VirtualFile, List<List<SmartPsiElementPointer<PsiExpressionStatement>>>> groupsByFile,
+                       PreResolvedClasses importableClasses) {
+    }
+
+    /**
+     * Plans the conversion in the background, then applies it on the EDT.
+     *
+     * @param selectedFiles the files and directories to convert the verifications in
+     */
+    public void convert(VirtualFile[] selectedFiles) {
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, MockitoolsBundle.message("action.convert.verifications.in.scope.progress"), true) {
+            private Plan plan;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                plan = plan(collectJavaFiles(selectedFiles, indicator), indicator);
+            }
+
+            @Override
+            public void onSuccess() {
+                apply(plan);
+            }
+        });
+    }
+
+    //Planning
+
+    /**
+     * Collects the Java files from the selected files and directories, recursively.
+     */
+    private static List<VirtualFile> collectJavaFiles(VirtualFile[] selectedFiles, ProgressIndicator indicator) {
+        var javaFiles = new ArrayList<VirtualFile>();
+        for (var selectedFile : selectedFiles) {
+            VfsUtilCore.iterateChildrenRecursively(selectedFile, null, fileOrDir -> {
+                indicator.checkCanceled();
+                if (!fileOrDir.isDirectory() && FileTypeRegistry.getInstance().isFileOfType(fileOrDir, JavaFileType.INSTANCE))
+                    javaFiles.add(fileOrDir);
+                return true;
+            });
+        }
+        return javaFiles;
+    }
+
+    /**
+     * Collects the verification statements to convert, from each file concurrently, grouped by their containing code blocks,
+     * and resolves the Mockito classes the conversion may import.
+     */
+    public Plan plan(List<VirtualFile> files, ProgressIndicator indicator) {
+        var groupsByFile = new ConcurrentHashMap<VirtualFile, List<List<SmartPsiElementPointer<PsiExpressionStatement>>>>();
+        JobLauncher.getInstance().invokeConcurrentlyUnderProgress(files, indicator, file -> {
+            var groups = ReadAction.nonBlocking(() -> planFile(file)).inSmartMode(project).executeSynchronously();
+            if (!groups.isEmpty()) groupsByFile.put(file, groups);
+            return true;
+        });
+        var importableClasses = ReadAction.nonBlocking(() -> ConvertVerificationActionBase.resolveImportableClasses(project))
+            .inSmartMode(project)
+            .executeSynchronously();
+        return new Plan(groupsByFile, importableClasses);
+    }
+
+    private List<List<SmartPsiElementPointer<PsiExpressionStatement>>> planFile(VirtualFile virtualFile) {
+        var file = virtualFile.isValid() ? PsiManager.getInstance(project).findFile(virtualFile) : null;
+        if (file == null) return List.of();
+
+        //The keys are the code blocks with optional sub-group keys, kept in document order
+        var groups = new LinkedHashMap<String, List<SmartPsiElementPointer<PsiExpressionStatement>>>();
+        for (var statement : SyntaxTraverser.psiTraverser(file).filter(PsiExpressionStatement.class)) {
+            var verificationCall = getConvertibleVerificationCall(statement);
+            if (verificationCall != null && statement.getParent() instanceof PsiCodeBlock codeBlock) {
+                groups.computeIfAbsent(codeBlock.getTextRange().getStartOffset() + ":" + subGroupKey.apply(verificationCall), key -> new ArrayList<>())
+                    .add(toPointer(statement));
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Returns the verification call of the argument statement, if it is convertible by this converter.
+     * <p>
+     * The criteria are the same as for the selection based conversion: the verification call has to be qualified by a class
+     * or a variable (e.g. {@code Mockito.verify()} or {@code inOrder.verify()}), and it has to be a valid verification of the source approach.
+     */
+    @Nullable
+    private PsiMethodCallExpression getConvertibleVerificationCall(PsiExpressionStatement statement) {
+        var identifier = findChildOfType(statement, PsiIdentifier.class);
+        if (identifier == null) return null;
+        var verificationCall = getParentOfType(identifier, PsiMethodCallExpression.class);
+        return verificationCall != null
+               && identifier.getParent() == getQualifier(verificationCall)
+               && sourceApproach.isVerifiedBy(verificationCall)
+               && sourceApproach.isValid(verificationCall)
+               && verificationFilter.test(verificationCall)
+               ? verificationCall
+               : null;
+    }
+
+    //Applying
+
+    /**
+     * Applies the conversion plan, using a single write command action per file.
+     */
+    public void apply(Plan plan) {
+        var commandName = MockitoolsBundle.message("action.convert.verifications.in.scope.command");
+        plan.groupsByFile().forEach((virtualFile, groups) -> {
+            PsiFile file = virtualFile.isValid() ? PsiManager.getInstance(project).findFile(virtualFile) : null;
+            if (file != null) {
+                WriteCommandAction.writeCommandAction(project, file)
+                    .withName(commandName)
+                    .withGroupId(commandName)
+                    .run(() -> conversion.get().performInFile(file, groups, plan.importableClasses()));
+            }
+        });
+    }
+}
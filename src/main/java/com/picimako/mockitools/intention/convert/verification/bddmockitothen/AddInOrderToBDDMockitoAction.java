@@ -5,15 +5,12 @@ package com.picimako.mockitools.intention.convert.verification.bddmockitothen;
 import static com.picimako.mockitools.util.PsiMethodUtil.collectCallsInChainFromFirst;
 import static com.siyeh.ig.psiutils.ExpressionUtils.getFirstExpressionInList;
 
-import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiExpression;
 import com.intellij.psi.PsiExpressionStatement;
-import com.intellij.psi.PsiLocalVariable;
 import com.intellij.psi.PsiMethodCallExpression;
-import com.picimako.mockitools.MemberInplaceRenameHelper;
 import com.picimako.mockitools.intention.convert.verification.ConvertVerificationActionBase;
 import com.picimako.mockitools.resources.MockitoolsBundle;
 import org.jetbrains.annotations.NotNull;
@@ -43,9 +40,9 @@ public class AddInOrderToBDDMockitoAction extends ConvertVerificationActionBase
         var calls = collectCallsInChainFromFirst(bddMockitoThen, true);
         var inOrderVariable = createAndAddInOrderVariable(bddMockitoThen, calls);
 
-        addInOrderVariableToShould(calls.get(1), createInOrderRefExpression(inOrderVariable, calls), editor);
+        addInOrderVariableToShould(calls.get(1), createInOrderRefExpression(inOrderVariable, calls));
 
-        MemberInplaceRenameHelper.rename(inOrderVariable.getFirstChild(), editor);
+        rename(inOrderVariable);
     }
 
     //Selection based conversion
@@ -62,9 +59,9 @@ public class AddInOrderToBDDMockitoAction extends ConvertVerificationActionBase
         statementsInSelection.stream()
             .map(this::getVerificationCall)
             .map(bddMockitoThen -> collectCallsInChainFromFirst(bddMockitoThen, true))
-            .forEach(calls -> performAndCommitDocument(() -> addInOrderVariableToShould(calls.get(1), inOrderRefExpression, editor)));
+            .forEach(calls -> performAndCommitDocument(() -> addInOrderVariableToShould(calls.get(1), inOrderRefExpression)));
 
-        MemberInplaceRenameHelper.rename(inOrderVariable.getFirstChild(), editor);
+        rename(inOrderVariable);
     }
 
     //Helpers
@@ -79,18 +76,18 @@ public class AddInOrderToBDDMockitoAction extends ConvertVerificationActionBase
     @NotNull
     private PsiExpression createInOrderRefExpression(PsiElement inOrderVariable, List<PsiMethodCallExpression> calls) {
         return JavaPsiFacade.getElementFactory(inOrderVariable.getProject())
-            .createExpressionFromText(((PsiLocalVariable) inOrderVariable.getFirstChild()).getName(), /*should*/calls.get(1));
+            .createExpressionFromText(nameOf(inOrderVariable), /*should*/calls.get(1));
     }
 
     /**
      * Adds the InOrder reference expression to the argument list of the {@code should()} call.
      */
-    private void addInOrderVariableToShould(PsiMethodCallExpression should, PsiExpression inOrderRefExpression, Editor editor) {
+    private void addInOrderVariableToShould(PsiMethodCallExpression should, PsiExpression inOrderRefExpression) {
         var shouldArgumentList = should.getArgumentList();
         if (shouldArgumentList.isEmpty())
             shouldArgumentList.add(inOrderRefExpression);
         else
             shouldArgumentList.addBefore(inOrderRefExpression, getFirstExpressionInList(shouldArgumentList));
-        documentManager.doPostponedOperationsAndUnblockDocument(editor.getDocument());
+        documentManager.doPostponedOperationsAndUnblockDocument(document);
     }
 }
@@ -15,7 +15,6 @@ import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiExpressionStatement;
 import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.util.TriConsumer;
-import com.picimako.mockitools.MemberInplaceRenameHelper;
 import com.picimako.mockitools.VerificationApproach;
 import com.picimako.mockitools.intention.convert.verification.ConvertVerificationActionBase;
 
@@ -48,9 +47,9 @@ public class ConvertBDDMockitoThenToInOrderVerifyAction extends ConvertVerificat
         if (!VerificationApproach.BDDMOCKITO_THEN_SHOULD.isInOrderSpecific(should)) {
             //Get verification mode argument from 'should()', or empty string if there's none
             var inOrderVariable = createAndAddInOrderVariable(bddMockitoThen, calls);
-            convertWithoutInOrder(bddMockitoThen, calls, should);
+            convertWithoutInOrder(bddMockitoThen, calls, should, nameOf(inOrderVariable));
             if (!ApplicationManager.getApplication().isUnitTestMode())
-                MemberInplaceRenameHelper.rename(inOrderVariable.getFirstChild(), editor);
+                rename(inOrderVariable);
         }
         //If there is InOrder argument, don't create one, just use that for the inOrder.verify
         else {
@@ -67,9 +66,10 @@ public class ConvertBDDMockitoThenToInOrderVerifyAction extends ConvertVerificat
         if (!VerificationApproach.BDDMOCKITO_THEN_SHOULD.isInOrderSpecific(callsInFirstVerification.get(1))) {
             //Create the InOrder variable before converting any of the selected call chains, so that they can use the same InOrder variable.
             var inOrderVariable = createAndAddInOrderVariable(firstVerification, callsInFirstVerification, collectMockObjects(statementsInSelection));
-            convertWithinSelection(this::convertWithoutInOrder, statementsInSelection);
+            String inOrderName = nameOf(inOrderVariable);
+            convertWithinSelection((bddMockitoThen, calls, should) -> convertWithoutInOrder(bddMockitoThen, calls, should, inOrderName), statementsInSelection);
             if (!ApplicationManager.getApplication().isUnitTestMode())
-                MemberInplaceRenameHelper.rename(inOrderVariable.getFirstChild(), editor);
+                rename(inOrderVariable);
         } else {
             convertWithinSelection(this::convertWithInOrder, statementsInSelection);
         }
@@ -90,9 +90,10 @@ public class ConvertBDDMockitoThenToInOrderVerifyAction extends ConvertVerificat
 
     //Helpers
 
-    private void convertWithoutInOrder(PsiMethodCallExpression bddMockitoThen, List<PsiMethodCallExpression> calls, PsiMethodCallExpression should) {
+    private void convertWithoutInOrder(PsiMethodCallExpression bddMockitoThen, List<PsiMethodCallExpression> calls, PsiMethodCallExpression should,
+                                       String inOrderName) {
         String verificationModeArgument = hasArgument(should) ? ", " + getFirstArgument(should).getText() : "";
-        replaceBDDMockitoVerification(bddMockitoThen, calls, verificationModeArgument, "inOrder");
+        replaceBDDMockitoVerification(bddMockitoThen, calls, verificationModeArgument, inOrderName);
     }
 
     private void convertWithInOrder(PsiMethodCallExpression bddMockitoThen, List<PsiMethodCallExpression> calls, PsiMethodCallExpression should) {
@@ -104,10 +105,10 @@ public class ConvertBDDMockitoThenToInOrderVerifyAction extends ConvertVerificat
 
     private void replaceBDDMockitoVerification(PsiMethodCallExpression bddMockitoThen, List<PsiMethodCallExpression> calls,
                                                String verificationModeArgument, String inOrderArgument) {
-        editor.getDocument().insertString(endOffsetOf(getFirstArgument(bddMockitoThen)), verificationModeArgument);
+        document.insertString(endOffsetOf(getFirstArgument(bddMockitoThen)), verificationModeArgument);
         //Replace BDDMockito.then with <InOrder argument>.verify
         replaceBeginningOfChain(calls, inOrderArgument + ".verify");
         //Delete should() with its arguments, if any
-        performAndCommitDocument(() -> editor.getDocument().deleteString(endOffsetOf(bddMockitoThen), endOffsetOf(calls.get(1))));
+        performAndCommitDocument(() -> document.deleteString(endOffsetOf(bddMockitoThen), endOffsetOf(calls.get(1))));
     }
 }
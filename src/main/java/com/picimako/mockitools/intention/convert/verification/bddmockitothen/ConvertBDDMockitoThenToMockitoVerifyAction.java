@@ -44,10 +44,10 @@ public class ConvertBDDMockitoThenToMockitoVerifyAction extends ConvertVerificat
             verificationModeArgument = ", " + get2ndArgument(should).getText();
         }
 
-        editor.getDocument().insertString(endOffsetOf(getFirstArgument(bddMockitoThen)), verificationModeArgument);
+        document.insertString(endOffsetOf(getFirstArgument(bddMockitoThen)), verificationModeArgument);
         //Replace BDDMockito.then with Mockito.verify
         replaceBeginningOfChain(calls, "Mockito.verify", ORG_MOCKITO_MOCKITO);
         //Delete should() with its arguments, if any
-        performAndCommitDocument(() -> editor.getDocument().deleteString(endOffsetOf(calls.getFirst()), endOffsetOf(should)));
+        performAndCommitDocument(() -> document.deleteString(endOffsetOf(calls.getFirst()), endOffsetOf(should)));
     }
 }
@@ -41,12 +41,12 @@ public class ConvertInOrderVerifyToBDDMockitoThenWithInOrderAction extends Conve
         //E.g. 'inOrder.verify(mock, times(2))' becomes 'BDDMockito.then(mock).should(<inOrder>, times(2))'
         int endOffsetOfMockArgument = endOffsetOf(getFirstArgument(inOrderVerify));
         if (hasTwoArguments(inOrderVerify)) {
-            editor.getDocument().replaceString(
+            document.replaceString(
                 endOffsetOfMockArgument,
                 get2ndArgument(inOrderVerify).getTextOffset(),
                 ").should(" + inOrderVariableName + ", ");
         } else {
-            editor.getDocument().replaceString(endOffsetOfMockArgument, endOffsetOfMockArgument, ").should(" + inOrderVariableName);
+            document.replaceString(endOffsetOfMockArgument, endOffsetOfMockArgument, ").should(" + inOrderVariableName);
         }
     }
 }
@@ -38,7 +38,7 @@ public class ConvertInOrderVerifyToBDDMockitoThenWithoutInOrderAction extends Co
         //E.g. 'inOrder.verify(mock)' becomes 'BDDMockito.then(mock).should()'
         //E.g. 'inOrder.verify(mock, times(2))' becomes 'BDDMockito.then(mock).should(times(2))'
         int endOffsetOfMockArgument = endOffsetOf(getFirstArgument(inOrderVerify));
-        editor.getDocument().replaceString(
+        document.replaceString(
             endOffsetOfMockArgument,
             hasTwoArguments(inOrderVerify) ? get2ndArgument(inOrderVerify).getTextOffset() : endOffsetOfMockArgument,
             ").should(");
@@ -30,7 +30,7 @@ public class ConvertInOrderVerifyToMockedStaticVerifyAction extends ConvertVerif
         String mockedStaticText = mockedStaticArgument.getText();
 
         mockedStaticArgument.delete();
-        documentManager.doPostponedOperationsAndUnblockDocument(editor.getDocument());
+        documentManager.doPostponedOperationsAndUnblockDocument(document);
         replaceBeginningOfChain(calls, mockedStaticText + ".verify");
     }
 }
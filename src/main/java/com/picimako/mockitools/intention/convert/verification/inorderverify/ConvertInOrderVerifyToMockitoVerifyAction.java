@@ -7,7 +7,6 @@ import static com.picimako.mockitools.util.PsiMethodUtil.collectCallsInChainFrom
 
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiMethodCallExpression;
-import com.picimako.mockitools.util.PsiClassUtil;
 import com.picimako.mockitools.intention.convert.verification.ConvertVerificationActionBase;
 
 /**
@@ -27,7 +26,7 @@ public class ConvertInOrderVerifyToMockitoVerifyAction extends ConvertVerificati
     @Override
     public void perform(PsiMethodCallExpression verificationCall, Project project) {
         var calls = collectCallsInChainFromFirst(verificationCall, true);
-        PsiClassUtil.importClassAndCommit(ORG_MOCKITO_MOCKITO, project, verificationCall.getContainingFile(), editor.getDocument());
+        importClassAndCommit(ORG_MOCKITO_MOCKITO, verificationCall);
         replaceBeginningOfChain(calls, "Mockito.verify");
     }
 }
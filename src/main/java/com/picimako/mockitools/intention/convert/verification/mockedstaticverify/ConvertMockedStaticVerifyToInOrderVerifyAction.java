@@ -53,7 +53,7 @@ public class ConvertMockedStaticVerifyToInOrderVerifyAction extends ConvertVerif
         var mockedVarAndClassType = getMockedVarAndClassType(calls);
         if (isNotEmpty(mockedVarAndClassType)) {
             var inOrderVariable = createAndAddInOrderVariable(mockitoVerify, calls, mockedVarAndClassType.first);
-            convertVerification(calls, mockitoVerify, mockedVarAndClassType.second);
+            convertVerification(calls, mockitoVerify, mockedVarAndClassType.second, nameOf(inOrderVariable));
             rename(inOrderVariable);
         }
     }
@@ -81,14 +81,14 @@ public class ConvertMockedStaticVerifyToInOrderVerifyAction extends ConvertVerif
         for (var calls : verificationCallChains) {
             var mockedVarAndClassType = getMockedVarAndClassType(calls);
             if (isNotEmpty(mockedVarAndClassType))
-                convertVerification(calls, calls.getFirst(), mockedVarAndClassType.second);
+                convertVerification(calls, calls.getFirst(), mockedVarAndClassType.second, nameOf(inOrderVariable));
         }
 
         rename(inOrderVariable);
     }
 
-    private void convertVerification(List<PsiMethodCallExpression> calls, PsiMethodCallExpression verify, PsiElement mockedStaticVar) {
-        performAndCommitDocument(() -> replaceBeginningOfChain(calls, "inOrder.verify"));
+    private void convertVerification(List<PsiMethodCallExpression> calls, PsiMethodCallExpression verify, PsiElement mockedStaticVar, String inOrderName) {
+        performAndCommitDocument(() -> replaceBeginningOfChain(calls, inOrderName + ".verify"));
         addMockedStaticVariableAsArgumentToVerify(verify, createMockedStaticArgument(mockedStaticVar, verify));
     }
     //Helpers
@@ -137,6 +137,6 @@ public class ConvertMockedStaticVerifyToInOrderVerifyAction extends ConvertVerif
         var verifyArgumentList = verify.getArgumentList();
         if (!verifyArgumentList.isEmpty())
             verifyArgumentList.addBefore(mockedStaticVar, getFirstExpressionInList(verifyArgumentList));
-        documentManager.doPostponedOperationsAndUnblockDocument(editor.getDocument());
+        documentManager.doPostponedOperationsAndUnblockDocument(document);
     }
 }
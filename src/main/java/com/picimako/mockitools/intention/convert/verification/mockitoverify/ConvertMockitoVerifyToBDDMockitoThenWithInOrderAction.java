@@ -14,8 +14,6 @@ import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiExpressionStatement;
 import com.intellij.psi.PsiMethodCallExpression;
-import com.intellij.psi.PsiNamedElement;
-import com.picimako.mockitools.MemberInplaceRenameHelper;
 import com.picimako.mockitools.intention.convert.verification.ConvertVerificationActionBase;
 import com.picimako.mockitools.resources.MockitoolsBundle;
 
@@ -40,7 +38,7 @@ public final class ConvertMockitoVerifyToBDDMockitoThenWithInOrderAction extends
 
         var addedVariable = createAndAddInOrderVariable(mockitoVerify, calls);
         performConversion(addedVariable, mockitoVerify, calls);
-        MemberInplaceRenameHelper.rename(addedVariable.getFirstChild(), editor);
+        rename(addedVariable);
     }
 
     @Override
@@ -56,19 +54,19 @@ public final class ConvertMockitoVerifyToBDDMockitoThenWithInOrderAction extends
                 performAndCommitDocument(() -> performConversion(inOrderVariable, verify, calls));
             });
 
-        MemberInplaceRenameHelper.rename(inOrderVariable.getFirstChild(), editor);
+        rename(inOrderVariable);
     }
 
     private void performConversion(PsiElement inOrderVariable, PsiMethodCallExpression verificationCall, List<PsiMethodCallExpression> calls) {
         replaceBeginningOfChain(calls, "BDDMockito.then", ORG_MOCKITO_BDDMOCKITO);
         int endOffsetOfMockArgument = endOffsetOf(getFirstArgument(verificationCall));
         if (hasTwoArguments(verificationCall)) {
-            editor.getDocument().replaceString(
+            document.replaceString(
                 endOffsetOfMockArgument,
                 get2ndArgument(verificationCall).getTextOffset(),
-                ").should(" + ((PsiNamedElement) inOrderVariable.getFirstChild()).getName() + ", ");
+                ").should(" + nameOf(inOrderVariable) + ", ");
         } else {
-            editor.getDocument().replaceString(endOffsetOfMockArgument, endOffsetOfMockArgument, ").should(" + ((PsiNamedElement) inOrderVariable.getFirstChild()).getName());
+            document.replaceString(endOffsetOfMockArgument, endOffsetOfMockArgument, ").should(" + nameOf(inOrderVariable));
         }
     }
 }
@@ -41,11 +41,11 @@ public final class ConvertMockitoVerifyToBDDMockitoThenWithoutInOrderAction exte
             //Replace Mockito.verify with BDDMockito.then
             replaceBeginningOfChain(calls, "BDDMockito.then", ORG_MOCKITO_BDDMOCKITO);
             //Insert should() after BDDMockito.then
-            performAndCommitDocument(() -> editor.getDocument().insertString(getReferenceNameElement(getLast(calls)).getTextOffset() - 1, ".should()"));
+            performAndCommitDocument(() -> document.insertString(getReferenceNameElement(getLast(calls)).getTextOffset() - 1, ".should()"));
         } else if (MOCKITO_VERIFY_MOCK_MODE.matches(mockitoVerify)) {
             //It replaces the text between the two arguments of Mockito.verify() with the text ").should("
             //E.g. 'Mockito.verify(mock, times(2))' becomes 'Mockito.verify(mock).should(times(2))'
-            editor.getDocument().replaceString(endOffsetOf(getFirstArgument(mockitoVerify)), get2ndArgument(mockitoVerify).getTextOffset(), ").should(");
+            document.replaceString(endOffsetOf(getFirstArgument(mockitoVerify)), get2ndArgument(mockitoVerify).getTextOffset(), ").should(");
             //Replace Mockito.verify with BDDMockito.then
             replaceBeginningOfChain(calls, "BDDMockito.then", ORG_MOCKITO_BDDMOCKITO);
         }
@@ -56,6 +56,9 @@ public final class ConvertMockitoVerifyToBDDMockitoThenWithoutInOrderAction exte
                                        PsiMethodCallExpression firstVerification,
                                        List<PsiMethodCallExpression> callsInFirstVerification) {
         //Verifications can be converted one by one without any additional logic
-        statementsInSelection.forEach(statement -> perform(getVerificationCall(statement), editor.getProject()));
+        statementsInSelection.forEach(statement -> {
+            var verificationCall = getVerificationCall(statement);
+            perform(verificationCall, verificationCall.getProject());
+        });
     }
 }
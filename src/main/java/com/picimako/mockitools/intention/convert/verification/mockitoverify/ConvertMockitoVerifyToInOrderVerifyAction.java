@@ -8,7 +8,6 @@ import static com.picimako.mockitools.util.PsiMethodUtil.collectCallsInChainFrom
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiExpressionStatement;
 import com.intellij.psi.PsiMethodCallExpression;
-import com.picimako.mockitools.MemberInplaceRenameHelper;
 import com.picimako.mockitools.intention.convert.verification.ConvertVerificationActionBase;
 
 import java.util.List;
@@ -34,9 +33,9 @@ public class ConvertMockitoVerifyToInOrderVerifyAction extends ConvertVerificati
 
         var addedVariable = createAndAddInOrderVariable(mockitoVerify, calls);
         //convert Mockito.verify beginning to inOrder.verify
-        replaceBeginningOfChain(calls, "inOrder.verify");
+        replaceBeginningOfChain(calls, nameOf(addedVariable) + ".verify");
 
-        MemberInplaceRenameHelper.rename(addedVariable.getFirstChild(), editor);
+        rename(addedVariable);
     }
 
     @Override
@@ -48,8 +47,8 @@ public class ConvertMockitoVerifyToInOrderVerifyAction extends ConvertVerificati
         statementsInSelection.stream()
             .map(this::getVerificationCall)
             .map(verify -> collectCallsInChainFromFirst(verify, true))
-            .forEach(calls -> performAndCommitDocument(() -> replaceBeginningOfChain(calls, "inOrder.verify")));
+            .forEach(calls -> performAndCommitDocument(() -> replaceBeginningOfChain(calls, nameOf(inOrderVariable) + ".verify")));
 
-        MemberInplaceRenameHelper.rename(inOrderVariable.getFirstChild(), editor);
+        rename(inOrderVariable);
     }
 }
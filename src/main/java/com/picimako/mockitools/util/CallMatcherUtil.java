@@ -0,0 +1,42 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.util;
+
+import static com.intellij.openapi.application.ReadAction.compute;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.picimako.mockitools.diagnostics.InspectionDiagnostics;
+import com.picimako.mockitools.inspection.ReducedAnalysis;
+import com.siyeh.ig.callMatcher.CallMatcher;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Utility for matching elements with {@link CallMatcher}s.
+ *
+ * @since 1.5.0
+ */
+public final class CallMatcherUtil {
+
+    /**
+     * Returns whether the argument element matches {@code matcher}, evaluated in a read action, unless the caller already holds read access.
+     * <p>
+     * The invocation is also recorded for the inspection currently running on this thread, if diagnostics is enabled.
+     * <p>
+     * If {@link ReducedAnalysis} is active on this thread, method calls are matched by their method names only,
+     * without resolving the called methods.
+     */
+    public static boolean matches(CallMatcher matcher, @Nullable PsiElement element) {
+        InspectionDiagnostics.recordMatcherCall();
+        if (element instanceof PsiMethodCallExpression call && ReducedAnalysis.isActive()) {
+            String methodName = call.getMethodExpression().getReferenceName();
+            return methodName != null && matcher.names().anyMatch(methodName::equals);
+        }
+        return ApplicationManager.getApplication().isReadAccessAllowed() ? matcher.matches(element) : compute(() -> matcher.matches(element));
+    }
+
+    private CallMatcherUtil() {
+        //Utility class
+    }
+}
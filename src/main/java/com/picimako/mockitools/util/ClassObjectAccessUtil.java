@@ -44,7 +44,7 @@ public final class ClassObjectAccessUtil {
      */
     @Nullable
     public static PsiClass resolveOperandType(@NotNull PsiElement element) {
-        return compute(() -> getOperandType(element) instanceof PsiClassType operandType ? operandType.resolve() : null);
+        return compute(() -> getOperandType(element) instanceof PsiClassType operandType ? ResolveUtil.resolveClass(operandType) : null);
     }
 
     private ClassObjectAccessUtil() {
@@ -0,0 +1,130 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.util;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.PsiTypeElement;
+import com.intellij.util.ArrayUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Syntactic alternatives of resolve-based checks, that can be used while the IDE is in dumb mode, i.e. while indexes are not available.
+ * <p>
+ * References are matched by their texts, and the imports of the containing file: a reference to {@code org.mockito.Mockito} is accepted
+ * if it is either the fully qualified name itself, or the simple name {@code Mockito}, and {@code org.mockito.Mockito} or
+ * {@code org.mockito.*} is imported.
+ * <p>
+ * These checks are less precise than resolving the references, thus they are used only in dumb mode, and resolution is used
+ * once indexing completes.
+ *
+ * @since 1.5.0
+ */
+public final class DumbModeUtil {
+
+    /**
+     * Returns whether the project of the argument element is in dumb mode.
+     */
+    public static boolean isDumb(@NotNull PsiElement element) {
+        return DumbService.isDumb(element.getProject());
+    }
+
+    /**
+     * Returns whether the argument call is a call to one of the static methods {@code methodNames} of the class {@code classFqn},
+     * either qualified with the class name, or statically imported.
+     */
+    public static boolean isStaticCall(@Nullable PsiMethodCallExpression call, @NotNull String classFqn, String... methodNames) {
+        if (call == null) return false;
+        var methodExpression = call.getMethodExpression();
+        String methodName = methodExpression.getReferenceName();
+        if (methodName == null || !ArrayUtil.contains(methodName, methodNames)) return false;
+
+        var qualifier = methodExpression.getQualifierExpression();
+        return qualifier == null
+            ? isStaticallyImported(call.getContainingFile(), classFqn, methodName)
+            : qualifier instanceof PsiJavaCodeReferenceElement reference && refersTo(reference, classFqn);
+    }
+
+    /**
+     * Returns whether the argument element is annotated with the annotation {@code annotationFqn}.
+     */
+    public static boolean hasAnnotation(@NotNull PsiModifierListOwner owner, @NotNull String annotationFqn) {
+        var modifierList = owner.getModifierList();
+        if (modifierList == null) return false;
+        for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+            if (refersTo(annotation.getNameReferenceElement(), annotationFqn)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the argument type element references the class {@code classFqn}, regardless of its type arguments.
+     */
+    public static boolean isOfType(@Nullable PsiTypeElement typeElement, @NotNull String classFqn) {
+        return typeElement != null && refersTo(typeElement.getInnermostComponentReferenceElement(), classFqn);
+    }
+
+    /**
+     * Returns whether the argument reference, based on its text and the imports of the containing file, references the class {@code classFqn}.
+     */
+    public static boolean refersTo(@Nullable PsiJavaCodeReferenceElement reference, @NotNull String classFqn) {
+        if (reference == null) return false;
+        if (classFqn.equals(qualifiedTextOf(reference))) return true;
+
+        return !reference.isQualified()
+            && shortNameOf(classFqn).equals(reference.getReferenceName())
+            && isImported(reference.getContainingFile(), classFqn);
+    }
+
+    private static boolean isImported(PsiFile file, String classFqn) {
+        if (!(file instanceof PsiJavaFile javaFile) || javaFile.getImportList() == null) return false;
+        var importList = javaFile.getImportList();
+        return importList.findSingleClassImportStatement(classFqn) != null
+            || importList.findOnDemandImportStatement(packageOf(classFqn)) != null;
+    }
+
+    private static boolean isStaticallyImported(PsiFile file, String classFqn, String methodName) {
+        if (!(file instanceof PsiJavaFile javaFile) || javaFile.getImportList() == null) return false;
+        for (var staticImport : javaFile.getImportList().getImportStaticStatements()) {
+            var importReference = staticImport.getImportReference();
+            if (importReference == null) continue;
+            String importedName = qualifiedTextOf(importReference);
+            if (staticImport.isOnDemand() ? classFqn.equals(importedName) : (classFqn + "." + methodName).equals(importedName))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the dot-separated names of the argument reference and its qualifiers, without type arguments and whitespaces,
+     * e.g. {@code org.mockito.ArgumentCaptor} for {@code org.mockito.ArgumentCaptor<String>}.
+     * <p>
+     * Unlike {@link PsiJavaCodeReferenceElement#getQualifiedName()}, this doesn't resolve the reference.
+     */
+    private static String qualifiedTextOf(PsiJavaCodeReferenceElement reference) {
+        String name = reference.getReferenceName();
+        return reference.getQualifier() instanceof PsiJavaCodeReferenceElement qualifier
+            ? qualifiedTextOf(qualifier) + "." + name
+            : name;
+    }
+
+    private static String shortNameOf(String classFqn) {
+        return classFqn.substring(classFqn.lastIndexOf('.') + 1);
+    }
+
+    private static String packageOf(String classFqn) {
+        int lastDot = classFqn.lastIndexOf('.');
+        return lastDot > 0 ? classFqn.substring(0, lastDot) : "";
+    }
+
+    private DumbModeUtil() {
+        //Utility class
+    }
+}
@@ -9,6 +9,9 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiExpression;
 import com.intellij.psi.PsiNewExpression;
 import com.intellij.psi.PsiType;
+import com.intellij.psi.impl.JavaConstantExpressionEvaluator;
+import com.intellij.psi.util.PsiLiteralUtil;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -49,6 +52,53 @@ public final class EvaluationHelper {
         return expression instanceof PsiClassObjectAccessExpression ? ClassObjectAccessUtil.getOperandType(expression) : expression.getType();
     }
 
+    /**
+     * Returns the integer value of the argument expression, if it is an integer literal, e.g. {@code -1}, or while not in dumb mode,
+     * a compile-time constant expression, e.g. a reference to a {@code static final} field, or {@code 2 * TIMEOUT}.
+     * <p>
+     * Returns null if the value cannot be determined, or it doesn't fit into an {@code int}.
+     *
+     * @param expression the expression to evaluate
+     * @since 1.5.0
+     */
+    @Nullable
+    public static Integer evaluateIntegerValue(@NotNull PsiExpression expression) {
+        Integer value = PsiLiteralUtil.parseInteger(expression.getText());
+        if (value != null) return value;
+
+        Long constantValue = evaluateIntegralConstant(expression);
+        return constantValue != null && constantValue == constantValue.intValue() ? constantValue.intValue() : null;
+    }
+
+    /**
+     * Returns the long value of the argument expression, if it is an integer or long literal, e.g. {@code 1000L}, or while not in dumb mode,
+     * a compile-time constant expression, e.g. a reference to a {@code static final} field, or {@code 2 * TIMEOUT}.
+     * <p>
+     * Returns null if the value cannot be determined.
+     *
+     * @param expression the expression to evaluate
+     * @since 1.5.0
+     */
+    @Nullable
+    public static Long evaluateLongValue(@NotNull PsiExpression expression) {
+        Long value = PsiLiteralUtil.parseLong(expression.getText());
+        return value != null ? value : evaluateIntegralConstant(expression);
+    }
+
+    /**
+     * Folds the argument expression into its constant value, if it is a compile-time constant of an integral type.
+     * Since it requires resolving references, it is not evaluated in dumb mode.
+     */
+    @Nullable
+    private static Long evaluateIntegralConstant(PsiExpression expression) {
+        if (DumbModeUtil.isDumb(expression)) return null;
+
+        var constant = JavaConstantExpressionEvaluator.computeConstantExpression(expression, false);
+        return constant instanceof Long || constant instanceof Integer || constant instanceof Short || constant instanceof Byte
+            ? ((Number) constant).longValue()
+            : null;
+    }
+
     private EvaluationHelper() {
         //Utility class
     }
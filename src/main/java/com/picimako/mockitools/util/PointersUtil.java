@@ -8,6 +8,7 @@ import com.intellij.psi.SmartPsiElementPointer;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Utility for {@link SmartPsiElementPointer}s.
@@ -23,6 +24,13 @@ public final class PointersUtil {
         return SmartPointerManager.getInstance(element.getProject()).createSmartPsiElementPointer(element, element.getContainingFile());
     }
 
+    /**
+     * Returns the elements the argument pointers point to, omitting the ones that are no longer valid.
+     */
+    public static <T extends PsiElement> List<T> dereference(List<SmartPsiElementPointer<T>> pointers) {
+        return pointers.stream().map(SmartPsiElementPointer::getElement).filter(Objects::nonNull).toList();
+    }
+
     private PointersUtil() {
         //Utility class
     }
@@ -0,0 +1,61 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.util;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds library classes resolved in advance, before a write action, so that resolving them via {@code JavaPsiFacade}
+ * doesn't happen while holding the write lock.
+ * <p>
+ * Classes that were not resolved in advance are resolved on demand.
+ *
+ * @since 1.5.0
+ */
+public final class PreResolvedClasses {
+    private final Project project;
+    private final Map<String, PsiClass> classes = new HashMap<>();
+
+    private PreResolvedClasses(Project project) {
+        this.project = project;
+    }
+
+    /**
+     * Resolves the classes with the argument fully qualified names in the libraries of {@code project}.
+     * <p>
+     * It must be called in a read action.
+     */
+    public static PreResolvedClasses resolve(@NotNull Project project, String... fqns) {
+        var resolvedClasses = new PreResolvedClasses(project);
+        for (String fqn : fqns) {
+            var psiClass = PsiClassUtil.findLibraryClass(fqn, project);
+            if (psiClass != null) resolvedClasses.classes.put(fqn, psiClass);
+        }
+        return resolvedClasses;
+    }
+
+    @Nullable
+    public PsiClass get(String fqn) {
+        var psiClass = classes.get(fqn);
+        if (psiClass == null || !psiClass.isValid()) {
+            psiClass = PsiClassUtil.findLibraryClass(fqn, project);
+            if (psiClass != null) classes.put(fqn, psiClass);
+        }
+        return psiClass;
+    }
+
+    /**
+     * Imports the class with the argument fully qualified name in the context of {@code context}, and commits the document.
+     */
+    public void importClassAndCommit(String fqn, PsiElement context, Document document) {
+        PsiClassUtil.importClassAndCommit(get(fqn), context, document);
+    }
+}
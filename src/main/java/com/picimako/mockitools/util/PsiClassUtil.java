@@ -18,6 +18,7 @@ import com.intellij.refactoring.introduceField.ElementToWorkOn;
 import com.intellij.util.SmartList;
 import com.siyeh.ig.psiutils.ImportUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Utility for handling PsiClasses.
@@ -47,12 +48,28 @@ public final class PsiClassUtil {
     }
 
     /**
-     * Imports the class the stubbing call chain starts with: either {@code org.mockito.Mockito} or {@code org.mockito.BDDMockito}.
+     * Returns the class with the argument fully qualified name from the libraries of the project, or null if it is not found.
+     *
+     * @since 1.5.0
      */
-    public static void importClassAndCommit(String fqn, Project project, PsiElement context, Document document) {
-        PsiClass mockitoClass = JavaPsiFacade.getInstance(project).findClass(fqn, ProjectScope.getLibrariesScope(project));
-        if (mockitoClass != null) {
-            var documentManager = PsiDocumentManager.getInstance(project);
+    @Nullable
+    public static PsiClass findLibraryClass(String fqn, Project project) {
+        return JavaPsiFacade.getInstance(project).findClass(fqn, ProjectScope.getLibrariesScope(project));
+    }
+
+    /**
+     * Imports the argument, already resolved, class in the context of {@code context}, e.g. the class the stubbing call chain
+     * starts with: either {@code org.mockito.Mockito} or {@code org.mockito.BDDMockito}.
+     * <p>
+     * Nothing is imported if the class has been invalidated since it was resolved.
+     *
+     * @see PreResolvedClasses
+     * @since 1.5.0
+     */
+    public static void importClassAndCommit(@Nullable PsiClass mockitoClass, PsiElement context, Document document) {
+        if (mockitoClass != null && mockitoClass.isValid()) {
+            var documentManager = PsiDocumentManager.getInstance(context.getProject());
+            documentManager.commitDocument(document);
             ImportUtils.addImportIfNeeded(mockitoClass, context);
             documentManager.commitDocument(document);
             documentManager.doPostponedOperationsAndUnblockDocument(document);
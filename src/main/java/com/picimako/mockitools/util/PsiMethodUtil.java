@@ -5,6 +5,7 @@ package com.picimako.mockitools.util;
 import static com.intellij.openapi.application.ReadAction.compute;
 import static com.siyeh.ig.psiutils.MethodCallUtils.getMethodName;
 
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiExpression;
@@ -32,21 +33,31 @@ public final class PsiMethodUtil {
      * Returns whether the argument method call has any argument.
      */
     public static boolean hasArgument(@NotNull PsiMethodCallExpression methodCall) {
-        return compute(() -> methodCall.getArgumentList() != null && methodCall.getArgumentList().getExpressionCount() > 0);
+        return argumentCountOf(methodCall) > 0;
     }
 
     /**
      * Returns whether the argument method call has only one argument.
      */
     public static boolean hasOneArgument(@NotNull PsiMethodCallExpression methodCall) {
-        return compute(() -> methodCall.getArgumentList() != null && methodCall.getArgumentList().getExpressionCount() == 1);
+        return argumentCountOf(methodCall) == 1;
     }
 
     /**
      * Returns whether the argument method call has 2 arguments.
      */
     public static boolean hasTwoArguments(@NotNull PsiMethodCallExpression methodCall) {
-        return compute(() -> methodCall.getArgumentList() != null && methodCall.getArgumentList().getExpressionCount() == 2);
+        return argumentCountOf(methodCall) == 2;
+    }
+
+    /**
+     * Returns the number of arguments of the argument method call, without materializing the arguments.
+     * If the caller already holds read access, no read action is started.
+     */
+    private static int argumentCountOf(@NotNull PsiMethodCallExpression methodCall) {
+        return ApplicationManager.getApplication().isReadAccessAllowed()
+            ? methodCall.getArgumentList().getExpressionCount()
+            : compute(() -> methodCall.getArgumentList().getExpressionCount());
     }
 
     /**
@@ -119,15 +130,34 @@ public final class PsiMethodUtil {
      * Gets the first argument of the provided method call, or null if there is no argument specified.
      */
     public static PsiExpression getFirstArgument(@NotNull PsiMethodCallExpression methodCall) {
-        var arguments = getArguments(methodCall);
-        return arguments.length > 0 ? arguments[0] : null;
+        return ApplicationManager.getApplication().isReadAccessAllowed()
+            ? getFirstArgumentInReadAction(methodCall)
+            : compute(() -> getFirstArgumentInReadAction(methodCall));
+    }
+
+    /**
+     * Same as {@link #getFirstArgument(PsiMethodCallExpression)}, but it assumes that the caller holds read access,
+     * and it doesn't materialize the array of all arguments.
+     *
+     * @since 1.5.0
+     */
+    @Nullable
+    public static PsiExpression getFirstArgumentInReadAction(@NotNull PsiMethodCallExpression methodCall) {
+        return PsiTreeUtil.getChildOfType(methodCall.getArgumentList(), PsiExpression.class);
     }
 
     /**
      * Gets the 2nd argument of the provided method call, given that the argument list exists and is not null.
      */
     public static PsiExpression get2ndArgument(@NotNull PsiMethodCallExpression methodCall) {
-        return getArguments(methodCall)[1];
+        return ApplicationManager.getApplication().isReadAccessAllowed()
+            ? get2ndArgumentInReadAction(methodCall)
+            : compute(() -> get2ndArgumentInReadAction(methodCall));
+    }
+
+    private static PsiExpression get2ndArgumentInReadAction(@NotNull PsiMethodCallExpression methodCall) {
+        var firstArgument = getFirstArgumentInReadAction(methodCall);
+        return firstArgument != null ? PsiTreeUtil.getNextSiblingOfType(firstArgument, PsiExpression.class) : null;
     }
 
     /**
@@ -219,15 +249,14 @@ public final class PsiMethodUtil {
      * Thus, the calls will be in a reverse order compared to the order they are actually called.
      */
     public static List<PsiMethodCallExpression> collectCallsInChainFromLast(@NotNull PsiExpression lastCallInChain) {
-        var calls = new SmartList<PsiElement>(lastCallInChain);
+        var calls = new SmartList<PsiMethodCallExpression>((PsiMethodCallExpression) lastCallInChain);
         PsiElement current = lastCallInChain;
-        while (current.getFirstChild() instanceof PsiReferenceExpression previousCallRef) {
-            if (previousCallRef.getFirstChild() instanceof PsiMethodCallExpression previousCall) {
-                calls.add(previousCall);
-                current = previousCall;
-            } else break;
+        while (current.getFirstChild() instanceof PsiReferenceExpression previousCallRef
+            && previousCallRef.getFirstChild() instanceof PsiMethodCallExpression previousCall) {
+            calls.add(previousCall);
+            current = previousCall;
         }
-        return calls.stream().map(PsiMethodCallExpression.class::cast).toList();
+        return calls;
     }
 
     public static List<PsiMethodCallExpression> collectCallsInChainFromFirst(PsiExpression expression, boolean includeMySelf) {
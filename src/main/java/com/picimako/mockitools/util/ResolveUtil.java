@@ -0,0 +1,56 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.util;
+
+import com.intellij.psi.PsiCall;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiReference;
+import com.picimako.mockitools.diagnostics.InspectionDiagnostics;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Resolves references, and records the resolution for the inspection currently running on this thread, if diagnostics is enabled.
+ * <p>
+ * Inspections are expected to resolve via these methods, so that their resolves show up in the diagnostics.
+ *
+ * @since 1.5.0
+ */
+public final class ResolveUtil {
+
+    /**
+     * Resolves the method called by the argument call.
+     */
+    @Nullable
+    public static PsiMethod resolveMethod(@Nullable PsiCall call) {
+        if (call == null) return null;
+        InspectionDiagnostics.recordResolve();
+        return call.resolveMethod();
+    }
+
+    /**
+     * Resolves the argument reference, e.g. a {@link com.intellij.psi.PsiReferenceExpression}.
+     */
+    @Nullable
+    public static PsiElement resolve(@Nullable PsiReference reference) {
+        if (reference == null) return null;
+        InspectionDiagnostics.recordResolve();
+        return reference.resolve();
+    }
+
+    /**
+     * Resolves the class of the argument class type.
+     */
+    @Nullable
+    public static PsiClass resolveClass(@Nullable PsiClassType type) {
+        if (type == null) return null;
+        InspectionDiagnostics.recordResolve();
+        return type.resolve();
+    }
+
+    private ResolveUtil() {
+        //Utility class
+    }
+}
@@ -5,12 +5,20 @@ package com.picimako.mockitools.util;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiMethod;
 import com.siyeh.ig.psiutils.TestUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
 
 /**
  * Utility for unit tests.
  */
 public final class UnitTestPsiUtil {
+    public static final Set<String> TEST_ANNOTATIONS = Set.of("org.junit.Test", "org.junit.jupiter.api.Test", "org.testng.annotations.Test");
+    private static final Set<String> JUNIT5_TEST_TEMPLATE_ANNOTATIONS = Set.of(
+        "org.junit.jupiter.params.ParameterizedTest", "org.junit.jupiter.api.RepeatedTest",
+        "org.junit.jupiter.api.TestFactory", "org.junit.jupiter.api.TestTemplate");
 
     /**
      * Validates whether the argument file is within test sources.
@@ -27,6 +35,23 @@ public final class UnitTestPsiUtil {
         return ApplicationManager.getApplication().isUnitTestMode() || TestUtils.isInTestSourceContent(file);
     }
 
+    /**
+     * Returns whether the argument method is a JUnit 4, JUnit 5 or TestNG test method, including JUnit 5 parameterized,
+     * repeated and dynamic tests, and other test templates.
+     *
+     * @param method the method to check
+     * @since 1.5.0
+     */
+    public static boolean isTestMethod(@NotNull PsiMethod method) {
+        for (String annotation : TEST_ANNOTATIONS) {
+            if (method.hasAnnotation(annotation)) return true;
+        }
+        for (String annotation : JUNIT5_TEST_TEMPLATE_ANNOTATIONS) {
+            if (method.hasAnnotation(annotation)) return true;
+        }
+        return false;
+    }
+
     private UnitTestPsiUtil() {
         //Utility class
     }
@@ -0,0 +1,14 @@
+class AsyncServiceTest {/*<# tests wait up to 7 s in total #>*/
+    @Test
+    void shouldNotifyListener() {/*<# waits up to 2 s #>*/
+        service.process();
+        verify(listener, timeout(2000)).onProcessed();
+    }
+
+    @Test
+    void shouldRetry() throws InterruptedException {/*<# waits up to 5 s #>*/
+        service.process();
+        Thread.sleep(4000);
+        verify(client, after(1000).times(2)).send();
+    }
+}
@@ -0,0 +1,63 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.codeInspection.ex.InspectionProfileImpl;
+import com.intellij.codeInspection.ex.LocalInspectionToolWrapper;
+import com.intellij.profile.codeInspection.InspectionProfileManager;
+import com.picimako.mockitools.inspection.stubbing.EnforceConventionInspection;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Integration test for {@link EnforcedConventionCache}.
+ */
+class EnforcedConventionCacheTest extends MockitoolsTestBase {
+
+    @Test
+    void testReturnsNullForDisabledInspection() {
+        var file = getFixture().configureByText("CacheTest.java", "class CacheTest {}");
+
+        assertThat(EnforcedConventionCache.getInstance(getFixture().getProject()).getEnforcedConvention(file)).isNull();
+    }
+
+    @Test
+    void testRecalculatesConventionOnProfileChange() {
+        var file = getFixture().configureByText("CacheTest.java", "class CacheTest {}");
+        var cache = EnforcedConventionCache.getInstance(getFixture().getProject());
+        var profile = InspectionProfileManager.getInstance(getFixture().getProject()).getCurrentProfile();
+        var inspection = new EnforceConventionInspection();
+        profile.addTool(getFixture().getProject(), new LocalInspectionToolWrapper(inspection), null);
+        profile.enableTool(EnforceConventionUtil.ENFORCE_CONVENTION_INSPECTION_SHORT_NAME, getFixture().getProject());
+        fireProfileChanged(profile);
+
+        assertThat(cache.getEnforcedConvention(file)).isEqualTo(Convention.MOCKITO);
+        long modificationCount = cache.getModificationCount();
+
+        inspection.conventionToEnforce = Convention.BDD_MOCKITO;
+        fireProfileChanged(profile);
+
+        assertThat(cache.getModificationCount()).isGreaterThan(modificationCount);
+        assertThat(cache.getEnforcedConvention(file)).isEqualTo(Convention.BDD_MOCKITO);
+    }
+
+    @Test
+    void testRecalculatesConventionWhenToolIsAddedWithoutProfileChangeEvent() {
+        var file = getFixture().configureByText("CacheTest.java", "class CacheTest {}");
+        var cache = EnforcedConventionCache.getInstance(getFixture().getProject());
+        assertThat(cache.getEnforcedConvention(file)).isNull();
+
+        var profile = InspectionProfileManager.getInstance(getFixture().getProject()).getCurrentProfile();
+        var inspection = new EnforceConventionInspection();
+        inspection.conventionToEnforce = Convention.BDD_MOCKITO;
+        profile.addTool(getFixture().getProject(), new LocalInspectionToolWrapper(inspection), null);
+        profile.enableTool(EnforceConventionUtil.ENFORCE_CONVENTION_INSPECTION_SHORT_NAME, getFixture().getProject());
+
+        assertThat(cache.getEnforcedConvention(file)).isEqualTo(Convention.BDD_MOCKITO);
+    }
+
+    private static void fireProfileChanged(InspectionProfileImpl profile) {
+        profile.getProfileManager().fireProfileChanged(profile);
+    }
+}
@@ -0,0 +1,21 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.openapi.application.ReadAction;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Integration test for {@link MockitoWarmupActivity}.
+ */
+class MockitoWarmupActivityTest extends MockitoolsTestBase {
+
+    @Test
+    void testResolvesMockitoClassesInModules() {
+        int resolvedClassCount = ReadAction.compute(() -> MockitoWarmupActivity.warmUp(getFixture().getProject()));
+
+        assertThat(resolvedClassCount).isEqualTo(5);
+    }
+}
@@ -13,7 +13,10 @@ public enum ThirdPartyLibrary {
     MOCKITO_V3("org.mockito:mockito-core:3.12.4"),
     MOCKITO_V4("org.mockito:mockito-core:4.11.0"),
     MOCKITO_V5("org.mockito:mockito-core:5.14.0"),
-    JUNIT_4("junit:junit:4.13.2");
+    MOCKITO_JUNIT_JUPITER_V4("org.mockito:mockito-junit-jupiter:4.11.0"),
+    JUNIT_4("junit:junit:4.13.2"),
+    JUNIT_5("org.junit.jupiter:junit-jupiter-api:5.10.3"),
+    AWAITILITY("org.awaitility:awaitility:4.2.2");
 
     private final String mavenCoordinate;
 }
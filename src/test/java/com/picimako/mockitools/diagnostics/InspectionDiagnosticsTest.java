@@ -0,0 +1,113 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.intellij.codeInspection.LocalInspectionEP;
+import com.intellij.openapi.util.registry.Registry;
+import com.picimako.mockitools.MockitoolsTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Integration test for {@link InspectionDiagnostics}.
+ */
+class InspectionDiagnosticsTest extends MockitoolsTestBase {
+
+    @BeforeEach
+    void setUp() {
+        Registry.get(InspectionDiagnostics.ENABLED_REGISTRY_KEY).setValue(true, getFixture().getTestRootDisposable());
+        InspectionDiagnostics.getInstance().reset();
+    }
+
+    @Test
+    void testRecordsInspectionPasses() {
+        getFixture().configureByText("DiagnosticsTest.java", """
+            import org.mockito.Mockito;
+
+            class DiagnosticsTest {
+                void testMethod() {
+                    Object spy = Mockito.spy(Mockito.mock(Object.class));
+                }
+            }""");
+        getFixture().enableInspections(getInspection("SpyOnMock"));
+        getFixture().doHighlighting();
+
+        assertThat(InspectionDiagnostics.getInstance().getSnapshots())
+            .filteredOn(snapshot -> snapshot.inspection().equals("SpyOnMock"))
+            .singleElement()
+            .satisfies(snapshot -> {
+                assertThat(snapshot.passes()).isPositive();
+                assertThat(snapshot.visitedCalls()).isPositive();
+                assertThat(snapshot.matcherCalls()).isPositive();
+                assertThat(snapshot.problems()).isPositive();
+            });
+    }
+
+    @Test
+    void testRecordsResolvesOfInspectionsWithOwnVisitor() {
+        getFixture().configureByText("DiagnosticsTest.java", """
+            import org.mockito.NotExtensible;
+
+            class DiagnosticsTest {
+                @NotExtensible
+                interface Base {
+                }
+
+                interface Extending extends Base {
+                }
+            }""");
+        getFixture().enableInspections(getInspection("NotExtensibleClass"));
+        getFixture().doHighlighting();
+
+        assertThat(InspectionDiagnostics.getInstance().getSnapshots())
+            .filteredOn(snapshot -> snapshot.inspection().equals("NotExtensibleClass"))
+            .singleElement()
+            .satisfies(snapshot -> {
+                assertThat(snapshot.passes()).isPositive();
+                assertThat(snapshot.resolves()).isPositive();
+                assertThat(snapshot.problems()).isPositive();
+            });
+    }
+
+    @Test
+    void testRecordsNothingWhenDisabled() {
+        Registry.get(InspectionDiagnostics.ENABLED_REGISTRY_KEY).setValue(false);
+        getFixture().configureByText("DiagnosticsTest.java", """
+            import org.mockito.Mockito;
+
+            class DiagnosticsTest {
+                void testMethod() {
+                    Object spy = Mockito.spy(Mockito.mock(Object.class));
+                }
+            }""");
+        getFixture().enableInspections(getInspection("SpyOnMock"));
+        getFixture().doHighlighting();
+
+        assertThat(InspectionDiagnostics.getInstance().getSnapshots())
+            .allSatisfy(snapshot -> assertThat(snapshot.passes()).isZero());
+    }
+
+    @Test
+    void testRecordsPassLatencyInHistogram() {
+        var stats = new InspectionStats("SomeInspection");
+        stats.recordPass(7_000_000, 2);
+        stats.recordVisitedCall();
+        stats.recordMatcherCall();
+        stats.recordResolve();
+
+        assertThat(stats.snapshot().latencyHistogram()).containsExactly(0, 0, 1, 0, 0, 0, 0, 0);
+        assertThat(InspectionDiagnostics.bucketName(2)).isEqualTo("<10ms");
+        assertThat(InspectionDiagnostics.bucketName(7)).isEqualTo(">=1000ms");
+    }
+
+    private static InspectionProfileEntry getInspection(String shortName) {
+        return LocalInspectionEP.LOCAL_INSPECTION.getExtensionList().stream()
+            .filter(inspection -> shortName.equals(inspection.getShortName()))
+            .map(LocalInspectionEP::instantiateTool)
+            .findFirst()
+            .orElseThrow();
+    }
+}
@@ -0,0 +1,132 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inlayhint;
+
+import static com.intellij.openapi.application.ReadAction.compute;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.codeInsight.hints.declarative.EndOfLinePosition;
+import com.intellij.codeInsight.hints.declarative.InlayTreeSink;
+import com.intellij.codeInsight.hints.declarative.PresentationTreeBuilder;
+import com.intellij.codeInsight.hints.declarative.SharedBypassCollector;
+import com.intellij.psi.SyntaxTraverser;
+import com.picimako.mockitools.MockitoolsTestBase;
+import com.picimako.mockitools.ThirdPartyLibrary;
+import kotlin.Unit;
+import kotlin.jvm.functions.Function1;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Integration test for {@link WaitTimeInlayHintsProvider}.
+ */
+class WaitTimeInlayHintsProviderTest extends MockitoolsTestBase {
+
+    public WaitTimeInlayHintsProviderTest() {
+        super(ThirdPartyLibrary.MOCKITO_V4, ThirdPartyLibrary.JUNIT_5);
+    }
+
+    @Test
+    void testShowsWaitTimesOfTestMethodsAndClasses() {
+        getFixture().configureByText("WaitTimeTest.java",
+            """
+                import static org.mockito.Mockito.*;
+
+                import org.junit.jupiter.api.Nested;
+                import org.junit.jupiter.api.Test;
+
+                import java.util.List;
+
+                class WaitTimeTest {
+                    private List<String> mock = mock(List.class);
+
+                    @Test
+                    void verifiesWithTimeout() {
+                        verify(mock, timeout(1500)).clear();
+                    }
+
+                    @Test
+                    void doesntWait() {
+                        verify(mock).clear();
+                    }
+
+                    void notATest() throws InterruptedException {
+                        Thread.sleep(10_000);
+                    }
+
+                    @Nested
+                    class NestedTests {
+                        @Test
+                        void sleeps() throws InterruptedException {
+                            Thread.sleep(500);
+                        }
+                    }
+                }
+                """);
+
+        assertThat(collectHints()).containsExactly(
+            "7: tests wait up to 2 s in total",
+            "11: waits up to 1 s 500 ms",
+            "25: tests wait up to 500 ms in total",
+            "27: waits up to 500 ms");
+    }
+
+    @Test
+    void testShowsNoHintForClassWithoutWaits() {
+        getFixture().configureByText("WaitTimeTest.java",
+            """
+                import org.junit.jupiter.api.Test;
+
+                class WaitTimeTest {
+                    @Test
+                    void doesntWait() {
+                    }
+                }
+                """);
+
+        assertThat(collectHints()).isEmpty();
+    }
+
+    /**
+     * Runs the collector of the provider on all elements of the current file, and returns the collected hints
+     * in the format {@code <0-based line number>: <hint text>}.
+     */
+    private List<String> collectHints() {
+        var hints = new ArrayList<String>();
+        var sink = recordingSink(hints);
+        var collector = (SharedBypassCollector) new WaitTimeInlayHintsProvider().createCollector(getFixture().getFile(), getFixture().getEditor());
+        assertThat(collector).isNotNull();
+        compute(() -> {
+            for (var element : SyntaxTraverser.psiTraverser(getFixture().getFile())) {
+                collector.collectFromElement(element, sink);
+            }
+            return hints;
+        });
+        return hints;
+    }
+
+    /**
+     * Creates an {@link InlayTreeSink} that records the line and the text of each presentation added to it.
+     * <p>
+     * Proxies are used, so that only the parts of the sink and the presentation builder used by the provider have to be implemented.
+     */
+    @SuppressWarnings("unchecked")
+    private static InlayTreeSink recordingSink(List<String> hints) {
+        return (InlayTreeSink) Proxy.newProxyInstance(InlayTreeSink.class.getClassLoader(), new Class<?>[]{InlayTreeSink.class}, (proxy, method, args) -> {
+            if ("addPresentation".equals(method.getName())) {
+                var text = new StringBuilder();
+                var builder = (PresentationTreeBuilder) Proxy.newProxyInstance(PresentationTreeBuilder.class.getClassLoader(),
+                    new Class<?>[]{PresentationTreeBuilder.class}, (builderProxy, builderMethod, builderArgs) -> {
+                        if ("text".equals(builderMethod.getName())) text.append(builderArgs[0]);
+                        return null;
+                    });
+                ((Function1<PresentationTreeBuilder, Unit>) args[args.length - 1]).invoke(builder);
+                hints.add(((EndOfLinePosition) args[0]).getLine() + ": " + text);
+            }
+            return null;
+        });
+    }
+}
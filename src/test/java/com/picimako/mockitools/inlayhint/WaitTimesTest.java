@@ -0,0 +1,128 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inlayhint;
+
+import static com.intellij.openapi.application.ReadAction.compute;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import com.picimako.mockitools.MockitoolsTestBase;
+import com.picimako.mockitools.ThirdPartyLibrary;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Functional test for {@link WaitTimes}.
+ */
+class WaitTimesTest extends MockitoolsTestBase {
+
+    public WaitTimesTest() {
+        super(ThirdPartyLibrary.MOCKITO_V4, ThirdPartyLibrary.JUNIT_5, ThirdPartyLibrary.AWAITILITY);
+    }
+
+    @Test
+    void testCalculatesWaitTimesOfTestMethodsAndClass() {
+        var testClass = configureTestClass(
+            """
+                import static org.mockito.Mockito.*;
+
+                import org.awaitility.Awaitility;
+                import org.junit.jupiter.api.Test;
+
+                import java.time.Duration;
+                import java.util.List;
+                import java.util.concurrent.TimeUnit;
+
+                class WaitTimeTest {
+                    private static final long TIMEOUT = 1500;
+                    private List<String> mock = mock(List.class);
+
+                    @Test
+                    void mockitoWaits() {
+                        verify(mock, timeout(TIMEOUT)).clear();
+                        verify(mock, after(2 * TIMEOUT).times(2)).clear();
+                    }
+
+                    @Test
+                    void sleeps() throws InterruptedException {
+                        Thread.sleep(100);
+                        Thread.sleep(Duration.ofSeconds(1));
+                        TimeUnit.SECONDS.sleep(2);
+                    }
+
+                    @Test
+                    void awaitilityWaits() {
+                        Awaitility.await().atMost(3, TimeUnit.SECONDS).until(() -> true);
+                        Awaitility.await().timeout(Duration.ofMillis(500)).until(() -> true);
+                    }
+
+                    @Test
+                    void nonConstantWaits() throws InterruptedException {
+                        long timeout = System.currentTimeMillis();
+                        verify(mock, timeout(timeout)).clear();
+                        Thread.sleep(timeout);
+                    }
+
+                    void notATest() throws InterruptedException {
+                        Thread.sleep(10_000);
+                    }
+                }
+                """);
+
+        assertThat(waitTimeOfMethod(testClass, "mockitoWaits")).isEqualTo(4500);
+        assertThat(waitTimeOfMethod(testClass, "sleeps")).isEqualTo(3100);
+        assertThat(waitTimeOfMethod(testClass, "awaitilityWaits")).isEqualTo(3500);
+        assertThat(waitTimeOfMethod(testClass, "nonConstantWaits")).isZero();
+        assertThat(compute(() -> WaitTimes.waitTimeOfTestsIn(testClass))).isEqualTo(11100);
+    }
+
+    @Test
+    void testIncludesWaitTimesOfNestedClassesInClassTotal() {
+        var testClass = configureTestClass(
+            """
+                import org.junit.jupiter.api.Nested;
+                import org.junit.jupiter.api.Test;
+
+                class WaitTimeTest {
+                    @Test
+                    void sleeps() throws InterruptedException {
+                        Thread.sleep(100);
+                    }
+
+                    @Nested
+                    class NestedTests {
+                        @Test
+                        void sleeps() throws InterruptedException {
+                            Thread.sleep(200);
+                        }
+
+                        @Nested
+                        class DeeplyNestedTests {
+                            @Test
+                            void sleeps() throws InterruptedException {
+                                Thread.sleep(400);
+                            }
+                        }
+                    }
+
+                    static class NotNestedTests {
+                        @Test
+                        void sleeps() throws InterruptedException {
+                            Thread.sleep(800);
+                        }
+                    }
+                }
+                """);
+
+        assertThat(compute(() -> WaitTimes.waitTimeOfTestsIn(testClass))).isEqualTo(700);
+    }
+
+    private PsiClass configureTestClass(String text) {
+        var file = (PsiJavaFile) getFixture().configureByText("WaitTimeTest.java", text);
+        return compute(() -> file.getClasses()[0]);
+    }
+
+    private static long waitTimeOfMethod(PsiClass testClass, String methodName) {
+        return compute(() -> WaitTimes.waitTimeOf(testClass.findMethodsByName(methodName, false)[0]));
+    }
+}
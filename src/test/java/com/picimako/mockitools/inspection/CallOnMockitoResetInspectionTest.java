@@ -19,4 +19,33 @@ class CallOnMockitoResetInspectionTest extends MockitoolsInspectionTestBase.Mock
     void testCodeSmellsTest() {
         doJavaTest();
     }
+
+    @Test
+    void testCodeSmellsInDumbMode() {
+        doJavaTestInDumbMode("CodeSmellsDumbModeTest.java",
+            """
+                import static org.mockito.Mockito.reset;
+
+                import org.mockito.Mockito;
+                import org.mockito.MockedStatic;
+
+                public class CodeSmellsDumbModeTest {
+                    public void testMethod() {
+                        Object mock = Mockito.mock(Object.class);
+                        Mockito.<warning descr="Mockito.reset() is called. It is recommended to create new mocks instead.">reset</warning>(mock);
+                        org.mockito.Mockito.<warning descr="Mockito.reset() is called. It is recommended to create new mocks instead.">reset</warning>(mock);
+                        <warning descr="Mockito.reset() is called. It is recommended to create new mocks instead.">reset</warning>(mock);
+                        Util.reset(mock);
+
+                        try (MockedStatic<Util> util = Mockito.mockStatic(Util.class)) {
+                            util.reset();
+                        }
+                    }
+
+                    private static final class Util {
+                        static void reset(Object object) {
+                        }
+                    }
+                }""");
+    }
 }
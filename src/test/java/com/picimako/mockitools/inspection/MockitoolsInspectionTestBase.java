@@ -2,11 +2,20 @@
 
 package com.picimako.mockitools.inspection;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.codeInspection.BatchQuickFix;
+import com.intellij.codeInspection.CommonProblemDescriptor;
+import com.intellij.codeInspection.InspectionManager;
 import com.intellij.codeInspection.InspectionProfileEntry;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.testFramework.DumbModeTestUtils;
 import com.intellij.testFramework.TestDataPath;
 import com.picimako.mockitools.MockitoolsTestBase;
 import com.picimako.mockitools.ThirdPartyLibrary;
 
+import java.util.ArrayList;
+
 /**
  * Base test class for Mockitools inspection unit testing.
  * <p>
@@ -66,6 +75,15 @@ public abstract class MockitoolsInspectionTestBase extends MockitoolsTestBase {
         getFixture().testHighlighting(true, false, false);
     }
 
+    /**
+     * Tests highlighting for the pre-configured inspection against the argument text, while the project is in dumb mode.
+     */
+    protected void doJavaTestInDumbMode(String filename, String text) {
+        getFixture().configureByText(filename, text);
+        getFixture().enableInspections(getInspection());
+        DumbModeTestUtils.runInDumbModeSynchronously(getFixture().getProject(), () -> getFixture().testHighlighting(true, false, false));
+    }
+
     /**
      * Tests highlighting and quick fix for the pre-configured inspection, applying the argument quick fix against the
      * java file matching the test method's name without the 'test' prefix (e.g. SomeTest.java) as the before state,
@@ -94,6 +112,38 @@ public abstract class MockitoolsInspectionTestBase extends MockitoolsTestBase {
         getFixture().checkResult(afterText);
     }
     
+    /**
+     * Tests the argument quick fix in batch mode, applying it on all problems reported by the pre-configured inspection
+     * in the argument beforeText at once, and checks the after state against the argument afterText.
+     *
+     * @param quickFixName the name/text of the quick fix
+     * @param filename     the filename in which the before text will be configured
+     * @param beforeText   the code before applying the quick fix
+     * @param afterText    the code after applying the quick fix
+     */
+    protected void doBatchQuickFixTest(String quickFixName, String filename, String beforeText, String afterText) {
+        var file = getFixture().configureByText(filename, beforeText);
+        var project = getFixture().getProject();
+        var descriptors = ((LocalInspectionTool) getInspection()).processFile(file, InspectionManager.getInstance(project));
+
+        BatchQuickFix quickFix = null;
+        for (var descriptor : descriptors) {
+            var fixes = descriptor.getFixes();
+            if (fixes == null) continue;
+            for (var fix : fixes) {
+                if (fix instanceof BatchQuickFix batchFix && quickFixName.equals(fix.getName())) {
+                    quickFix = batchFix;
+                    break;
+                }
+            }
+            if (quickFix != null) break;
+        }
+        assertThat(quickFix).as("Batch quick fix with name '%s'", quickFixName).isNotNull();
+
+        quickFix.applyFix(project, descriptors.toArray(CommonProblemDescriptor[]::new), new ArrayList<>(), null);
+        getFixture().checkResult(afterText);
+    }
+
     private void launchQuickFix(String quickFixName) {
         getFixture().enableInspections(getInspection());
         getFixture().doHighlighting();
@@ -0,0 +1,110 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.intellij.codeInspection.LocalInspectionEP;
+import com.intellij.openapi.util.registry.Registry;
+import com.picimako.mockitools.MockitoolsTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Integration test for {@link ReducedAnalysis}.
+ */
+class ReducedAnalysisTest extends MockitoolsTestBase {
+
+    @Test
+    void testIsActiveForFilesAboveLineThreshold() {
+        setRegistryValue(ReducedAnalysis.LINE_THRESHOLD_REGISTRY_KEY, 3);
+        var file = getFixture().configureByText("ReducedAnalysisTest.java", """
+            import org.mockito.Mockito;
+
+            class ReducedAnalysisTest {
+                void testMethod() {
+                    Object spy = Mockito.spy(Object.class);
+                }
+            }""");
+
+        assertThat(ReducedAnalysis.isActiveFor(file)).isTrue();
+
+        setRegistryValue(ReducedAnalysis.LINE_THRESHOLD_REGISTRY_KEY, 0);
+        assertThat(ReducedAnalysis.isActiveFor(file)).isFalse();
+    }
+
+    @Test
+    void testIsActiveWhenCallBudgetIsExceeded() {
+        setRegistryValue(ReducedAnalysis.LINE_THRESHOLD_REGISTRY_KEY, 0);
+        setRegistryValue(ReducedAnalysis.CALL_BUDGET_REGISTRY_KEY, 1);
+        var file = getFixture().configureByText("ReducedAnalysisTest.java", """
+            import org.mockito.Mockito;
+
+            class ReducedAnalysisTest {
+                void testMethod() {
+                    Object spy = Mockito.spy(Mockito.mock(Object.class));
+                }
+            }""");
+
+        assertThat(ReducedAnalysis.isActiveFor(file)).isFalse();
+
+        getFixture().enableInspections(getInspection("SpyOnMock"));
+        getFixture().doHighlighting();
+
+        assertThat(ReducedAnalysis.isActiveFor(file)).isTrue();
+    }
+
+    @Test
+    void testIsNotActiveAfterModificationWhenCallBudgetIsNotExceededAnymore() {
+        setRegistryValue(ReducedAnalysis.LINE_THRESHOLD_REGISTRY_KEY, 0);
+        setRegistryValue(ReducedAnalysis.CALL_BUDGET_REGISTRY_KEY, 1);
+        var file = getFixture().configureByText("ReducedAnalysisTest.java", """
+            import org.mockito.Mockito;
+
+            class ReducedAnalysisTest {
+                void testMethod() {
+                    Object spy = Mockito.spy(Mockito.mock(Object.class));<caret>
+                }
+            }""");
+        getFixture().enableInspections(getInspection("SpyOnMock"));
+        getFixture().doHighlighting();
+        assertThat(ReducedAnalysis.isActiveFor(file)).isTrue();
+
+        setRegistryValue(ReducedAnalysis.CALL_BUDGET_REGISTRY_KEY, 10);
+        getFixture().type(" ");
+        getFixture().doHighlighting();
+
+        assertThat(ReducedAnalysis.isActiveFor(file)).isFalse();
+    }
+
+    @Test
+    void testSkipsInOrderReferenceSearchInReducedMode() {
+        setRegistryValue(ReducedAnalysis.LINE_THRESHOLD_REGISTRY_KEY, 3);
+        getFixture().configureByText("ReducedAnalysisTest.java", """
+            import org.mockito.InOrder;
+            import org.mockito.Mockito;
+
+            class ReducedAnalysisTest {
+                void testMethod() {
+                    Object mock = Mockito.mock(Object.class);
+                    Object unusedMock = Mockito.mock(Object.class);
+                    InOrder inOrder = Mockito.inOrder(mock, unusedMock);
+                    inOrder.verify(mock).toString();
+                }
+            }""");
+        getFixture().enableInspections(getInspection("UnusedOrUnconfiguredMockInInOrderVerification"));
+        getFixture().testHighlighting(true, false, false);
+    }
+
+    private void setRegistryValue(String key, int value) {
+        Registry.get(key).setValue(value, getFixture().getTestRootDisposable());
+    }
+
+    private static InspectionProfileEntry getInspection(String shortName) {
+        return LocalInspectionEP.LOCAL_INSPECTION.getExtensionList().stream()
+            .filter(inspection -> shortName.equals(inspection.getShortName()))
+            .map(LocalInspectionEP::instantiateTool)
+            .findFirst()
+            .orElseThrow();
+    }
+}
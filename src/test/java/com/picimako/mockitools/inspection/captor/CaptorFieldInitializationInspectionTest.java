@@ -21,6 +21,25 @@ class CaptorFieldInitializationInspectionTest extends MockitoolsInspectionTestBa
         doJavaTest();
     }
 
+    @Test
+    void testCaptorFieldInitInDumbMode() {
+        doJavaTestInDumbMode("CaptorFieldInitDumbModeTest.java",
+            """
+                import org.mockito.*;
+
+                public class CaptorFieldInitDumbModeTest {
+                    @Captor
+                    public ArgumentCaptor<String> stringCaptorNoInit;
+                    @Captor
+                    public String stringInit = "";
+                    public ArgumentCaptor<String> notAnnotatedInit = ArgumentCaptor.forClass(String.class);
+                    @Captor
+                    public ArgumentCaptor<String> stringCaptorInit = <warning descr="Explicit initialization of a @Captor field can be omitted.">ArgumentCaptor.forClass(String.class)</warning>;
+                    @org.mockito.Captor
+                    public org.mockito.ArgumentCaptor<String> qualifiedCaptorInit = <warning descr="Explicit initialization of a @Captor field can be omitted.">ArgumentCaptor.forClass(String.class)</warning>;
+                }""");
+    }
+
     @Test
     void testCaptorFieldInitReplaceTest() {
         doQuickFixTest("Remove initializer");
@@ -475,6 +475,19 @@ class SimplifyConsecutiveReturnCallsInspectionTest extends MockitoolsInspectionT
         doQuickFixTest("Merge thenReturn calls", "QuickFix.java", createMockedStaticClassText(before), createMockedStaticClassText(after));
     }
 
+    @Test
+    void testReplacesWhenThenReturnsInBatchMode() {
+        doBatchQuickFixTest("Merge thenReturn calls", "QuickFix.java",
+            createClassText("""
+                       Mockito.when(mockObject.didSomething()).thenReturn(1).thenReturn(2);
+                       Mockito.when(mockObject.didSomething()).thenReturn(3).thenReturn(4).thenReturn(5);\
+                """),
+            createClassText("""
+                       Mockito.when(mockObject.didSomething()).thenReturn(1, 2);
+                       Mockito.when(mockObject.didSomething()).thenReturn(3, 4, 5);\
+                """));
+    }
+
     private String createClassText(String beforeOrAfter) {
         return "import org.mockito.Mockito;\n" +
                "import org.mockito.BDDMockito;\n" +
@@ -553,6 +553,21 @@ class SimplifyConsecutiveThrowCallsInspectionTest extends MockitoolsInspectionTe
         doQuickFixTest("Merge calls, convert parameters to Throwables", "QuickFix.java", createClassText(before), createClassText(after));
     }
 
+    @Test
+    void testMixedToThrowablesCasesInBatchMode() {
+        doBatchQuickFixTest("Merge calls, convert parameters to Throwables", "QuickFix.java",
+            createClassText("""
+                       Mockito.when(mockObject.doSomething()).thenThrow(NoSuchMethodException.class).thenThrow(new IOException());
+                       Mockito.when(mockObject.doSomething()).thenThrow(IOException.class).thenThrow(new IllegalArgumentException());
+                       Mockito.when(mockObject.doSomething()).thenThrow(IOException.class).thenThrow(NoSuchMethodException.class);\
+                """),
+            createClassText("""
+                       Mockito.when(mockObject.doSomething()).thenThrow(new NoSuchMethodException(), new IOException());
+                       Mockito.when(mockObject.doSomething()).thenThrow(new IOException(), new IllegalArgumentException());
+                       Mockito.when(mockObject.doSomething()).thenThrow(IOException.class).thenThrow(NoSuchMethodException.class);\
+                """));
+    }
+
     @ParameterizedTest
     @MethodSource("mockedStaticWhenThenThrowsCases")
     void testReplacesMockedStaticWhenThenThrows(String before, String after) {
@@ -238,4 +238,41 @@ class UsageOfAnyMatchersInspectionAnyXTest extends MockitoolsInspectionTestBase.
                    }
                 }""");
     }
+
+    @Test
+    void testArgumentMatchersAnyIterableOfReplacedWithAnyIterableInBatchMode() {
+        doBatchQuickFixTest("Replace with ArgumentMatchers.anyIterable()", "UseAnyIterableInsteadOfAnyIterableOfTest.java",
+            """
+                import org.mockito.Mockito;
+                import org.mockito.ArgumentMatchers;
+
+                public class UseAnyIterableInsteadOfAnyIterableOfTest {
+                   public void testMethod() {
+                       MockObject mock = Mockito.mock(MockObject.class);
+                       Mockito.doReturn(10).when(mock).method(ArgumentMatchers.anyIterableOf(String.class));
+                       Mockito.doReturn(20).when(mock).method(ArgumentMatchers.anyIterableOf(String.class));
+                   }
+                   private static final class MockObject {
+                       public int method(Iterable<String> s) {
+                           return 0;
+                       }
+                   }
+                }""",
+            """
+                import org.mockito.Mockito;
+                import org.mockito.ArgumentMatchers;
+
+                public class UseAnyIterableInsteadOfAnyIterableOfTest {
+                   public void testMethod() {
+                       MockObject mock = Mockito.mock(MockObject.class);
+                       Mockito.doReturn(10).when(mock).method(ArgumentMatchers.anyIterable());
+                       Mockito.doReturn(20).when(mock).method(ArgumentMatchers.anyIterable());
+                   }
+                   private static final class MockObject {
+                       public int method(Iterable<String> s) {
+                           return 0;
+                       }
+                   }
+                }""");
+    }
 }
@@ -124,4 +124,27 @@ class UsageOfDeprecatedPluginClassesInspectionAnnotationEngineTest extends Mocki
                     }
                 }""");
     }
+
+    @Test
+    void testReplacesAnnotationEngineImportOnceInBatchMode() {
+        doBatchQuickFixTest("Replace with org.mockito.plugins.AnnotationEngine", "ReplaceAnnotationEngineTest.java",
+            """
+                import org.mockito.configuration.AnnotationEngine;
+
+                public class ReplaceAnnotationEngineTest {
+                    public void testMethod() {
+                        AnnotationEngine engine;
+                        AnnotationEngine otherEngine;
+                    }
+                }""",
+            """
+                import org.mockito.plugins.AnnotationEngine;
+
+                public class ReplaceAnnotationEngineTest {
+                    public void testMethod() {
+                        AnnotationEngine engine;
+                        AnnotationEngine otherEngine;
+                    }
+                }""");
+    }
 }
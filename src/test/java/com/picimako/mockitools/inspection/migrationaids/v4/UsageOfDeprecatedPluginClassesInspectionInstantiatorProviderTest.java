@@ -104,4 +104,25 @@ class UsageOfDeprecatedPluginClassesInspectionInstantiatorProviderTest extends M
                     }
                 }""");
     }
+
+    @Test
+    void testReplacesFullyQualifiedInstantiatorProvidersInBatchMode() {
+        doBatchQuickFixTest("Replace with InstantiatorProvider2", "ReplaceInstantiatorProviderTest.java",
+            """
+                public class ReplaceInstantiatorProviderTest {
+                    public void testMethod() {
+                        org.mockito.plugins.InstantiatorProvider provider;
+                        org.mockito.plugins.InstantiatorProvider otherProvider;
+                    }
+                }""",
+            """
+                import org.mockito.plugins.InstantiatorProvider2;
+
+                public class ReplaceInstantiatorProviderTest {
+                    public void testMethod() {
+                        InstantiatorProvider2 provider;
+                        InstantiatorProvider2 otherProvider;
+                    }
+                }""");
+    }
 }
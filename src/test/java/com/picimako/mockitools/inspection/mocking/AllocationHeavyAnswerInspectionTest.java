@@ -0,0 +1,141 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.picimako.mockitools.ThirdPartyLibrary;
+import com.picimako.mockitools.inspection.MockitoolsInspectionTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Functional test for {@link AllocationHeavyAnswerInspection}.
+ */
+class AllocationHeavyAnswerInspectionTest extends MockitoolsInspectionTestBase {
+
+    public AllocationHeavyAnswerInspectionTest() {
+        super(ThirdPartyLibrary.MOCKITO_V4, ThirdPartyLibrary.JUNIT_5);
+    }
+
+    @Override
+    protected InspectionProfileEntry getInspection() {
+        return new AllocationHeavyAnswerInspection();
+    }
+
+    @Test
+    void testAllocationHeavyAnswer() {
+        doJavaTest();
+    }
+
+    //Quick fix
+
+    @Test
+    void testGeneratesExplicitStubsForDeepStubs() {
+        doQuickFixTest("Generate explicit stubs for the used call chains", "GenerateStubsTest.java",
+            """
+                import org.mockito.Mockito;
+
+                class GenerateStubsTest {
+                    void test() {
+                        Order order = Mockito.mock(Order.class, Mockito.RETURNS_DEEP_<caret>STUBS);
+                        Mockito.when(order.getCustomer().getAddress().getCity()).thenReturn(null);
+                    }
+                }
+
+                interface Order {
+                    Customer getCustomer();
+                }
+
+                interface Customer {
+                    Address getAddress();
+                }
+
+                interface Address {
+                    City getCity();
+                }
+
+                interface City {
+                    String getName();
+                }
+                """,
+            """
+                import org.mockito.Mockito;
+
+                class GenerateStubsTest {
+                    void test() {
+                        Order order = Mockito.mock(Order.class);
+                        Mockito.when(order.getCustomer()).thenReturn(Mockito.mock(Customer.class));
+                        Mockito.when(order.getCustomer().getAddress()).thenReturn(Mockito.mock(Address.class));
+                        Mockito.when(order.getCustomer().getAddress().getCity()).thenReturn(null);
+                    }
+                }
+
+                interface Order {
+                    Customer getCustomer();
+                }
+
+                interface Customer {
+                    Address getAddress();
+                }
+
+                interface Address {
+                    City getCity();
+                }
+
+                interface City {
+                    String getName();
+                }
+                """);
+    }
+
+    @Test
+    void testGeneratesExplicitStubsForDefaultAnswerInMockSettings() {
+        doQuickFixTest("Generate explicit stubs for the used call chains", "GenerateStubsSettingsTest.java",
+            """
+                import org.mockito.Answers;
+                import org.mockito.Mockito;
+
+                import java.util.List;
+
+                class GenerateStubsSettingsTest {
+                    void test(List<String> names) {
+                        for (String name : names) {
+                            Address address = Mockito.mock(Address.class, Mockito.withSettings().name("address").defaultAnswer(Answers.RETURNS_<caret>MOCKS));
+                            Mockito.when(address.getCity().getName()).thenReturn(name);
+                        }
+                    }
+                }
+
+                interface Address {
+                    City getCity();
+                }
+
+                interface City {
+                    String getName();
+                }
+                """,
+            """
+                import org.mockito.Answers;
+                import org.mockito.Mockito;
+
+                import java.util.List;
+
+                class GenerateStubsSettingsTest {
+                    void test(List<String> names) {
+                        for (String name : names) {
+                            Address address = Mockito.mock(Address.class, Mockito.withSettings().name("address"));
+                            Mockito.when(address.getCity()).thenReturn(Mockito.mock(City.class));
+                            Mockito.when(address.getCity().getName()).thenReturn(name);
+                        }
+                    }
+                }
+
+                interface Address {
+                    City getCity();
+                }
+
+                interface City {
+                    String getName();
+                }
+                """);
+    }
+}
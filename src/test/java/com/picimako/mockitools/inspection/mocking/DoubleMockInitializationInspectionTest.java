@@ -0,0 +1,114 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.picimako.mockitools.ThirdPartyLibrary;
+import com.picimako.mockitools.inspection.MockitoolsInspectionTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Functional test for {@link DoubleMockInitializationInspection}.
+ */
+class DoubleMockInitializationInspectionTest extends MockitoolsInspectionTestBase {
+
+    public DoubleMockInitializationInspectionTest() {
+        super(ThirdPartyLibrary.MOCKITO_V4, ThirdPartyLibrary.MOCKITO_JUNIT_JUPITER_V4, ThirdPartyLibrary.JUNIT_4, ThirdPartyLibrary.JUNIT_5);
+    }
+
+    @Override
+    protected InspectionProfileEntry getInspection() {
+        return new DoubleMockInitializationInspection();
+    }
+
+    @Test
+    void testDoubleMockInitialization() {
+        doJavaTest();
+    }
+
+    //Quick fix
+
+    @Test
+    void testRemovesOpenMocksCall() {
+        doQuickFixTest("Remove redundant mock initialization", "RemoveOpenMocksTest.java",
+            """
+                import org.junit.jupiter.api.BeforeEach;
+                import org.junit.jupiter.api.extension.ExtendWith;
+                import org.mockito.MockitoAnnotations;
+                import org.mockito.junit.jupiter.MockitoExtension;
+
+                @ExtendWith(MockitoExtension.class)
+                class RemoveOpenMocksTest {
+                    @BeforeEach
+                    void setup() {
+                        String before = "before";
+                        MockitoAnnotations.open<caret>Mocks(this);
+                    }
+                }
+                """,
+            """
+                import org.junit.jupiter.api.BeforeEach;
+                import org.junit.jupiter.api.extension.ExtendWith;
+                import org.mockito.MockitoAnnotations;
+                import org.mockito.junit.jupiter.MockitoExtension;
+
+                @ExtendWith(MockitoExtension.class)
+                class RemoveOpenMocksTest {
+                    @BeforeEach
+                    void setup() {
+                        String before = "before";
+                    }
+                }
+                """);
+    }
+
+    @Test
+    void testRemovesOpenMocksCallWithClosedField() {
+        doQuickFixTest("Remove redundant mock initialization", "RemoveOpenMocksWithFieldTest.java",
+            """
+                import org.junit.jupiter.api.AfterEach;
+                import org.junit.jupiter.api.BeforeEach;
+                import org.junit.jupiter.api.extension.ExtendWith;
+                import org.mockito.MockitoAnnotations;
+                import org.mockito.junit.jupiter.MockitoExtension;
+
+                @ExtendWith(MockitoExtension.class)
+                class RemoveOpenMocksWithFieldTest {
+                    private AutoCloseable mocks;
+
+                    @BeforeEach
+                    void setup() {
+                        String before = "before";
+                        mocks = MockitoAnnotations.open<caret>Mocks(this);
+                    }
+
+                    @AfterEach
+                    void tearDown() throws Exception {
+                        String before = "before";
+                        mocks.close();
+                    }
+                }
+                """,
+            """
+                import org.junit.jupiter.api.AfterEach;
+                import org.junit.jupiter.api.BeforeEach;
+                import org.junit.jupiter.api.extension.ExtendWith;
+                import org.mockito.MockitoAnnotations;
+                import org.mockito.junit.jupiter.MockitoExtension;
+
+                @ExtendWith(MockitoExtension.class)
+                class RemoveOpenMocksWithFieldTest {
+
+                    @BeforeEach
+                    void setup() {
+                        String before = "before";
+                    }
+
+                    @AfterEach
+                    void tearDown() throws Exception {
+                        String before = "before";
+                    }
+                }
+                """);
+    }
+}
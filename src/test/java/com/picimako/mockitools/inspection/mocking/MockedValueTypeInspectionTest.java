@@ -0,0 +1,213 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.picimako.mockitools.inspection.MockitoolsInspectionTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Functional test for {@link MockedValueTypeInspection}.
+ */
+class MockedValueTypeInspectionTest extends MockitoolsInspectionTestBase {
+
+    @Override
+    protected InspectionProfileEntry getInspection() {
+        return new MockedValueTypeInspection();
+    }
+
+    @Test
+    void testMockedValueType() {
+        doJavaTest();
+    }
+
+    //Quick fix
+
+    @Test
+    void testReplacesRecordMockWithCanonicalConstructorCall() {
+        doQuickFixTest("Replace mock with real instance", "ReplaceRecordMockTest.java",
+            """
+                import org.mockito.Mockito;
+
+                class ReplaceRecordMockTest {
+                    void test() {
+                        Person person = Mockito.mock(Person.cl<caret>ass);
+                        Mockito.when(person.name()).thenReturn("John");
+                        System.out.println(person.name());
+                    }
+                }
+
+                record Person(String name, int age) {
+                }
+                """,
+            """
+                import org.mockito.Mockito;
+
+                class ReplaceRecordMockTest {
+                    void test() {
+                        Person person = new Person("John", 0);
+                        System.out.println(person.name());
+                    }
+                }
+
+                record Person(String name, int age) {
+                }
+                """);
+    }
+
+    @Test
+    void testDoesntReplaceRecordMockWithoutStubbings() {
+        getFixture().configureByText("RecordMockWithoutStubbingsTest.java",
+            """
+                import org.mockito.Mockito;
+
+                class RecordMockWithoutStubbingsTest {
+                    void test() {
+                        Person person = Mockito.mock(Person.cl<caret>ass);
+                    }
+                }
+
+                record Person(String name, int age) {
+                }
+                """);
+        getFixture().enableInspections(getInspection());
+        assertThat(getFixture().filterAvailableIntentions("Replace mock with real instance")).isEmpty();
+    }
+
+    @Test
+    void testReplacesDataCarrierMockWithConstructorCall() {
+        doQuickFixTest("Replace mock with real instance", "ReplaceDataCarrierMockTest.java",
+            """
+                import org.mockito.Mockito;
+
+                class ReplaceDataCarrierMockTest {
+                    void test() {
+                        Address address = Mockito.mock(Address.cl<caret>ass);
+                        Mockito.when(address.isPrimary()).thenReturn(true);
+                        Mockito.when(address.getCity()).thenReturn("Budapest");
+                    }
+                }
+
+                class Address {
+                    private final String city;
+                    private final boolean primary;
+
+                    Address(String city, boolean primary) {
+                        this.city = city;
+                        this.primary = primary;
+                    }
+
+                    public String getCity() {
+                        return city;
+                    }
+
+                    public boolean isPrimary() {
+                        return primary;
+                    }
+                }
+                """,
+            """
+                import org.mockito.Mockito;
+
+                class ReplaceDataCarrierMockTest {
+                    void test() {
+                        Address address = new Address("Budapest", true);
+                    }
+                }
+
+                class Address {
+                    private final String city;
+                    private final boolean primary;
+
+                    Address(String city, boolean primary) {
+                        this.city = city;
+                        this.primary = primary;
+                    }
+
+                    public String getCity() {
+                        return city;
+                    }
+
+                    public boolean isPrimary() {
+                        return primary;
+                    }
+                }
+                """);
+    }
+
+    @Test
+    void testReplacesDataCarrierMockWithBuilderCall() {
+        doQuickFixTest("Replace mock with real instance", "ReplaceDataCarrierWithBuilderTest.java",
+            """
+                import org.mockito.Mockito;
+
+                class ReplaceDataCarrierWithBuilderTest {
+                    void test() {
+                        Address address = Mockito.mock(Address.cl<caret>ass);
+                        Mockito.when(address.getCity()).thenReturn("Budapest");
+                    }
+                }
+
+                class Address {
+                    private String city;
+
+                    public String getCity() {
+                        return city;
+                    }
+
+                    public static Builder builder() {
+                        return new Builder();
+                    }
+
+                    static class Builder {
+                        private final Address address = new Address();
+
+                        Builder city(String city) {
+                            address.city = city;
+                            return this;
+                        }
+
+                        Address build() {
+                            return address;
+                        }
+                    }
+                }
+                """,
+            """
+                import org.mockito.Mockito;
+
+                class ReplaceDataCarrierWithBuilderTest {
+                    void test() {
+                        Address address = Address.builder().city("Budapest").build();
+                    }
+                }
+
+                class Address {
+                    private String city;
+
+                    public String getCity() {
+                        return city;
+                    }
+
+                    public static Builder builder() {
+                        return new Builder();
+                    }
+
+                    static class Builder {
+                        private final Address address = new Address();
+
+                        Builder city(String city) {
+                            address.city = city;
+                            return this;
+                        }
+
+                        Address build() {
+                            return address;
+                        }
+                    }
+                }
+                """);
+    }
+}
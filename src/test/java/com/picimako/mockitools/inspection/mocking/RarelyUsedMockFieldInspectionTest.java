@@ -0,0 +1,108 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.picimako.mockitools.ThirdPartyLibrary;
+import com.picimako.mockitools.inspection.MockitoolsInspectionTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Functional test for {@link RarelyUsedMockFieldInspection}.
+ */
+class RarelyUsedMockFieldInspectionTest extends MockitoolsInspectionTestBase {
+
+    public RarelyUsedMockFieldInspectionTest() {
+        super(ThirdPartyLibrary.MOCKITO_V4, ThirdPartyLibrary.JUNIT_5);
+    }
+
+    @Override
+    protected InspectionProfileEntry getInspection() {
+        return new RarelyUsedMockFieldInspection();
+    }
+
+    @Test
+    void testRarelyUsedMockField() {
+        doJavaTest();
+    }
+
+    //Quick fix
+
+    @Test
+    void testConvertsMockFieldToLocalVariable() {
+        doQuickFixTest("Convert to local variable in the test using it", "ConvertMockFieldTest.java",
+            """
+                import org.junit.jupiter.api.Test;
+                import org.mockito.Mock;
+                import org.mockito.Mockito;
+                
+                import java.util.List;
+
+                class ConvertMockFieldTest {
+                    @Mock
+                    private List<String> <caret>list;
+
+                    @Test
+                    void test1() {
+                        list.clear();
+                    }
+
+                    @Test
+                    void test2() {
+                    }
+
+                    @Test
+                    void test3() {
+                    }
+
+                    @Test
+                    void test4() {
+                    }
+
+                    @Test
+                    void test5() {
+                    }
+
+                    @Test
+                    void test6() {
+                    }
+                }
+                """,
+            """
+                import org.junit.jupiter.api.Test;
+                import org.mockito.Mock;
+                import org.mockito.Mockito;
+                
+                import java.util.List;
+
+                class ConvertMockFieldTest {
+
+                    @Test
+                    void test1() {
+                        List<String> list = Mockito.mock(List.class);
+                        list.clear();
+                    }
+
+                    @Test
+                    void test2() {
+                    }
+
+                    @Test
+                    void test3() {
+                    }
+
+                    @Test
+                    void test4() {
+                    }
+
+                    @Test
+                    void test5() {
+                    }
+
+                    @Test
+                    void test6() {
+                    }
+                }
+                """);
+    }
+}
@@ -0,0 +1,149 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.picimako.mockitools.ThirdPartyLibrary;
+import com.picimako.mockitools.inspection.MockitoolsInspectionTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Functional test for {@link UnclosedOpenMocksInspection}.
+ */
+class UnclosedOpenMocksInspectionTest extends MockitoolsInspectionTestBase {
+
+    public UnclosedOpenMocksInspectionTest() {
+        super(ThirdPartyLibrary.MOCKITO_V4, ThirdPartyLibrary.JUNIT_4, ThirdPartyLibrary.JUNIT_5);
+    }
+
+    @Override
+    protected InspectionProfileEntry getInspection() {
+        return new UnclosedOpenMocksInspection();
+    }
+
+    @Test
+    void testUnclosedOpenMocks() {
+        doJavaTest();
+    }
+
+    //Quick fix
+
+    @Test
+    void testIntroducesFieldAndAfterEachMethod() {
+        doQuickFixTest("Close mocks after each test", "IntroduceAfterEachTest.java",
+            """
+                import org.junit.jupiter.api.BeforeEach;
+                import org.mockito.MockitoAnnotations;
+
+                class IntroduceAfterEachTest {
+                    @BeforeEach
+                    void setup() {
+                        MockitoAnnotations.open<caret>Mocks(this);
+                    }
+                }
+                """,
+            """
+                import org.junit.jupiter.api.AfterEach;
+                import org.junit.jupiter.api.BeforeEach;
+                import org.mockito.MockitoAnnotations;
+
+                class IntroduceAfterEachTest {
+                    private AutoCloseable mocks;
+
+                    @BeforeEach
+                    void setup() {
+                        mocks = MockitoAnnotations.openMocks(this);
+                    }
+
+                    @AfterEach
+                    void closeMocks() throws Exception {
+                        mocks.close();
+                    }
+                }
+                """);
+    }
+
+    @Test
+    void testAddsCloseCallToExistingAfterEachMethod() {
+        doQuickFixTest("Close mocks after each test", "ExistingAfterEachTest.java",
+            """
+                import org.junit.jupiter.api.AfterEach;
+                import org.junit.jupiter.api.BeforeEach;
+                import org.mockito.MockitoAnnotations;
+
+                class ExistingAfterEachTest {
+                    private String mocks;
+                    private AutoCloseable closeable;
+
+                    @BeforeEach
+                    void setup() {
+                        closeable = MockitoAnnotations.open<caret>Mocks(this);
+                    }
+
+                    @AfterEach
+                    void tearDown() {
+                        mocks = null;
+                    }
+                }
+                """,
+            """
+                import org.junit.jupiter.api.AfterEach;
+                import org.junit.jupiter.api.BeforeEach;
+                import org.mockito.MockitoAnnotations;
+
+                class ExistingAfterEachTest {
+                    private String mocks;
+                    private AutoCloseable closeable;
+
+                    @BeforeEach
+                    void setup() {
+                        closeable = MockitoAnnotations.openMocks(this);
+                    }
+
+                    @AfterEach
+                    void tearDown() throws Exception {
+                        mocks = null;
+                        closeable.close();
+                    }
+                }
+                """);
+    }
+
+    @Test
+    void testIntroducesUniqueFieldAndAfterMethodForJUnit4() {
+        doQuickFixTest("Close mocks after each test", "IntroduceAfterTest.java",
+            """
+                import org.junit.Before;
+                import org.mockito.MockitoAnnotations;
+
+                public class IntroduceAfterTest {
+                    private String mocks;
+
+                    @Before
+                    public void setup() {
+                        MockitoAnnotations.open<caret>Mocks(this);
+                    }
+                }
+                """,
+            """
+                import org.junit.After;
+                import org.junit.Before;
+                import org.mockito.MockitoAnnotations;
+
+                public class IntroduceAfterTest {
+                    private String mocks;
+                    private AutoCloseable mocks1;
+
+                    @Before
+                    public void setup() {
+                        mocks1 = MockitoAnnotations.openMocks(this);
+                    }
+
+                    @After
+                    public void closeMocks() throws Exception {
+                        mocks1.close();
+                    }
+                }
+                """);
+    }
+}
@@ -0,0 +1,91 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.mocking;
+
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.picimako.mockitools.inspection.MockitoolsInspectionTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Functional test for {@link UnclosedScopedMockInspection}.
+ */
+class UnclosedScopedMockInspectionTest extends MockitoolsInspectionTestBase.MockitoV4 {
+
+    @Override
+    protected InspectionProfileEntry getInspection() {
+        return new UnclosedScopedMockInspection();
+    }
+
+    @Test
+    void testUnclosedScopedMock() {
+        doJavaTest();
+    }
+
+    //Quick fix
+
+    @Test
+    void testWrapsLocalVariableInTryWithResources() {
+        doQuickFixTest("Wrap in try-with-resources", "LocalVariableTest.java",
+            """
+                import java.util.List;
+                import org.mockito.MockedStatic;
+                import org.mockito.Mockito;
+
+                public class LocalVariableTest {
+                    void testMethod() {
+                        String before = "before";
+                        MockedStatic<List> mocked = Mockito.mock<caret>Static(List.class);
+                        mocked.when(List::of).thenReturn(List.of());
+                        //comment
+                        mocked.verify(List::of);
+                    }
+                }
+                """,
+            """
+                import java.util.List;
+                import org.mockito.MockedStatic;
+                import org.mockito.Mockito;
+
+                public class LocalVariableTest {
+                    void testMethod() {
+                        String before = "before";
+                        try (MockedStatic<List> mocked = Mockito.mockStatic(List.class)) {
+                            mocked.when(List::of).thenReturn(List.of());
+                            //comment
+                            mocked.verify(List::of);
+                        }
+                    }
+                }
+                """);
+    }
+
+    @Test
+    void testWrapsDiscardedResultInTryWithResources() {
+        doQuickFixTest("Wrap in try-with-resources", "DiscardedResultTest.java",
+            """
+                import java.util.ArrayList;
+                import org.mockito.MockedConstruction;
+                import org.mockito.Mockito;
+
+                public class DiscardedResultTest {
+                    void testMethod() {
+                        Mockito.mockCon<caret>struction(ArrayList.class);
+                        new ArrayList<String>().add("value");
+                    }
+                }
+                """,
+            """
+                import java.util.ArrayList;
+                import org.mockito.MockedConstruction;
+                import org.mockito.Mockito;
+
+                public class DiscardedResultTest {
+                    void testMethod() {
+                        try (MockedConstruction<ArrayList> mocked = Mockito.mockConstruction(ArrayList.class)) {
+                            new ArrayList<String>().add("value");
+                        }
+                    }
+                }
+                """);
+    }
+}
@@ -2,7 +2,11 @@
 
 package com.picimako.mockitools.inspection.stubbing;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.intellij.codeInspection.InspectionProfileEntry;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiJavaFile;
 import com.picimako.mockitools.inspection.MockitoolsInspectionTestBase;
 import org.junit.jupiter.api.Test;
 
@@ -96,4 +100,69 @@ class ThrowsCheckedExceptionStubbingInspectionTest extends MockitoolsInspectionT
                     }
                 }""");
     }
+
+    @Test
+    void testAddsExceptionsToThrowsClauseInBatchMode() {
+        doBatchQuickFixTest("Add exception to throws clause", "QuickFix.java",
+            """
+                import java.io.IOException;
+                import java.lang.NoSuchMethodException;
+                import org.mockito.Mockito;
+                class QuickFix {
+                    void testMethod() {
+                        MockObject mock = Mockito.mock(MockObject.class);
+                        Mockito.when(mock.doSomething()).thenThrow(IOException.class);
+                        Mockito.when(mock.doSomething()).thenThrow(IOException.class, NoSuchMethodException.class);
+                    }
+
+                    private static class MockObject {
+                        public int doSomething() {
+                            return 0;
+                        }
+                    }
+                }""",
+            """
+                import java.io.IOException;
+                import java.lang.NoSuchMethodException;
+                import org.mockito.Mockito;
+                class QuickFix {
+                    void testMethod() {
+                        MockObject mock = Mockito.mock(MockObject.class);
+                        Mockito.when(mock.doSomething()).thenThrow(IOException.class);
+                        Mockito.when(mock.doSomething()).thenThrow(IOException.class, NoSuchMethodException.class);
+                    }
+
+                    private static class MockObject {
+                        public int doSomething() throws NoSuchMethodException, IOException {
+                            return 0;
+                        }
+                    }
+                }""");
+    }
+
+    @Test
+    void testAddsExceptionsToThrowsClauseInFileOfStubbedMethodInBatchMode() {
+        var mockObjectFile = getFixture().addFileToProject("MockObject.java", """
+            public class MockObject {
+                public int doSomething() {
+                    return 0;
+                }
+            }""");
+        String testFileText = """
+            import java.io.IOException;
+            import org.mockito.Mockito;
+            class QuickFix {
+                void testMethod() {
+                    MockObject mock = Mockito.mock(MockObject.class);
+                    Mockito.when(mock.doSomething()).thenThrow(IOException.class);
+                }
+            }""";
+
+        doBatchQuickFixTest("Add exception to throws clause", "QuickFix.java", testFileText, testFileText);
+
+        var doSomething = ((PsiJavaFile) mockObjectFile).getClasses()[0].getMethods()[0];
+        assertThat(doSomething.getThrowsList().getReferencedTypes())
+            .extracting(PsiClassType::getCanonicalText)
+            .containsExactly("java.io.IOException");
+    }
 }
@@ -0,0 +1,87 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.verification;
+
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.picimako.mockitools.inspection.MockitoolsInspectionTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Functional test for {@link AfterReplaceableWithTimeoutInspection}.
+ */
+class AfterReplaceableWithTimeoutInspectionTest extends MockitoolsInspectionTestBase.MockitoV4 {
+
+    @Override
+    protected InspectionProfileEntry getInspection() {
+        return new AfterReplaceableWithTimeoutInspection();
+    }
+
+    @Test
+    void testAfterReplaceableWithTimeout() {
+        doJavaTest();
+    }
+
+    //Quick fix
+
+    @Test
+    void testReplacesAfterWithTimeout() {
+        doQuickFixTest("Replace after() with timeout()", "ReplaceAfterTest.java",
+            """
+                import org.mockito.Mockito;
+
+                import java.util.List;
+
+                class ReplaceAfterTest {
+                    void test() {
+                        List<String> mock = Mockito.mock(List.class);
+                        Mockito.verify(mock, Mockito.af<caret>ter(100).times(2)).clear();
+                    }
+                }
+                """,
+            """
+                import org.mockito.Mockito;
+
+                import java.util.List;
+
+                class ReplaceAfterTest {
+                    void test() {
+                        List<String> mock = Mockito.mock(List.class);
+                        Mockito.verify(mock, Mockito.timeout(100).times(2)).clear();
+                    }
+                }
+                """);
+    }
+
+    @Test
+    void testReplacesStaticallyImportedAfterWithTimeout() {
+        doQuickFixTest("Replace after() with timeout()", "ReplaceStaticAfterTest.java",
+            """
+                import static org.mockito.Mockito.after;
+
+                import org.mockito.Mockito;
+
+                import java.util.List;
+
+                class ReplaceStaticAfterTest {
+                    void test() {
+                        List<String> mock = Mockito.mock(List.class);
+                        Mockito.verify(mock, af<caret>ter(100)).clear();
+                    }
+                }
+                """,
+            """
+                import static org.mockito.Mockito.after;
+
+                import org.mockito.Mockito;
+
+                import java.util.List;
+
+                class ReplaceStaticAfterTest {
+                    void test() {
+                        List<String> mock = Mockito.mock(List.class);
+                        Mockito.verify(mock, Mockito.timeout(100)).clear();
+                    }
+                }
+                """);
+    }
+}
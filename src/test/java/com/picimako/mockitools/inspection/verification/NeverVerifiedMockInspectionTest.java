@@ -0,0 +1,138 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.verification;
+
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.picimako.mockitools.inspection.MockitoolsInspectionTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Functional test for {@link NeverVerifiedMockInspection}.
+ */
+class NeverVerifiedMockInspectionTest extends MockitoolsInspectionTestBase.MockitoV4 {
+
+    @Override
+    protected InspectionProfileEntry getInspection() {
+        return new NeverVerifiedMockInspection();
+    }
+
+    @Test
+    void testNeverVerifiedMock() {
+        doJavaTest();
+    }
+
+    //Quick fix
+
+    @Test
+    void testPackagePrivateFieldVerifiedInSubclass() {
+        getFixture().addClass(
+            """
+                import org.mockito.Mockito;
+
+                public class SubclassTest extends BaseTest {
+                    void testMethod() {
+                        Mockito.verify(mock).toString();
+                    }
+                }""");
+        doJavaTest("BaseTest.java",
+            """
+                import org.mockito.Mock;
+
+                public class BaseTest {
+                    @Mock
+                    Object mock;
+                    @Mock
+                    private Object <weak_warning descr="This mock is never verified. Configuring it as stub-only saves the memory used for recording its invocations.">privateMock</weak_warning>;
+                }""");
+    }
+
+    @Test
+    void testConfiguresMockFieldAsStubOnly() {
+        doQuickFixTest("Configure mock as stub-only", "MockFieldTest.java",
+            """
+                import org.mockito.Mock;
+
+                public class MockFieldTest {
+                    @Mock(name = "mock")
+                    Object mo<caret>ck;
+                }
+                """,
+            """
+                import org.mockito.Mock;
+
+                public class MockFieldTest {
+                    @Mock(name = "mock", stubOnly = true)
+                    Object mock;
+                }
+                """);
+    }
+
+    @Test
+    void testConfiguresMockWithoutSettingsAsStubOnly() {
+        doQuickFixTest("Configure mock as stub-only", "MockWithoutSettingsTest.java",
+            """
+                import org.mockito.Mockito;
+
+                public class MockWithoutSettingsTest {
+                    void testMethod() {
+                        Object mo<caret>ck = Mockito.mock(Object.class);
+                    }
+                }
+                """,
+            """
+                import org.mockito.Mockito;
+
+                public class MockWithoutSettingsTest {
+                    void testMethod() {
+                        Object mock = Mockito.mock(Object.class, Mockito.withSettings().stubOnly());
+                    }
+                }
+                """);
+    }
+
+    @Test
+    void testConfiguresMockWithNameAsStubOnly() {
+        doQuickFixTest("Configure mock as stub-only", "MockWithNameTest.java",
+            """
+                import org.mockito.Mockito;
+
+                public class MockWithNameTest {
+                    void testMethod() {
+                        Object mo<caret>ck = Mockito.mock(Object.class, "name");
+                    }
+                }
+                """,
+            """
+                import org.mockito.Mockito;
+
+                public class MockWithNameTest {
+                    void testMethod() {
+                        Object mock = Mockito.mock(Object.class, Mockito.withSettings().name("name").stubOnly());
+                    }
+                }
+                """);
+    }
+
+    @Test
+    void testConfiguresMockWithSettingsAsStubOnly() {
+        doQuickFixTest("Configure mock as stub-only", "MockWithSettingsTest.java",
+            """
+                import org.mockito.Mockito;
+
+                public class MockWithSettingsTest {
+                    void testMethod() {
+                        Object mo<caret>ck = Mockito.mock(Object.class, Mockito.withSettings().lenient());
+                    }
+                }
+                """,
+            """
+                import org.mockito.Mockito;
+
+                public class MockWithSettingsTest {
+                    void testMethod() {
+                        Object mock = Mockito.mock(Object.class, Mockito.withSettings().lenient().stubOnly());
+                    }
+                }
+                """);
+    }
+}
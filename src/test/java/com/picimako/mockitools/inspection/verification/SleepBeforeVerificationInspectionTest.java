@@ -0,0 +1,93 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.inspection.verification;
+
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.picimako.mockitools.inspection.MockitoolsInspectionTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Functional test for {@link SleepBeforeVerificationInspection}.
+ */
+class SleepBeforeVerificationInspectionTest extends MockitoolsInspectionTestBase.MockitoV4 {
+
+    @Override
+    protected InspectionProfileEntry getInspection() {
+        return new SleepBeforeVerificationInspection();
+    }
+
+    @Test
+    void testSleepBeforeVerification() {
+        doJavaTest();
+    }
+
+    //Quick fix
+
+    @Test
+    void testReplacesSleepWithTimeoutVerification() {
+        doQuickFixTest("Replace sleep with timeout() verification", "ReplaceSleepTest.java",
+            """
+                import static org.mockito.Mockito.times;
+
+                import org.mockito.Mockito;
+
+                import java.util.List;
+
+                class ReplaceSleepTest {
+                    void test() throws InterruptedException {
+                        List<String> mock = Mockito.mock(List.class);
+                        Thread.sl<caret>eep(500);
+                        Mockito.verify(mock).clear();
+                        Mockito.verify(mock, times(2)).size();
+                    }
+                }
+                """,
+            """
+                import static org.mockito.Mockito.times;
+
+                import org.mockito.Mockito;
+
+                import java.util.List;
+
+                class ReplaceSleepTest {
+                    void test() throws InterruptedException {
+                        List<String> mock = Mockito.mock(List.class);
+                        Mockito.verify(mock, Mockito.timeout(500)).clear();
+                        Mockito.verify(mock, Mockito.timeout(500).times(2)).size();
+                    }
+                }
+                """);
+    }
+
+    @Test
+    void testReplacesSleepWithTimeoutVerificationInBDDMockito() {
+        doQuickFixTest("Replace sleep with timeout() verification", "ReplaceSleepBDDTest.java",
+            """
+                import org.mockito.BDDMockito;
+                import org.mockito.Mockito;
+
+                import java.util.List;
+
+                class ReplaceSleepBDDTest {
+                    void test() throws InterruptedException {
+                        List<String> mock = Mockito.mock(List.class);
+                        Thread.sl<caret>eep(500);
+                        BDDMockito.then(mock).should(Mockito.atLeast(2)).clear();
+                    }
+                }
+                """,
+            """
+                import org.mockito.BDDMockito;
+                import org.mockito.Mockito;
+
+                import java.util.List;
+
+                class ReplaceSleepBDDTest {
+                    void test() throws InterruptedException {
+                        List<String> mock = Mockito.mock(List.class);
+                        BDDMockito.then(mock).should(Mockito.timeout(500).atLeast(2)).clear();
+                    }
+                }
+                """);
+    }
+}
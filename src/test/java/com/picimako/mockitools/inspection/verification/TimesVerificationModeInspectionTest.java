@@ -54,6 +54,31 @@ class TimesVerificationModeInspectionTest extends MockitoolsInspectionTestBase.M
                 }""");
     }
 
+    @Test
+    void testTimesArgumentsInDumbMode() {
+        doJavaTestInDumbMode("TimesArgumentsDumbModeTest.java",
+            """
+                import static org.mockito.Mockito.times;
+
+                import org.mockito.BDDMockito;
+                import org.mockito.Mockito;
+
+                public class TimesArgumentsDumbModeTest {
+                    public void testMethod() {
+                        Object mockObject = Mockito.mock(Object.class);
+
+                        //No-highlight cases
+                        Mockito.verify(mockObject, times(10)).toString();
+                        Mockito.verify(mockObject, times(1).description("")).toString();
+
+                        //Highlight cases
+                        Mockito.verify(mockObject, <warning descr="This call can be replaced with Mockito.never().">times(0)</warning>).toString();
+                        Mockito.verify(mockObject, <warning descr="This call can be omitted since 'times(1)' is the default behaviour.">Mockito.times(1)</warning>).toString();
+                        BDDMockito.then(mockObject).should(<warning descr="This call can be replaced with Mockito.never().">times(0)</warning>).toString();
+                    }
+                }""");
+    }
+
     //Mockito.verify
 
     @Test
@@ -538,4 +563,64 @@ class TimesVerificationModeInspectionTest extends MockitoolsInspectionTestBase.M
                     }
                 }""");
     }
+
+    //Batch mode
+
+    @Test
+    void testTimesZeroReplacementInBatchMode() {
+        doBatchQuickFixTest("Replace with Mockito.never()", "TimesZeroBatchReplacementTest.java",
+            """
+                import static org.mockito.Mockito.times;
+
+                import org.mockito.Mockito;
+
+                public class TimesZeroBatchReplacementTest {
+                    public void testMethod() {
+                        Mockito.verify(new Object(), times(0)).toString();
+                        Mockito.verify(new Object(), times(0).description("")).hashCode();
+                        Mockito.verify(new Object(), times(1)).toString();
+                    }
+                }""",
+            """
+                import static org.mockito.Mockito.times;
+
+                import org.mockito.Mockito;
+
+                public class TimesZeroBatchReplacementTest {
+                    public void testMethod() {
+                        Mockito.verify(new Object(), Mockito.never()).toString();
+                        Mockito.verify(new Object(), Mockito.never().description("")).hashCode();
+                        Mockito.verify(new Object(), times(1)).toString();
+                    }
+                }""");
+    }
+
+    @Test
+    void testTimesOneDeletionInBatchMode() {
+        doBatchQuickFixTest("Delete call to Mockito.times(1)", "TimesOneBatchDeletionTest.java",
+            """
+                import static org.mockito.Mockito.times;
+
+                import org.mockito.Mockito;
+
+                public class TimesOneBatchDeletionTest {
+                    public void testMethod() {
+                        Mockito.verify(new Object(), times(1)).toString();
+                        Mockito.verify(new Object(), times(0)).toString();
+                        Mockito.verify(new Object(), times(1)).hashCode();
+                    }
+                }""",
+            """
+                import static org.mockito.Mockito.times;
+
+                import org.mockito.Mockito;
+
+                public class TimesOneBatchDeletionTest {
+                    public void testMethod() {
+                        Mockito.verify(new Object()).toString();
+                        Mockito.verify(new Object(), times(0)).toString();
+                        Mockito.verify(new Object()).hashCode();
+                    }
+                }""");
+    }
 }
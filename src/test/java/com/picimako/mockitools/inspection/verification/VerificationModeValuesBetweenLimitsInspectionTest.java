@@ -20,4 +20,33 @@ class VerificationModeValuesBetweenLimitsInspectionTest extends MockitoolsInspec
     void testVerificationModeValuesBetweenLimitsTest() {
         doJavaTest();
     }
+
+    @Test
+    void testVerificationModeValuesBetweenLimitsInDumbMode() {
+        doJavaTestInDumbMode("VerificationModeValuesBetweenLimitsDumbModeTest.java",
+            """
+                import static org.mockito.Mockito.*;
+
+                import org.mockito.Mockito;
+                import org.mockito.InOrder;
+
+                public class VerificationModeValuesBetweenLimitsDumbModeTest {
+                    public void testMethod() {
+                        Object mockObject = Mockito.mock(Object.class);
+
+                        //No-highlight cases
+                        Mockito.verify(mockObject, times(0)).toString();
+                        Mockito.verify(mockObject, Mockito.atLeast(10)).toString();
+                        Mockito.verify(mockObject, timeout(1000)).toString();
+
+                        //Highlight cases
+                        Mockito.verify(mockObject, times(<error descr="The argument value of 'times()' must be 0 or greater.">-1</error>)).toString();
+                        Mockito.verify(mockObject, Mockito.atMost(<error descr="The argument value of 'atMost()' must be 0 or greater.">-1</error>)).toString();
+                        InOrder inOrder = Mockito.inOrder(mockObject);
+                        inOrder.verify(mockObject, calls(<error descr="The argument value of 'calls()' must be 1 or greater.">0</error>)).toString();
+                        Mockito.verify(mockObject, after(<error descr="The argument value of 'after()' must be 0 or greater.">-1000</error>).never()).toString();
+                        Mockito.verify(mockObject, timeout(<error descr="The timeout value must be lower than the user-defined max threshold: 5,000.">6000</error>)).toString();
+                    }
+                }""");
+    }
 }
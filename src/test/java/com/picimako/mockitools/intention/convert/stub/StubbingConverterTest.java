@@ -0,0 +1,76 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.intention.convert.stub;
+
+import static com.intellij.openapi.command.WriteCommandAction.runWriteCommandAction;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.openapi.application.ReadAction;
+import com.picimako.mockitools.MockitoolsTestBase;
+import com.picimako.mockitools.StubbingApproach;
+import com.picimako.mockitools.intention.convert.stub.StubbingConversionPlan.Replacement;
+import com.picimako.mockitools.util.PsiMethodUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Integration test for {@link StubbingConverter}.
+ */
+class StubbingConverterTest extends MockitoolsTestBase {
+    private static final String STUBBING = """
+        import org.mockito.Mockito;
+
+        class ConversionTest {
+            void testMethod(){
+                MockObject mockObject = Mockito.mock(MockObject.class);
+                Mockito.wh<caret>en(mockObject.doSomething()).thenReturn(10);
+            }
+            private static class MockObject {
+                public int doSomething() {
+                    return 0;
+                }
+            }
+        }""";
+
+    @Test
+    void testPlansWithoutModifyingDocument() {
+        var file = getFixture().configureByText("ConversionTest.java", STUBBING);
+        var document = getFixture().getEditor().getDocument();
+        var converter = new StubbingConverter(getFixture().getProject(), document, file);
+        String originalText = document.getText();
+
+        var plan = ReadAction.compute(() -> converter.plan(
+            List.of(PsiMethodUtil.getMethodCallAtCaret(file, getFixture().getEditor())), StubbingApproach.MOCKITO_WHEN, StubbingApproach.BDDMOCKITO_GIVEN));
+
+        assertThat(document.getText()).isEqualTo(originalText);
+        assertThat(plan.replacements()).isSortedAccordingTo((first, second) -> Integer.compare(second.startOffset(), first.startOffset()));
+        assertThat(plan.getClassToImport()).isNotNull();
+
+        assertThat(converter.apply(plan)).isTrue();
+
+        assertThat(document.getText()).contains("BDDMockito.given(mockObject.doSomething()).willReturn(10);", "import org.mockito.BDDMockito;");
+    }
+
+    @Test
+    void testDiscardsPlanForModifiedDocument() {
+        var file = getFixture().configureByText("ConversionTest.java", STUBBING);
+        var document = getFixture().getEditor().getDocument();
+        var converter = new StubbingConverter(getFixture().getProject(), document, file);
+
+        var plan = ReadAction.compute(() -> converter.plan(
+            List.of(PsiMethodUtil.getMethodCallAtCaret(file, getFixture().getEditor())), StubbingApproach.MOCKITO_WHEN, StubbingApproach.BDDMOCKITO_GIVEN));
+        runWriteCommandAction(getFixture().getProject(), () -> document.insertString(0, "\n"));
+        String modifiedText = document.getText();
+
+        assertThat(converter.apply(plan)).isFalse();
+
+        assertThat(document.getText()).isEqualTo(modifiedText);
+    }
+
+    @Test
+    void testDetectsOverlappingReplacements() {
+        assertThat(StubbingConversionPlan.hasOverlappingReplacements(List.of(new Replacement(5, 15, "b"), new Replacement(0, 10, "a")))).isTrue();
+        assertThat(StubbingConversionPlan.hasOverlappingReplacements(List.of(new Replacement(10, 15, "b"), new Replacement(0, 10, "a")))).isFalse();
+    }
+}
@@ -0,0 +1,170 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.intention.convert.verification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.picimako.mockitools.MockitoolsTestBase;
+import com.picimako.mockitools.VerificationApproach;
+import com.picimako.mockitools.intention.convert.verification.bddmockitothen.ConvertBDDMockitoThenToMockitoVerifyAction;
+import com.picimako.mockitools.intention.convert.verification.mockitoverify.ConvertMockitoVerifyToInOrderVerifyAction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Integration test for {@link ScopedVerificationConverter}.
+ */
+class ScopedVerificationConverterTest extends MockitoolsTestBase {
+
+    @Test
+    void testCreatesSingleInOrderVariablePerCodeBlock() {
+        checkConversion(VerificationApproach.MOCKITO_VERIFY, () -> new ConvertMockitoVerifyToInOrderVerifyAction(true),
+            """
+                import org.mockito.Mockito;
+
+                class ConversionTest {
+                    void testMethod(){
+                        MockObject mockObject = Mockito.mock(MockObject.class);
+                        MockObject mockObject2 = Mockito.mock(MockObject.class);
+                        Mockito.verify(mockObject).doSomething();
+                        Mockito.verify(mockObject2, Mockito.times(2)).doSomething();
+                    }
+                    void testMethod2(){
+                        MockObject mockObject = Mockito.mock(MockObject.class);
+                        Mockito.verify(mockObject).doSomething();
+                    }
+                    private static class MockObject {
+                        public void doSomething() {
+                        }
+                    }
+                }""",
+            """
+                import org.mockito.InOrder;
+                import org.mockito.Mockito;
+
+                class ConversionTest {
+                    void testMethod(){
+                        MockObject mockObject = Mockito.mock(MockObject.class);
+                        MockObject mockObject2 = Mockito.mock(MockObject.class);
+                        InOrder inOrder = Mockito.inOrder(mockObject, mockObject2);
+                        inOrder.verify(mockObject).doSomething();
+                        inOrder.verify(mockObject2, Mockito.times(2)).doSomething();
+                    }
+                    void testMethod2(){
+                        MockObject mockObject = Mockito.mock(MockObject.class);
+                        InOrder inOrder = Mockito.inOrder(mockObject);
+                        inOrder.verify(mockObject).doSomething();
+                    }
+                    private static class MockObject {
+                        public void doSomething() {
+                        }
+                    }
+                }""");
+    }
+
+    @Test
+    void testCreatesUniquelyNamedInOrderVariables() {
+        checkConversion(VerificationApproach.MOCKITO_VERIFY, () -> new ConvertMockitoVerifyToInOrderVerifyAction(true),
+            """
+                import org.mockito.Mockito;
+
+                class ConversionTest {
+                    void testMethod(){
+                        MockObject mockObject = Mockito.mock(MockObject.class);
+                        Object inOrder = new Object();
+                        Mockito.verify(mockObject).doSomething();
+                        Runnable runnable = () -> {
+                            Mockito.verify(mockObject).doSomething();
+                        };
+                    }
+                    private static class MockObject {
+                        public void doSomething() {
+                        }
+                    }
+                }""",
+            """
+                import org.mockito.InOrder;
+                import org.mockito.Mockito;
+
+                class ConversionTest {
+                    void testMethod(){
+                        MockObject mockObject = Mockito.mock(MockObject.class);
+                        Object inOrder = new Object();
+                        InOrder inOrder1 = Mockito.inOrder(mockObject);
+                        inOrder1.verify(mockObject).doSomething();
+                        Runnable runnable = () -> {
+                            InOrder inOrder2 = Mockito.inOrder(mockObject);
+                            inOrder2.verify(mockObject).doSomething();
+                        };
+                    }
+                    private static class MockObject {
+                        public void doSomething() {
+                        }
+                    }
+                }""");
+    }
+
+    @Test
+    void testConvertsOnlyVerificationsOfSourceApproach() {
+        checkConversion(VerificationApproach.BDDMOCKITO_THEN_SHOULD, () -> new ConvertBDDMockitoThenToMockitoVerifyAction(true),
+            """
+                import org.mockito.BDDMockito;
+                import org.mockito.Mockito;
+
+                class ConversionTest {
+                    void testMethod(){
+                        MockObject mockObject = Mockito.mock(MockObject.class);
+                        BDDMockito.then(mockObject).should(Mockito.times(2)).doSomething();
+                        Mockito.verify(mockObject).doSomething();
+                        BDDMockito.then(mockObject).should().doSomething();
+                    }
+                    private static class MockObject {
+                        public void doSomething() {
+                        }
+                    }
+                }""",
+            """
+                import org.mockito.BDDMockito;
+                import org.mockito.Mockito;
+
+                class ConversionTest {
+                    void testMethod(){
+                        MockObject mockObject = Mockito.mock(MockObject.class);
+                        Mockito.verify(mockObject, Mockito.times(2)).doSomething();
+                        Mockito.verify(mockObject).doSomething();
+                        Mockito.verify(mockObject).doSomething();
+                    }
+                    private static class MockObject {
+                        public void doSomething() {
+                        }
+                    }
+                }""");
+    }
+
+    @Test
+    void testPlansNothingForFileWithoutVerification() {
+        var file = getFixture().configureByText("ConversionTest.java", """
+            class ConversionTest {
+                void testMethod(){
+                }
+            }""");
+        var converter = new ScopedVerificationConverter(getFixture().getProject(), VerificationApproach.MOCKITO_VERIFY,
+            () -> new ConvertMockitoVerifyToInOrderVerifyAction(true));
+
+        assertThat(converter.plan(List.of(file.getVirtualFile()), new EmptyProgressIndicator()).groupsByFile()).isEmpty();
+    }
+
+    private void checkConversion(VerificationApproach sourceApproach, Supplier<ConvertVerificationActionBase> conversion, String beforeText, String afterText) {
+        var file = getFixture().configureByText("ConversionTest.java", beforeText);
+        var converter = new ScopedVerificationConverter(getFixture().getProject(), sourceApproach, conversion);
+
+        var plan = converter.plan(List.of(file.getVirtualFile()), new EmptyProgressIndicator());
+        ApplicationManager.getApplication().invokeAndWait(() -> converter.apply(plan));
+
+        getFixture().checkResult(afterText);
+    }
+}
@@ -0,0 +1,116 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.performance;
+
+import static com.intellij.openapi.command.WriteCommandAction.runWriteCommandAction;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how quickly the analysis of a large test class by the inspections of Mockitools stops, when it is cancelled
+ * due to continuous typing.
+ * <p>
+ * For each simulated keystroke, all inspections are started on the file in a background read action, the analysis is cancelled
+ * after a random delay, and the time between the cancellation and the end of the analysis is recorded. Then a character is typed
+ * into the file, before the analysis is restarted.
+ * <p>
+ * Analyses that finish before they are cancelled don't measure the cancellation, thus they are discarded, and retried after
+ * the next keystroke.
+ * <p>
+ * The 90th percentile of the recorded times must fit in the {@code cancellation} budget.
+ */
+class CancellationLatencyTest extends MockitoolsPerformanceTestBase {
+    private static final int KEYSTROKES = 50;
+    private static final int MAX_KEYSTROKES = KEYSTROKES * 2;
+    private static final int MAX_CANCELLATION_DELAY_MILLIS = 30;
+    private static final long SEED = 20240901L;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 50_000})
+    void testTimeToCancelWhileTyping(int lineCount) throws Exception {
+        var file = getFixture().configureByText("PerformanceTest.java", generateTestClass(lineCount, """
+                void testTyping() {
+                    //<caret>
+                }
+
+            """));
+        var inspections = getMockitoolsInspections();
+        var random = new Random(SEED);
+        var timesToCancel = new long[KEYSTROKES];
+        int samples = 0;
+
+        for (int i = 0; i < MAX_KEYSTROKES && samples < KEYSTROKES; i++) {
+            long timeToCancel = measureTimeToCancel(inspections, file, random.nextInt(MAX_CANCELLATION_DELAY_MILLIS) + 1);
+            if (timeToCancel >= 0) timesToCancel[samples++] = timeToCancel;
+            typeCharacter();
+        }
+
+        assertThat(samples).as("Too many analyses finished before they were cancelled").isEqualTo(KEYSTROKES);
+        Arrays.sort(timesToCancel);
+        assertWithinBudget("cancellation", lineCount, timesToCancel[(int) Math.ceil(KEYSTROKES * 0.9) - 1]);
+    }
+
+    /**
+     * Starts the analysis of {@code file} in the background, cancels it after {@code cancellationDelayMillis}, and returns
+     * the nanoseconds elapsed between the cancellation and the end of the analysis.
+     * <p>
+     * Returns a negative value if the analysis finished before it was cancelled.
+     */
+    private static long measureTimeToCancel(List<LocalInspectionTool> inspections, PsiFile file, int cancellationDelayMillis) throws Exception {
+        var inspectionManager = InspectionManager.getInstance(file.getProject());
+        var indicator = new EmptyProgressIndicator();
+        var started = new CountDownLatch(1);
+        var analysisEnd = new AtomicLong();
+
+        var analysis = AppExecutorUtil.getAppExecutorService().submit(() ->
+            ProgressManager.getInstance().runProcess(() -> {
+                started.countDown();
+                try {
+                    ReadAction.run(() -> {
+                        for (var inspection : inspections) {
+                            inspection.processFile(file, inspectionManager);
+                        }
+                    });
+                } catch (ProcessCanceledException e) {
+                    //The analysis is expected to be cancelled
+                } finally {
+                    analysisEnd.set(System.nanoTime());
+                }
+            }, indicator));
+
+        started.await();
+        Thread.sleep(cancellationDelayMillis);
+        long cancellationStart = System.nanoTime();
+        indicator.cancel();
+        analysis.get(1, TimeUnit.MINUTES);
+        return analysisEnd.get() - cancellationStart;
+    }
+
+    private void typeCharacter() {
+        var editor = getFixture().getEditor();
+        runWriteCommandAction(getFixture().getProject(), () -> {
+            int offset = editor.getCaretModel().getOffset();
+            editor.getDocument().insertString(offset, "x");
+            editor.getCaretModel().moveToOffset(offset + 1);
+        });
+        PsiDocumentManager.getInstance(getFixture().getProject()).commitDocument(editor.getDocument());
+    }
+}
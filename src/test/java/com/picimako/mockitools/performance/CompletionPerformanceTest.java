@@ -0,0 +1,29 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.performance;
+
+import com.picimako.mockitools.completion.MockCompletionContributor;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Performance test for {@link MockCompletionContributor} in a large test class.
+ */
+class CompletionPerformanceTest extends MockitoolsPerformanceTestBase {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 50_000})
+    void testMockCompletion(int lineCount) {
+        var text = generateTestClass(lineCount, """
+                void testCompletion() {
+                    MockObject mock = Mockito.mock(MockObject.class);
+                    Mockito.verify(<caret>);
+                }
+
+            """);
+
+        benchmark("completion", lineCount,
+            () -> getFixture().configureByText("PerformanceTest.java", text),
+            () -> getFixture().completeBasic());
+    }
+}
@@ -0,0 +1,73 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.performance;
+
+import com.intellij.codeInsight.intention.IntentionAction;
+import com.intellij.codeInsight.intention.IntentionActionDelegate;
+import com.intellij.codeInsight.intention.IntentionManager;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.psi.PsiIdentifier;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.SyntaxTraverser;
+import com.picimako.mockitools.intention.convert.ConversionIntentionBase;
+import com.picimako.mockitools.intention.convert.verification.mockitoverify.ConvertMockitoVerifyToInOrderVerifyAction;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+/**
+ * Performance test for the availability and invocation of the stubbing and verification conversion intentions in a large test class.
+ */
+class ConversionIntentionsPerformanceTest extends MockitoolsPerformanceTestBase {
+
+    /**
+     * Checks the availability of all conversion intentions at each method call identifier, as if the caret was moved through the file.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 50_000})
+    void testConversionIntentionAvailability(int lineCount) {
+        var text = generateTestClass(lineCount, "");
+        var intentions = getConversionIntentions();
+
+        benchmark("intentions.availability", lineCount,
+            () -> getFixture().configureByText("PerformanceTest.java", text),
+            () -> {
+                var file = getFixture().getFile();
+                var editor = getFixture().getEditor();
+                for (var identifier : SyntaxTraverser.psiTraverser(file).filter(PsiIdentifier.class)) {
+                    if (identifier.getParent().getParent() instanceof PsiMethodCallExpression) {
+                        editor.getCaretModel().moveToOffset(identifier.getTextOffset());
+                        for (var intention : intentions) {
+                            intention.isAvailable(getFixture().getProject(), editor, file);
+                        }
+                    }
+                }
+            });
+    }
+
+    /**
+     * Converts a single {@code Mockito.verify()} call to {@code InOrder.verify()} at the end of a large file.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 50_000})
+    void testConversionIntentionInvocation(int lineCount) {
+        var text = generateTestClass(lineCount, """
+                void testConversion() {
+                    MockObject mock = Mockito.mock(MockObject.class);
+                    Mockito.ver<caret>ify(mock).process("value0");
+                }
+
+            """);
+
+        benchmark("intentions.invocation", lineCount,
+            () -> getFixture().configureByText("PerformanceTest.java", text),
+            () -> ApplicationManager.getApplication().invokeAndWait(() -> getFixture().testAction(new ConvertMockitoVerifyToInOrderVerifyAction(false))));
+    }
+
+    private static List<IntentionAction> getConversionIntentions() {
+        return IntentionManager.getInstance().getAvailableIntentions().stream()
+            .filter(intention -> IntentionActionDelegate.unwrap(intention) instanceof ConversionIntentionBase)
+            .toList();
+    }
+}
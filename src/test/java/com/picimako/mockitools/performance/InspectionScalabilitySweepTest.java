@@ -0,0 +1,172 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.performance;
+
+import static com.picimako.mockitools.performance.MockitoolsPerformanceTestBase.getMockitoolsInspections;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.picimako.mockitools.MockitoolsTestBase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sweeps one characteristic of the analyzed test code at a time, and records the time and allocations of each inspection
+ * registered by Mockitools, to reveal inspections whose cost grows super-linearly.
+ * <p>
+ * For each dimension, two CSV reports are written into {@code build/reports/scalability} (configurable via the
+ * {@code mockitools.scalability.report.dir} system property):
+ * <ul>
+ *     <li>{@code <dimension>-measurements.csv}: the best time and the allocated bytes of each inspection for each value of the dimension,</li>
+ *     <li>{@code <dimension>-growth.csv}: the growth exponents of the time and the allocations of each inspection, fitted on a log-log scale,
+ *     in descending order of the time exponent. An exponent around 1 means linear, around 2 means quadratic growth.</li>
+ * </ul>
+ * <p>
+ * The sweep doesn't assert anything, and it is tagged as {@code scalability}, so that it is executed only by the
+ * {@code runScalabilitySweep} Gradle task.
+ */
+@Tag("scalability")
+class InspectionScalabilitySweepTest extends MockitoolsTestBase {
+    private static final Path REPORT_DIR = Path.of(System.getProperty("mockitools.scalability.report.dir", "build/reports/scalability"));
+    private static final int BASE_LINE_COUNT = 2_000;
+    private static final int ATTEMPTS = 3;
+    private static final long SEED = 20240901L;
+
+    /**
+     * The swept dimensions, with the values and the way they configure the generator.
+     */
+    enum Dimension {
+        FILE_SIZE(List.of(1_000, 2_000, 4_000, 8_000, 16_000), MockitoTestCorpusGenerator::lineCount),
+        CHAIN_LENGTH(List.of(1, 2, 4, 8, 16), MockitoTestCorpusGenerator::chainLength),
+        IN_ORDER_REFERENCES(List.of(1, 2, 4, 8, 16), (generator, value) -> generator.inOrderShare(1).verificationsPerTest(value)),
+        MOCK_COUNT(List.of(1, 2, 4, 8, 16, 32), MockitoTestCorpusGenerator::mockCount),
+        MATCHER_ARGUMENTS(List.of(1, 2, 4, 8, 16), (generator, value) -> generator.matcherDensity(1).argumentCount(value));
+
+        private final List<Integer> values;
+        private final BiFunction<MockitoTestCorpusGenerator, Integer, MockitoTestCorpusGenerator> configurer;
+
+        Dimension(List<Integer> values, BiFunction<MockitoTestCorpusGenerator, Integer, MockitoTestCorpusGenerator> configurer) {
+            this.values = values;
+            this.configurer = configurer;
+        }
+    }
+
+    /**
+     * A single measurement of an inspection.
+     */
+    private record Measurement(int value, long nanos, long allocatedBytes) {
+    }
+
+    /**
+     * The growth exponents of an inspection along a dimension.
+     */
+    private record Growth(String inspection, double timeExponent, double allocationExponent) {
+    }
+
+    @ParameterizedTest
+    @EnumSource(Dimension.class)
+    void testSweep(Dimension dimension) throws IOException {
+        var inspections = getMockitoolsInspections();
+        var measurements = new LinkedHashMap<String, List<Measurement>>();
+
+        for (int value : dimension.values) {
+            var generator = new MockitoTestCorpusGenerator().seed(SEED).lineCount(BASE_LINE_COUNT);
+            var file = getFixture().configureByText("ScalabilityTest.java", dimension.configurer.apply(generator, value).generate("ScalabilityTest"));
+            for (var inspection : inspections) {
+                measurements.computeIfAbsent(inspection.getShortName(), name -> new ArrayList<>()).add(measure(inspection, file, value));
+            }
+        }
+
+        writeReports(dimension, measurements);
+    }
+
+    /**
+     * Runs the inspection on the whole file in the current thread, after a warmup run, and returns the best time of the attempts,
+     * and the bytes allocated by that attempt.
+     */
+    private Measurement measure(LocalInspectionTool inspection, PsiFile file, int value) {
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var inspectionManager = InspectionManager.getInstance(file.getProject());
+        var psiManager = PsiManager.getInstance(file.getProject());
+
+        inspection.processFile(file, inspectionManager);
+        var best = new Measurement(value, Long.MAX_VALUE, 0);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            psiManager.dropPsiCaches();
+            long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            inspection.processFile(file, inspectionManager);
+            long nanos = System.nanoTime() - start;
+            if (nanos < best.nanos)
+                best = new Measurement(value, nanos, threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore);
+        }
+        return best;
+    }
+
+    //Reporting
+
+    private static void writeReports(Dimension dimension, Map<String, List<Measurement>> measurements) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        var dimensionName = dimension.name().toLowerCase(Locale.ROOT).replace('_', '-');
+
+        var measurementLines = new ArrayList<String>();
+        measurementLines.add("inspection,value,timeMillis,allocatedBytes");
+        measurements.forEach((inspection, inspectionMeasurements) -> {
+            for (var measurement : inspectionMeasurements) {
+                measurementLines.add(String.format(Locale.ROOT, "%s,%d,%.3f,%d",
+                    inspection, measurement.value, measurement.nanos / 1_000_000.0, measurement.allocatedBytes));
+            }
+        });
+        Files.write(REPORT_DIR.resolve(dimensionName + "-measurements.csv"), measurementLines);
+
+        var growthLines = new ArrayList<String>();
+        growthLines.add("inspection,timeExponent,allocationExponent");
+        measurements.entrySet().stream()
+            .map(entry -> new Growth(entry.getKey(),
+                growthExponent(entry.getValue(), Measurement::nanos),
+                growthExponent(entry.getValue(), Measurement::allocatedBytes)))
+            .sorted(Comparator.comparingDouble(Growth::timeExponent).reversed())
+            .forEach(growth -> growthLines.add(String.format(Locale.ROOT, "%s,%.3f,%.3f",
+                growth.inspection, growth.timeExponent, growth.allocationExponent)));
+        Files.write(REPORT_DIR.resolve(dimensionName + "-growth.csv"), growthLines);
+    }
+
+    /**
+     * Fits {@code y = c * x^k} on the measurements via least squares on a log-log scale, and returns {@code k}.
+     * Measurements with non-positive results are ignored.
+     */
+    private static double growthExponent(List<Measurement> measurements, ToLongFunction<Measurement> result) {
+        double sumX = 0, sumY = 0, sumXY = 0, sumXX = 0;
+        int n = 0;
+        for (var measurement : measurements) {
+            long y = result.applyAsLong(measurement);
+            if (measurement.value > 0 && y > 0) {
+                double logX = Math.log(measurement.value);
+                double logY = Math.log(y);
+                sumX += logX;
+                sumY += logY;
+                sumXY += logX * logY;
+                sumXX += logX * logX;
+                n++;
+            }
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        return n < 2 || denominator == 0 ? Double.NaN : (n * sumXY - sumX * sumY) / denominator;
+    }
+}
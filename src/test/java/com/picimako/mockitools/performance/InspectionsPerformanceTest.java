@@ -0,0 +1,24 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.performance;
+
+import com.intellij.codeInspection.InspectionProfileEntry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Performance test for highlighting a large test class with all inspections registered by Mockitools enabled.
+ */
+class InspectionsPerformanceTest extends MockitoolsPerformanceTestBase {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 50_000})
+    void testAllInspections(int lineCount) {
+        var text = generateTestClass(lineCount, "");
+        getFixture().enableInspections(getMockitoolsInspections().toArray(InspectionProfileEntry[]::new));
+
+        benchmark("inspections", lineCount,
+            () -> getFixture().configureByText("PerformanceTest.java", text),
+            () -> getFixture().doHighlighting());
+    }
+}
@@ -0,0 +1,370 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.performance;
+
+import static com.picimako.mockitools.StubbingApproach.BDDMOCKITO_GIVEN;
+import static com.picimako.mockitools.StubbingApproach.BDDMOCKITO_WILL_X;
+import static com.picimako.mockitools.StubbingApproach.MOCKITO_DO_X;
+import static com.picimako.mockitools.StubbingApproach.MOCKITO_WHEN;
+
+import com.picimako.mockitools.StubbingApproach;
+import com.picimako.mockitools.ThirdPartyLibrary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * Generates Mockito-heavy Java test classes for benchmarking, with configurable characteristics.
+ * <p>
+ * Generation is reproducible: the same settings and seed always produce the same text. Each generated class contains
+ * {@code @Mock} fields, test methods with stubbings of the configured approaches, method calls on the mocks,
+ * and verifications, some of them via {@code InOrder} and {@code MockedStatic}. The mocked types are generated as nested classes,
+ * so that the code compiles against Mockito alone.
+ * <p>
+ * Example:
+ * <pre>
+ * new MockitoTestCorpusGenerator()
+ *     .seed(42)
+ *     .lineCount(10_000)
+ *     .stubbingApproachWeights(Map.of(StubbingApproach.MOCKITO_WHEN, 3, StubbingApproach.BDDMOCKITO_GIVEN, 1))
+ *     .generate("SomeTest");
+ * </pre>
+ */
+public final class MockitoTestCorpusGenerator {
+    private long seed = 0;
+    private int lineCount = 1_000;
+    private int mockCount = 3;
+    private final Map<StubbingApproach, Integer> stubbingApproachWeights = new EnumMap<>(Map.of(
+        MOCKITO_WHEN, 1, MOCKITO_DO_X, 1, BDDMOCKITO_GIVEN, 1, BDDMOCKITO_WILL_X, 1));
+    private int chainLength = 2;
+    private int argumentCount = 1;
+    private double matcherDensity = 0.5;
+    private int stubbingsPerTest = 3;
+    private int verificationsPerTest = 3;
+    private double inOrderShare = 0.3;
+    private double mockedStaticShare = 0.1;
+    private ThirdPartyLibrary mockitoVersion = ThirdPartyLibrary.MOCKITO_V5;
+    private String additionalMember = "";
+
+    //Settings
+
+    /**
+     * The seed of the random choices made during generation.
+     */
+    public MockitoTestCorpusGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * The minimum number of lines of the generated class. Test methods are generated until this number is reached.
+     */
+    public MockitoTestCorpusGenerator lineCount(int lineCount) {
+        this.lineCount = lineCount;
+        return this;
+    }
+
+    /**
+     * The number of {@code @Mock} fields in the generated class.
+     */
+    public MockitoTestCorpusGenerator mockCount(int mockCount) {
+        this.mockCount = Math.max(1, mockCount);
+        return this;
+    }
+
+    /**
+     * The relative frequencies of the stubbing approaches. Approaches not in the map are not generated.
+     */
+    public MockitoTestCorpusGenerator stubbingApproachWeights(Map<StubbingApproach, Integer> weights) {
+        stubbingApproachWeights.clear();
+        stubbingApproachWeights.putAll(weights);
+        return this;
+    }
+
+    /**
+     * The number of stubbing calls in each stubbing chain, e.g. 2 for {@code when(...).thenReturn("0").thenReturn("1")}.
+     */
+    public MockitoTestCorpusGenerator chainLength(int chainLength) {
+        this.chainLength = Math.max(1, chainLength);
+        return this;
+    }
+
+    /**
+     * The number of arguments of the stubbed and verified method.
+     */
+    public MockitoTestCorpusGenerator argumentCount(int argumentCount) {
+        this.argumentCount = Math.max(1, argumentCount);
+        return this;
+    }
+
+    /**
+     * The probability (between 0 and 1) of a stubbed or verified call using argument matchers instead of plain values.
+     * Since Mockito requires either all or none of the arguments to be matchers, it is decided per call.
+     */
+    public MockitoTestCorpusGenerator matcherDensity(double matcherDensity) {
+        this.matcherDensity = matcherDensity;
+        return this;
+    }
+
+    /**
+     * The number of stubbings in each test method.
+     */
+    public MockitoTestCorpusGenerator stubbingsPerTest(int stubbingsPerTest) {
+        this.stubbingsPerTest = stubbingsPerTest;
+        return this;
+    }
+
+    /**
+     * The number of verifications in each test method.
+     */
+    public MockitoTestCorpusGenerator verificationsPerTest(int verificationsPerTest) {
+        this.verificationsPerTest = verificationsPerTest;
+        return this;
+    }
+
+    /**
+     * The probability (between 0 and 1) of a test method verifying via {@code InOrder.verify()}.
+     */
+    public MockitoTestCorpusGenerator inOrderShare(double inOrderShare) {
+        this.inOrderShare = inOrderShare;
+        return this;
+    }
+
+    /**
+     * The probability (between 0 and 1) of a test method containing {@code MockedStatic} stubbing and verification.
+     */
+    public MockitoTestCorpusGenerator mockedStaticShare(double mockedStaticShare) {
+        this.mockedStaticShare = mockedStaticShare;
+        return this;
+    }
+
+    /**
+     * The Mockito version the generated code targets. For Mockito 3, the generated code also uses APIs removed in Mockito 4,
+     * e.g. {@code org.mockito.Matchers} and {@code verifyZeroInteractions()}, which the migration aids report.
+     */
+    public MockitoTestCorpusGenerator mockitoVersion(ThirdPartyLibrary mockitoVersion) {
+        this.mockitoVersion = mockitoVersion;
+        return this;
+    }
+
+    /**
+     * An additional class member added after the generated test methods, e.g. a method containing the caret.
+     */
+    public MockitoTestCorpusGenerator additionalMember(String additionalMember) {
+        this.additionalMember = additionalMember;
+        return this;
+    }
+
+    //Generation
+
+    /**
+     * Generates a test class with the current settings.
+     *
+     * @param className the name of the generated class
+     */
+    public String generate(String className) {
+        return new ClassGenerator(className, new Random(seed)).generate();
+    }
+
+    /**
+     * Writes {@code classCount} test classes into {@code directory}, each generated with a seed derived from the current one,
+     * e.g. to be analyzed by benchmarks outside the test fixture.
+     *
+     * @return the paths of the written files
+     */
+    public List<Path> writeCorpus(Path directory, int classCount) throws IOException {
+        Files.createDirectories(directory);
+        var files = new ArrayList<Path>(classCount);
+        long baseSeed = seed;
+        try {
+            for (int i = 0; i < classCount; i++) {
+                var className = "GeneratedTest" + i;
+                seed = baseSeed + i;
+                files.add(Files.writeString(directory.resolve(className + ".java"), generate(className)));
+            }
+        } finally {
+            seed = baseSeed;
+        }
+        return files;
+    }
+
+    /**
+     * Holds the state of generating a single class.
+     */
+    private final class ClassGenerator {
+        private final String className;
+        private final Random random;
+        private final StringBuilder text = new StringBuilder();
+        private final String matchers;
+        private int lines;
+
+        ClassGenerator(String className, Random random) {
+            this.className = className;
+            this.random = random;
+            this.matchers = mockitoVersion == ThirdPartyLibrary.MOCKITO_V3 && random.nextBoolean() ? "Matchers" : "ArgumentMatchers";
+        }
+
+        String generate() {
+            appendLine("import org.mockito.%s;".formatted(matchers));
+            appendLine("import org.mockito.BDDMockito;");
+            appendLine("import org.mockito.InOrder;");
+            appendLine("import org.mockito.Mock;");
+            appendLine("import org.mockito.MockedStatic;");
+            appendLine("import org.mockito.Mockito;");
+            appendLine("");
+            appendLine("class %s {".formatted(className));
+            for (int i = 0; i < mockCount; i++) {
+                appendLine("    @Mock");
+                appendLine("    MockObject mock%d;".formatted(i));
+            }
+            appendLine("");
+
+            for (int i = 0; lines < lineCount; i++) {
+                generateTestMethod(i);
+            }
+
+            text.append(additionalMember);
+            appendLine("    static class MockObject {");
+            appendLine("        public String process(%s) {".formatted(parameters()));
+            appendLine("            return a0;");
+            appendLine("        }");
+            appendLine("    }");
+            appendLine("");
+            appendLine("    static class StaticHelper {");
+            appendLine("        public static String process(%s) {".formatted(parameters()));
+            appendLine("            return a0;");
+            appendLine("        }");
+            appendLine("    }");
+            text.append("}");
+            return text.toString();
+        }
+
+        private void generateTestMethod(int index) {
+            appendLine("    void testMethod%d() {".formatted(index));
+            appendLine("        MockObject localMock = Mockito.mock(MockObject.class);");
+
+            for (int i = 0; i < stubbingsPerTest; i++) {
+                appendLine("        " + stubbing(randomMock()));
+            }
+            for (int i = 0; i < verificationsPerTest; i++) {
+                appendLine("        localMock.process(%s);".formatted(values()));
+            }
+
+            if (random.nextDouble() < inOrderShare) {
+                appendLine("        InOrder inOrder = Mockito.inOrder(localMock, %s);".formatted(randomMock()));
+                for (int i = 0; i < verificationsPerTest; i++) {
+                    appendLine("        inOrder.verify(localMock%s).process(%s);".formatted(verificationMode(), arguments()));
+                }
+            } else {
+                for (int i = 0; i < verificationsPerTest; i++) {
+                    appendLine(random.nextBoolean()
+                               ? "        Mockito.verify(localMock%s).process(%s);".formatted(verificationMode(), arguments())
+                               : "        BDDMockito.then(localMock).should(%s).process(%s);".formatted(verificationMode().replace(", ", ""), arguments()));
+                }
+            }
+
+            if (random.nextDouble() < mockedStaticShare) {
+                appendLine("        try (MockedStatic<StaticHelper> mockedStatic = Mockito.mockStatic(StaticHelper.class)) {");
+                appendLine("            mockedStatic.when(() -> StaticHelper.process(%s)).thenReturn(\"static\");".formatted(arguments()));
+                appendLine("            mockedStatic.verify(() -> StaticHelper.process(%s)%s);".formatted(arguments(), verificationMode()));
+                appendLine("        }");
+            }
+
+            appendLine(mockitoVersion == ThirdPartyLibrary.MOCKITO_V3
+                       ? "        Mockito.verifyZeroInteractions(%s);".formatted(randomMock())
+                       : "        Mockito.verifyNoMoreInteractions(localMock);");
+            appendLine("    }");
+            appendLine("");
+        }
+
+        private String stubbing(String mock) {
+            var approach = randomStubbingApproach();
+            var call = new StringBuilder();
+            switch (approach) {
+                case MOCKITO_WHEN -> {
+                    call.append("Mockito.when(%s.process(%s))".formatted(mock, arguments()));
+                    for (int i = 0; i < chainLength; i++) call.append(".thenReturn(\"").append(i).append("\")");
+                }
+                case BDDMOCKITO_GIVEN -> {
+                    call.append("BDDMockito.given(%s.process(%s))".formatted(mock, arguments()));
+                    for (int i = 0; i < chainLength; i++) call.append(".willReturn(\"").append(i).append("\")");
+                }
+                case MOCKITO_DO_X -> {
+                    call.append("Mockito");
+                    for (int i = 0; i < chainLength; i++) call.append(".doReturn(\"").append(i).append("\")");
+                    call.append(".when(%s).process(%s)".formatted(mock, arguments()));
+                }
+                case BDDMOCKITO_WILL_X -> {
+                    call.append("BDDMockito");
+                    for (int i = 0; i < chainLength; i++) call.append(".willReturn(\"").append(i).append("\")");
+                    call.append(".given(%s).process(%s)".formatted(mock, arguments()));
+                }
+            }
+            return call.append(";").toString();
+        }
+
+        private StubbingApproach randomStubbingApproach() {
+            int total = stubbingApproachWeights.values().stream().mapToInt(Integer::intValue).sum();
+            int choice = random.nextInt(Math.max(1, total));
+            for (var weight : stubbingApproachWeights.entrySet()) {
+                choice -= weight.getValue();
+                if (choice < 0) return weight.getKey();
+            }
+            return MOCKITO_WHEN;
+        }
+
+        private String randomMock() {
+            return "mock" + random.nextInt(mockCount);
+        }
+
+        private String verificationMode() {
+            return switch (random.nextInt(4)) {
+                case 0 -> ", Mockito.times(%d)".formatted(1 + random.nextInt(3));
+                case 1 -> ", Mockito.atLeastOnce()";
+                case 2 -> ", Mockito.never()";
+                default -> "";
+            };
+        }
+
+        /**
+         * Returns the arguments of a stubbed or verified call, either all of them as matchers, or all of them as plain values.
+         */
+        private String arguments() {
+            if (random.nextDouble() >= matcherDensity) return values();
+
+            var arguments = new StringJoiner(", ");
+            for (int i = 0; i < argumentCount; i++) {
+                arguments.add(random.nextBoolean() ? matchers + ".anyString()" : matchers + ".eq(\"value" + i + "\")");
+            }
+            return arguments.toString();
+        }
+
+        private String values() {
+            var values = new StringJoiner(", ");
+            for (int i = 0; i < argumentCount; i++) {
+                values.add("\"value" + i + "\"");
+            }
+            return values.toString();
+        }
+
+        private String parameters() {
+            var parameters = new StringJoiner(", ");
+            for (int i = 0; i < argumentCount; i++) {
+                parameters.add("String a" + i);
+            }
+            return parameters.toString();
+        }
+
+        private void appendLine(String line) {
+            text.append(line).append('\n');
+            lines++;
+        }
+    }
+}
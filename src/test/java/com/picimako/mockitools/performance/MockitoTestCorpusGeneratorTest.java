@@ -0,0 +1,62 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.performance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.picimako.mockitools.MockitoolsTestBase;
+import com.picimako.mockitools.StubbingApproach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+/**
+ * Integration test for {@link MockitoTestCorpusGenerator}.
+ */
+class MockitoTestCorpusGeneratorTest extends MockitoolsTestBase {
+
+    @Test
+    void testGeneratesSameClassForSameSeed() {
+        var generator = new MockitoTestCorpusGenerator().seed(42).lineCount(200);
+
+        assertThat(generator.generate("GeneratedTest")).isEqualTo(generator.generate("GeneratedTest"));
+    }
+
+    @Test
+    void testGeneratesDifferentClassesForDifferentSeeds() {
+        var generator = new MockitoTestCorpusGenerator().lineCount(200);
+
+        assertThat(generator.seed(1).generate("GeneratedTest")).isNotEqualTo(generator.seed(2).generate("GeneratedTest"));
+    }
+
+    @Test
+    void testGeneratesAtLeastRequestedNumberOfLines() {
+        var text = new MockitoTestCorpusGenerator().lineCount(500).generate("GeneratedTest");
+
+        assertThat(text.lines().count()).isGreaterThanOrEqualTo(500);
+    }
+
+    @Test
+    void testGeneratesOnlyConfiguredStubbingApproaches() {
+        var text = new MockitoTestCorpusGenerator()
+            .lineCount(300)
+            .stubbingApproachWeights(Map.of(StubbingApproach.BDDMOCKITO_GIVEN, 1))
+            .generate("GeneratedTest");
+
+        assertThat(text).contains("BDDMockito.given(").doesNotContain("Mockito.when(", "Mockito.doReturn(", "BDDMockito.willReturn(");
+    }
+
+    @Test
+    void testGeneratesCompilableCode() {
+        getFixture().configureByText("GeneratedTest.java", new MockitoTestCorpusGenerator()
+            .lineCount(300)
+            .argumentCount(3)
+            .chainLength(3)
+            .inOrderShare(0.5)
+            .mockedStaticShare(0.5)
+            .generate("GeneratedTest"));
+
+        assertThat(getFixture().doHighlighting(HighlightSeverity.ERROR)).isEmpty();
+    }
+}
@@ -0,0 +1,125 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.performance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.codeInspection.LocalInspectionEP;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.psi.PsiManager;
+import com.intellij.tools.ide.metrics.benchmark.PerformanceTestUtil;
+import com.intellij.util.ThrowableRunnable;
+import com.picimako.mockitools.MockitoolsTestBase;
+import org.junit.jupiter.api.Tag;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Base class for the performance regression tests.
+ * <p>
+ * Performance tests are tagged as {@code performance}, thus they are excluded from the regular test runs,
+ * and are executed by the {@code runPerformanceTests} Gradle task.
+ * <p>
+ * Each scenario is measured with the platform's performance test API, and the best attempt is compared against
+ * the time budget stored in {@code performance/budgets.properties}. Budgets can be scaled for slower machines via the
+ * {@code mockitools.performance.budget.factor} system property.
+ */
+@Tag("performance")
+public abstract class MockitoolsPerformanceTestBase extends MockitoolsTestBase {
+    private static final String BUDGETS_PATH = "/performance/budgets.properties";
+    private static final Properties BUDGETS = loadBudgets();
+    private static final double BUDGET_FACTOR = Double.parseDouble(System.getProperty("mockitools.performance.budget.factor", "1.0"));
+    private static final int WARMUP_ITERATIONS = 1;
+    private static final int ATTEMPTS = 3;
+    private static final long SEED = 20240901L;
+
+    /**
+     * Measures {@code test} for the given scenario and file size, and asserts that the best attempt fits in the stored budget.
+     *
+     * @param scenario  the name of the scenario, also the key prefix of the budget
+     * @param lineCount the number of lines in the generated test file
+     * @param setup     executed before each attempt, excluded from the measurement
+     * @param test      the measured operation
+     */
+    protected void benchmark(String scenario, int lineCount, ThrowableRunnable<?> setup, ThrowableRunnable<?> test) {
+        var bestTime = new long[]{Long.MAX_VALUE};
+
+        PerformanceTestUtil.newPerformanceTest(scenario + "." + lineCount, () -> {
+                long start = System.nanoTime();
+                test.run();
+                bestTime[0] = Math.min(bestTime[0], System.nanoTime() - start);
+            })
+            .setup(() -> {
+                setup.run();
+                //Drops resolve caches, so that each attempt measures a cold analysis
+                PsiManager.getInstance(getFixture().getProject()).dropPsiCaches();
+            })
+            .warmupIterations(WARMUP_ITERATIONS)
+            .attempts(ATTEMPTS)
+            .start();
+
+        assertWithinBudget(scenario, lineCount, bestTime[0]);
+    }
+
+    /**
+     * Asserts that the argument time, measured for the given scenario and file size, fits in the stored budget.
+     * <p>
+     * The time is compared in fractional milliseconds, so that it is not rounded down to fit in the budget.
+     *
+     * @param nanos the measured time in nanoseconds
+     */
+    protected static void assertWithinBudget(String scenario, int lineCount, long nanos) {
+        assertThat(nanos / 1_000_000.0)
+            .as("Time of '%s' on %d lines exceeds its budget", scenario, lineCount)
+            .isLessThanOrEqualTo((double) getBudget(scenario, lineCount));
+    }
+
+    private static long getBudget(String scenario, int lineCount) {
+        var key = scenario + "." + lineCount;
+        var budget = BUDGETS.getProperty(key);
+        assertThat(budget).as("No time budget is defined for '%s' in %s", key, BUDGETS_PATH).isNotNull();
+        return Math.round(Long.parseLong(budget.trim()) * BUDGET_FACTOR);
+    }
+
+    private static Properties loadBudgets() {
+        var budgets = new Properties();
+        try (var budgetsStream = MockitoolsPerformanceTestBase.class.getResourceAsStream(BUDGETS_PATH)) {
+            if (budgetsStream != null) budgets.load(budgetsStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return budgets;
+    }
+
+    /**
+     * Instantiates all local inspections registered in the plugin.xml of Mockitools.
+     */
+    protected static List<LocalInspectionTool> getMockitoolsInspections() {
+        return LocalInspectionEP.LOCAL_INSPECTION.getExtensionList().stream()
+            .filter(inspection -> "mockitools".equals(inspection.getPluginDescriptor().getPluginId().getIdString()))
+            .map(LocalInspectionEP::instantiateTool)
+            .filter(LocalInspectionTool.class::isInstance)
+            .map(LocalInspectionTool.class::cast)
+            .toList();
+    }
+
+    //Test file generation
+
+    /**
+     * Generates a test class named {@code PerformanceTest} with at least {@code lineCount} lines, using the default settings
+     * of {@link MockitoTestCorpusGenerator} and a fixed seed, so that each run measures the same code.
+     *
+     * @param lineCount        the minimum number of lines to generate
+     * @param additionalMember an additional class member to add after the generated test methods, e.g. one containing the caret
+     */
+    protected static String generateTestClass(int lineCount, String additionalMember) {
+        return new MockitoTestCorpusGenerator()
+            .seed(SEED)
+            .lineCount(lineCount)
+            .additionalMember(additionalMember)
+            .generate("PerformanceTest");
+    }
+}
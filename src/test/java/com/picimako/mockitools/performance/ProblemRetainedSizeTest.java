@@ -0,0 +1,146 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.performance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.QuickFix;
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.SmartPsiElementPointer;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Measures the heap retained by the quick fixes of the problems registered by the inspections of Mockitools in a large test class,
+ * which is what remains in memory per problem after the analysis of a file, e.g. during batch inspection.
+ * <p>
+ * The object graphs of the quick fixes are walked via reflection, and their sizes are estimated with a simple model of
+ * the object layout of a 64-bit JVM with compressed references. Objects shared by the quick fixes of multiple problems
+ * are counted only once.
+ * <p>
+ * It asserts that no quick fix references PSI, AST nodes, documents, virtual files or the project, and that the estimated
+ * retained size per problem fits in {@link #MAX_RETAINED_BYTES_PER_PROBLEM}.
+ */
+class ProblemRetainedSizeTest extends MockitoolsPerformanceTestBase {
+    private static final long MAX_RETAINED_BYTES_PER_PROBLEM = 128;
+    private static final List<Class<?>> FORBIDDEN_TYPES = List.of(
+        PsiElement.class, ASTNode.class, SmartPsiElementPointer.class, Document.class, VirtualFile.class, Project.class);
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 5_000})
+    void testRetainedSizePerProblem(int lineCount) {
+        var file = getFixture().configureByText("PerformanceTest.java", generateTestClass(lineCount, ""));
+        var inspectionManager = InspectionManager.getInstance(getFixture().getProject());
+
+        int problemCount = 0;
+        var quickFixes = Collections.newSetFromMap(new IdentityHashMap<QuickFix<?>, Boolean>());
+        for (var inspection : getMockitoolsInspections()) {
+            for (var descriptor : inspection.processFile(file, inspectionManager)) {
+                problemCount++;
+                var fixes = descriptor.getFixes();
+                if (fixes != null) Collections.addAll(quickFixes, fixes);
+            }
+        }
+
+        assertThat(problemCount).as("No problem is registered in the generated test class").isPositive();
+        long retainedBytes = estimateRetainedBytes(quickFixes);
+        assertThat(retainedBytes / problemCount)
+            .as("Estimated retained bytes per problem of %d problems on %d lines", problemCount, lineCount)
+            .isLessThanOrEqualTo(MAX_RETAINED_BYTES_PER_PROBLEM);
+    }
+
+    //Object graph walking
+
+    /**
+     * Returns the estimated size of the object graph reachable from the argument roots via non-static fields.
+     * Classes and enum constants are considered to be shared with the rest of the application, thus they are not counted.
+     */
+    private static long estimateRetainedBytes(Set<?> roots) {
+        var visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        var toVisit = new ArrayDeque<Object>(roots);
+        long bytes = 0;
+        while (!toVisit.isEmpty()) {
+            var object = toVisit.pop();
+            if (object instanceof Class<?> || object instanceof Enum<?> || !visited.add(object)) continue;
+            assertNotForbidden(object);
+
+            var type = object.getClass();
+            if (type.isArray()) {
+                int length = Array.getLength(object);
+                var componentType = type.getComponentType();
+                bytes += align(ARRAY_HEADER_BYTES + (long) length * sizeOf(componentType));
+                if (!componentType.isPrimitive()) {
+                    for (int i = 0; i < length; i++) {
+                        var element = Array.get(object, i);
+                        if (element != null) toVisit.push(element);
+                    }
+                }
+                continue;
+            }
+
+            long objectBytes = OBJECT_HEADER_BYTES;
+            for (var currentType = type; currentType != null; currentType = currentType.getSuperclass()) {
+                for (var field : currentType.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) continue;
+                    objectBytes += sizeOf(field.getType());
+                    if (!field.getType().isPrimitive()) {
+                        var value = readField(field, object);
+                        if (value != null) toVisit.push(value);
+                    }
+                }
+            }
+            bytes += align(objectBytes);
+        }
+        return bytes;
+    }
+
+    private static void assertNotForbidden(Object object) {
+        for (var forbiddenType : FORBIDDEN_TYPES) {
+            assertThat(forbiddenType.isInstance(object))
+                .as("A quick fix references an instance of %s: %s", forbiddenType.getName(), object.getClass().getName())
+                .isFalse();
+        }
+    }
+
+    /**
+     * Returns the value of the argument field, or null if it is not accessible, e.g. in a JDK class not opened for reflection.
+     * In that case the object is counted with its shallow size only.
+     */
+    private static Object readField(Field field, Object object) {
+        try {
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (RuntimeException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static int sizeOf(Class<?> type) {
+        if (type == long.class || type == double.class) return 8;
+        if (type == int.class || type == float.class) return 4;
+        if (type == short.class || type == char.class) return 2;
+        if (type == byte.class || type == boolean.class) return 1;
+        return REFERENCE_BYTES;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,89 @@
+//Copyright 2024 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.mockitools.performance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.picimako.mockitools.MockableTypesUtil;
+import com.picimako.mockitools.util.PsiMethodUtil;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Measures the bytes allocated per visited method call by the utilities that are executed for every method call in test files,
+ * when the caller already holds read access, as it is the case in inspections.
+ * <p>
+ * Each utility is executed for all method calls of a generated test class in warmup iterations first, so that the measured
+ * iterations run JIT-compiled code, then the bytes allocated by the current thread during the measured iterations are divided by
+ * the number of visited calls.
+ */
+class UtilityAllocationTest extends MockitoolsPerformanceTestBase {
+    private static final int LINE_COUNT = 5_000;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    /**
+     * The measured utilities, with the maximum number of bytes they may allocate per visited call.
+     */
+    enum Utility {
+        HAS_ARGUMENT(0, PsiMethodUtil::hasArgument),
+        HAS_ONE_ARGUMENT(0, PsiMethodUtil::hasOneArgument),
+        GET_FIRST_ARGUMENT(0, PsiMethodUtil::getFirstArgument),
+        GET_FIRST_ARGUMENT_IN_READ_ACTION(0, PsiMethodUtil::getFirstArgumentInReadAction),
+        //The list holding the calls is the only allocation
+        COLLECT_CALLS_IN_CHAIN_FROM_LAST(64, PsiMethodUtil::collectCallsInChainFromLast),
+        //The canonical texts of class types are built on each call by the platform
+        IS_MOCKABLE_TYPE(256, call -> {
+            PsiType type = call.getType();
+            if (type != null) MockableTypesUtil.isMockableType(type);
+        });
+
+        private final long maxBytesPerCall;
+        private final Consumer<PsiMethodCallExpression> utility;
+
+        Utility(long maxBytesPerCall, Consumer<PsiMethodCallExpression> utility) {
+            this.maxBytesPerCall = maxBytesPerCall;
+            this.utility = utility;
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Utility.class)
+    void testBytesPerVisitedCall(Utility utility) {
+        var file = getFixture().configureByText("PerformanceTest.java", generateTestClass(LINE_COUNT, ""));
+        var calls = ReadAction.compute(() -> new ArrayList<>(PsiTreeUtil.findChildrenOfType(file, PsiMethodCallExpression.class)));
+        assertThat(calls).isNotEmpty();
+
+        long allocatedBytes = ReadAction.compute(() -> {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                visitAll(calls, utility);
+            }
+            var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                visitAll(calls, utility);
+            }
+            return threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        });
+
+        double bytesPerCall = (double) allocatedBytes / ((long) calls.size() * MEASURED_ITERATIONS);
+        assertThat(bytesPerCall)
+            .as("Bytes allocated per visited call by %s", utility)
+            .isLessThanOrEqualTo(utility.maxBytesPerCall + 1.0); //Tolerates the allocations of the measurement itself
+    }
+
+    private static void visitAll(List<PsiMethodCallExpression> calls, Utility utility) {
+        for (var call : calls) {
+            utility.utility.accept(call);
+        }
+    }
+}
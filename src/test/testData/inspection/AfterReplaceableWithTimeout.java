@@ -0,0 +1,36 @@
+import static org.mockito.Mockito.after;
+
+import org.mockito.BDDMockito;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.mockito.verification.VerificationMode;
+
+import java.util.List;
+
+class AfterReplaceableWithTimeout {
+
+    void replaceable() {
+        List<String> mock = Mockito.mock(List.class);
+        Mockito.verify(mock, <warning descr="'after()' always waits for the full duration. 'timeout()' verifies the same, but returns as soon as the verification passes.">Mockito.after(100)</warning>).clear();
+        Mockito.verify(mock, <warning descr="'after()' always waits for the full duration. 'timeout()' verifies the same, but returns as soon as the verification passes.">after(100)</warning>.times(2)).clear();
+        Mockito.verify(mock, <warning descr="'after()' always waits for the full duration. 'timeout()' verifies the same, but returns as soon as the verification passes.">Mockito.after(100)</warning>.atLeast(2)).clear();
+        Mockito.verify(mock, <warning descr="'after()' always waits for the full duration. 'timeout()' verifies the same, but returns as soon as the verification passes.">Mockito.after(100)</warning>.atLeastOnce()).clear();
+        BDDMockito.then(mock).should(<warning descr="'after()' always waits for the full duration. 'timeout()' verifies the same, but returns as soon as the verification passes.">Mockito.after(100)</warning>).clear();
+        InOrder inOrder = Mockito.inOrder(mock);
+        inOrder.verify(mock, <warning descr="'after()' always waits for the full duration. 'timeout()' verifies the same, but returns as soon as the verification passes.">Mockito.after(100)</warning>.times(2)).clear();
+    }
+
+    void notReplaceable() {
+        List<String> mock = Mockito.mock(List.class);
+        Mockito.verify(mock, Mockito.after(100).never()).clear();
+        Mockito.verify(mock, Mockito.after(100).atMost(2)).clear();
+        Mockito.verify(mock, Mockito.after(100).only()).clear();
+        Mockito.verify(mock, Mockito.timeout(100).times(2)).clear();
+        helper(after(100));
+        helper(Mockito.after(100).times(2));
+        VerificationMode mode = after(100);
+    }
+
+    void helper(VerificationMode mode) {
+    }
+}
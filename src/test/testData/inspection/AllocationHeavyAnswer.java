@@ -0,0 +1,57 @@
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+class AllocationHeavyAnswer {
+    @Mock(answer = <weak_warning descr="'RETURNS_DEEP_STUBS' creates a mock for each intermediate return type accessed, before each test. Consider stubbing the used call chains explicitly.">Answers.RETURNS_DEEP_STUBS</weak_warning>)
+    private Order deepStubsField;
+    @Mock(answer = Answers.RETURNS_SELF)
+    private Order selfField;
+    @Mock
+    private Order plainField;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = Mockito.mock(Customer.class, <weak_warning descr="'RETURNS_MOCKS' creates a mock for each intermediate return type accessed, before each test. Consider stubbing the used call chains explicitly.">Answers.RETURNS_MOCKS</weak_warning>);
+    }
+
+    void inLoop(List<String> names) {
+        for (String name : names) {
+            Address address = Mockito.mock(Address.class, Mockito.withSettings().defaultAnswer(<weak_warning descr="'RETURNS_DEEP_STUBS' creates a mock for each intermediate return type accessed, in every iteration of this loop. Consider stubbing the used call chains explicitly.">RETURNS_DEEP_STUBS</weak_warning>));
+        }
+    }
+
+    void deepReturnTypeGraph() {
+        Order order = Mockito.mock(Order.class, <weak_warning descr="'RETURNS_DEEP_STUBS' creates a mock for each intermediate return type accessed, and Order has return types nested at least 3 levels deep. Consider stubbing the used call chains explicitly.">RETURNS_DEEP_STUBS</weak_warning>);
+    }
+
+    void notReported(List<String> names) {
+        Address address = Mockito.mock(Address.class, RETURNS_DEEP_STUBS);
+        List<String> list = Mockito.mock(List.class, Answers.RETURNS_MOCKS);
+        for (String name : names) {
+            Order order = Mockito.mock(Order.class, Answers.RETURNS_SELF);
+            Order plainOrder = Mockito.mock(Order.class);
+        }
+    }
+}
+
+interface Order {
+    Customer getCustomer();
+}
+
+interface Customer {
+    Address getAddress();
+}
+
+interface Address {
+    City getCity();
+}
+
+interface City {
+    String getName();
+}
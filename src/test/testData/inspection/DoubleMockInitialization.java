@@ -0,0 +1,85 @@
+package com.picimako.mockitools;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.runner.RunWith;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class WithExtension {
+    @BeforeEach
+    void setup() {
+        <warning descr="Mocks are already initialized by 'MockitoExtension'. Initializing them again creates every annotated mock twice.">MockitoAnnotations.openMocks(this)</warning>;
+        <warning descr="Mocks are already initialized by 'MockitoExtension'. Initializing them again creates every annotated mock twice.">MockitoAnnotations.initMocks(this)</warning>;
+    }
+
+    @Nested
+    class NestedTest {
+        @BeforeEach
+        void setup() {
+            <warning descr="Mocks are already initialized by 'MockitoExtension'. Initializing them again creates every annotated mock twice.">MockitoAnnotations.openMocks(this)</warning>;
+        }
+    }
+}
+
+@RunWith(MockitoJUnitRunner.class)
+class WithRunner {
+    void setup() {
+        <warning descr="Mocks are already initialized by 'MockitoJUnitRunner'. Initializing them again creates every annotated mock twice.">MockitoAnnotations.openMocks(this)</warning>;
+    }
+}
+
+@RunWith(MockitoJUnitRunner.StrictStubs.class)
+class WithStrictStubsRunner {
+    void setup() {
+        <warning descr="Mocks are already initialized by 'StrictStubs'. Initializing them again creates every annotated mock twice.">MockitoAnnotations.openMocks(this)</warning>;
+    }
+}
+
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(MockitoExtension.class)
+@interface MockitoTest {
+}
+
+@MockitoTest
+class WithMetaAnnotation {
+    @BeforeEach
+    void setup() {
+        <warning descr="Mocks are already initialized by 'MockitoExtension'. Initializing them again creates every annotated mock twice.">MockitoAnnotations.openMocks(this)</warning>;
+    }
+}
+
+class WithExtensionInBaseClass extends WithExtension {
+    @BeforeEach
+    void setupSubclass() {
+        <warning descr="Mocks are already initialized by 'MockitoExtension'. Initializing them again creates every annotated mock twice.">MockitoAnnotations.openMocks(this)</warning>;
+    }
+}
+
+class WithoutExtension {
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Nested
+    class NestedTest {
+        @BeforeEach
+        void setup() {
+            MockitoAnnotations.openMocks(this);
+        }
+    }
+}
+
+@ExtendWith(MockitoExtension.class)
+class NonThisArgument {
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(new WithoutExtension());
+    }
+}
@@ -0,0 +1,107 @@
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+class MockedValueType {
+    @Mock
+    private <weak_warning descr="Mocking this record is more expensive than creating a real instance of it.">Person</weak_warning> personField;
+    @Mock
+    private <weak_warning descr="Mocking this collection is more expensive than creating a real instance of it.">List<String></weak_warning> listField;
+    @Mock
+    private Clock clockField;
+    @Mock
+    private Address addressField;
+
+    void valueTypes() {
+        Person person = Mockito.mock(<weak_warning descr="Mocking this record is more expensive than creating a real instance of it.">Person.class</weak_warning>);
+        Status status = Mockito.mock(<weak_warning descr="Mocking this enum is more expensive than creating a real instance of it.">Status.class</weak_warning>);
+        LocalDate date = Mockito.mock(<weak_warning descr="Mocking this date-time value is more expensive than creating a real instance of it.">LocalDate.class</weak_warning>);
+        Map<String, String> map = Mockito.mock(<weak_warning descr="Mocking this collection is more expensive than creating a real instance of it.">Map.class</weak_warning>);
+        Optional<String> optional = Mockito.mock(<weak_warning descr="Mocking this Optional is more expensive than creating a real instance of it.">Optional.class</weak_warning>);
+    }
+
+    void dataCarriers() {
+        Address address = Mockito.mock(<weak_warning descr="Mocking this data carrier, whose only stubbings are getters, is more expensive than creating a real instance of it.">Address.class</weak_warning>);
+        Mockito.when(address.getCity()).thenReturn("Budapest");
+        Mockito.when(address.isPrimary()).thenReturn(true);
+        useAddress(address);
+    }
+
+    void notDataCarriers() {
+        Address verified = Mockito.mock(Address.class);
+        Mockito.when(verified.getCity()).thenReturn("Budapest");
+        Mockito.verify(verified).getCity();
+
+        Location nonGetterStubbed = Mockito.mock(Location.class);
+        Mockito.when(nonGetterStubbed.format()).thenReturn("Budapest");
+
+        Location withBehaviour = Mockito.mock(Location.class);
+        Mockito.when(withBehaviour.getCity()).thenReturn("Budapest");
+
+        Address notStubbed = Mockito.mock(Address.class);
+        useAddress(notStubbed);
+
+        Service service = Mockito.mock(Service.class);
+        Mockito.when(service.getName()).thenReturn("service");
+
+        Clock clock = Mockito.mock(Clock.class);
+    }
+
+    void useAddress(Address address) {
+    }
+}
+
+record Person(String name, int age) {
+}
+
+enum Status {
+    ACTIVE, INACTIVE
+}
+
+class Address {
+    private String city;
+    private boolean primary;
+
+    public Address(String city, boolean primary) {
+        this.city = city;
+        this.primary = primary;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public boolean isPrimary() {
+        return primary;
+    }
+
+    public void setPrimary(boolean primary) {
+        this.primary = primary;
+    }
+
+    @Override
+    public String toString() {
+        return city;
+    }
+}
+
+class Location {
+    private String city;
+
+    public String getCity() {
+        return city;
+    }
+
+    public String format() {
+        return "City: " + city;
+    }
+}
+
+interface Service {
+    String getName();
+}
@@ -0,0 +1,80 @@
+package com.picimako.mockitools;
+
+import org.mockito.Answers;
+import org.mockito.BDDMockito;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+
+public class NeverVerifiedMock {
+
+    @Mock
+    SomeType <weak_warning descr="This mock is never verified. Configuring it as stub-only saves the memory used for recording its invocations.">notVerified</weak_warning>;
+    @Mock(stubOnly = false)
+    private SomeType <weak_warning descr="This mock is never verified. Configuring it as stub-only saves the memory used for recording its invocations.">notVerifiedPrivate</weak_warning>;
+    @Mock
+    SomeType <weak_warning descr="This mock is never verified. Configuring it as stub-only saves the memory used for recording its invocations.">notReferenced</weak_warning>;
+
+    @Mock(stubOnly = true)
+    SomeType stubOnly;
+    @Mock
+    protected SomeType protectedMock;
+    @Mock
+    public SomeType publicMock;
+    @Spy
+    SomeType spy;
+    @Mock
+    SomeType verified;
+    @Mock
+    SomeType verifiedViaThen;
+    @Mock
+    SomeType verifiedInOrder;
+    @Mock
+    SomeType verifiedNoMoreInteractions;
+    @Mock
+    SomeType verifiedNoInteractions;
+    @Mock
+    SomeType verifiedInHelperMethod;
+
+    void testHighlight() {
+        SomeType <weak_warning descr="This mock is never verified. Configuring it as stub-only saves the memory used for recording its invocations.">local</weak_warning> = Mockito.mock(SomeType.class);
+        SomeType <weak_warning descr="This mock is never verified. Configuring it as stub-only saves the memory used for recording its invocations.">localWithName</weak_warning> = Mockito.mock(SomeType.class, "name");
+        SomeType <weak_warning descr="This mock is never verified. Configuring it as stub-only saves the memory used for recording its invocations.">localWithAnswer</weak_warning> = Mockito.mock(SomeType.class, Answers.RETURNS_DEFAULTS);
+        SomeType <weak_warning descr="This mock is never verified. Configuring it as stub-only saves the memory used for recording its invocations.">localWithSettings</weak_warning> = Mockito.mock(SomeType.class, Mockito.withSettings().lenient());
+
+        Mockito.when(notVerified.doesSomething()).thenReturn("value");
+        Mockito.when(notVerifiedPrivate.doesSomething()).thenReturn("value");
+        Mockito.when(local.doesSomething()).thenReturn("value");
+        Mockito.when(localWithName.doesSomething()).thenReturn("value");
+        Mockito.when(localWithAnswer.doesSomething()).thenReturn("value");
+        Mockito.when(localWithSettings.doesSomething()).thenReturn("value");
+    }
+
+    void testNoHighlight() {
+        SomeType localStubOnly = Mockito.mock(SomeType.class, Mockito.withSettings().stubOnly());
+        SomeType localSpy = Mockito.spy(SomeType.class);
+        SomeType localVerified = Mockito.mock(SomeType.class);
+        SomeType localVerifiedViaThen = Mockito.mock(SomeType.class);
+
+        Mockito.verify(verified).doesSomething();
+        Mockito.verify(localVerified, Mockito.times(2)).doesSomething();
+        BDDMockito.then(verifiedViaThen).should().doesSomething();
+        BDDMockito.then(localVerifiedViaThen).shouldHaveNoMoreInteractions();
+        InOrder inOrder = Mockito.inOrder(verifiedInOrder);
+        inOrder.verify(verifiedInOrder).doesSomething();
+        Mockito.verifyNoMoreInteractions(verifiedNoMoreInteractions);
+        Mockito.verifyNoInteractions(verifiedNoInteractions);
+        verifyHelper(verifiedInHelperMethod);
+    }
+
+    private void verifyHelper(SomeType mock) {
+        Mockito.verify(mock).doesSomething();
+    }
+
+    private static class SomeType {
+        String doesSomething() {
+            return "";
+        }
+    }
+}
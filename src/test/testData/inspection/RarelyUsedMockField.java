@@ -0,0 +1,86 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class RarelyUsedMockField {
+
+    class MockFields {
+        @Mock
+        private List<String> <weak_warning descr="This mock is created before each test, but none of the tests use it.">unused</weak_warning>;
+        @Mock
+        private List<String> <weak_warning descr="This mock is created before each test, but only 1 of the 6 tests use it. Consider creating it in those tests.">usedByOneTest</weak_warning>;
+        @Spy
+        private List<String> <weak_warning descr="This mock is created before each test, but only 1 of the 6 tests use it. Consider creating it in those tests.">usedViaHelper</weak_warning> = new ArrayList<>();
+        @Mock
+        private List<String> usedByTwoTests;
+        @Mock
+        private List<String> usedInHook;
+        @Mock
+        private List<String> usedInUncalledHelper;
+        @Mock
+        protected List<String> protectedField;
+        private List<String> notMock;
+
+        @BeforeEach
+        void setup() {
+            usedInHook.clear();
+        }
+
+        @Test
+        void test1() {
+            usedByOneTest.clear();
+            usedByTwoTests.clear();
+        }
+
+        @Test
+        void test2() {
+            usedByTwoTests.clear();
+            helper();
+        }
+
+        @Test
+        void test3() {
+        }
+
+        @Test
+        void test4() {
+        }
+
+        @Test
+        void test5() {
+        }
+
+        @Test
+        void test6() {
+        }
+
+        private void helper() {
+            usedViaHelper.clear();
+        }
+
+        private void uncalledHelper() {
+            usedInUncalledHelper.clear();
+        }
+    }
+
+    class InjectMocksClass {
+        @Mock
+        private List<String> unused;
+        @InjectMocks
+        private ArrayList<String> injected;
+
+        @Test
+        void test1() {
+        }
+    }
+
+    class NoTests {
+        @Mock
+        private List<String> unused;
+    }
+}
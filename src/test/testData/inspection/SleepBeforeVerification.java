@@ -0,0 +1,70 @@
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import org.mockito.BDDMockito;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+class SleepBeforeVerification {
+
+    void reported() throws InterruptedException {
+        List<String> mock = Mockito.mock(List.class);
+        <warning descr="'Thread.sleep()' always waits for the full duration. Verifying with 'timeout()' returns as soon as the verification passes.">Thread.sleep(500)</warning>;
+        Mockito.verify(mock).clear();
+
+        <warning descr="'Thread.sleep()' always waits for the full duration. Verifying with 'timeout()' returns as soon as the verification passes.">Thread.sleep(500)</warning>;
+        Mockito.verify(mock, times(2)).clear();
+        Mockito.verify(mock, Mockito.atLeastOnce()).size();
+
+        <warning descr="'Thread.sleep()' always waits for the full duration. Verifying with 'timeout()' returns as soon as the verification passes.">Thread.sleep(500)</warning>;
+        BDDMockito.then(mock).should(times(2)).clear();
+
+        InOrder inOrder = Mockito.inOrder(mock);
+        <warning descr="'Thread.sleep()' always waits for the full duration. Verifying with 'timeout()' returns as soon as the verification passes.">Thread.sleep(500)</warning>;
+        inOrder.verify(mock).clear();
+    }
+
+    void notReported() throws InterruptedException {
+        List<String> mock = Mockito.mock(List.class);
+        Thread.sleep(500);
+        Mockito.verify(mock, never()).clear();
+
+        Thread.sleep(500);
+        Mockito.verify(mock).clear();
+        Mockito.verify(mock, Mockito.atMost(2)).size();
+
+        Thread.sleep(500);
+        Mockito.verify(mock, Mockito.timeout(100)).clear();
+
+        Thread.sleep(500);
+        mock.clear();
+        Mockito.verify(mock).clear();
+
+        Thread.sleep(500, 100);
+        Mockito.verify(mock).clear();
+
+        Thread.sleep(500);
+        BDDMockito.then(mock).shouldHaveNoMoreInteractions();
+
+        Thread.sleep(500);
+        BDDMockito.then(mock).shouldHaveNoInteractions();
+
+        Thread.sleep(500);
+        Mockito.verify(mock).clear();
+        Mockito.verifyNoMoreInteractions(mock);
+
+        Thread.sleep(500);
+        Mockito.verify(mock, times(2)).clear();
+        Mockito.verifyNoInteractions(mock);
+
+        Thread.sleep(500);
+        BDDMockito.then(mock).should().clear();
+        BDDMockito.then(mock).shouldHaveNoMoreInteractions();
+
+        Thread.sleep(500);
+        BDDMockito.then(mock).should().clear();
+        BDDMockito.then(mock).shouldHaveNoInteractions();
+    }
+}
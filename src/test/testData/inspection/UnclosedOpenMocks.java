@@ -0,0 +1,81 @@
+import org.junit.Before;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.runner.RunWith;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.MockitoJUnitRunner;
+
+class UnclosedOpenMocks {
+
+    class DiscardedResult {
+        @BeforeEach
+        void setup() {
+            <warning descr="The result of 'openMocks()' is never closed, thus the mocks, and the test instance with them, are kept in memory.">MockitoAnnotations.openMocks(this)</warning>;
+        }
+    }
+
+    class UnclosedLocalVariable {
+        @BeforeEach
+        void setup() {
+            AutoCloseable mocks = <warning descr="The result of 'openMocks()' is never closed, thus the mocks, and the test instance with them, are kept in memory.">MockitoAnnotations.openMocks(this)</warning>;
+        }
+    }
+
+    class UnclosedField {
+        private AutoCloseable mocks;
+
+        @BeforeEach
+        void setup() {
+            mocks = <warning descr="The result of 'openMocks()' is never closed, thus the mocks, and the test instance with them, are kept in memory.">MockitoAnnotations.openMocks(this)</warning>;
+        }
+    }
+
+    class ClosedField {
+        private AutoCloseable mocks;
+
+        @BeforeEach
+        void setup() {
+            mocks = MockitoAnnotations.openMocks(this);
+        }
+
+        @AfterEach
+        void tearDown() throws Exception {
+            mocks.close();
+        }
+    }
+
+    class ClosedLocalVariable {
+        void test() throws Exception {
+            AutoCloseable mocks = MockitoAnnotations.openMocks(this);
+            mocks.close();
+        }
+    }
+
+    class TryWithResources {
+        void test() throws Exception {
+            try (AutoCloseable mocks = MockitoAnnotations.openMocks(this)) {
+            }
+        }
+    }
+
+    class ReturnedResult {
+        AutoCloseable openMocks() {
+            return MockitoAnnotations.openMocks(this);
+        }
+    }
+
+    class InitMocks {
+        @BeforeEach
+        void setup() {
+            MockitoAnnotations.initMocks(this);
+        }
+    }
+
+    @RunWith(MockitoJUnitRunner.class)
+    class DoubleInitialization {
+        @Before
+        public void setup() {
+            MockitoAnnotations.openMocks(this);
+        }
+    }
+}
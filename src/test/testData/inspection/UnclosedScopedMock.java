@@ -0,0 +1,56 @@
+package com.picimako.mockitools;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.mockito.InOrder;
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+public class UnclosedScopedMock {
+
+    MockedStatic<List> notClosedField;
+    MockedStatic<List> closedField;
+
+    void setup() {
+        notClosedField = <warning descr="The result of 'mockStatic()' is never closed, thus the mocking remains active in the current thread after the test.">Mockito.mockStatic(List.class)</warning>;
+        closedField = Mockito.mockStatic(List.class);
+    }
+
+    void tearDown() {
+        closedField.close();
+    }
+
+    void testHighlight() {
+        <warning descr="The result of 'mockStatic()' is never closed, thus the mocking remains active in the current thread after the test.">Mockito.mockStatic(List.class)</warning>;
+        MockedStatic<List> notClosed = <warning descr="The result of 'mockStatic()' is never closed, thus the mocking remains active in the current thread after the test.">Mockito.mockStatic(List.class)</warning>;
+        MockedConstruction<ArrayList> notClosedConstruction = <warning descr="The result of 'mockConstruction()' is never closed, thus the mocking remains active in the current thread after the test.">Mockito.mockConstruction(ArrayList.class)</warning>;
+        MockedStatic<List> notClosedAssigned;
+        notClosedAssigned = <warning descr="The result of 'mockStatic()' is never closed, thus the mocking remains active in the current thread after the test.">Mockito.mockStatic(List.class)</warning>;
+
+        notClosed.when(List::of).thenReturn(List.of());
+        notClosed.verify(List::of);
+        InOrder inOrder = Mockito.inOrder(List.class);
+        inOrder.verify(notClosedAssigned, List::of);
+    }
+
+    MockedStatic<List> testNoHighlight() {
+        try (MockedStatic<List> inTryWithResources = Mockito.mockStatic(List.class)) {
+            inTryWithResources.verify(List::of);
+        }
+        MockedStatic<List> resource = Mockito.mockStatic(List.class);
+        try (resource) {
+            resource.verify(List::of);
+        }
+        MockedStatic<List> closed = Mockito.mockStatic(List.class);
+        closed.close();
+        MockedConstruction<ArrayList> closedOnDemand = Mockito.mockConstruction(ArrayList.class);
+        closedOnDemand.closeOnDemand();
+        MockedStatic<List> passedToMethod = Mockito.mockStatic(List.class);
+        closeLater(passedToMethod);
+        return Mockito.mockStatic(List.class);
+    }
+
+    private void closeLater(MockedStatic<List> mockedStatic) {
+    }
+}
@@ -47,6 +47,15 @@ public class UnusedOrUnconfiguredMockInInOrderVerification {
         InOrder unconfiguredMockBDD2 = Mockito.inOrder(<warning descr="No InOrder verification is called on this mock.">mockObject</warning>, <warning descr="No InOrder verification is called on this mock.">mockObject2</warning>);
         BDDMockito.then(<warning descr="This mock is not configured in 'Mockito.inOrder()'.">mockObject3</warning>).should(unconfiguredMockBDD2).doSomething();
         BDDMockito.then(<warning descr="This mock is not configured in 'Mockito.inOrder()'.">mockObject3</warning>).should(unconfiguredMockBDD2, Mockito.times(2)).doSomething();
+
+        //Qualified references
+        InOrder unusedQualifiedMock = Mockito.inOrder(this.mockObject, <warning descr="No InOrder verification is called on this mock.">this.mockObject2</warning>);
+        unusedQualifiedMock.verify(mockObject).doSomething();
+
+        InOrder unconfiguredQualifiedMock = Mockito.inOrder(this.mockObject, mockObject2);
+        unconfiguredQualifiedMock.verify(mockObject).doSomething();
+        unconfiguredQualifiedMock.verify(this.mockObject2).doSomething();
+        unconfiguredQualifiedMock.verify(<warning descr="This mock is not configured in 'Mockito.inOrder()'.">this.mockObject3</warning>).doSomething();
     }
 
     void testNoHighlight() {
@@ -66,6 +75,16 @@ public class UnusedOrUnconfiguredMockInInOrderVerification {
         BDDMockito.then(mockObject).should(inOrderBDD2).doSomething();
         BDDMockito.then(mockObject2).should(inOrderBDD2, Mockito.times(2)).doSomething();
 
+        InOrder qualifiedInOrder = Mockito.inOrder(this.mockObject, mockObject2);
+        qualifiedInOrder.verify(mockObject).doSomething();
+        qualifiedInOrder.verify(this.mockObject2).doSomething();
+
+        Runnable lambda = () -> {
+            InOrder inOrderInLambda = Mockito.inOrder(mockObject, mockObject2);
+            inOrderInLambda.verify(mockObject).doSomething();
+            inOrderInLambda.verify(mockObject2).doSomething();
+        };
+
         try (MockedStatic<List> mock = Mockito.mockStatic(List.class)) {
             InOrder order = Mockito.inOrder(List.class);
             order.verify(mock, () -> List.of());
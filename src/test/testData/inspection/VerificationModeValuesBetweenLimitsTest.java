@@ -9,6 +9,8 @@ import org.mockito.Mockito;
 import org.mockito.InOrder;
 
 public class VerificationModeValuesBetweenLimitsTest {
+    private static final long TIMEOUT = 3000;
+    private static final int NEGATIVE_TIMES = -1;
     
     public void testMethod() {
         Object mockObject = Mockito.mock(Object.class);
@@ -48,5 +50,10 @@ public class VerificationModeValuesBetweenLimitsTest {
         Mockito.verify(mockObject, after(<error descr="The argument value of 'after()' must be 0 or greater.">-1000</error>).never()).toString();
         Mockito.verify(mockObject, timeout(<error descr="The argument value of 'timeout()' must be 0 or greater.">-1000</error>).description("desc")).toString();
         Mockito.verify(mockObject, timeout(<error descr="The timeout value must be lower than the user-defined max threshold: 5,000.">6000</error>).description("desc")).toString();
+
+        //Constants
+        Mockito.verify(mockObject, timeout(TIMEOUT)).toString();
+        Mockito.verify(mockObject, timeout(<error descr="The timeout value must be lower than the user-defined max threshold: 5,000.">2 * TIMEOUT</error>)).toString();
+        Mockito.verify(mockObject, times(<error descr="The argument value of 'times()' must be 0 or greater.">NEGATIVE_TIMES</error>)).toString();
     } 
 }